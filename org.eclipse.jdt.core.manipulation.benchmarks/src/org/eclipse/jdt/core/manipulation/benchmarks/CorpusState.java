@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
+/**
+ * A synthetic Java project shared by the benchmarks of a trial.
+ * <p>
+ * The project is generated in the workspace of the test runtime. Its types are spread over a few
+ * packages and contain the constructs the measured algorithms look at: loops and branches,
+ * field and local variable accesses, unused members and imports, overridden methods and
+ * references to types of other packages, some of them without import.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+	private static final String PROJECT_NAME= "BenchmarkCorpus"; //$NON-NLS-1$
+	private static final int PACKAGE_COUNT= 5;
+
+	private static final String TYPE_TEMPLATE= """
+			package corpus.p${package};
+
+			import java.util.ArrayList;
+			import java.util.HashMap;
+			import java.util.LinkedList;
+			import java.util.List;
+			import java.util.Map;
+			${import}
+			public class Type${index} {
+				private static final int LIMIT= ${index};
+				private int count;
+				private String unused;
+				private final List<String> names= new ArrayList<>();
+				private Map<String, Integer> counts= new HashMap<>();
+
+				public int sum(int[] values) {
+					int result= 0;
+					for (int i= 0; i < values.length; i++) {
+						if (values[i] > LIMIT) {
+							result+= values[i];
+						} else {
+							count++;
+						}
+					}
+					return result;
+				}
+
+				public String join(List<String> parts, String separator) {
+					StringBuilder builder= new StringBuilder();
+					for (String part : parts) {
+						if (builder.length() > 0)
+							builder.append(separator);
+						builder.append(part.trim());
+					}
+					names.add(builder.toString());
+					return builder.toString();
+				}
+
+				public int lookup(String key) {
+					Integer value= counts.get(key);
+					int local= value != null ? value.intValue() : -1;
+					String ignored= key.toUpperCase();
+					while (local > 100) {
+						local= local / 2;
+					}
+					return local;
+				}
+
+				private void helper() {
+				}
+
+				public Type${previous} previous() {
+					Type${previous} other= new Type${previous}();
+					other.sum(new int[] { count, LIMIT });
+					return other;
+				}
+
+				@Override
+				public String toString() {
+					return join(names, ",") + count;
+				}
+
+				@Override
+				public int hashCode() {
+					return count * 31 + names.hashCode();
+				}
+			}
+			"""; //$NON-NLS-1$
+
+	/**
+	 * Number of types in the corpus.
+	 */
+	@Param({ "100" })
+	public int corpusSize;
+
+	private IJavaProject fProject;
+	private ICompilationUnit[] fCompilationUnits;
+	private CompilationUnit[] fASTs;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CoreException {
+		fProject= createProject();
+		IPackageFragmentRoot root= fProject.getPackageFragmentRoot(fProject.getProject().getFolder("src")); //$NON-NLS-1$
+		IPackageFragment[] packages= new IPackageFragment[PACKAGE_COUNT];
+		for (int i= 0; i < PACKAGE_COUNT; i++) {
+			packages[i]= root.createPackageFragment("corpus.p" + i, true, null); //$NON-NLS-1$
+		}
+		fCompilationUnits= new ICompilationUnit[corpusSize];
+		for (int i= 0; i < corpusSize; i++) {
+			fCompilationUnits[i]= packages[i % PACKAGE_COUNT].createCompilationUnit("Type" + i + ".java", createSource(i), true, null); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		waitForIndexer();
+		fASTs= parse(fCompilationUnits);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws CoreException {
+		fProject.getProject().delete(true, true, null);
+	}
+
+	/**
+	 * @return the compilation units of the corpus
+	 */
+	public ICompilationUnit[] getCompilationUnits() {
+		return fCompilationUnits;
+	}
+
+	/**
+	 * @return the ASTs with resolved bindings of the compilation units, in the same order. The
+	 *         ASTs are shared by all invocations and must not be modified.
+	 */
+	public CompilationUnit[] getASTs() {
+		return fASTs;
+	}
+
+	private static String createSource(int index) {
+		int previous= index > 0 ? index - 1 : 0;
+		String previousPackage= String.valueOf(previous % PACKAGE_COUNT);
+		String packageName= String.valueOf(index % PACKAGE_COUNT);
+		String importDeclaration= ""; //$NON-NLS-1$
+		// leave every third reference to another package unresolved, so organize imports has to search it
+		if (!previousPackage.equals(packageName) && index % 3 != 0)
+			importDeclaration= "import corpus.p" + previousPackage + ".Type" + previous + ";\n"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return TYPE_TEMPLATE
+				.replace("${package}", packageName) //$NON-NLS-1$
+				.replace("${import}", importDeclaration) //$NON-NLS-1$
+				.replace("${index}", String.valueOf(index)) //$NON-NLS-1$
+				.replace("${previous}", String.valueOf(previous)); //$NON-NLS-1$
+	}
+
+	private static IJavaProject createProject() throws CoreException {
+		IWorkspaceRoot workspaceRoot= ResourcesPlugin.getWorkspace().getRoot();
+		IProject project= workspaceRoot.getProject(PROJECT_NAME);
+		if (project.exists())
+			project.delete(true, true, null);
+		project.create(null);
+		project.open(null);
+
+		IProjectDescription description= project.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		project.setDescription(description, null);
+
+		IFolder source= project.getFolder("src"); //$NON-NLS-1$
+		source.create(IResource.FORCE, true, null);
+		IFolder output= project.getFolder("bin"); //$NON-NLS-1$
+		output.create(IResource.FORCE | IResource.DERIVED, true, null);
+
+		IJavaProject javaProject= JavaCore.create(project);
+		Map<String, String> options= javaProject.getOptions(false);
+		JavaCore.setComplianceOptions(JavaCore.VERSION_21, options);
+		javaProject.setOptions(options);
+		javaProject.setRawClasspath(new IClasspathEntry[] {
+				JavaCore.newSourceEntry(source.getFullPath()),
+				JavaRuntime.getDefaultJREContainerEntry()
+		}, output.getFullPath(), null);
+		return javaProject;
+	}
+
+	private static void waitForIndexer() throws CoreException {
+		new SearchEngine().searchAllTypeNames(null, SearchPattern.R_EXACT_MATCH, "!@$#!@".toCharArray(), //$NON-NLS-1$
+				SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE, IJavaSearchConstants.CLASS,
+				SearchEngine.createWorkspaceScope(), new TypeNameRequestor() {
+					// no matches expected
+				}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, new NullProgressMonitor());
+	}
+
+	private static CompilationUnit[] parse(ICompilationUnit[] compilationUnits) {
+		Map<ICompilationUnit, CompilationUnit> asts= new HashMap<>();
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setResolveBindings(true);
+		parser.setProject(compilationUnits[0].getJavaProject());
+		parser.createASTs(compilationUnits, new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				asts.put(source, ast);
+			}
+		}, null);
+		CompilationUnit[] result= new CompilationUnit[compilationUnits.length];
+		for (int i= 0; i < compilationUnits.length; i++) {
+			result[i]= asts.get(compilationUnits[i]);
+		}
+		return result;
+	}
+}
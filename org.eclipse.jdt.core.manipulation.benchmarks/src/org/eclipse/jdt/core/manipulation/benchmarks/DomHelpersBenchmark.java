@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.corext.dom.ASTNodes;
+import org.eclipse.jdt.internal.corext.dom.Bindings;
+
+/**
+ * Calls the {@link ASTNodes} and {@link Bindings} helpers the clean ups use most on the nodes of
+ * the corpus: type bindings of names, enclosing types, overridden methods and variable
+ * comparisons of assignments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+public class DomHelpersBenchmark {
+
+	@Benchmark
+	public void helpers(CorpusState corpus, Blackhole blackhole) {
+		ASTVisitor visitor= new ASTVisitor() {
+			@Override
+			public boolean visit(MethodDeclaration node) {
+				IMethodBinding binding= node.resolveBinding();
+				if (binding != null)
+					blackhole.consume(Bindings.findOverriddenMethod(binding, true));
+				blackhole.consume(ASTNodes.getEnclosingType(node));
+				return true;
+			}
+
+			@Override
+			public boolean visit(Assignment node) {
+				blackhole.consume(ASTNodes.isSameVariable(node.getLeftHandSide(), node.getRightHandSide()));
+				return true;
+			}
+
+			@Override
+			public boolean visit(SimpleName node) {
+				blackhole.consume(ASTNodes.getTypeBinding(node));
+				return true;
+			}
+		};
+		for (CompilationUnit ast : corpus.getASTs()) {
+			ast.accept(visitor);
+		}
+	}
+}
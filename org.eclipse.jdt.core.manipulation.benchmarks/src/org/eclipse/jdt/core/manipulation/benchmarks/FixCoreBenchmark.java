@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.fix.CodeStyleFixCore;
+import org.eclipse.jdt.internal.corext.fix.UnusedCodeFixCore;
+import org.eclipse.jdt.internal.corext.fix.VariableDeclarationFixCore;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
+
+/**
+ * Creates the changes of single clean ups for every compilation unit of the corpus, without the
+ * clean up framework around them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+public class FixCoreBenchmark {
+
+	@Benchmark
+	public void unusedCode(CorpusState corpus, Blackhole blackhole) throws CoreException {
+		for (CompilationUnit ast : corpus.getASTs()) {
+			consume(UnusedCodeFixCore.createCleanUp(ast, true, true, true, true, true, true, true, false), blackhole);
+		}
+	}
+
+	@Benchmark
+	public void codeStyle(CorpusState corpus, Blackhole blackhole) throws CoreException {
+		for (CompilationUnit ast : corpus.getASTs()) {
+			consume(CodeStyleFixCore.createCleanUp(ast, true, false, true, false, true, false, false, false), blackhole);
+		}
+	}
+
+	@Benchmark
+	public void variableDeclaration(CorpusState corpus, Blackhole blackhole) throws CoreException {
+		for (CompilationUnit ast : corpus.getASTs()) {
+			consume(VariableDeclarationFixCore.createCleanUp(ast, true, true, true), blackhole);
+		}
+	}
+
+	private static void consume(ICleanUpFix fix, Blackhole blackhole) throws CoreException {
+		if (fix != null)
+			blackhole.consume(fix.createChange(null));
+	}
+}
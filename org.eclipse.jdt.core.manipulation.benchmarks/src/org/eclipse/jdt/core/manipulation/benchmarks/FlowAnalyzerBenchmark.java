@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Statement;
+
+import org.eclipse.jdt.internal.corext.dom.LocalVariableIndex;
+import org.eclipse.jdt.internal.corext.refactoring.code.flow.FlowContext;
+import org.eclipse.jdt.internal.corext.refactoring.code.flow.InOutFlowAnalyzer;
+
+/**
+ * Runs the flow analysis of extract method on the bodies of all methods of the corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+public class FlowAnalyzerBenchmark {
+
+	@Benchmark
+	public void inOutFlow(CorpusState corpus, Blackhole blackhole) {
+		ASTVisitor visitor= new ASTVisitor() {
+			@Override
+			public boolean visit(MethodDeclaration node) {
+				Block body= node.getBody();
+				if (body == null)
+					return false;
+				List<Statement> statements= body.statements();
+				if (statements.isEmpty())
+					return false;
+				FlowContext flowContext= new FlowContext(0, LocalVariableIndex.perform(node) + 1);
+				flowContext.setConsiderAccessMode(true);
+				flowContext.setComputeMode(FlowContext.ARGUMENTS);
+				blackhole.consume(new InOutFlowAnalyzer(flowContext).perform(statements.toArray(new ASTNode[statements.size()])));
+				return false;
+			}
+		};
+		for (CompilationUnit ast : corpus.getASTs()) {
+			ast.accept(visitor);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.common.ReferenceHolder;
+import org.eclipse.jdt.internal.common.VisitorEnum;
+
+/**
+ * Runs {@link HelperVisitor} passes over the corpus: a pass for a single node type, as most of
+ * the helper based clean ups use it, and a pass for several node types at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+public class HelperVisitorBenchmark {
+
+	@Benchmark
+	public void methodInvocations(CorpusState corpus, Blackhole blackhole) {
+		for (CompilationUnit ast : corpus.getASTs()) {
+			ReferenceHolder<MethodInvocation, String> holder= new ReferenceHolder<>();
+			HelperVisitor.callMethodInvocationVisitor(ast, holder, new HashSet<>(), (node, h) -> {
+				h.put(node, node.getName().getIdentifier());
+				return true;
+			});
+			blackhole.consume(holder);
+		}
+	}
+
+	@Benchmark
+	public void combined(CorpusState corpus, Blackhole blackhole) {
+		EnumSet<VisitorEnum> nodeTypes= EnumSet.of(VisitorEnum.Assignment, VisitorEnum.MethodInvocation, VisitorEnum.SimpleName, VisitorEnum.VariableDeclarationStatement);
+		for (CompilationUnit ast : corpus.getASTs()) {
+			ReferenceHolder<ASTNode, Integer> holder= new ReferenceHolder<>();
+			HelperVisitor.callVisitor(ast, nodeTypes, holder, new HashSet<>(), (node, h) -> {
+				h.put(node, Integer.valueOf(node.getNodeType()));
+				return true;
+			});
+			blackhole.consume(holder);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collection;
+
+import org.junit.Test;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of this bundle inside the test runtime.
+ * <p>
+ * The benchmarks need the OSGi runtime with the workspace and the Java model, which a forked
+ * JMH VM does not have, so they run in this VM without forks. The {@link GCProfiler} adds the
+ * allocation rate per operation to the results. The system property
+ * <code>benchmarks.include</code> selects the benchmarks by a regular expression,
+ * <code>benchmarks.result</code> names the JSON result file.
+ * </p>
+ */
+public class ManipulationBenchmarks {
+
+	@Test
+	public void runBenchmarks() throws RunnerException {
+		Options options= new OptionsBuilder()
+				.include(ManipulationBenchmarks.class.getPackageName() + '.' + System.getProperty("benchmarks.include", ".*")) //$NON-NLS-1$ //$NON-NLS-2$
+				.forks(0)
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(System.getProperty("benchmarks.result", "jmh-result.json")) //$NON-NLS-1$ //$NON-NLS-2$
+				.build();
+		Collection<RunResult> results= new Runner(options).run();
+		assertFalse("no benchmark matches " + options.getIncludes(), results.isEmpty()); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.manipulation.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation;
+
+/**
+ * Computes the organize imports edit of every compilation unit of the corpus, including the
+ * search for the types that are referenced without import.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations= 3, time= 2)
+@Measurement(iterations= 5, time= 2)
+public class OrganizeImportsBenchmark {
+
+	@Benchmark
+	public void organizeImports(CorpusState corpus, Blackhole blackhole) throws CoreException {
+		ICompilationUnit[] compilationUnits= corpus.getCompilationUnits();
+		CompilationUnit[] asts= corpus.getASTs();
+		for (int i= 0; i < compilationUnits.length; i++) {
+			OrganizeImportsOperation operation= new OrganizeImportsOperation(compilationUnits[i], asts[i], true, false, true, null);
+			blackhole.consume(operation.createTextEdit(null));
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,9 +30,11 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
+import org.eclipse.jdt.internal.ui.text.ChainGraph;
 
 /**
  * The main plug-in class to be used in the workbench.
@@ -83,6 +85,8 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	public void stop(BundleContext context) throws Exception {
 		super.stop(context);
 		fgDefault= null;
+		ChainGraph.disposeDefault();
+		CallHierarchyCore.disposeCallerCache();
 
 		if (fTypeFilter != null) {
 			fTypeFilter.dispose();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -149,6 +149,10 @@ public class JarPackagerUtilCore {
 	/**
 	 * Write the entry to the destinationPath of the given JarOutputStream. Extracted from
 	 * org.eclipse.jdt.internal.ui.jarpackagerfat.JarWriter4
+	 * <p>
+	 * A deflated entry written to a compressed {@link ParallelJarOutputStream} is copied without
+	 * inflating and deflating it again.
+	 * </p>
 	 *
 	 * @param zipEntry the jar entry to write
 	 * @param zipFile the zipFile to extract
@@ -183,6 +187,10 @@ public class JarPackagerUtilCore {
 
 		// Set modification time
 		newEntry.setTime(lastModified);
+		if (isCompressed && jarOutputStream instanceof ParallelJarOutputStream parallelJarOutputStream
+				&& parallelJarOutputStream.copyRawEntry(zipFile, zipEntry, newEntry)) {
+			return;
+		}
 		try (InputStream content= zipFile.getInputStream(zipEntry);) {
 			jarOutputStream.putNextEntry(newEntry);
 			content.transferTo(jarOutputStream);
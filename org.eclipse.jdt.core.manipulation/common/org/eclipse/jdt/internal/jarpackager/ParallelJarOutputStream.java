@@ -0,0 +1,681 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * A JAR output stream which deflates the entries on a pool of worker threads and which copies
+ * deflated entries of other archives without inflating them again.
+ * <p>
+ * The content of an entry is buffered until the entry is closed and then deflated by a worker.
+ * The entries are written in the order in which they were put, independent of the order in
+ * which the workers finish. The amount of buffered content is limited, when it is exceeded the
+ * calling thread waits for the oldest entries to be written. Large stored entries with known size
+ * and CRC-32, such as nested archives, are written through without buffering.
+ * </p>
+ * <p>
+ * The number of workers is set by the system property
+ * <code>org.eclipse.jdt.ui.jarpackager.parallelism</code>, a value of 1 deflates all entries in
+ * the calling thread.
+ * </p>
+ * <p>
+ * Like {@link JarOutputStream}, this stream must only be used by one thread at a time.
+ * </p>
+ */
+public class ParallelJarOutputStream extends JarOutputStream {
+
+	/**
+	 * Maximal number of worker threads deflating the entries.
+	 */
+	public static final int PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.jarpackager.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue());
+
+	/**
+	 * Maximal number of bytes of uncompressed content which are waiting to be written.
+	 */
+	private static final long MAX_PENDING_BYTES= 64L * 1024 * 1024;
+
+	/**
+	 * Entries with less content are deflated in the calling thread.
+	 */
+	private static final int MIN_PARALLEL_SIZE= 1024;
+
+	/**
+	 * Stored entries with at least this size are written through.
+	 */
+	private static final long MIN_WRITE_THROUGH_SIZE= 1024 * 1024;
+
+	private static final int LOC_SIG= 0x04034b50;
+	private static final int CEN_SIG= 0x02014b50;
+	private static final int END_SIG= 0x06054b50;
+	private static final int ZIP64_END_SIG= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIG= 0x07064b50;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+	private static final long ZIP64_MAGIC= 0xFFFFFFFFL;
+	private static final int ZIP64_MAX_ENTRIES= 0xFFFF;
+	private static final int JAR_MAGIC= 0xCAFE;
+	private static final int UTF8_FLAG= 0x0800;
+	private static final int VERSION_STORED= 10;
+	private static final int VERSION_DEFLATED= 20;
+	private static final int VERSION_ZIP64= 45;
+	private static final long DOS_TIME_MIN= (1 << 21) | (1 << 16);
+
+	/**
+	 * The central directory record of an entry.
+	 */
+	private static final class EntryRecord {
+		final byte[] fName;
+		final byte[] fExtra;
+		final byte[] fComment;
+		final int fMethod;
+		final int fDosTime;
+		long fCrc;
+		long fCompressedSize;
+		long fSize;
+		long fOffset;
+
+		EntryRecord(byte[] name, byte[] extra, byte[] comment, int method, int dosTime) {
+			fName= name;
+			fExtra= extra;
+			fComment= comment;
+			fMethod= method;
+			fDosTime= dosTime;
+		}
+	}
+
+	/**
+	 * The content of an entry as written to the archive.
+	 */
+	private record EntryContent(byte[] data, int length, long crc, long size) {
+	}
+
+	/**
+	 * An entry whose content is buffered or being deflated.
+	 */
+	private record PendingEntry(EntryRecord record, Future<EntryContent> content, long bytes) {
+	}
+
+	/**
+	 * The entry being written, <code>fBuffer</code> is <code>null</code> if the entry is written
+	 * through.
+	 */
+	private static final class OpenEntry {
+		final ZipEntry fEntry;
+		final EntryRecord fRecord;
+		final EntryBuffer fBuffer;
+		final CRC32 fCrc= new CRC32();
+		long fSize;
+
+		OpenEntry(ZipEntry entry, EntryRecord record, EntryBuffer buffer) {
+			fEntry= entry;
+			fRecord= record;
+			fBuffer= buffer;
+		}
+	}
+
+	private static final class EntryBuffer extends ByteArrayOutputStream {
+		EntryBuffer(int size) {
+			super(size);
+		}
+
+		byte[] getBuffer() {
+			return buf;
+		}
+	}
+
+	private final OutputStream fOut;
+	private final ByteBuffer fHeader= ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+	private final ArrayDeque<PendingEntry> fPending= new ArrayDeque<>();
+	private final List<EntryRecord> fRecords= new ArrayList<>();
+	private final Set<String> fNames= new HashSet<>();
+	private long fWritten;
+	private long fPendingBytes;
+	private OpenEntry fCurrent;
+	private ExecutorService fExecutor;
+	private String fRawZipFileName;
+	private RawZipFile fRawZipFile;
+	private int fMethod= DEFLATED;
+	private int fLevel= Deflater.DEFAULT_COMPRESSION;
+	private byte[] fComment;
+	private boolean fFinished;
+	private boolean fClosed;
+
+	/**
+	 * Creates a JAR output stream without manifest.
+	 *
+	 * @param out the actual output stream
+	 * @throws IOException if an I/O error has occurred
+	 */
+	public ParallelJarOutputStream(OutputStream out) throws IOException {
+		super(OutputStream.nullOutputStream());
+		fOut= Objects.requireNonNull(out);
+	}
+
+	/**
+	 * Creates a JAR output stream whose first entry is the given manifest.
+	 *
+	 * @param out the actual output stream
+	 * @param manifest the manifest
+	 * @throws IOException if an I/O error has occurred
+	 */
+	public ParallelJarOutputStream(OutputStream out, Manifest manifest) throws IOException {
+		this(out);
+		putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+		manifest.write(this);
+		closeEntry();
+	}
+
+	@Override
+	public void setComment(String comment) {
+		byte[] bytes= null;
+		if (comment != null) {
+			bytes= comment.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length > 0xFFFF)
+				throw new IllegalArgumentException("ZIP file comment too long"); //$NON-NLS-1$
+		}
+		fComment= bytes;
+	}
+
+	@Override
+	public void setMethod(int method) {
+		if (method != DEFLATED && method != STORED)
+			throw new IllegalArgumentException("invalid compression method"); //$NON-NLS-1$
+		fMethod= method;
+	}
+
+	@Override
+	public void setLevel(int level) {
+		if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+			throw new IllegalArgumentException("invalid compression level"); //$NON-NLS-1$
+		fLevel= level;
+	}
+
+	@Override
+	public void putNextEntry(ZipEntry entry) throws IOException {
+		ensureOpen();
+		if (fCurrent != null)
+			closeEntry();
+		int method= entry.getMethod() != -1 ? entry.getMethod() : fMethod;
+		if (method == STORED && (entry.getSize() == -1 || entry.getCrc() == -1))
+			throw new ZipException("STORED entry missing size, compressed size, or crc-32"); //$NON-NLS-1$
+		EntryRecord record= createRecord(entry, method);
+		if (method == STORED && entry.getSize() >= MIN_WRITE_THROUGH_SIZE) {
+			writePending(-1);
+			record.fCrc= entry.getCrc();
+			record.fCompressedSize= entry.getSize();
+			record.fSize= entry.getSize();
+			writeLocalHeader(record);
+			fCurrent= new OpenEntry(entry, record, null);
+		} else {
+			int size= entry.getSize() > 0 ? (int) Math.min(entry.getSize(), MIN_WRITE_THROUGH_SIZE) : 8192;
+			fCurrent= new OpenEntry(entry, record, new EntryBuffer(size));
+		}
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		Objects.checkFromIndexSize(off, len, b.length);
+		OpenEntry current= fCurrent;
+		if (current == null)
+			throw new ZipException("no current ZIP entry"); //$NON-NLS-1$
+		if (current.fBuffer != null) {
+			current.fBuffer.write(b, off, len);
+		} else {
+			current.fCrc.update(b, off, len);
+			current.fSize+= len;
+			writeBytes(b, off, len);
+		}
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		ensureOpen();
+		OpenEntry current= fCurrent;
+		if (current == null)
+			return;
+		fCurrent= null;
+		EntryRecord record= current.fRecord;
+		if (current.fBuffer == null) {
+			checkStored(current.fEntry, current.fSize, current.fCrc.getValue());
+			return;
+		}
+
+		byte[] data= current.fBuffer.getBuffer();
+		int length= current.fBuffer.size();
+		Future<EntryContent> content;
+		if (record.fMethod == STORED) {
+			CRC32 crc= new CRC32();
+			crc.update(data, 0, length);
+			checkStored(current.fEntry, length, crc.getValue());
+			content= CompletableFuture.completedFuture(new EntryContent(data, length, crc.getValue(), length));
+		} else if (PARALLELISM > 1 && length >= MIN_PARALLEL_SIZE) {
+			int level= fLevel;
+			content= getExecutor().submit(() -> deflate(data, length, level));
+		} else {
+			content= CompletableFuture.completedFuture(deflate(data, length, fLevel));
+		}
+		fPending.add(new PendingEntry(record, content, length));
+		fPendingBytes+= length;
+		writePending(MAX_PENDING_BYTES);
+	}
+
+	/**
+	 * Copies a deflated entry of an archive to this stream without inflating and deflating its
+	 * content. The current entry is closed.
+	 *
+	 * @param zipFile the archive containing the entry
+	 * @param zipEntry the entry to copy
+	 * @param newEntry the entry to write, only its name, time, extra field and comment are used
+	 * @return <code>true</code> if the entry has been copied, <code>false</code> if the entry is
+	 *         not deflated or its data cannot be accessed, nothing has been written in this case
+	 * @throws IOException if an I/O error has occurred
+	 * @throws ZipException if a ZIP format error has occurred, for example because an entry with
+	 *             the same name has already been written
+	 */
+	public boolean copyRawEntry(ZipFile zipFile, ZipEntry zipEntry, ZipEntry newEntry) throws IOException {
+		ensureOpen();
+		if (zipEntry.getMethod() != DEFLATED)
+			return false;
+		RawZipFile rawZipFile= getRawZipFile(zipFile.getName());
+		if (rawZipFile == null)
+			return false;
+		RawZipFile.Entry rawEntry= rawZipFile.getEntry(zipEntry.getName());
+		if (rawEntry == null || rawEntry.method() != DEFLATED || rawEntry.crc() != zipEntry.getCrc()
+				|| rawEntry.size() != zipEntry.getSize() || rawEntry.compressedSize() != zipEntry.getCompressedSize())
+			return false;
+
+		if (fCurrent != null)
+			closeEntry();
+		EntryRecord record= createRecord(newEntry, DEFLATED);
+		writePending(-1);
+		record.fCrc= rawEntry.crc();
+		record.fCompressedSize= rawEntry.compressedSize();
+		record.fSize= rawEntry.size();
+		writeLocalHeader(record);
+		rawZipFile.copyData(rawEntry, fOut);
+		fWritten+= rawEntry.compressedSize();
+		return true;
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if (fFinished)
+			return;
+		ensureOpen();
+		if (fCurrent != null)
+			closeEntry();
+		writePending(-1);
+		writeCentralDirectory();
+		fFinished= true;
+		fOut.flush();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (!fClosed)
+			fOut.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (fClosed)
+			return;
+		IOException failure= null;
+		try {
+			if (!fFinished)
+				finish();
+		} catch (IOException e) {
+			failure= e;
+		}
+		fClosed= true;
+		fCurrent= null;
+		fPending.clear();
+		if (fExecutor != null)
+			fExecutor.shutdownNow();
+		try {
+			closeRawZipFile();
+		} catch (IOException e) {
+			failure= addFailure(failure, e);
+		}
+		try {
+			fOut.close();
+		} catch (IOException e) {
+			failure= addFailure(failure, e);
+		}
+		if (failure != null)
+			throw failure;
+	}
+
+	private static IOException addFailure(IOException failure, IOException e) {
+		if (failure == null)
+			return e;
+		failure.addSuppressed(e);
+		return failure;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (fClosed)
+			throw new IOException("Stream closed"); //$NON-NLS-1$
+		if (fFinished)
+			throw new IOException("Stream finished"); //$NON-NLS-1$
+	}
+
+	private EntryRecord createRecord(ZipEntry entry, int method) throws ZipException {
+		String name= entry.getName();
+		boolean first= fNames.isEmpty();
+		if (!fNames.add(name))
+			throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+		byte[] extra= entry.getExtra();
+		if (extra == null)
+			extra= new byte[0];
+		if (first) {
+			// mark the archive as JAR file, like JarOutputStream
+			byte[] jarExtra= new byte[extra.length + 4];
+			jarExtra[0]= (byte) JAR_MAGIC;
+			jarExtra[1]= (byte) (JAR_MAGIC >> 8);
+			System.arraycopy(extra, 0, jarExtra, 4, extra.length);
+			extra= jarExtra;
+		}
+		byte[] comment= entry.getComment() != null ? entry.getComment().getBytes(StandardCharsets.UTF_8) : new byte[0];
+		EntryRecord record= new EntryRecord(name.getBytes(StandardCharsets.UTF_8), extra, comment, method, toDosTime(entry.getTime()));
+		fRecords.add(record);
+		return record;
+	}
+
+	private static void checkStored(ZipEntry entry, long size, long crc) throws ZipException {
+		if (entry.getSize() != size)
+			throw new ZipException("invalid entry size (expected " + entry.getSize() + " but got " + size + " bytes)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (entry.getCrc() != crc)
+			throw new ZipException("invalid entry crc-32 (expected 0x" + Long.toHexString(entry.getCrc()) + " but got 0x" + Long.toHexString(crc) + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	private static EntryContent deflate(byte[] data, int length, int level) {
+		CRC32 crc= new CRC32();
+		crc.update(data, 0, length);
+		Deflater deflater= new Deflater(level, true);
+		try {
+			deflater.setInput(data, 0, length);
+			deflater.finish();
+			byte[] out= new byte[length / 2 + 64];
+			int count= 0;
+			while (!deflater.finished()) {
+				if (count == out.length)
+					out= Arrays.copyOf(out, out.length * 2);
+				count+= deflater.deflate(out, count, out.length - count);
+			}
+			return new EntryContent(out, count, crc.getValue(), length);
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Writes the pending entries in order, as long as their content is available or as long as
+	 * more than the given number of bytes are pending.
+	 *
+	 * @param maxPendingBytes the number of bytes which may stay pending, <code>-1</code> to write
+	 *            all pending entries
+	 * @throws IOException if an I/O error has occurred or an entry cannot be deflated
+	 */
+	private void writePending(long maxPendingBytes) throws IOException {
+		while (!fPending.isEmpty()) {
+			PendingEntry pending= fPending.peek();
+			if (fPendingBytes <= maxPendingBytes && !pending.content().isDone())
+				return;
+			EntryContent content= getContent(pending.content());
+			fPending.remove();
+			fPendingBytes-= pending.bytes();
+			EntryRecord record= pending.record();
+			record.fCrc= content.crc();
+			record.fCompressedSize= content.length();
+			record.fSize= content.size();
+			writeLocalHeader(record);
+			writeBytes(content.data(), 0, content.length());
+		}
+	}
+
+	private static EntryContent getContent(Future<EntryContent> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (cause instanceof Error error)
+				throw error;
+			throw new IOException(cause);
+		}
+	}
+
+	private ExecutorService getExecutor() {
+		if (fExecutor == null) {
+			ThreadFactory factory= new ThreadFactory() {
+				private final AtomicInteger counter= new AtomicInteger(1);
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t= new Thread(r, "JAR Export Worker-" + counter.getAndIncrement()); //$NON-NLS-1$
+					t.setDaemon(true);
+					return t;
+				}
+			};
+			fExecutor= Executors.newFixedThreadPool(PARALLELISM, factory);
+		}
+		return fExecutor;
+	}
+
+	/**
+	 * Returns the raw access to the given archive. Libraries are copied one after the other, so
+	 * only the last archive is kept open.
+	 *
+	 * @param name the name of the archive
+	 * @return the archive or <code>null</code> if it cannot be read
+	 * @throws IOException if the previous archive cannot be closed
+	 */
+	private RawZipFile getRawZipFile(String name) throws IOException {
+		if (!name.equals(fRawZipFileName)) {
+			closeRawZipFile();
+			fRawZipFileName= name;
+			try {
+				fRawZipFile= new RawZipFile(new File(name));
+			} catch (IOException e) {
+				// not accessible as a file, the entries are inflated and deflated again
+			}
+		}
+		return fRawZipFile;
+	}
+
+	private void closeRawZipFile() throws IOException {
+		RawZipFile rawZipFile= fRawZipFile;
+		fRawZipFile= null;
+		fRawZipFileName= null;
+		if (rawZipFile != null)
+			rawZipFile.close();
+	}
+
+	private void writeLocalHeader(EntryRecord record) throws IOException {
+		record.fOffset= fWritten;
+		boolean zip64= record.fSize >= ZIP64_MAGIC || record.fCompressedSize >= ZIP64_MAGIC;
+		byte[] extra= zip64 ? addZip64Extra(record.fExtra, record.fSize, record.fCompressedSize) : record.fExtra;
+		ByteBuffer header= fHeader.clear();
+		header.putInt(LOC_SIG);
+		header.putShort((short) getVersion(record.fMethod, zip64));
+		header.putShort((short) UTF8_FLAG);
+		header.putShort((short) record.fMethod);
+		header.putInt(record.fDosTime);
+		header.putInt((int) record.fCrc);
+		header.putInt(zip64 ? (int) ZIP64_MAGIC : (int) record.fCompressedSize);
+		header.putInt(zip64 ? (int) ZIP64_MAGIC : (int) record.fSize);
+		header.putShort((short) record.fName.length);
+		header.putShort((short) extra.length);
+		writeHeader(header);
+		writeBytes(record.fName, 0, record.fName.length);
+		writeBytes(extra, 0, extra.length);
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long offset= fWritten;
+		for (EntryRecord record : fRecords) {
+			boolean zip64Sizes= record.fSize >= ZIP64_MAGIC || record.fCompressedSize >= ZIP64_MAGIC;
+			boolean zip64Offset= record.fOffset >= ZIP64_MAGIC;
+			byte[] extra= record.fExtra;
+			if (zip64Sizes && zip64Offset)
+				extra= addZip64Extra(extra, record.fSize, record.fCompressedSize, record.fOffset);
+			else if (zip64Sizes)
+				extra= addZip64Extra(extra, record.fSize, record.fCompressedSize);
+			else if (zip64Offset)
+				extra= addZip64Extra(extra, record.fOffset);
+			int version= getVersion(record.fMethod, zip64Sizes || zip64Offset);
+			ByteBuffer header= fHeader.clear();
+			header.putInt(CEN_SIG);
+			header.putShort((short) version);
+			header.putShort((short) version);
+			header.putShort((short) UTF8_FLAG);
+			header.putShort((short) record.fMethod);
+			header.putInt(record.fDosTime);
+			header.putInt((int) record.fCrc);
+			header.putInt(zip64Sizes ? (int) ZIP64_MAGIC : (int) record.fCompressedSize);
+			header.putInt(zip64Sizes ? (int) ZIP64_MAGIC : (int) record.fSize);
+			header.putShort((short) record.fName.length);
+			header.putShort((short) extra.length);
+			header.putShort((short) record.fComment.length);
+			header.putShort((short) 0); // disk number start
+			header.putShort((short) 0); // internal file attributes
+			header.putInt(0); // external file attributes
+			header.putInt(zip64Offset ? (int) ZIP64_MAGIC : (int) record.fOffset);
+			writeHeader(header);
+			writeBytes(record.fName, 0, record.fName.length);
+			writeBytes(extra, 0, extra.length);
+			writeBytes(record.fComment, 0, record.fComment.length);
+		}
+		long size= fWritten - offset;
+		int count= fRecords.size();
+
+		if (count >= ZIP64_MAX_ENTRIES || size >= ZIP64_MAGIC || offset >= ZIP64_MAGIC) {
+			long zip64EndOffset= fWritten;
+			ByteBuffer header= fHeader.clear();
+			header.putInt(ZIP64_END_SIG);
+			header.putLong(44); // size of the remaining record
+			header.putShort((short) VERSION_ZIP64);
+			header.putShort((short) VERSION_ZIP64);
+			header.putInt(0); // number of this disk
+			header.putInt(0); // disk with the central directory
+			header.putLong(count);
+			header.putLong(count);
+			header.putLong(size);
+			header.putLong(offset);
+			writeHeader(header);
+
+			header= fHeader.clear();
+			header.putInt(ZIP64_LOCATOR_SIG);
+			header.putInt(0); // disk with the zip64 END header
+			header.putLong(zip64EndOffset);
+			header.putInt(1); // total number of disks
+			writeHeader(header);
+		}
+
+		byte[] comment= fComment != null ? fComment : new byte[0];
+		ByteBuffer header= fHeader.clear();
+		header.putInt(END_SIG);
+		header.putShort((short) 0); // number of this disk
+		header.putShort((short) 0); // disk with the central directory
+		header.putShort((short) Math.min(count, ZIP64_MAX_ENTRIES));
+		header.putShort((short) Math.min(count, ZIP64_MAX_ENTRIES));
+		header.putInt((int) Math.min(size, ZIP64_MAGIC));
+		header.putInt((int) Math.min(offset, ZIP64_MAGIC));
+		header.putShort((short) comment.length);
+		writeHeader(header);
+		writeBytes(comment, 0, comment.length);
+	}
+
+	private static int getVersion(int method, boolean zip64) {
+		if (zip64)
+			return VERSION_ZIP64;
+		return method == DEFLATED ? VERSION_DEFLATED : VERSION_STORED;
+	}
+
+	private static byte[] addZip64Extra(byte[] extra, long... values) {
+		ByteBuffer buffer= ByteBuffer.allocate(4 + 8 * values.length + extra.length).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putShort((short) ZIP64_EXTRA_ID);
+		buffer.putShort((short) (8 * values.length));
+		for (long value : values)
+			buffer.putLong(value);
+		buffer.put(extra);
+		return buffer.array();
+	}
+
+	private static int toDosTime(long time) {
+		if (time == -1)
+			time= System.currentTimeMillis();
+		LocalDateTime dateTime= LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		int year= dateTime.getYear();
+		if (year < 1980)
+			return (int) DOS_TIME_MIN;
+		if (year > 2107)
+			year= 2107;
+		return (year - 1980) << 25 | dateTime.getMonthValue() << 21 | dateTime.getDayOfMonth() << 16
+				| dateTime.getHour() << 11 | dateTime.getMinute() << 5 | dateTime.getSecond() >> 1;
+	}
+
+	private void writeHeader(ByteBuffer header) throws IOException {
+		writeBytes(header.array(), 0, header.position());
+	}
+
+	private void writeBytes(byte[] b, int off, int len) throws IOException {
+		fOut.write(b, off, len);
+		fWritten+= len;
+	}
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarpackager;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+/**
+ * Gives access to the compressed data of the entries of a ZIP archive, so that they can be copied
+ * to another archive without inflating them.
+ * <p>
+ * Only the central directory is read when the archive is opened, the local headers are read when
+ * an entry is copied. Archives with data in front of the first entry are supported.
+ * </p>
+ */
+final class RawZipFile implements Closeable {
+
+	/**
+	 * An entry read from the central directory.
+	 *
+	 * @param method the compression method
+	 * @param crc the CRC-32 of the uncompressed data
+	 * @param compressedSize the size of the compressed data
+	 * @param size the size of the uncompressed data
+	 * @param localHeaderOffset the position of the local header in the file
+	 */
+	record Entry(int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+	}
+
+	private static final int LOC_SIG= 0x04034b50;
+	private static final int CEN_SIG= 0x02014b50;
+	private static final int END_SIG= 0x06054b50;
+	private static final int ZIP64_END_SIG= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIG= 0x07064b50;
+
+	private static final int LOC_HEADER_SIZE= 30;
+	private static final int CEN_HEADER_SIZE= 46;
+	private static final int END_HEADER_SIZE= 22;
+	private static final int ZIP64_END_HEADER_SIZE= 56;
+	private static final int ZIP64_LOCATOR_SIZE= 20;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+	private static final long ZIP64_MAGIC= 0xFFFFFFFFL;
+	private static final int ENCRYPTED_FLAG= 0x0001;
+
+	private static final int BUFFER_SIZE= 64 * 1024;
+
+	private final FileChannel fChannel;
+	private final Map<String, Entry> fEntries;
+
+	/**
+	 * Opens an archive and reads its central directory.
+	 *
+	 * @param file the archive
+	 * @throws IOException if the archive cannot be read or is not a valid ZIP archive
+	 */
+	RawZipFile(File file) throws IOException {
+		fChannel= FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			fEntries= readCentralDirectory();
+		} catch (IOException | RuntimeException e) {
+			fChannel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the entry with the given name.
+	 *
+	 * @param name the name of the entry
+	 * @return the entry or <code>null</code> if the archive does not contain a readable entry with
+	 *         this name
+	 */
+	Entry getEntry(String name) {
+		return fEntries.get(name);
+	}
+
+	/**
+	 * Writes the compressed data of an entry to the given stream.
+	 *
+	 * @param entry the entry
+	 * @param out the stream to write to
+	 * @throws IOException if the data cannot be read or written
+	 */
+	void copyData(Entry entry, OutputStream out) throws IOException {
+		ByteBuffer header= read(entry.localHeaderOffset(), LOC_HEADER_SIZE);
+		if (header.getInt(0) != LOC_SIG)
+			throw new ZipException("invalid LOC header (bad signature)"); //$NON-NLS-1$
+		long position= entry.localHeaderOffset() + LOC_HEADER_SIZE + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+		long remaining= entry.compressedSize();
+		ByteBuffer buffer= ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(remaining, 1)));
+		while (remaining > 0) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), remaining));
+			int read= fChannel.read(buffer, position);
+			if (read < 0)
+				throw new EOFException();
+			out.write(buffer.array(), 0, read);
+			position+= read;
+			remaining-= read;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		fChannel.close();
+	}
+
+	private Map<String, Entry> readCentralDirectory() throws IOException {
+		long fileSize= fChannel.size();
+		int tailLength= (int) Math.min(fileSize, END_HEADER_SIZE + 0xFFFF);
+		long tailPosition= fileSize - tailLength;
+		ByteBuffer tail= read(tailPosition, tailLength);
+		int end= -1;
+		for (int i= tailLength - END_HEADER_SIZE; i >= 0; i--) {
+			if (tail.getInt(i) == END_SIG) {
+				end= i;
+				break;
+			}
+		}
+		if (end < 0)
+			throw new ZipException("zip END header not found"); //$NON-NLS-1$
+
+		long endPosition= tailPosition + end;
+		long count= tail.getShort(end + 10) & 0xFFFF;
+		long cenSize= tail.getInt(end + 12) & ZIP64_MAGIC;
+		long cenOffset= tail.getInt(end + 16) & ZIP64_MAGIC;
+		long cenEnd= endPosition;
+		if ((count == 0xFFFF || cenSize == ZIP64_MAGIC || cenOffset == ZIP64_MAGIC) && endPosition >= ZIP64_LOCATOR_SIZE) {
+			ByteBuffer locator= read(endPosition - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+			if (locator.getInt(0) == ZIP64_LOCATOR_SIG) {
+				// the zip64 END header usually directly precedes the locator, whose offset ignores leading data
+				long zip64EndPosition= endPosition - ZIP64_LOCATOR_SIZE - ZIP64_END_HEADER_SIZE;
+				ByteBuffer zip64End= zip64EndPosition >= 0 ? read(zip64EndPosition, ZIP64_END_HEADER_SIZE) : null;
+				if (zip64End == null || zip64End.getInt(0) != ZIP64_END_SIG) {
+					zip64EndPosition= locator.getLong(8);
+					zip64End= read(zip64EndPosition, ZIP64_END_HEADER_SIZE);
+					if (zip64End.getInt(0) != ZIP64_END_SIG)
+						throw new ZipException("invalid zip64 END header"); //$NON-NLS-1$
+				}
+				count= zip64End.getLong(32);
+				cenSize= zip64End.getLong(40);
+				cenOffset= zip64End.getLong(48);
+				cenEnd= zip64EndPosition;
+			}
+		}
+		if (cenSize > Integer.MAX_VALUE || cenSize > cenEnd)
+			throw new ZipException("invalid central directory size"); //$NON-NLS-1$
+
+		// offsets are relative to the start of the archive, which can be preceded by other data
+		long cenPosition= cenEnd - cenSize;
+		long base= cenPosition - cenOffset;
+		ByteBuffer cen= read(cenPosition, (int) cenSize);
+		Map<String, Entry> entries= new HashMap<>((int) Math.min(count, 1 << 20) * 4 / 3 + 1);
+		int position= 0;
+		while (position + CEN_HEADER_SIZE <= cen.limit()) {
+			if (cen.getInt(position) != CEN_SIG)
+				throw new ZipException("invalid CEN header (bad signature)"); //$NON-NLS-1$
+			int flags= cen.getShort(position + 8) & 0xFFFF;
+			int method= cen.getShort(position + 10) & 0xFFFF;
+			long crc= cen.getInt(position + 16) & ZIP64_MAGIC;
+			long compressedSize= cen.getInt(position + 20) & ZIP64_MAGIC;
+			long size= cen.getInt(position + 24) & ZIP64_MAGIC;
+			int nameLength= cen.getShort(position + 28) & 0xFFFF;
+			int extraLength= cen.getShort(position + 30) & 0xFFFF;
+			int commentLength= cen.getShort(position + 32) & 0xFFFF;
+			long offset= cen.getInt(position + 42) & ZIP64_MAGIC;
+			int namePosition= position + CEN_HEADER_SIZE;
+			int extraPosition= namePosition + nameLength;
+			if (extraPosition + extraLength > cen.limit())
+				throw new ZipException("invalid CEN header (bad header size)"); //$NON-NLS-1$
+
+			if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || offset == ZIP64_MAGIC) {
+				int extra= extraPosition;
+				while (extra + 4 <= extraPosition + extraLength) {
+					int id= cen.getShort(extra) & 0xFFFF;
+					int length= cen.getShort(extra + 2) & 0xFFFF;
+					int value= extra + 4;
+					if (id == ZIP64_EXTRA_ID) {
+						int valueEnd= Math.min(value + length, extraPosition + extraLength);
+						if (size == ZIP64_MAGIC && value + 8 <= valueEnd) {
+							size= cen.getLong(value);
+							value+= 8;
+						}
+						if (compressedSize == ZIP64_MAGIC && value + 8 <= valueEnd) {
+							compressedSize= cen.getLong(value);
+							value+= 8;
+						}
+						if (offset == ZIP64_MAGIC && value + 8 <= valueEnd) {
+							offset= cen.getLong(value);
+						}
+						break;
+					}
+					extra+= 4 + length;
+				}
+			}
+
+			if ((flags & ENCRYPTED_FLAG) == 0) {
+				String name= new String(cen.array(), namePosition, nameLength, StandardCharsets.UTF_8);
+				entries.putIfAbsent(name, new Entry(method, crc, compressedSize, size, base + offset));
+			}
+			position= extraPosition + extraLength + commentLength;
+		}
+		return entries;
+	}
+
+	private ByteBuffer read(long position, int length) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (fChannel.read(buffer, position + buffer.position()) < 0)
+				throw new EOFException();
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
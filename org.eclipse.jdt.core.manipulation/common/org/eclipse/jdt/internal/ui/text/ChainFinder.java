@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2020 Darmstadt University of Technology and others.
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,11 +11,15 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
@@ -30,13 +34,11 @@ public class ChainFinder {
 
 	private final IType receiverType;
 
-	private final List<Chain> chains= new LinkedList<>();
-
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final List<Chain> chains= Collections.synchronizedList(new LinkedList<>());
 
 	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
 
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final ChainGraph graph= ChainGraph.getDefault();
 
 	private volatile boolean isCanceled;
 
@@ -78,8 +80,16 @@ public class ChainFinder {
 			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
 		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
 
+		int depth= 0;
 		while (!incompleteChains.isEmpty() && !isCanceled) {
 			final LinkedList<ChainElement> chain= incompleteChains.poll();
+			if (chain.size() > depth) {
+				// the queue is breadth first, so it now holds the whole next level
+				depth= chain.size();
+				if (depth < maxDepth) {
+					prefetch(chain, incompleteChains);
+				}
+			}
 			final ChainElement edge= chain.getLast();
 			final ChainElement start= chain.getFirst();
 			if (isValidEndOfChain(edge, start, expectedType, expectedDimensions)) {
@@ -99,7 +109,8 @@ public class ChainFinder {
 
 	/**
 	 * Returns the potentially incomplete list of call chains that could be found before a time out
-	 * happened. The contents of this list are mutable and may change as the search makes progress.
+	 * happened. The contents of this list are mutable and may change as the search makes progress;
+	 * synchronize on the list to iterate it while the search is running.
 	 *
 	 * @return The list of call chains
 	 */
@@ -147,12 +158,68 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
-		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
+		return graph.isAssignable(edge, expectedType.getType(), expectedDimension);
+	}
+
+	/**
+	 * Computes the members and edges of the return types of the next level of the search in
+	 * parallel, so that the sequential walk of the level finds them in the shared graph.
+	 *
+	 * @param chain the first chain of the level
+	 * @param incompleteChains the remaining chains of the level
+	 */
+	private void prefetch(final LinkedList<ChainElement> chain, final List<LinkedList<ChainElement>> incompleteChains) {
+		final int parallelism= graph.getParallelism();
+		if (parallelism <= 1) {
+			return;
+		}
+		final Map<String, ChainElement> ends= new LinkedHashMap<>();
+		addEnd(ends, chain.getLast());
+		for (final LinkedList<ChainElement> other : incompleteChains) {
+			addEnd(ends, other.getLast());
+		}
+		if (ends.size() <= 1) {
+			return;
+		}
+		final List<ChainElement> work= new ArrayList<>(ends.values());
+		final List<Future<?>> futures= new ArrayList<>(parallelism);
+		for (int i= 0; i < parallelism; i++) {
+			final int first= i;
+			futures.add(graph.getExecutor().submit(() -> {
+				for (int j= first; j < work.size() && !isCanceled; j+= parallelism) {
+					final ChainElement end= work.get(j);
+					for (final IJavaElement member : graph.getMembers(end.getReturnType(), receiverType, end.getElementType() == ElementType.TYPE)) {
+						graph.getEdge(member);
+					}
+				}
+			}));
+		}
+		try {
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} catch (final InterruptedException e) {
+			isCanceled= true;
+			Thread.currentThread().interrupt();
+		} catch (final ExecutionException e) {
+			// the walk computes what is missing
+		} finally {
+			if (isCanceled) {
+				for (final Future<?> future : futures) {
+					future.cancel(true);
+				}
+			}
+		}
+	}
+
+	private void addEnd(final Map<String, ChainElement> ends, final ChainElement end) {
+		if (end.getReturnType() != null && end.getReturnType().getType() != null) {
+			final boolean staticOnly= end.getElementType() == ElementType.TYPE;
+			final String key= end.getReturnType().toString() + Boolean.toString(staticOnly);
+			if (!fieldsAndMethodsCache.containsKey(key)) {
+				ends.putIfAbsent(key, end);
+			}
 		}
-		return isAssignable;
 	}
 
 	private void searchDeeper(final LinkedList<ChainElement> chain,
@@ -174,10 +241,7 @@ public class ChainFinder {
 		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
 		if (cached == null) {
 			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
+			for (final IJavaElement e : graph.getMembers(chainElementType, receiverType, staticOnly)) {
 				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
 					cached.add(e);
 				}
@@ -188,12 +252,7 @@ public class ChainFinder {
 	}
 
 	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
-		if (cached == null) {
-			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
-		}
-		return cached;
+		return graph.getEdge(member);
 	}
 
 	private static LinkedList<ChainElement> cloneChainAndAppendEdge(final LinkedList<ChainElement> chain,
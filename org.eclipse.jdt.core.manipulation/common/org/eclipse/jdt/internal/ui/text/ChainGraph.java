@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * The type-to-member reachability graph that the call chain completion walks, shared by all
+ * invocations of the chain search.
+ * <p>
+ * For every project the graph remembers the fields and methods that can be reached from a type
+ * ({@link #getMembers(ChainType, IType, boolean)}), the chain element of every member
+ * ({@link #getEdge(IJavaElement)}) and which return types are assignable to an expected type. The
+ * nodes are keyed by Java element handle identifiers. Each node remembers the type roots it was
+ * computed from, so a Java element delta only drops the nodes of the changed compilation units and
+ * class files, while classpath changes drop the graph of all projects.
+ * </p>
+ * <p>
+ * The graph is thread-safe. Nodes that are computed concurrently for the same key are computed
+ * twice and the last one wins, which is harmless as both are equal.
+ * </p>
+ */
+public final class ChainGraph implements IElementChangedListener {
+
+	/**
+	 * Number of member lists per project above which the graph of the project is cleared.
+	 */
+	private static final int MAX_MEMBER_NODES= 20000;
+
+	/**
+	 * Number of edges per project above which the edges of the project are cleared.
+	 */
+	private static final int MAX_EDGES= 200000;
+
+	private static final int PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.codeassist.chainParallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue());
+
+	private static ChainGraph fgDefault;
+
+	private static final class MemberNode {
+		final List<IJavaElement> fMembers;
+		final Set<String> fTypeRoots;
+
+		MemberNode(List<IJavaElement> members, Set<String> typeRoots) {
+			fMembers= members;
+			fTypeRoots= typeRoots;
+		}
+	}
+
+	private static final class EdgeNode {
+		final ChainElement fEdge;
+		final String fTypeRoot;
+		final String fReturnTypeRoot;
+
+		EdgeNode(ChainElement edge, String typeRoot, String returnTypeRoot) {
+			fEdge= edge;
+			fTypeRoot= typeRoot;
+			fReturnTypeRoot= returnTypeRoot;
+		}
+	}
+
+	private static final class ProjectGraph {
+		final Map<String, MemberNode> fMembers= new ConcurrentHashMap<>();
+		final Map<IJavaElement, EdgeNode> fEdges= new ConcurrentHashMap<>();
+		final Map<String, Boolean> fAssignable= new ConcurrentHashMap<>();
+
+		void invalidate(Set<String> typeRoots) {
+			fMembers.values().removeIf(node -> !Collections.disjoint(node.fTypeRoots, typeRoots));
+			fEdges.values().removeIf(node -> typeRoots.contains(node.fTypeRoot) || typeRoots.contains(node.fReturnTypeRoot));
+			fAssignable.clear();
+		}
+	}
+
+	private final Map<String, ProjectGraph> fGraphs= new ConcurrentHashMap<>();
+
+	private final ExecutorService fExecutor;
+
+	private ChainGraph() {
+		AtomicInteger count= new AtomicInteger();
+		ThreadFactory threadFactory= runnable -> {
+			Thread thread= new Thread(runnable, "Chain Completion Worker-" + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		};
+		// cached, as the prefetch tasks of a search run on the same pool as the search
+		fExecutor= Executors.newCachedThreadPool(threadFactory);
+	}
+
+	/**
+	 * Returns the shared graph. The graph listens to Java element changes, including the
+	 * reconciled changes of unsaved working copies, from its first use until
+	 * {@link #disposeDefault()}.
+	 *
+	 * @return the shared graph
+	 */
+	public static synchronized ChainGraph getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new ChainGraph();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Releases the shared graph, if it was created.
+	 */
+	public static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.fExecutor.shutdownNow();
+			fgDefault.fGraphs.clear();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * @return the executor that runs chain searches and the computations of the graph
+	 */
+	public ExecutorService getExecutor() {
+		return fExecutor;
+	}
+
+	/**
+	 * @return the number of threads a chain search uses to compute the graph
+	 */
+	public int getParallelism() {
+		return PARALLELISM;
+	}
+
+	/**
+	 * Returns the fields and methods of a type and its supertypes that can be used to continue a
+	 * call chain, not filtered by the types the user excluded.
+	 *
+	 * @param type the type of the end of the chain
+	 * @param receiverType the type in which the chain is inserted, used for visibility checks
+	 * @param staticOnly <code>true</code> if the chain ends in a type reference, so only static
+	 *            members apply
+	 * @return the members; must not be modified
+	 */
+	public List<IJavaElement> getMembers(ChainType type, IType receiverType, boolean staticOnly) {
+		IType declaringType= type.getType();
+		if (declaringType == null) {
+			return Collections.emptyList();
+		}
+		ProjectGraph graph= getGraph(declaringType);
+		String key= declaringType.getHandleIdentifier() + '|' + (receiverType != null ? receiverType.getHandleIdentifier() : "") + '|' + staticOnly; //$NON-NLS-1$
+		MemberNode node= graph.fMembers.get(key);
+		if (node == null) {
+			List<IType> supertypes= ChainElementAnalyzer.findAllSupertypesIncludingArgument(type);
+			Collection<IJavaElement> members= ChainElementAnalyzer.findFieldsAndMethods(supertypes, new ChainType(receiverType), staticOnly);
+			Set<String> typeRoots= new HashSet<>();
+			for (IType supertype : supertypes) {
+				typeRoots.add(getTypeRoot(supertype));
+			}
+			if (graph.fMembers.size() >= MAX_MEMBER_NODES) {
+				graph.fMembers.clear();
+			}
+			node= new MemberNode(Collections.unmodifiableList(new ArrayList<>(members)), typeRoots);
+			graph.fMembers.put(key, node);
+		}
+		return node.fMembers;
+	}
+
+	/**
+	 * Returns the chain element of a member.
+	 *
+	 * @param member a field or method returned by {@link #getMembers(ChainType, IType, boolean)}
+	 * @return the chain element
+	 */
+	public ChainElement getEdge(IJavaElement member) {
+		ProjectGraph graph= getGraph(member);
+		EdgeNode node= graph.fEdges.get(member);
+		if (node == null) {
+			ChainElement edge= new ChainElement(member, false);
+			ChainType returnType= edge.getReturnType();
+			String returnTypeRoot= returnType != null && returnType.getType() != null ? getTypeRoot(returnType.getType()) : null;
+			if (graph.fEdges.size() >= MAX_EDGES) {
+				graph.fEdges.clear();
+			}
+			node= new EdgeNode(edge, getTypeRoot(member), returnTypeRoot);
+			graph.fEdges.put(member, node);
+		}
+		return node.fEdge;
+	}
+
+	/**
+	 * Tells whether the return type of an edge is assignable to an expected type.
+	 *
+	 * @param edge the edge
+	 * @param expectedType the expected type
+	 * @param expectedDimension the expected array dimension
+	 * @return <code>true</code> if the edge can end a chain for the expected type
+	 */
+	public boolean isAssignable(ChainElement edge, IType expectedType, int expectedDimension) {
+		ProjectGraph graph= getGraph(edge.getElement());
+		String key= edge.getElement().getHandleIdentifier() + '|' + expectedType.getHandleIdentifier() + '|' + expectedDimension;
+		Boolean assignable= graph.fAssignable.get(key);
+		if (assignable == null) {
+			assignable= Boolean.valueOf(ChainElementAnalyzer.isAssignable(edge, expectedType, expectedDimension));
+			graph.fAssignable.put(key, assignable);
+		}
+		return assignable.booleanValue();
+	}
+
+	private ProjectGraph getGraph(IJavaElement element) {
+		return fGraphs.computeIfAbsent(element.getJavaProject().getElementName(), name -> new ProjectGraph());
+	}
+
+	private static String getTypeRoot(IJavaElement element) {
+		IJavaElement typeRoot= element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		if (typeRoot == null) {
+			typeRoot= element.getAncestor(IJavaElement.CLASS_FILE);
+		}
+		return typeRoot != null ? typeRoot.getHandleIdentifier() : element.getHandleIdentifier();
+	}
+
+	/**
+	 * Drops the whole graph.
+	 */
+	public void clear() {
+		fGraphs.clear();
+		ChainElementAnalyzer.clearTypeCache();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (fGraphs.isEmpty()) {
+			return;
+		}
+		Set<String> changedTypeRoots= new HashSet<>();
+		if (!collectChanges(event.getDelta(), changedTypeRoots)) {
+			clear();
+		} else if (!changedTypeRoots.isEmpty()) {
+			for (ProjectGraph graph : fGraphs.values()) {
+				graph.invalidate(changedTypeRoots);
+			}
+		}
+	}
+
+	/**
+	 * Collects the compilation units and class files changed by a delta.
+	 *
+	 * @param delta the delta
+	 * @param changedTypeRoots receives the handle identifiers of the changed type roots
+	 * @return <code>false</code> if the change cannot be expressed as changed type roots and the
+	 *         whole graph has to be dropped
+	 */
+	private static boolean collectChanges(IJavaElementDelta delta, Set<String> changedTypeRoots) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+								| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					// types appear or disappear, the types resolved by signature may differ
+					ChainElementAnalyzer.clearTypeCache();
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					ChainElementAnalyzer.clearTypeCache();
+				} else if ((delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN
+						| IJavaElementDelta.F_PRIMARY_WORKING_COPY)) == 0) {
+					// the visible contents are the same, opening or discarding a primary working copy is a change
+					return true;
+				}
+				changedTypeRoots.add(element.getHandleIdentifier());
+				return true;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectChanges(child, changedTypeRoots)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
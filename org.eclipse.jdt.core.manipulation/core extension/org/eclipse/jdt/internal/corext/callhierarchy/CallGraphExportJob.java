@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.osgi.util.NLS;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.manipulation.JavaManipulation;
+
+/**
+ * Job that exports the transitive callers or callees of members to a file, see
+ * {@link CallGraphExporter}. The result of the job reports the size of the graph and the
+ * throughput of the export.
+ */
+public class CallGraphExportJob extends Job {
+
+	private final IMember[] fMembers;
+	private final CallGraphExporter fExporter;
+	private final File fFile;
+	private CallGraphExporter.Result fResult;
+
+	/**
+	 * Creates the job.
+	 *
+	 * @param members the start members
+	 * @param exporter the exporter to compute the graph with
+	 * @param file the file to write the edge list to
+	 */
+	public CallGraphExportJob(IMember[] members, CallGraphExporter exporter, File file) {
+		super(NLS.bind(CallHierarchyMessages.CallGraphExportJob_name, file.getPath()));
+		fMembers= members;
+		fExporter= exporter;
+		fFile= file;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		try (Writer out= Files.newBufferedWriter(fFile.toPath(), StandardCharsets.UTF_8)) {
+			fResult= fExporter.export(fMembers, out, monitor);
+		} catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
+		} catch (IOException e) {
+			return new Status(IStatus.ERROR, JavaManipulation.ID_PLUGIN, NLS.bind(CallHierarchyMessages.CallGraphExportJob_error, fFile.getPath()), e);
+		}
+		String message= NLS.bind(fResult.isTruncated() ? CallHierarchyMessages.CallGraphExportJob_truncated : CallHierarchyMessages.CallGraphExportJob_done,
+				new Object[] { Long.valueOf(fResult.getEdges()), Integer.valueOf(fResult.getNodes()), Long.valueOf(fResult.getElapsedMillis()),
+						Long.valueOf(fResult.getEdgesPerSecond()), fFile.getPath() });
+		return new Status(IStatus.OK, JavaManipulation.ID_PLUGIN, message);
+	}
+
+	/**
+	 * @return the outcome of the export, or <code>null</code> if the job has not completed
+	 *         successfully
+	 */
+	public CallGraphExporter.Result getResult() {
+		return fResult;
+	}
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.IMember;
+
+/**
+ * Computes the transitive callers or callees of members and writes the edges of the call graph
+ * as they are found, without building a tree of the whole hierarchy.
+ * <p>
+ * The graph is expanded breadth first. Every member is expanded once, however many paths lead to
+ * it, so recursion and shared callers do not multiply the work. The callers of a level are
+ * searched in parallel, see {@link CallHierarchyCore#expandCallers(MethodWrapper[], int, IProgressMonitor)}.
+ * </p>
+ * <p>
+ * Every edge is one line, written in one of the {@link Format formats}. Members are identified by
+ * their handle identifier. Each line has the caller, the callee, the depth at which the edge was
+ * found (<code>1</code> for the edges of the start members), the number of calls and the offset of
+ * the first call in the caller's source, or <code>-1</code>.
+ * </p>
+ */
+public final class CallGraphExporter {
+
+	/**
+	 * The formats of the edge list.
+	 */
+	public enum Format {
+		/**
+		 * Comma separated values with a header line:
+		 * <code>caller,callee,depth,calls,offset</code>.
+		 */
+		CSV,
+		/**
+		 * One JSON object per line:
+		 * <code>{"caller":"...","callee":"...","depth":1,"calls":1,"offset":42}</code>.
+		 */
+		JSON_LINES
+	}
+
+	/**
+	 * The outcome of an export.
+	 */
+	public static final class Result {
+		private final int fNodes;
+		private final long fEdges;
+		private final int fDepth;
+		private final boolean fTruncated;
+		private final long fElapsedMillis;
+
+		Result(int nodes, long edges, int depth, boolean truncated, long elapsedMillis) {
+			fNodes= nodes;
+			fEdges= edges;
+			fDepth= depth;
+			fTruncated= truncated;
+			fElapsedMillis= elapsedMillis;
+		}
+
+		/**
+		 * @return the number of members that were expanded
+		 */
+		public int getNodes() {
+			return fNodes;
+		}
+
+		/**
+		 * @return the number of edges written
+		 */
+		public long getEdges() {
+			return fEdges;
+		}
+
+		/**
+		 * @return the number of levels that were expanded
+		 */
+		public int getDepth() {
+			return fDepth;
+		}
+
+		/**
+		 * @return <code>true</code> if the depth or node budget stopped the expansion before the
+		 *         closure was complete
+		 */
+		public boolean isTruncated() {
+			return fTruncated;
+		}
+
+		/**
+		 * @return the duration of the export in milliseconds
+		 */
+		public long getElapsedMillis() {
+			return fElapsedMillis;
+		}
+
+		/**
+		 * @return the number of edges written per second
+		 */
+		public long getEdgesPerSecond() {
+			return fEdges * 1000 / Math.max(1, fElapsedMillis);
+		}
+	}
+
+	private final boolean fCallers;
+	private final int fMaxDepth;
+	private final int fMaxNodes;
+	private final Format fFormat;
+
+	/**
+	 * Creates an exporter.
+	 *
+	 * @param callers <code>true</code> to follow the callers, <code>false</code> to follow the
+	 *            callees
+	 * @param maxDepth the maximal number of levels to expand
+	 * @param maxNodes the maximal number of members to expand
+	 * @param format the format of the edge list
+	 */
+	public CallGraphExporter(boolean callers, int maxDepth, int maxNodes, Format format) {
+		fCallers= callers;
+		fMaxDepth= maxDepth;
+		fMaxNodes= maxNodes;
+		fFormat= format;
+	}
+
+	/**
+	 * Computes the call graph of the given members and writes its edges.
+	 *
+	 * @param members the start members
+	 * @param out the destination of the edge list, not closed
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the outcome
+	 * @throws IOException if writing fails
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public Result export(IMember[] members, Writer out, IProgressMonitor monitor) throws IOException {
+		long start= System.nanoTime();
+		SubMonitor subMonitor= SubMonitor.convert(monitor, fMaxDepth);
+		CallHierarchyCore core= CallHierarchyCore.getDefault();
+		MethodWrapper[] roots= fCallers ? core.getCallerRoots(members) : core.getCalleeRoots(members);
+
+		if (fFormat == Format.CSV) {
+			out.write("caller,callee,depth,calls,offset\n"); //$NON-NLS-1$
+		}
+		Set<String> visited= new HashSet<>();
+		List<MethodWrapper> level= new ArrayList<>();
+		for (MethodWrapper root : roots) {
+			if (visited.add(root.getMethodCall().getKey())) {
+				level.add(root);
+			}
+		}
+		int nodes= 0;
+		long edges= 0;
+		int depth= 0;
+		boolean truncated= false;
+		ExecutorService executor= null;
+		try {
+			while (!level.isEmpty()) {
+				if (depth == fMaxDepth || nodes >= fMaxNodes) {
+					truncated= hasCalls(level, subMonitor);
+					break;
+				}
+				depth++;
+				if (level.size() > fMaxNodes - nodes) {
+					truncated= hasCalls(level.subList(fMaxNodes - nodes, level.size()), subMonitor);
+					level= level.subList(0, fMaxNodes - nodes);
+				}
+				if (fCallers && level.size() > 1 && CallHierarchyCore.EXPAND_PARALLELISM > 1) {
+					if (executor == null) {
+						executor= CallHierarchyCore.createExecutor(CallHierarchyCore.EXPAND_PARALLELISM);
+					}
+					List<CallerMethodWrapper> callers= new ArrayList<>(level.size());
+					for (MethodWrapper wrapper : level) {
+						if (wrapper.canHaveChildren()) {
+							callers.add((CallerMethodWrapper) wrapper);
+						}
+					}
+					CallerMethodWrapper.prefetchCallers(callers, executor, subMonitor);
+				}
+
+				List<MethodWrapper> next= new ArrayList<>();
+				SubMonitor levelMonitor= subMonitor.split(1).setWorkRemaining(level.size());
+				for (MethodWrapper wrapper : level) {
+					nodes++;
+					if (!wrapper.canHaveChildren()) {
+						levelMonitor.worked(1);
+						continue;
+					}
+					for (MethodWrapper child : wrapper.getCalls(levelMonitor.split(1))) {
+						MethodWrapper caller= fCallers ? child : wrapper;
+						MethodWrapper callee= fCallers ? wrapper : child;
+						writeEdge(out, caller.getMember(), callee.getMember(), depth, child.getMethodCall());
+						edges++;
+						if (visited.add(child.getMethodCall().getKey())) {
+							next.add(child);
+						}
+					}
+				}
+				level= next;
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+		out.flush();
+		return new Result(nodes, edges, depth, truncated, (System.nanoTime() - start) / 1000000);
+	}
+
+	/**
+	 * Tells whether any of the given members, which are not expanded, has calls, so that the
+	 * exported graph misses edges.
+	 *
+	 * @param wrappers the members that are not expanded
+	 * @param monitor the progress monitor, only used for cancellation
+	 * @return <code>true</code> if a member has calls
+	 */
+	private static boolean hasCalls(List<MethodWrapper> wrappers, SubMonitor monitor) {
+		for (MethodWrapper wrapper : wrappers) {
+			if (wrapper.canHaveChildren() && wrapper.getCalls(monitor.split(0)).length > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeEdge(Writer out, IMember caller, IMember callee, int depth, MethodCall call) throws IOException {
+		Collection<CallLocation> locations= call.getCallLocations();
+		int calls= locations != null ? locations.size() : 0;
+		CallLocation first= call.getFirstCallLocation();
+		int offset= first != null ? first.getStart() : -1;
+		StringBuilder line= new StringBuilder(256);
+		if (fFormat == Format.CSV) {
+			appendCsv(line, caller.getHandleIdentifier()).append(',');
+			appendCsv(line, callee.getHandleIdentifier()).append(',');
+			line.append(depth).append(',').append(calls).append(',').append(offset);
+		} else {
+			line.append("{\"caller\":"); //$NON-NLS-1$
+			appendJson(line, caller.getHandleIdentifier());
+			line.append(",\"callee\":"); //$NON-NLS-1$
+			appendJson(line, callee.getHandleIdentifier());
+			line.append(",\"depth\":").append(depth); //$NON-NLS-1$
+			line.append(",\"calls\":").append(calls); //$NON-NLS-1$
+			line.append(",\"offset\":").append(offset).append('}'); //$NON-NLS-1$
+		}
+		line.append('\n');
+		out.write(line.toString());
+	}
+
+	private static StringBuilder appendCsv(StringBuilder line, String value) {
+		if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1) {
+			return line.append(value);
+		}
+		return line.append('"').append(value.replace("\"", "\"\"")).append('"'); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static StringBuilder appendJson(StringBuilder line, String value) {
+		line.append('"');
+		for (int i= 0; i < value.length(); i++) {
+			char c= value.charAt(i);
+			switch (c) {
+				case '"':
+				case '\\':
+					line.append('\\').append(c);
+					break;
+				default:
+					if (c < 0x20) {
+						line.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					} else {
+						line.append(c);
+					}
+			}
+		}
+		return line.append('"');
+	}
+}
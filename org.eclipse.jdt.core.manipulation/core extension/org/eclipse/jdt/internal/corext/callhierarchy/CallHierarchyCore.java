@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,11 +22,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IJavaElement;
@@ -66,6 +71,12 @@ public class CallHierarchyCore {
     public static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
+    /**
+     * Number of threads {@link #expandCallers(MethodWrapper[], int, IProgressMonitor)} searches with.
+     */
+    static final int EXPAND_PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.callhierarchy.parallelism", //$NON-NLS-1$
+            Math.min(4, Runtime.getRuntime().availableProcessors())).intValue());
+
     private static CallHierarchyCore fgInstance;
     private IJavaSearchScope fSearchScope;
     private StringMatcher[] fFilters;
@@ -161,6 +172,78 @@ public class CallHierarchyCore {
         return roots.toArray(new MethodWrapper[roots.size()]);
 	}
 
+	/**
+	 * Expands caller hierarchies breadth first, for clients which need several levels at once. The
+	 * callers of the members of a level are searched in parallel, a member which occurs several
+	 * times in the level is searched once. The other occurrences, as well as occurrences in later
+	 * levels, find its callers in the caller cache unless a change in between invalidated them.
+	 * Recursive calls are not expanded.
+	 *
+	 * @param roots the roots, as returned by {@link #getCallerRoots(IMember[])}
+	 * @param depth the number of levels to expand
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @return the levels of the hierarchy, starting with the roots; a level is empty if no
+	 *         member of the previous level has callers
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public List<MethodWrapper[]> expandCallers(MethodWrapper[] roots, int depth, IProgressMonitor monitor) {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, depth);
+		List<MethodWrapper[]> levels= new ArrayList<>(depth + 1);
+		levels.add(roots);
+		ExecutorService executor= null;
+		try {
+			MethodWrapper[] level= roots;
+			for (int i= 0; i < depth && level.length > 0; i++) {
+				List<CallerMethodWrapper> expandable= new ArrayList<>(level.length);
+				for (MethodWrapper wrapper : level) {
+					if (wrapper instanceof CallerMethodWrapper caller && caller.canHaveChildren() && !caller.isRecursive()) {
+						expandable.add(caller);
+					}
+				}
+				if (expandable.size() > 1 && EXPAND_PARALLELISM > 1) {
+					if (executor == null) {
+						executor= createExecutor(EXPAND_PARALLELISM);
+					}
+					CallerMethodWrapper.prefetchCallers(expandable, executor, subMonitor);
+				}
+				List<MethodWrapper> next= new ArrayList<>();
+				for (CallerMethodWrapper caller : expandable) {
+					next.addAll(Arrays.asList(caller.getCalls(subMonitor.newChild(0))));
+				}
+				level= next.toArray(new MethodWrapper[next.size()]);
+				levels.add(level);
+				subMonitor.worked(1);
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+		return levels;
+	}
+
+	static ExecutorService createExecutor(int parallelism) {
+		ThreadFactory factory= new ThreadFactory() {
+			private final AtomicInteger counter= new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t= new Thread(r, "Call Hierarchy Worker-" + counter.getAndIncrement()); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			}
+		};
+		return Executors.newFixedThreadPool(parallelism, factory);
+	}
+
+	/**
+	 * Releases the callers that are cached across call hierarchy sessions and stops listening to
+	 * Java element changes for them.
+	 */
+	public static void disposeCallerCache() {
+		CallerCache.disposeDefault();
+	}
+
 	private void addRoot(IMember member, ArrayList<MethodWrapper> roots, boolean callers) {
 		MethodCall methodCall= new MethodCall(member);
 		MethodWrapper root;
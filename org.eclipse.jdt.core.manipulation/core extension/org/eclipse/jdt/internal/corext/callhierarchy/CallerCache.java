@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+
+/**
+ * Caches the callers found by {@link CallerMethodWrapper} across call hierarchy sessions.
+ * <p>
+ * An entry holds the matches of the search for the references to a member in a search scope.
+ * The filters of the call hierarchy are applied when an entry is read, so changing them does not
+ * require a new search. The cache records the compilation units
+ * and class files changed by Java element deltas, including reconciled working copies. An entry
+ * that is read after some of them changed is brought up to date by searching the changed type
+ * roots only, unless the type root of the member itself changed; classpath changes and long
+ * change logs drop all entries.
+ * </p>
+ */
+final class CallerCache implements IElementChangedListener {
+
+	/**
+	 * A reference to a member.
+	 */
+	static final class Match {
+		final IMember fCaller;
+		final int fStart;
+		final int fEnd;
+
+		Match(IMember caller, int start, int end) {
+			fCaller= caller;
+			fStart= start;
+			fEnd= end;
+		}
+	}
+
+	private static final class Entry {
+		final List<Match> fMatches;
+		final long fGeneration;
+
+		Entry(List<Match> matches, long generation) {
+			fMatches= matches;
+			fGeneration= generation;
+		}
+	}
+
+	private static final class MatchCollector extends MethodReferencesSearchRequestor {
+		final List<Match> fMatches= new ArrayList<>();
+
+		MatchCollector(boolean requireExactMatch) {
+			super(requireExactMatch);
+		}
+
+		@Override
+		protected void acceptCaller(IMember member, int start, int end) {
+			fMatches.add(new Match(member, start, end));
+		}
+	}
+
+	private static final int MAX_ENTRIES= 10000;
+
+	/**
+	 * Number of changed type roots after which all entries are dropped rather than updated.
+	 */
+	private static final int MAX_CHANGES= 1000;
+
+	private static CallerCache fgDefault;
+
+	private final Map<String, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * The changed type roots, the element at index <code>i</code> changed in generation
+	 * <code>fFirstGeneration + i + 1</code>.
+	 */
+	private final List<String> fChanges= new ArrayList<>();
+
+	private long fFirstGeneration;
+
+	/**
+	 * Identifies the search scopes in the keys of the entries. The entries of a scope that is no
+	 * longer used are evicted as the least recently used ones.
+	 */
+	private final Map<IJavaSearchScope, Integer> fScopeIds= new WeakHashMap<>();
+
+	private int fNextScopeId;
+
+	private CallerCache() {
+	}
+
+	/**
+	 * @return the shared cache, which listens to Java element changes from its first use
+	 */
+	static synchronized CallerCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new CallerCache();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Releases the shared cache, if it was created.
+	 */
+	static synchronized void disposeDefault() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.clear();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Returns the references to a member.
+	 *
+	 * @param member the referenced member
+	 * @param limitTo the search mode of a field, <code>0</code> for other members
+	 * @param pattern the pattern to find the references with
+	 * @param scope the search scope of the call hierarchy, which identifies the entry
+	 * @param searchScope the scope to search in, which is <code>scope</code> or the part of it that
+	 *            can contain references to the member
+	 * @param requireExactMatch whether inaccurate matches are ignored
+	 * @param monitor the progress monitor
+	 * @return the matches; must not be modified
+	 * @throws CoreException if the search fails
+	 */
+	List<Match> getMatches(IMember member, int limitTo, SearchPattern pattern, IJavaSearchScope scope, IJavaSearchScope searchScope,
+			boolean requireExactMatch, IProgressMonitor monitor) throws CoreException {
+		Entry entry;
+		long generation;
+		Set<String> changed= null;
+		String key;
+		synchronized (this) {
+			key= member.getHandleIdentifier() + '|' + limitTo + '|' + requireExactMatch + '|' + getScopeId(scope);
+			entry= fEntries.get(key);
+			generation= getGeneration();
+			if (entry != null) {
+				if (entry.fGeneration < fFirstGeneration) {
+					entry= null;
+				} else if (entry.fGeneration < generation) {
+					changed= new HashSet<>(fChanges.subList((int) (entry.fGeneration - fFirstGeneration), fChanges.size()));
+				} else {
+					return entry.fMatches;
+				}
+			}
+		}
+		if (changed != null && changed.contains(getTypeRoot(member))) {
+			entry= null;
+		}
+
+		List<Match> matches;
+		if (entry == null) {
+			matches= search(pattern, searchScope, requireExactMatch, monitor);
+		} else {
+			matches= new ArrayList<>(entry.fMatches.size());
+			for (Match match : entry.fMatches) {
+				if (!changed.contains(getTypeRoot(match.fCaller))) {
+					matches.add(match);
+				}
+			}
+			List<IJavaElement> changedTypeRoots= new ArrayList<>();
+			for (String handle : changed) {
+				IJavaElement typeRoot= JavaCore.create(handle);
+				if (typeRoot != null && typeRoot.exists() && searchScope.encloses(typeRoot)) {
+					changedTypeRoots.add(typeRoot);
+				}
+			}
+			if (!changedTypeRoots.isEmpty()) {
+				IJavaSearchScope changedScope= SearchEngine.createJavaSearchScope(changedTypeRoots.toArray(new IJavaElement[changedTypeRoots.size()]));
+				matches.addAll(search(pattern, changedScope, requireExactMatch, monitor));
+			}
+		}
+		matches= Collections.unmodifiableList(matches);
+		synchronized (this) {
+			if (generation >= fFirstGeneration) {
+				fEntries.put(key, new Entry(matches, generation));
+			}
+		}
+		return matches;
+	}
+
+	private static List<Match> search(SearchPattern pattern, IJavaSearchScope scope, boolean requireExactMatch, IProgressMonitor monitor) throws CoreException {
+		MatchCollector collector= new MatchCollector(requireExactMatch);
+		new SearchEngine().search(pattern, SearchEngine.getSearchParticipants(), scope, collector, monitor);
+		return collector.fMatches;
+	}
+
+	private int getScopeId(IJavaSearchScope scope) {
+		Integer id= fScopeIds.get(scope);
+		if (id == null) {
+			id= Integer.valueOf(fNextScopeId++);
+			fScopeIds.put(scope, id);
+		}
+		return id.intValue();
+	}
+
+	private long getGeneration() {
+		return fFirstGeneration + fChanges.size();
+	}
+
+	private static String getTypeRoot(IMember member) {
+		IJavaElement typeRoot= member.getTypeRoot();
+		return typeRoot != null ? typeRoot.getHandleIdentifier() : null;
+	}
+
+	/**
+	 * Drops all entries.
+	 */
+	synchronized void clear() {
+		fFirstGeneration= getGeneration() + 1;
+		fChanges.clear();
+		fEntries.clear();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fEntries.isEmpty()) {
+				// nothing to update, but the searches that are running must not store their result
+				fFirstGeneration= getGeneration() + 1;
+				fChanges.clear();
+				return;
+			}
+		}
+		Set<String> changedTypeRoots= new HashSet<>();
+		if (!collectChanges(event.getDelta(), changedTypeRoots)) {
+			clear();
+		} else if (!changedTypeRoots.isEmpty()) {
+			synchronized (this) {
+				if (fChanges.size() + changedTypeRoots.size() > MAX_CHANGES) {
+					clear();
+				} else {
+					fChanges.addAll(changedTypeRoots);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the compilation units and class files changed by a delta.
+	 *
+	 * @param delta the delta
+	 * @param changedTypeRoots receives the handle identifiers of the changed type roots
+	 * @return <code>false</code> if the change cannot be expressed as changed type roots
+	 */
+	private static boolean collectChanges(IJavaElementDelta delta, Set<String> changedTypeRoots) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+								| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					// the removed children are not reported
+					return false;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN
+								| IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0) {
+					// discarding a primary working copy reverts its unsaved changes
+					changedTypeRoots.add(element.getHandleIdentifier());
+				}
+				return true;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectChanges(child, changedTypeRoots)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
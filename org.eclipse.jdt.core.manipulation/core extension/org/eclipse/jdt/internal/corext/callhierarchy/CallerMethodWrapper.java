@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.Flags;
@@ -138,8 +147,9 @@ public class CallerMethodWrapper extends MethodWrapper {
 							SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 				}
 			}
+			int limitTo= 0;
 			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
+				limitTo= IJavaSearchConstants.REFERENCES;
 				if (member.getElementType() == IJavaElement.FIELD)
 					limitTo= getFieldSearchMode();
 				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
@@ -148,7 +158,6 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
-			SearchEngine searchEngine= new SearchEngine();
 			// When the search target is a non-Java element (e.g., from
 			// a contributed SearchParticipant like Kotlin), the Java
 			// MatchLocator cannot fully resolve the declaring type
@@ -158,15 +167,17 @@ public class CallerMethodWrapper extends MethodWrapper {
 			ICompilationUnit cu= member.getCompilationUnit();
 			boolean isContributedElement= cu != null
 					&& !JavaCore.isJavaLikeFileName(cu.getElementName());
-			MethodReferencesSearchRequestor searchRequestor= isContributedElement
-					? new MethodReferencesSearchRequestor(false)
-					: new MethodReferencesSearchRequestor();
 			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
-			searchEngine.search(pattern, SearchEngine.getSearchParticipants(), searchScope, searchRequestor,
-					monitor);
-			return searchRequestor.getCallers();
+			List<CallerCache.Match> matches= CallerCache.getDefault().getMatches(member, limitTo, pattern, defaultSearchScope,
+					searchScope, !isContributedElement, monitor);
+			CallSearchResultCollector resultCollector= new CallSearchResultCollector();
+			for (CallerCache.Match match : matches) {
+				checkCanceled(progressMonitor);
+				resultCollector.addMember(match.fCaller, match.fCaller, match.fStart, match.fEnd);
+			}
+			return resultCollector.getCallers();
 
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
@@ -174,6 +185,47 @@ public class CallerMethodWrapper extends MethodWrapper {
 		}
 	}
 
+	/**
+	 * Finds the callers of the members of the given wrappers in parallel, so that expanding the
+	 * wrappers finds them in the cache of the callers. Used to expand a call hierarchy level by
+	 * level. A member that occurs in several wrappers is searched once.
+	 *
+	 * @param wrappers the wrappers of one level of the hierarchy
+	 * @param executor the executor to search with
+	 * @param progressMonitor the progress monitor, only used for cancellation
+	 */
+	static void prefetchCallers(List<CallerMethodWrapper> wrappers, ExecutorService executor, IProgressMonitor progressMonitor) {
+		IProgressMonitor cancelMonitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return progressMonitor != null && progressMonitor.isCanceled();
+			}
+		};
+		List<Future<?>> futures= new ArrayList<>(wrappers.size());
+		Set<String> searched= new HashSet<>();
+		for (CallerMethodWrapper wrapper : wrappers) {
+			if (searched.add(wrapper.getMethodCall().getKey() + '|' + wrapper.getFieldSearchMode())) {
+				futures.add(executor.submit(() -> wrapper.findChildren(cancelMonitor)));
+			}
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OperationCanceledException canceled)
+				throw canceled;
+			JavaManipulationPlugin.log(e.getCause());
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
 	private IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
 		if (!JdtFlags.isPrivate(member) || isRecordComponent(member))
 			return defaultSearchScope;
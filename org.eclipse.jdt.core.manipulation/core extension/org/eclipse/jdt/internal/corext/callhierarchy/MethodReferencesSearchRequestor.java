@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -55,9 +55,20 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
                 case IJavaElement.TYPE:
                 case IJavaElement.FIELD:
                 case IJavaElement.INITIALIZER:
-                    fSearchResults.addMember(member, member, match.getOffset(), match.getOffset()+match.getLength());
+                    acceptCaller(member, match.getOffset(), match.getOffset()+match.getLength());
                     break;
             }
         }
     }
+
+    /**
+     * Called for every match that is a call.
+     *
+     * @param member the calling member
+     * @param start the start of the call
+     * @param end the end of the call
+     */
+    protected void acceptCaller(IMember member, int start, int end) {
+        fSearchResults.addMember(member, member, start, end);
+    }
 }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.dom;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Decides how many compilation units are handed to one call of
+ * {@link org.eclipse.jdt.core.dom.ASTParser#createASTs(ICompilationUnit[], String[], org.eclipse.jdt.core.dom.ASTRequestor, org.eclipse.core.runtime.IProgressMonitor)}.
+ * <p>
+ * The size of a batch is not fixed: the units are added to a batch until the estimated footprint
+ * of their ASTs reaches a share of the heap which is currently free. A batch of huge generated
+ * sources is therefore small, while many small files are parsed at once. The free heap is read
+ * from the {@link MemoryMXBean} before every batch.
+ * </p>
+ * <p>
+ * The sizer also collects the number and size of the batches and the time spent parsing them, see
+ * {@link #batchParsed(int, long)}. Clients use a new sizer for every batch run.
+ * </p>
+ *
+ * @since 1.24
+ */
+public class ASTBatchSizer {
+
+	/**
+	 * Upper bound for the number of compilation units in one batch.
+	 */
+	public static final int MAX_BATCH_SIZE= 1000;
+
+	/**
+	 * Estimated number of heap bytes a resolved AST occupies per byte of source.
+	 */
+	private static final int AST_BYTES_PER_SOURCE_BYTE= 30;
+
+	/**
+	 * Source size assumed for units whose size cannot be determined cheaply.
+	 */
+	private static final long DEFAULT_SOURCE_SIZE= 8 * 1024;
+
+	/**
+	 * Part of the free heap a single batch may use. The remainder is left for the bindings
+	 * environment of the parser and for the clients of the ASTs.
+	 */
+	private static final double HEAP_SHARE= 0.5;
+
+	private final MemoryMXBean fMemoryBean;
+
+	private int fBatchCount;
+	private int fUnitCount;
+	private int fLargestBatch;
+	private int fSmallestBatch;
+	private long fParseTime;
+
+	public ASTBatchSizer() {
+		fMemoryBean= ManagementFactory.getMemoryMXBean();
+		fSmallestBatch= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the number of units, starting at <code>start</code>, which should be parsed
+	 * together in the next batch.
+	 *
+	 * @param units the units to parse
+	 * @param start the index of the first unit of the next batch
+	 * @return the size of the next batch, at least <code>1</code> if there are units left
+	 */
+	public int nextBatchSize(List<ICompilationUnit> units, int start) {
+		int remaining= units.size() - start;
+		if (remaining <= 0)
+			return 0;
+
+		long budget= (long) (getAvailableHeap() * HEAP_SHARE);
+		long footprint= 0;
+		int size= 0;
+		int max= Math.min(remaining, MAX_BATCH_SIZE);
+		while (size < max) {
+			footprint+= estimateSourceSize(units.get(start + size)) * AST_BYTES_PER_SOURCE_BYTE;
+			if (size > 0 && footprint > budget)
+				break;
+			size++;
+		}
+		return size;
+	}
+
+	/**
+	 * Records that a batch has been parsed.
+	 *
+	 * @param size the number of units in the batch
+	 * @param nanos the time it took to parse and process the batch, in nanoseconds
+	 */
+	public void batchParsed(int size, long nanos) {
+		fBatchCount++;
+		fUnitCount+= size;
+		fLargestBatch= Math.max(fLargestBatch, size);
+		fSmallestBatch= Math.min(fSmallestBatch, size);
+		fParseTime+= nanos;
+	}
+
+	public int getBatchCount() {
+		return fBatchCount;
+	}
+
+	public int getParsedUnitCount() {
+		return fUnitCount;
+	}
+
+	public int getLargestBatchSize() {
+		return fLargestBatch;
+	}
+
+	public int getSmallestBatchSize() {
+		return fBatchCount == 0 ? 0 : fSmallestBatch;
+	}
+
+	/**
+	 * @return the total time spent parsing, in milliseconds
+	 */
+	public long getParseTime() {
+		return fParseTime / 1000000;
+	}
+
+	@Override
+	public String toString() {
+		return "ASTBatchSizer [batches=" + fBatchCount + ", units=" + fUnitCount + ", smallest=" + getSmallestBatchSize() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", largest=" + fLargestBatch + ", time(ms)=" + getParseTime() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Returns the number of bytes which can still be allocated on the heap.
+	 * <p>
+	 * Subclasses may override
+	 * </p>
+	 *
+	 * @return the free heap in bytes
+	 */
+	protected long getAvailableHeap() {
+		MemoryUsage usage= fMemoryBean.getHeapMemoryUsage();
+		long max= usage.getMax();
+		if (max < 0)
+			max= Runtime.getRuntime().maxMemory();
+		return Math.max(0, max - usage.getUsed());
+	}
+
+	/**
+	 * Returns the size of the source of <code>unit</code> in bytes without reading its contents.
+	 * <p>
+	 * Subclasses may override
+	 * </p>
+	 *
+	 * @param unit the unit to estimate
+	 * @return the estimated source size in bytes
+	 */
+	protected long estimateSourceSize(ICompilationUnit unit) {
+		try {
+			if (unit.isWorkingCopy()) {
+				IBuffer buffer= unit.getBuffer();
+				if (buffer != null)
+					return buffer.getLength();
+			}
+		} catch (JavaModelException e) {
+			// use the file size
+		}
+		IResource resource= unit.getResource();
+		if (resource != null) {
+			IPath location= resource.getLocation();
+			if (location != null) {
+				long length= location.toFile().length();
+				if (length > 0)
+					return length;
+			}
+		}
+		return DEFAULT_SOURCE_SIZE;
+	}
+}
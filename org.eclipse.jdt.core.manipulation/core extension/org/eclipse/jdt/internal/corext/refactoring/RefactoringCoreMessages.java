@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -2423,6 +2423,8 @@ public final class RefactoringCoreMessages extends NLS {
 
 	public static String SourceCreationOperation_creating_source_folder;
 
+	public static String SpilledCompilationUnitChange_read_error;
+
 	public static String StatementAnalyzer_doesNotCover;
 
 	public static String StubCreationOperation_creating_type_stubs;
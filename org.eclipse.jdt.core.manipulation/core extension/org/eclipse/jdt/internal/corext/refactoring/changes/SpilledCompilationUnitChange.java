@@ -0,0 +1,571 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.changes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.TextEditGroup;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.ltk.core.refactoring.CategorizedTextEditGroup;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.ChangeDescriptor;
+import org.eclipse.ltk.core.refactoring.GroupCategorySet;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChangeGroup;
+import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+/**
+ * A change on a compilation unit whose text edits are kept in a temporary file instead of the
+ * heap. Used for refactorings that change many compilation units.
+ * <p>
+ * The {@link CompilationUnitChange} holding the edits is recreated when the change is previewed or
+ * performed, and is only softly referenced afterwards. The change groups of this change only keep
+ * the name, the category set and the region of a group, their text edits are read back from the
+ * temporary file when they are requested.
+ * </p>
+ * <p>
+ * The validation is that of a {@link CompilationUnitChange}: {@link #initializeValidationData(IProgressMonitor)}
+ * initializes a change without edits, which {@link #isValid(IProgressMonitor)} delegates to.
+ * {@link #perform(IProgressMonitor)} reads the edits into that change and performs it.
+ * </p>
+ * <p>
+ * Only changes consisting of replace, insert and delete edits below a multi-text edit can be
+ * spilled, see {@link #spill(TextChange[])}.
+ * </p>
+ */
+public final class SpilledCompilationUnitChange extends TextEditBasedChange {
+
+	/**
+	 * A temporary file holding the edits of several changes. The file is deleted when all changes
+	 * written to it are disposed.
+	 */
+	private static final class SpillFile {
+
+		private final Path fPath;
+		private final FileChannel fChannel;
+		private final List<GroupCategorySet> fCategorySets= new ArrayList<>();
+		private long fSize;
+		private int fReferences;
+
+		SpillFile() throws IOException {
+			fPath= Files.createTempFile("jdt-refactoring", ".spill"); //$NON-NLS-1$ //$NON-NLS-2$
+			fPath.toFile().deleteOnExit();
+			fChannel= FileChannel.open(fPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+
+		synchronized int getCategorySetIndex(GroupCategorySet categorySet) {
+			for (int i= 0; i < fCategorySets.size(); i++) {
+				if (fCategorySets.get(i) == categorySet)
+					return i;
+			}
+			fCategorySets.add(categorySet);
+			return fCategorySets.size() - 1;
+		}
+
+		synchronized GroupCategorySet getCategorySet(int index) {
+			return fCategorySets.get(index);
+		}
+
+		synchronized long append(byte[] bytes) throws IOException {
+			long position= fSize;
+			ByteBuffer buffer= ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				fChannel.write(buffer, position + buffer.position());
+			}
+			fSize+= bytes.length;
+			fReferences++;
+			return position;
+		}
+
+		synchronized byte[] read(long position, int length) throws IOException {
+			ByteBuffer buffer= ByteBuffer.allocate(length);
+			while (buffer.hasRemaining()) {
+				if (fChannel.read(buffer, position + buffer.position()) < 0)
+					throw new IOException("Unexpected end of file: " + fPath); //$NON-NLS-1$
+			}
+			return buffer.array();
+		}
+
+		synchronized void release() {
+			if (--fReferences <= 0)
+				delete();
+		}
+
+		synchronized void delete() {
+			try {
+				fChannel.close();
+				Files.deleteIfExists(fPath);
+			} catch (IOException e) {
+				JavaManipulationPlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * A change group of a spilled change. The text edits are those of the corresponding group of
+	 * the recreated change.
+	 */
+	private static final class SpilledChangeGroup extends TextEditBasedChangeGroup {
+
+		private final int fIndex;
+		private final int fOffset;
+		private final int fLength;
+
+		SpilledChangeGroup(SpilledCompilationUnitChange change, TextEditBasedChangeGroup group, int index) {
+			super(change, createEmptyGroup(group.getTextEditGroup()));
+			fIndex= index;
+			IRegion region= group.getRegion();
+			fOffset= region != null ? region.getOffset() : -1;
+			fLength= region != null ? region.getLength() : -1;
+			setEnabled(group.isEnabled());
+		}
+
+		private static TextEditGroup createEmptyGroup(TextEditGroup group) {
+			if (group instanceof CategorizedTextEditGroup categorized)
+				return new CategorizedTextEditGroup(group.getName(), categorized.getGroupCategorySet());
+			return new TextEditGroup(group.getName());
+		}
+
+		@Override
+		public String getName() {
+			return super.getTextEditGroup().getName();
+		}
+
+		@Override
+		public GroupCategorySet getGroupCategorySet() {
+			if (super.getTextEditGroup() instanceof CategorizedTextEditGroup categorized)
+				return categorized.getGroupCategorySet();
+			return GroupCategorySet.NONE;
+		}
+
+		@Override
+		public IRegion getRegion() {
+			return fOffset != -1 ? new Region(fOffset, fLength) : null;
+		}
+
+		@Override
+		public TextEditGroup getTextEditGroup() {
+			try {
+				SpilledCompilationUnitChange change= (SpilledCompilationUnitChange) getTextEditChange();
+				return change.getChange().getChangeGroups()[fIndex].getTextEditGroup();
+			} catch (CoreException e) {
+				JavaManipulationPlugin.log(e);
+				return super.getTextEditGroup();
+			}
+		}
+
+		@Override
+		public TextEdit[] getTextEdits() {
+			return getTextEditGroup().getTextEdits();
+		}
+	}
+
+	private static final byte REPLACE= 0;
+	private static final byte INSERT= 1;
+	private static final byte DELETE= 2;
+
+	private final ICompilationUnit fCompilationUnit;
+	private final SpillFile fFile;
+	private final long fPosition;
+	private final int fLength;
+	private final boolean fKeepPreviewEdits;
+	private final int fSaveMode;
+	private final ChangeDescriptor fDescriptor;
+	private SoftReference<CompilationUnitChange> fChange;
+	private CompilationUnitChange fValidationChange;
+	private boolean fDisposed;
+
+	private SpilledCompilationUnitChange(CompilationUnitChange change, SpillFile file, long position, int length) {
+		super(change.getName());
+		fCompilationUnit= change.getCompilationUnit();
+		fFile= file;
+		fPosition= position;
+		fLength= length;
+		fKeepPreviewEdits= change.getKeepPreviewEdits();
+		fSaveMode= change.getSaveMode();
+		fDescriptor= change.getDescriptor();
+		setTextType(change.getTextType());
+		setEnabledShallow(change.isEnabled());
+	}
+
+	/**
+	 * Writes the edits of the given changes to a temporary file. Changes that cannot be spilled
+	 * and changes on other elements than compilation units are returned as they are.
+	 *
+	 * @param changes the changes
+	 * @return the changes, with a spilled change in place of every change that has been written
+	 */
+	public static TextEditBasedChange[] spill(TextChange[] changes) {
+		TextEditBasedChange[] result= new TextEditBasedChange[changes.length];
+		System.arraycopy(changes, 0, result, 0, changes.length);
+		SpillFile file;
+		try {
+			file= new SpillFile();
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			return result;
+		}
+		try {
+			for (int i= 0; i < changes.length; i++) {
+				if (changes[i].getClass() != CompilationUnitChange.class)
+					continue;
+				CompilationUnitChange change= (CompilationUnitChange) changes[i];
+				byte[] bytes= encode(change, file);
+				if (bytes != null) {
+					long position= file.append(bytes);
+					SpilledCompilationUnitChange spilled= new SpilledCompilationUnitChange(change, file, position, bytes.length);
+					TextEditBasedChangeGroup[] groups= change.getChangeGroups();
+					for (int j= 0; j < groups.length; j++) {
+						spilled.addChangeGroup(new SpilledChangeGroup(spilled, groups[j], j));
+					}
+					result[i]= spilled;
+				}
+			}
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+		}
+		synchronized (file) {
+			if (file.fReferences == 0)
+				file.delete();
+		}
+		return result;
+	}
+
+	private static byte[] encode(CompilationUnitChange change, SpillFile file) throws IOException {
+		TextEdit root= change.getEdit();
+		TextEdit[] edits= root == null ? new TextEdit[0] : root.getChildren();
+		if (root != null && root.getClass() != MultiTextEdit.class)
+			return null;
+
+		Map<TextEdit, Integer> indices= new IdentityHashMap<>(edits.length);
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream(16 + edits.length * 16);
+		DataOutputStream out= new DataOutputStream(bytes);
+		out.writeBoolean(root != null);
+		out.writeInt(edits.length);
+		for (int i= 0; i < edits.length; i++) {
+			TextEdit edit= edits[i];
+			if (edit.hasChildren())
+				return null;
+			if (edit.getClass() == ReplaceEdit.class) {
+				out.writeByte(REPLACE);
+				out.writeInt(edit.getOffset());
+				out.writeInt(edit.getLength());
+				writeString(out, ((ReplaceEdit) edit).getText());
+			} else if (edit.getClass() == InsertEdit.class) {
+				out.writeByte(INSERT);
+				out.writeInt(edit.getOffset());
+				writeString(out, ((InsertEdit) edit).getText());
+			} else if (edit.getClass() == DeleteEdit.class) {
+				out.writeByte(DELETE);
+				out.writeInt(edit.getOffset());
+				out.writeInt(edit.getLength());
+			} else {
+				return null;
+			}
+			indices.put(edit, Integer.valueOf(i));
+		}
+
+		TextEditBasedChangeGroup[] groups= change.getChangeGroups();
+		out.writeInt(groups.length);
+		for (TextEditBasedChangeGroup group : groups) {
+			TextEditGroup editGroup= group.getTextEditGroup();
+			int categorySet;
+			if (editGroup.getClass() == TextEditGroup.class) {
+				categorySet= -1;
+			} else if (editGroup.getClass() == CategorizedTextEditGroup.class) {
+				categorySet= file.getCategorySetIndex(((CategorizedTextEditGroup) editGroup).getGroupCategorySet());
+			} else {
+				return null;
+			}
+			writeString(out, editGroup.getName());
+			out.writeInt(categorySet);
+			out.writeBoolean(group.isEnabled());
+			TextEdit[] groupEdits= editGroup.getTextEdits();
+			out.writeInt(groupEdits.length);
+			for (TextEdit groupEdit : groupEdits) {
+				Integer index= indices.get(groupEdit);
+				if (index == null)
+					return null;
+				out.writeInt(index.intValue());
+			}
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes= new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the compilation unit changed by this change.
+	 *
+	 * @return the compilation unit
+	 */
+	public ICompilationUnit getCompilationUnit() {
+		return fCompilationUnit;
+	}
+
+	/**
+	 * Reads the edits of this change back from the temporary file. The change groups of the new
+	 * change are enabled like the change groups of this change.
+	 *
+	 * @return a new change holding the edits
+	 * @throws CoreException if the edits cannot be read
+	 */
+	public CompilationUnitChange unspill() throws CoreException {
+		CompilationUnitChange change= createChange();
+		readEdits(change);
+		return change;
+	}
+
+	private CompilationUnitChange createChange() {
+		CompilationUnitChange change= new CompilationUnitChange(getName(), fCompilationUnit);
+		change.setKeepPreviewEdits(fKeepPreviewEdits);
+		change.setSaveMode(fSaveMode);
+		change.setTextType(getTextType());
+		change.setDescriptor(fDescriptor);
+		change.setEnabledShallow(isEnabled());
+		return change;
+	}
+
+	/**
+	 * Reads the edits and change groups of this change into the given change, which has none.
+	 *
+	 * @param change the change to add the edits to
+	 * @throws CoreException if the edits cannot be read
+	 */
+	private void readEdits(CompilationUnitChange change) throws CoreException {
+		try {
+			DataInputStream in= new DataInputStream(new ByteArrayInputStream(fFile.read(fPosition, fLength)));
+			boolean hasRoot= in.readBoolean();
+			TextEdit[] edits= new TextEdit[in.readInt()];
+			for (int i= 0; i < edits.length; i++) {
+				byte kind= in.readByte();
+				switch (kind) {
+					case REPLACE:
+						edits[i]= new ReplaceEdit(in.readInt(), in.readInt(), readString(in));
+						break;
+					case INSERT:
+						edits[i]= new InsertEdit(in.readInt(), readString(in));
+						break;
+					case DELETE:
+						edits[i]= new DeleteEdit(in.readInt(), in.readInt());
+						break;
+					default:
+						throw new IOException("Unknown edit kind: " + kind); //$NON-NLS-1$
+				}
+			}
+			if (hasRoot) {
+				MultiTextEdit root= new MultiTextEdit();
+				root.addChildren(edits);
+				change.setEdit(root);
+			}
+
+			TextEditBasedChangeGroup[] spilledGroups= getChangeGroups();
+			int groups= in.readInt();
+			for (int i= 0; i < groups; i++) {
+				String name= readString(in);
+				int categorySet= in.readInt();
+				boolean enabled= in.readBoolean();
+				TextEdit[] groupEdits= new TextEdit[in.readInt()];
+				for (int j= 0; j < groupEdits.length; j++) {
+					groupEdits[j]= edits[in.readInt()];
+				}
+				TextEditGroup editGroup= categorySet == -1
+						? new TextEditGroup(name, groupEdits)
+						: new CategorizedTextEditGroup(name, groupEdits, fFile.getCategorySet(categorySet));
+				TextEditChangeGroup group= new TextEditChangeGroup(change, editGroup);
+				group.setEnabled(i < spilledGroups.length ? spilledGroups[i].isEnabled() : enabled);
+				change.addTextEditChangeGroup(group);
+			}
+		} catch (IOException e) {
+			String message= Messages.format(RefactoringCoreMessages.SpilledCompilationUnitChange_read_error, BasicElementLabels.getFileName(fCompilationUnit));
+			throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), message, e));
+		}
+	}
+
+	private synchronized CompilationUnitChange getChange() throws CoreException {
+		CompilationUnitChange change= fChange != null ? fChange.get() : null;
+		if (change == null) {
+			change= unspill();
+			fChange= new SoftReference<>(change);
+		} else {
+			TextEditBasedChangeGroup[] spilledGroups= getChangeGroups();
+			TextEditBasedChangeGroup[] groups= change.getChangeGroups();
+			for (int i= 0; i < groups.length && i < spilledGroups.length; i++) {
+				groups[i].setEnabled(spilledGroups[i].isEnabled());
+			}
+		}
+		return change;
+	}
+
+	@Override
+	public Object getModifiedElement() {
+		return fCompilationUnit;
+	}
+
+	@Override
+	public Object[] getAffectedObjects() {
+		return new Object[] { fCompilationUnit };
+	}
+
+	@Override
+	public ChangeDescriptor getDescriptor() {
+		return fDescriptor;
+	}
+
+	@Override
+	public <T> T getAdapter(Class<T> adapter) {
+		if (ICompilationUnit.class.equals(adapter))
+			return adapter.cast(fCompilationUnit);
+		return super.getAdapter(adapter);
+	}
+
+	@Override
+	public void initializeValidationData(IProgressMonitor pm) {
+		CompilationUnitChange change= createChange();
+		change.initializeValidationData(pm);
+		CompilationUnitChange previous;
+		synchronized (this) {
+			previous= fValidationChange;
+			fValidationChange= change;
+		}
+		if (previous != null)
+			previous.dispose();
+	}
+
+	@Override
+	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException {
+		CompilationUnitChange change;
+		synchronized (this) {
+			change= fValidationChange;
+		}
+		if (change == null)
+			return new RefactoringStatus();
+		return change.isValid(pm);
+	}
+
+	@Override
+	public Change perform(IProgressMonitor pm) throws CoreException {
+		CompilationUnitChange change;
+		synchronized (this) {
+			change= fValidationChange;
+			fValidationChange= null;
+			fChange= null;
+		}
+		if (change == null) {
+			change= createChange();
+			change.initializeValidationData(pm);
+		}
+		try {
+			readEdits(change);
+			change.setEnabledShallow(isEnabled());
+			return change.perform(pm);
+		} finally {
+			change.dispose();
+		}
+	}
+
+	@Override
+	public void dispose() {
+		CompilationUnitChange validationChange;
+		synchronized (this) {
+			if (fDisposed)
+				return;
+			fDisposed= true;
+			fChange= null;
+			validationChange= fValidationChange;
+			fValidationChange= null;
+		}
+		if (validationChange != null)
+			validationChange.dispose();
+		fFile.release();
+	}
+
+	@Override
+	public String getCurrentContent(IProgressMonitor pm) throws CoreException {
+		return getChange().getCurrentContent(pm);
+	}
+
+	@Override
+	public String getCurrentContent(IRegion region, boolean expandRegionToFullLine, int surroundingLines, IProgressMonitor pm) throws CoreException {
+		return getChange().getCurrentContent(region, expandRegionToFullLine, surroundingLines, pm);
+	}
+
+	@Override
+	public String getPreviewContent(IProgressMonitor pm) throws CoreException {
+		return getChange().getPreviewContent(pm);
+	}
+
+	@Override
+	public String getPreviewContent(TextEditBasedChangeGroup[] changeGroups, IRegion region, boolean expandRegionToFullLine, int surroundingLines, IProgressMonitor pm) throws CoreException {
+		CompilationUnitChange change= getChange();
+		TextEditBasedChangeGroup[] groups= change.getChangeGroups();
+		TextEditBasedChangeGroup[] recreatedGroups= new TextEditBasedChangeGroup[changeGroups.length];
+		for (int i= 0; i < changeGroups.length; i++) {
+			if (changeGroups[i] instanceof SpilledChangeGroup spilledGroup && spilledGroup.getTextEditChange() == this)
+				recreatedGroups[i]= groups[spilledGroup.fIndex];
+			else
+				recreatedGroups[i]= changeGroups[i];
+		}
+		return change.getPreviewContent(recreatedGroups, region, expandRegionToFullLine, surroundingLines, pm);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,6 +73,7 @@ import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
 import org.eclipse.jdt.internal.corext.CorextCore;
 import org.eclipse.jdt.internal.corext.SourceRangeFactory;
+import org.eclipse.jdt.internal.corext.dom.ASTBatchSizer;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.refactoring.Checks;
@@ -179,15 +180,17 @@ public class InferTypeArgumentsRefactoring extends Refactoring {
 				ArrayList<IJavaElement> javaElementsList= entry.getValue();
 				IJavaElement[] javaElements= javaElementsList.toArray(new IJavaElement[javaElementsList.size()]);
 				List<ICompilationUnit> cus= Arrays.asList(JavaModelUtil.getAllCompilationUnits(javaElements));
-				int batchSize= 150;
-				int batches= ((cus.size()-1) / batchSize) + 1;
+				ASTBatchSizer batchSizer= new ASTBatchSizer();
 				IProgressMonitor projectMonitor= Progress.subMonitor(pm, 1);
-				projectMonitor.beginTask("", batches); //$NON-NLS-1$
+				projectMonitor.beginTask("", cus.size()); //$NON-NLS-1$
 				projectMonitor.setTaskName(RefactoringCoreMessages.InferTypeArgumentsRefactoring_building);
-				for (int i= 0; i < batches; i++) {
-					List<ICompilationUnit> batch= cus.subList(i * batchSize, Math.min(cus.size(), (i + 1) * batchSize));
+				int cursor= 0;
+				while (cursor < cus.size()) {
+					int batchSize= batchSizer.nextBatchSize(cus, cursor);
+					List<ICompilationUnit> batch= cus.subList(cursor, cursor + batchSize);
 					ICompilationUnit[] batchCus= batch.toArray(new ICompilationUnit[batch.size()]);
-					final IProgressMonitor batchMonitor= Progress.subMonitor(projectMonitor, 1);
+					final IProgressMonitor batchMonitor= Progress.subMonitor(projectMonitor, batchSize);
+					long start= System.nanoTime();
 					batchMonitor.subTask(RefactoringCoreMessages.InferTypeArgumentsRefactoring_calculating_dependencies);
 					ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
 					parser.setProject(project);
@@ -228,6 +231,8 @@ public class InferTypeArgumentsRefactoring extends Refactoring {
 							//do nothing
 						}
 					}, batchMonitor);
+					batchSizer.batchParsed(batchSize, System.nanoTime() - start);
+					cursor+= batchSize;
 				}
 				projectMonitor.done();
 				fTCModel.newCu();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,10 @@ package org.eclipse.jdt.internal.corext.refactoring.rename;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -69,13 +71,12 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.SearchResultGroup;
 import org.eclipse.jdt.internal.corext.refactoring.base.JavaStringStatusContext;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelChangeProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
 
-import org.eclipse.jdt.internal.ui.util.Progress;
-
 public class RenameAnalyzeUtil {
 
 	private static class ProblemNodeFinder {
@@ -183,24 +184,53 @@ public class RenameAnalyzeUtil {
 		return null;
 	}
 
+	/**
+	 * Creates working copies containing the changes of the given compilation units. The working
+	 * copies are created and reconciled in parallel.
+	 *
+	 * @param compilationUnitsToModify the compilation units
+	 * @param manager the manager holding the changes
+	 * @param owner the owner of the new working copies
+	 * @param pm the progress monitor
+	 * @return the working copies, in the order of the compilation units
+	 * @throws CoreException if a working copy could not be created, all working copies created so
+	 *             far are discarded
+	 */
 	public static ICompilationUnit[] createNewWorkingCopies(ICompilationUnit[] compilationUnitsToModify, TextChangeManager manager, WorkingCopyOwner owner, IProgressMonitor pm) throws CoreException {
-		pm.beginTask("", compilationUnitsToModify.length); //$NON-NLS-1$
-		ICompilationUnit[] newWorkingCopies= new ICompilationUnit[compilationUnitsToModify.length];
-		for (int i= 0; i < compilationUnitsToModify.length; i++) {
-			ICompilationUnit cu= compilationUnitsToModify[i];
-			newWorkingCopies[i]= createNewWorkingCopy(cu, manager, owner, Progress.subMonitor(pm, 1));
+		List<ICompilationUnit> created= Collections.synchronizedList(new ArrayList<>(compilationUnitsToModify.length));
+		boolean success= false;
+		try {
+			List<ICompilationUnit> newWorkingCopies= ParallelChangeProcessor.run(Arrays.asList(compilationUnitsToModify), (cu, monitor) -> {
+				ICompilationUnit newWc= cu.getWorkingCopy(owner, null);
+				created.add(newWc);
+				setPreviewContent(newWc, cu, manager, owner, monitor);
+				return newWc;
+			}, pm);
+			success= true;
+			return newWorkingCopies.toArray(new ICompilationUnit[newWorkingCopies.size()]);
+		} finally {
+			if (!success) {
+				synchronized (created) {
+					for (ICompilationUnit newWc : created) {
+						newWc.discardWorkingCopy();
+					}
+				}
+			}
 		}
-		pm.done();
-		return newWorkingCopies;
 	}
 
 	public static ICompilationUnit createNewWorkingCopy(ICompilationUnit cu, TextChangeManager manager,
 			WorkingCopyOwner owner, IProgressMonitor pm) throws CoreException {
 		ICompilationUnit newWc= cu.getWorkingCopy(owner, null);
+		setPreviewContent(newWc, cu, manager, owner, pm);
+		return newWc;
+	}
+
+	private static void setPreviewContent(ICompilationUnit newWc, ICompilationUnit cu, TextChangeManager manager,
+			WorkingCopyOwner owner, IProgressMonitor pm) throws CoreException {
 		String previewContent= manager.get(cu).getPreviewContent(new NullProgressMonitor());
 		newWc.getBuffer().setContents(previewContent);
 		newWc.reconcile(ICompilationUnit.NO_AST, false, owner, pm);
-		return newWc;
 	}
 
 	private static boolean existsInNewOccurrences(SearchMatch searchResult, SearchResultGroup[] newOccurrences, TextChangeManager manager) {
@@ -257,7 +287,7 @@ public class RenameAnalyzeUtil {
 	//TODO: Currently filters out declarations (MethodDeclarationMatch, FieldDeclarationMatch).
 	//Long term solution: only pass reference search results in.
 	public static RefactoringStatus analyzeRenameChanges2(TextChangeManager manager,
-			SearchResultGroup[] oldReferences, SearchResultGroup[] newReferences, String newElementName) {
+			SearchResultGroup[] oldReferences, SearchResultGroup[] newReferences, String newElementName) throws CoreException {
 		RefactoringStatus result= new RefactoringStatus();
 
 		HashMap<ICompilationUnit, SearchMatch[]> cuToNewResults= new HashMap<>(newReferences.length);
@@ -267,20 +297,33 @@ public class RenameAnalyzeUtil {
 				cuToNewResults.put(cu.getPrimary(), newReference.getSearchResults());
 		}
 
+		List<SearchResultGroup> oldGroups= new ArrayList<>(oldReferences.length);
+		Map<SearchResultGroup, SearchMatch[]> oldGroupToNewResults= new HashMap<>(oldReferences.length);
 		for (SearchResultGroup oldGroup : oldReferences) {
-			SearchMatch[] oldMatches= oldGroup.getSearchResults();
 			ICompilationUnit cu= oldGroup.getCompilationUnit();
 			if (cu == null)
 				continue;
+			oldGroups.add(oldGroup);
+			oldGroupToNewResults.put(oldGroup, cuToNewResults.remove(cu));
+		}
 
-			SearchMatch[] newSearchMatches= cuToNewResults.remove(cu);
+		// analyze the compilation units in parallel and merge the statuses in the order of the references
+		List<RefactoringStatus> statuses= ParallelChangeProcessor.run(oldGroups, (oldGroup, monitor) -> {
+			SearchMatch[] oldMatches= oldGroup.getSearchResults();
+			ICompilationUnit cu= oldGroup.getCompilationUnit();
+			SearchMatch[] newSearchMatches= oldGroupToNewResults.get(oldGroup);
+			RefactoringStatus status= new RefactoringStatus();
 			if (newSearchMatches == null) {
 				for (SearchMatch oldMatch : oldMatches) {
-					addShadowsError(cu, oldMatch, result);
+					addShadowsError(cu, oldMatch, status);
 				}
 			} else {
-				analyzeChanges(cu, manager.get(cu), oldMatches, newSearchMatches, newElementName, result);
+				analyzeChanges(cu, manager.get(cu), oldMatches, newSearchMatches, newElementName, status);
 			}
+			return status;
+		}, new NullProgressMonitor());
+		for (RefactoringStatus status : statuses) {
+			result.merge(status);
 		}
 
 		for (Entry<ICompilationUnit, SearchMatch[]> entry : cuToNewResults.entrySet()) {
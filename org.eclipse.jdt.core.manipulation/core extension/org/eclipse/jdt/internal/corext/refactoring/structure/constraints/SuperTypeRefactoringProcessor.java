@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -95,6 +95,7 @@ import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.core.manipulation.StubUtility;
 import org.eclipse.jdt.internal.corext.codemanipulation.CodeGenerationSettings;
 import org.eclipse.jdt.internal.corext.codemanipulation.ContextSensitiveImportRewriteContext;
+import org.eclipse.jdt.internal.corext.dom.ASTBatchSizer;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.refactoring.JDTRefactoringDescriptorComment;
@@ -136,9 +137,6 @@ public abstract class SuperTypeRefactoringProcessor extends RefactoringProcessor
 	protected static final GroupCategorySet SET_SUPER_TYPE= new GroupCategorySet(new GroupCategory("org.eclipse.jdt.internal.corext.superType", //$NON-NLS-1$
 			RefactoringCoreMessages.SuperTypeRefactoringProcessor_category_name, RefactoringCoreMessages.SuperTypeRefactoringProcessor_category_description));
 
-	/** Number of compilation units to parse at once */
-	private static final int SIZE_BATCH= 500;
-
 	/**
 	 * Returns a new ast node corresponding to the given type.
 	 *
@@ -1176,21 +1174,24 @@ public abstract class SuperTypeRefactoringProcessor extends RefactoringProcessor
 							}
 							final List<ICompilationUnit> batches= new ArrayList<>(units);
 							final int size= batches.size();
-							final int iterations= (size - 1) / SIZE_BATCH + 1;
+							final ASTBatchSizer sizer= new ASTBatchSizer();
 							final IProgressMonitor subsubMonitor= Progress.subMonitor(subMonitor, 100);
 							try {
-								subsubMonitor.beginTask("", iterations * 100); //$NON-NLS-1$
+								subsubMonitor.beginTask("", size * 100); //$NON-NLS-1$
 								subsubMonitor.setTaskName(RefactoringCoreMessages.SuperTypeRefactoringProcessor_creating);
 								final Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-								for (int index= 0; index < iterations; index++) {
-									final List<ICompilationUnit> iteration= batches.subList(index * SIZE_BATCH, Math.min(size, (index + 1) * SIZE_BATCH));
+								int index= 0;
+								while (index < size) {
+									final int count= sizer.nextBatchSize(batches, index);
+									final List<ICompilationUnit> iteration= batches.subList(index, index + count);
+									index+= count;
 									parser.setWorkingCopyOwner(fOwner);
 									parser.setResolveBindings(true);
 									parser.setProject(project);
 									parser.setCompilerOptions(options);
-									final IProgressMonitor subsubsubMonitor= Progress.subMonitor(subsubMonitor, 100);
+									final IProgressMonitor subsubsubMonitor= Progress.subMonitor(subsubMonitor, count * 100);
+									final long start= System.nanoTime();
 									try {
-										final int count= iteration.size();
 										subsubsubMonitor.beginTask("", count * 100); //$NON-NLS-1$
 										subsubsubMonitor.setTaskName(RefactoringCoreMessages.SuperTypeRefactoringProcessor_creating);
 										parser.createASTs(iteration.toArray(new ICompilationUnit[count]), new String[0], new ASTRequestor() {
@@ -1210,6 +1211,7 @@ public abstract class SuperTypeRefactoringProcessor extends RefactoringProcessor
 											}
 										}, new NullProgressMonitor());
 									} finally {
+										sizer.batchParsed(count, System.nanoTime() - start);
 										subsubsubMonitor.done();
 									}
 								}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs the per compilation unit steps of a refactoring, such as creating the text edits for the
+ * search matches of a compilation unit or checking the changed compilation unit, on a pool of
+ * worker threads.
+ * <p>
+ * The results are returned in the order of the elements, so that statuses and changes can be
+ * merged deterministically. A task must only modify state belonging to its element, for example
+ * the {@link TextChangeManager#get(org.eclipse.jdt.core.ICompilationUnit) text change} of its
+ * compilation unit.
+ * </p>
+ * <p>
+ * The number of workers is set by the system property
+ * <code>org.eclipse.jdt.ui.refactoring.parallelism</code>, a value of 1 runs all tasks in the
+ * calling thread.
+ * </p>
+ * <p>
+ * The workers are never interrupted, as an interrupt can close the channels of the Java model
+ * and the resources that are accessed by a task. When an element fails or the progress monitor
+ * is canceled, the tasks that did not start yet are skipped and the running tasks see a canceled
+ * monitor. The method returns after all started tasks have finished.
+ * </p>
+ */
+public final class ParallelChangeProcessor {
+
+	/**
+	 * A step of a refactoring performed for one element.
+	 *
+	 * @param <E> the type of the elements
+	 * @param <R> the type of the results
+	 */
+	@FunctionalInterface
+	public interface Task<E, R> {
+
+		/**
+		 * Performs the step for an element.
+		 *
+		 * @param element the element
+		 * @param monitor the progress monitor, only to be used for cancellation
+		 * @return the result, can be <code>null</code>
+		 * @throws CoreException if the step fails
+		 */
+		R run(E element, IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * Maximal number of worker threads.
+	 */
+	public static final int PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.refactoring.parallelism", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue());
+
+	/**
+	 * Minimal number of elements processed by a worker. Fewer elements are processed in the
+	 * calling thread.
+	 */
+	private static final int MIN_ELEMENTS_PER_WORKER= 20;
+
+	private ParallelChangeProcessor() {
+		// no instance
+	}
+
+	/**
+	 * Runs a task for each element and returns the results in the order of the elements.
+	 *
+	 * @param <E> the type of the elements
+	 * @param <R> the type of the results
+	 * @param elements the elements
+	 * @param task the task
+	 * @param pm the progress monitor, one unit of work is reported per element
+	 * @return the results, in the order of the elements
+	 * @throws CoreException the exception of the first failed element
+	 * @throws OperationCanceledException if the progress monitor is canceled
+	 */
+	public static <E, R> List<R> run(List<E> elements, Task<E, R> task, IProgressMonitor pm) throws CoreException {
+		int size= elements.size();
+		List<R> results= new ArrayList<>(size);
+		pm.beginTask("", size); //$NON-NLS-1$
+		try {
+			AtomicBoolean stopped= new AtomicBoolean();
+			IProgressMonitor cancelMonitor= new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return stopped.get() || pm.isCanceled();
+				}
+			};
+			int workers= Math.min(PARALLELISM, size / MIN_ELEMENTS_PER_WORKER);
+			if (workers <= 1) {
+				for (E element : elements) {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					results.add(task.run(element, cancelMonitor));
+					pm.worked(1);
+				}
+				return results;
+			}
+
+			ExecutorService executor= createExecutor(workers);
+			List<Future<R>> futures= new ArrayList<>(size);
+			try {
+				for (E element : elements) {
+					futures.add(executor.submit(() -> {
+						if (cancelMonitor.isCanceled())
+							throw new OperationCanceledException();
+						return task.run(element, cancelMonitor);
+					}));
+				}
+				for (Future<R> future : futures) {
+					results.add(future.get());
+					pm.worked(1);
+				}
+				return results;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof CoreException coreException)
+					throw coreException;
+				if (cause instanceof RuntimeException runtimeException)
+					throw runtimeException;
+				if (cause instanceof Error error)
+					throw error;
+				throw new IllegalStateException(cause);
+			} finally {
+				stopped.set(true);
+				executor.shutdown();
+				awaitTermination(executor);
+			}
+		} finally {
+			pm.done();
+		}
+	}
+
+	/*
+	 * Waits until the started tasks have finished, an interrupt of the calling thread is
+	 * restored afterwards.
+	 */
+	private static void awaitTermination(ExecutorService executor) {
+		boolean interrupted= false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.SECONDS))
+					break;
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	private static ExecutorService createExecutor(int parallelism) {
+		ThreadFactory factory= new ThreadFactory() {
+			private final AtomicInteger counter= new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t= new Thread(r, "Refactoring Worker-" + counter.getAndIncrement()); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			}
+		};
+		return Executors.newFixedThreadPool(parallelism, factory);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,24 +14,77 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.corext.refactoring.changes.SpilledCompilationUnitChange;
+
 
 /**
  * A <code>TextChangeManager</code> manages associations between <code>ICompilationUnit</code>
  * or <code>IFile</code> and <code>TextChange</code> objects.
+ * <p>
+ * The manager is thread-safe, so the changes of different compilation units can be created
+ * concurrently, see {@link ParallelChangeProcessor}. A single <code>TextChange</code> is not
+ * thread-safe.
+ * </p>
+ * <p>
+ * Refactorings changing many compilation units can {@link #spill() spill} their changes once all
+ * edits are created and checked, which keeps the text edits in a temporary file until the changes
+ * are previewed or performed. A spilled change is read back when it is requested with
+ * {@link #get(ICompilationUnit)}. If it cannot be read, the returned change fails when it is
+ * validated or performed.
+ * </p>
  */
 public class TextChangeManager {
 
-	private Map<ICompilationUnit, TextChange> fMap= new HashMap<>(10);
+	/**
+	 * Stands in for a spilled change whose edits cannot be read back. Validating the change
+	 * reports the error, performing it throws it.
+	 */
+	private static final class UnreadableChange extends CompilationUnitChange {
+
+		private final CoreException fException;
+
+		UnreadableChange(ICompilationUnit cu, CoreException exception) {
+			super(cu.getElementName(), cu);
+			fException= exception;
+		}
+
+		@Override
+		public RefactoringStatus isValid(IProgressMonitor pm) {
+			return RefactoringStatus.createFatalErrorStatus(fException.getStatus().getMessage());
+		}
+
+		@Override
+		public Change perform(IProgressMonitor pm) throws CoreException {
+			throw fException;
+		}
+	}
+
+	/**
+	 * Number of changed compilation units above which {@link #spillAllChanges()} writes the text
+	 * edits to a temporary file. Set by the system property
+	 * <code>org.eclipse.jdt.ui.refactoring.spillThreshold</code>.
+	 */
+	public static final int SPILL_THRESHOLD= Integer.getInteger("org.eclipse.jdt.ui.refactoring.spillThreshold", 1000).intValue(); //$NON-NLS-1$
+
+	private Map<ICompilationUnit, TextEditBasedChange> fMap= new ConcurrentHashMap<>(10);
 
 	private final boolean fKeepExecutedTextEdits;
 
@@ -62,13 +115,35 @@ public class TextChangeManager {
 	 * @return the text change associated with the given compilation unit.
 	 */
 	public TextChange get(ICompilationUnit cu) {
-		TextChange result= fMap.get(cu);
+		TextEditBasedChange result= fMap.get(cu);
 		if (result == null) {
-			result= new CompilationUnitChange(cu.getElementName(), cu);
-			result.setKeepPreviewEdits(fKeepExecutedTextEdits);
-			fMap.put(cu, result);
+			result= fMap.computeIfAbsent(cu, this::createChange);
+		}
+		if (result instanceof SpilledCompilationUnitChange) {
+			result= fMap.computeIfPresent(cu, this::unspill);
+		}
+		return (TextChange) result;
+	}
+
+	private TextChange createChange(ICompilationUnit cu) {
+		TextChange change= new CompilationUnitChange(cu.getElementName(), cu);
+		change.setKeepPreviewEdits(fKeepExecutedTextEdits);
+		return change;
+	}
+
+	/*
+	 * Reads a spilled change back. A change that cannot be read is replaced by one that fails, so
+	 * that its edits are not dropped silently.
+	 */
+	private TextChange unspill(ICompilationUnit cu, TextEditBasedChange change) {
+		if (change instanceof SpilledCompilationUnitChange spilled) {
+			try {
+				return spilled.unspill();
+			} catch (CoreException e) {
+				return new UnreadableChange(cu, e);
+			}
 		}
-		return result;
+		return (TextChange) change;
 	}
 
 	/**
@@ -79,7 +154,8 @@ public class TextChangeManager {
 	 * @return the removed <code>TextChange</code>.
 	 */
 	public TextChange remove(ICompilationUnit unit) {
-		return fMap.remove(unit);
+		TextEditBasedChange change= fMap.remove(unit);
+		return change == null ? null : unspill(unit, change);
 	}
 
 	/**
@@ -88,6 +164,60 @@ public class TextChangeManager {
 	 * @return all text changes managed by this instance
 	 */
 	public TextChange[] getAllChanges(){
+		ICompilationUnit[] cus= getSortedCompilationUnits();
+		TextChange[] textChanges= new TextChange[cus.length];
+		for (int i= 0; i < cus.length; i++) {
+			textChanges[i]= get(cus[i]);
+		}
+		return textChanges;
+	}
+
+	/**
+	 * Writes the text edits of the managed changes to a temporary file if more than
+	 * {@link #SPILL_THRESHOLD} compilation units are changed. To be called once all edits are
+	 * created and checked, changes that are requested afterwards are read back.
+	 */
+	public void spill() {
+		if (fMap.size() <= SPILL_THRESHOLD)
+			return;
+
+		List<ICompilationUnit> cus= new ArrayList<>(fMap.size());
+		List<TextChange> textChanges= new ArrayList<>(fMap.size());
+		for (ICompilationUnit cu : getSortedCompilationUnits()) {
+			if (fMap.get(cu) instanceof TextChange textChange) {
+				cus.add(cu);
+				textChanges.add(textChange);
+			}
+		}
+		TextEditBasedChange[] changes= SpilledCompilationUnitChange.spill(textChanges.toArray(new TextChange[textChanges.size()]));
+		for (int i= 0; i < changes.length; i++) {
+			fMap.replace(cus.get(i), textChanges.get(i), changes[i]);
+		}
+	}
+
+	/**
+	 * Returns all changes managed by this instance, like {@link #getAllChanges()}, after
+	 * {@link #spill() spilling} them. Spilled changes are returned as they are and read their
+	 * text edits back when they are previewed or performed.
+	 * <p>
+	 * The returned changes must be disposed.
+	 * </p>
+	 *
+	 * @return all changes managed by this instance
+	 */
+	public TextEditBasedChange[] spillAllChanges() {
+		spill();
+		ICompilationUnit[] cus= getSortedCompilationUnits();
+		List<TextEditBasedChange> changes= new ArrayList<>(cus.length);
+		for (ICompilationUnit cu : cus) {
+			TextEditBasedChange change= fMap.get(cu);
+			if (change != null)
+				changes.add(change);
+		}
+		return changes.toArray(new TextEditBasedChange[changes.size()]);
+	}
+
+	private ICompilationUnit[] getSortedCompilationUnits() {
 		Set<ICompilationUnit> cuSet= fMap.keySet();
 		ICompilationUnit[] cus= cuSet.toArray(new ICompilationUnit[cuSet.size()]);
 		// sort by cu name:
@@ -96,12 +226,7 @@ public class TextChangeManager {
 			String name2= o2.getElementName();
 			return name1.compareTo(name2);
 		});
-
-		TextChange[] textChanges= new TextChange[cus.length];
-		for (int i= 0; i < cus.length; i++) {
-			textChanges[i]= fMap.get(cus[i]);
-		}
-		return textChanges;
+		return cus;
 	}
 
 	/**
@@ -114,9 +239,13 @@ public class TextChangeManager {
 	}
 
 	/**
-	 * Clears all associations between resources and text changes.
+	 * Clears all associations between resources and text changes. Spilled changes are disposed.
 	 */
 	public void clear() {
+		for (TextEditBasedChange change : fMap.values()) {
+			if (change instanceof SpilledCompilationUnitChange)
+				change.dispose();
+		}
 		fMap.clear();
 	}
 
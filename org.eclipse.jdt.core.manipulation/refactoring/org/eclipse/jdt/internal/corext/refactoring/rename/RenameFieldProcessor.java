@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.eclipse.ltk.core.refactoring.GroupCategorySet;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
 import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
 
@@ -95,6 +96,7 @@ import org.eclipse.jdt.internal.corext.refactoring.tagging.IReferenceUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelChangeProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.util.ResourceUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextChangeManager;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -578,6 +580,10 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 			if (result.hasFatalError())
 				return result;
 
+			if (!fIsComposite) {
+				// all edits are created and checked
+				fChangeManager.spill();
+			}
 			return result;
 		} finally{
 			pm.done();
@@ -766,7 +772,7 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 	public Change createChange(IProgressMonitor monitor) throws CoreException {
 		try {
 			monitor.beginTask(RefactoringCoreMessages.RenameFieldRefactoring_checking, 1);
-			TextChange[] changes= fChangeManager.getAllChanges();
+			TextEditBasedChange[] changes= fChangeManager.spillAllChanges();
 			RenameJavaElementDescriptor descriptor= createRefactoringDescriptor();
 			return new DynamicValidationRefactoringChange(descriptor, getProcessorName(), changes);
 		} finally {
@@ -943,18 +949,19 @@ public class RenameFieldProcessor extends JavaRenameProcessor implements IRefere
 
 	}
 
-	private void addReferenceUpdates(IProgressMonitor pm) {
-		pm.beginTask("", fReferences.length); //$NON-NLS-1$
+	private void addReferenceUpdates(IProgressMonitor pm) throws CoreException {
+		// the references are grouped by compilation unit, so the changes can be created in parallel
 		String editName= RefactoringCoreMessages.RenameFieldRefactoring_Update_field_reference;
-		for (SearchResultGroup reference : fReferences) {
+		ParallelChangeProcessor.run(Arrays.asList(fReferences), (reference, monitor) -> {
 			ICompilationUnit cu= reference.getCompilationUnit();
 			if (cu == null)
-				continue;
+				return null;
+			TextChange change= fChangeManager.get(cu);
 			for (SearchMatch result : reference.getSearchResults()) {
-				addTextEdit(fChangeManager.get(cu), editName, createTextChange(result));
+				addTextEdit(change, editName, createTextChange(result));
 			}
-			pm.worked(1);
-		}
+			return null;
+		}, pm);
 	}
 
 	private TextEdit createTextChange(SearchMatch match) {
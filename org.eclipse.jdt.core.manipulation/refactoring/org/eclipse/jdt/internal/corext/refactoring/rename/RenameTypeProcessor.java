@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -116,6 +116,7 @@ import org.eclipse.jdt.internal.corext.refactoring.tagging.ITextUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.Changes;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelChangeProcessor;
 import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameFinder;
 import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
@@ -570,6 +571,9 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 			if (fUpdateQualifiedNames)
 				computeQualifiedNameMatches(Progress.subMonitor(pm, qualifiedNamesTicks));
 
+			// all edits are created and checked
+			fChangeManager.spill();
+
 			return result;
 		} finally {
 			pm.done();
@@ -1070,16 +1074,10 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 			descriptor.setMatchStrategy(fRenamingStrategy);
 			final DynamicValidationRefactoringChange result= new DynamicValidationRefactoringChange(descriptor, RefactoringCoreMessages.RenameTypeProcessor_change_name);
 
-			if (fChangeManager.containsChangesIn(fType.getCompilationUnit())) {
-				TextChange textChange= fChangeManager.get(fType.getCompilationUnit());
-				if (textChange instanceof TextFileChange) {
-					((TextFileChange) textChange).setSaveMode(TextFileChange.FORCE_SAVE);
-				}
-			}
 			if (willRenameCU()) {
 				createChangeForRenamedCU(fType, fChangeManager, result);
 			} else {
-				result.addAll(fChangeManager.getAllChanges());
+				result.addAll(fChangeManager.spillAllChanges());
 			}
 			monitor.worked(1);
 			return result;
@@ -1098,14 +1096,14 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 	}
 
 	protected void createChangeForRenamedCUStandardResource(IType type, TextChangeManager changeManager, DynamicValidationRefactoringChange result) {
-		result.addAll(changeManager.getAllChanges());
+		result.addAll(changeManager.spillAllChanges());
 
 		String renamedCUName = JavaModelUtil.getRenamedCUName(type.getCompilationUnit(), getNewElementName());
 		result.add(new RenameCompilationUnitChange(type.getCompilationUnit(), renamedCUName));
 	}
 
 	protected void createChangeForRenamedCUNullOrLinkedResource(IType type, TextChangeManager changeManager, IResource resource, DynamicValidationRefactoringChange result) {
-		result.addAll(changeManager.getAllChanges());
+		result.addAll(changeManager.spillAllChanges());
 		String ext= resource.getFileExtension();
 		String renamedResourceName;
 		if (ext == null)
@@ -1171,6 +1169,13 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 					addSimilarElementsTextualUpdates(fChangeManager, Progress.subMonitor(pm, 3));
 			}
 
+			if (fChangeManager.containsChangesIn(fType.getCompilationUnit())) {
+				TextChange textChange= fChangeManager.get(fType.getCompilationUnit());
+				if (textChange instanceof TextFileChange) {
+					((TextFileChange) textChange).setSaveMode(TextFileChange.FORCE_SAVE);
+				}
+			}
+
 		} finally{
 			pm.done();
 		}
@@ -1200,21 +1205,21 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		}
 	}
 
-	private void addReferenceUpdates(TextChangeManager manager, IProgressMonitor pm) {
-		pm.beginTask("", fReferences.length); //$NON-NLS-1$
-		for (SearchResultGroup reference : fReferences) {
+	private void addReferenceUpdates(TextChangeManager manager, IProgressMonitor pm) throws CoreException {
+		// the references are grouped by compilation unit, so the changes can be created in parallel
+		String name= RefactoringCoreMessages.RenameTypeRefactoring_update_reference;
+		ParallelChangeProcessor.run(Arrays.asList(fReferences), (reference, monitor) -> {
 			ICompilationUnit cu= reference.getCompilationUnit();
 			if (cu == null)
-				continue;
-
-			String name= RefactoringCoreMessages.RenameTypeRefactoring_update_reference;
+				return null;
 
+			TextChange change= manager.get(cu);
 			for (SearchMatch match : reference.getSearchResults()) {
 				ReplaceEdit replaceEdit= new ReplaceEdit(match.getOffset(), match.getLength(), getNewElementName());
-				TextChangeCompatibility.addTextEdit(manager.get(cu), name, replaceEdit, CATEGORY_TYPE_RENAME);
+				TextChangeCompatibility.addTextEdit(change, name, replaceEdit, CATEGORY_TYPE_RENAME);
 			}
-			pm.worked(1);
-		}
+			return null;
+		}, pm);
 	}
 
 	private void computeQualifiedNameMatches(IProgressMonitor pm) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,18 @@ public class JUnitPreferencesConstants {
 	 */
 	public static final String MAX_TEST_RUNS= JUnitCorePlugin.PLUGIN_ID + ".max_test_runs"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether test runs report their results with the batched
+	 * binary protocol instead of the text protocol.
+	 */
+	public static final String BINARY_PROTOCOL= JUnitCorePlugin.PLUGIN_ID + ".binary_protocol"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the test tree is sent interleaved with the test
+	 * results instead of before the first test runs.
+	 */
+	public static final String STREAM_TEST_TREE= JUnitCorePlugin.PLUGIN_ID + ".stream_test_tree"; //$NON-NLS-1$
+
 	/**
 	 * Javadoc location for JUnit 3
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,12 @@ public class JUnitLaunchConfigurationConstants {
 
 	public static final String ATTR_PORT= JUnitCorePlugin.PLUGIN_ID+".PORT"; //$NON-NLS-1$
 
+	/**
+	 * Launch attribute set to "true" if the test runner streams the test tree, see
+	 * {@link org.eclipse.jdt.internal.junit.JUnitPreferencesConstants#STREAM_TEST_TREE}.
+	 */
+	public static final String ATTR_STREAM_TEST_TREE= JUnitCorePlugin.PLUGIN_ID + ".STREAM_TEST_TREE"; //$NON-NLS-1$
+
 	public static final String ATTR_DONT_ADD_MISSING_JUNIT5_DEPENDENCY= JUnitCorePlugin.PLUGIN_ID + ".DONT_ADD_MISSING_JUNIT5_DEPENDENCY"; //$NON-NLS-1$
 
 	/**
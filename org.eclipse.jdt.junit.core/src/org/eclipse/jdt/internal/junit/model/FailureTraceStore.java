@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Keeps the failure traces, expected and actual results of a test run session in a temporary
+ * file, so that imported sessions with many failures do not hold them on the heap. A
+ * {@link TestElement} only remembers the handle returned by
+ * {@link #store(String, String, String)} and reads the strings back when they are requested.
+ * <p>
+ * The session disposes its store when it is swapped out or removed. Files of stores that are
+ * left over after a crash are deleted with the other files of the history directory when the
+ * model stops.
+ * </p>
+ */
+public class FailureTraceStore {
+
+	private final File fFile;
+	private final FileChannel fChannel;
+	private long fSize;
+
+	private FailureTraceStore(File file) throws IOException {
+		fFile= file;
+		fChannel= FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Creates a store backed by a new temporary file.
+	 *
+	 * @param directory the directory of the file
+	 * @return the new store
+	 * @throws IOException if the file cannot be created
+	 */
+	public static FailureTraceStore create(File directory) throws IOException {
+		File file= File.createTempFile("traces", ".tmp", directory); //$NON-NLS-1$ //$NON-NLS-2$
+		return new FailureTraceStore(file);
+	}
+
+	/**
+	 * Appends a failure to the store.
+	 *
+	 * @param trace the failure trace
+	 * @param expected the expected result, can be <code>null</code>
+	 * @param actual the actual result, can be <code>null</code>
+	 * @return the handle to read the failure with
+	 * @throws IOException if writing fails
+	 */
+	public synchronized long store(String trace, String expected, String actual) throws IOException {
+		byte[][] values= { encode(trace), encode(expected), encode(actual) };
+		int length= 0;
+		for (byte[] value : values)
+			length+= 4 + (value != null ? value.length : 0);
+		ByteBuffer buffer= ByteBuffer.allocate(length);
+		for (byte[] value : values) {
+			if (value == null) {
+				buffer.putInt(-1);
+			} else {
+				buffer.putInt(value.length);
+				buffer.put(value);
+			}
+		}
+		buffer.flip();
+		long handle= fSize;
+		while (buffer.hasRemaining())
+			fSize+= fChannel.write(buffer, fSize);
+		return handle;
+	}
+
+	/**
+	 * Reads a failure from the store.
+	 *
+	 * @param handle a handle returned by {@link #store(String, String, String)}
+	 * @return the trace, expected and actual result
+	 * @throws IOException if reading fails
+	 */
+	public synchronized String[] load(long handle) throws IOException {
+		String[] result= new String[3];
+		long position= handle;
+		ByteBuffer header= ByteBuffer.allocate(4);
+		for (int i= 0; i < result.length; i++) {
+			header.clear();
+			position= read(header, position);
+			int length= header.getInt(0);
+			if (length >= 0) {
+				ByteBuffer value= ByteBuffer.allocate(length);
+				position= read(value, position);
+				result[i]= new String(value.array(), StandardCharsets.UTF_8);
+			}
+		}
+		return result;
+	}
+
+	private long read(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read= fChannel.read(buffer, position);
+			if (read < 0)
+				throw new EOFException(fFile.getPath());
+			position+= read;
+		}
+		return position;
+	}
+
+	private static byte[] encode(String value) {
+		return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+	}
+
+	/**
+	 * Closes and deletes the store. Handles of this store become invalid.
+	 */
+	public synchronized void dispose() {
+		try {
+			fChannel.close();
+		} catch (IOException e) {
+			// the file is deleted anyway
+		}
+		fFile.delete();
+	}
+}
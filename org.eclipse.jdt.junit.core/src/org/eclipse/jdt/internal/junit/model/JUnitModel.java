@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,10 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -299,6 +302,11 @@ public final class JUnitModel {
 		ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.removeLaunchListener(fLaunchListener);
 
+		// close the failure trace stores, open files cannot be deleted on all platforms
+		for (TestRunSession session : getTestRunSessions()) {
+			session.removeSwapFile();
+		}
+
 		File historyDirectory= JUnitCorePlugin.getHistoryDirectory();
 		File[] swapFiles= historyDirectory.listFiles();
 		if (swapFiles != null) {
@@ -369,6 +377,7 @@ public final class JUnitModel {
 
 		for (TestRunSession oldSession : toRemove) {
 			notifyTestRunSessionRemoved(oldSession);
+			oldSession.removed();
 		}
 		notifyTestRunSessionAdded(testRunSession);
 	}
@@ -484,6 +493,38 @@ public final class JUnitModel {
 		}
 	}
 
+	/**
+	 * Reads a session that has been swapped out with
+	 * {@link #swapOutTestRunSession(TestRunSession, File)} back into the given session.
+	 *
+	 * @param swapFile the swap file
+	 * @param testRunSession the session to read into
+	 * @throws CoreException if the import failed
+	 */
+	static void swapInTestRunSession(File swapFile, TestRunSession testRunSession) throws CoreException {
+		try (BufferedInputStream in= new BufferedInputStream(new FileInputStream(swapFile))) {
+			TestRunSessionBinaryFormat.read(in, new TestRunHandler(testRunSession));
+		} catch (IOException | SAXException e) {
+			throwImportError(swapFile, e);
+		}
+	}
+
+	/**
+	 * Writes the given session to a swap file in the compact format of
+	 * {@link TestRunSessionBinaryFormat}.
+	 *
+	 * @param testRunSession the test run session
+	 * @param swapFile the destination
+	 * @throws CoreException if an error occurred
+	 */
+	static void swapOutTestRunSession(TestRunSession testRunSession, File swapFile) throws CoreException {
+		try (BufferedOutputStream out= new BufferedOutputStream(new FileOutputStream(swapFile))) {
+			TestRunSessionBinaryFormat.write(testRunSession, out);
+		} catch (IOException | SAXException e) {
+			throwExportError(swapFile, e);
+		}
+	}
+
 	/**
 	 * Exports the given test run session.
 	 *
@@ -553,7 +594,7 @@ public final class JUnitModel {
 		if (existed) {
 			notifyTestRunSessionRemoved(testRunSession);
 		}
-		testRunSession.removeSwapFile();
+		testRunSession.removed();
 	}
 
 	private void notifyTestRunSessionRemoved(TestRunSession testRunSession) {
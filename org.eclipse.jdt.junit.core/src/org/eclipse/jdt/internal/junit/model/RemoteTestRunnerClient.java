@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,24 +15,31 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.io.PushbackReader;
+import java.io.PushbackInputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.ISafeRunnable;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.runner.BinaryProtocol;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
@@ -94,11 +101,13 @@ public class RemoteTestRunnerClient {
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_START)) {
-	            notifyTestStarted(arg);
+	            String s[]= extractTestId(arg);
+	            notifyTestStarted(s[0], s[1]);
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_END)) {
-	            notifyTestEnded(arg);
+	            String s[]= extractTestId(arg);
+	            notifyTestEnded(s[0], s[1]);
 	            return this;
 	        }
 	        if (message.startsWith(MessageIds.TEST_ERROR)) {
@@ -131,6 +140,10 @@ public class RemoteTestRunnerClient {
 	                scanOldReranMessage(arg);
 	            return this;
 	        }
+	        if (message.startsWith(MessageIds.PROTOCOL_SWITCH)) {
+	            fBinaryProtocol= MessageIds.BINARY_PROTOCOL_VERSION.equals(arg);
+	            return this;
+	        }
 	        return this;
 	    }
 	}
@@ -241,8 +254,12 @@ public class RemoteTestRunnerClient {
 	private Socket fSocket;
 	private int fPort= -1;
 	private PrintWriter fWriter;
-	private PushbackReader fPushbackReader;
+	private PushbackInputStream fPushbackInput;
 	private String fLastLineDelimiter;
+	/**
+	 * Has the runner switched to the binary protocol?
+	 */
+	private boolean fBinaryProtocol;
 	/**
 	 * The protocol version
 	 */
@@ -288,12 +305,21 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				// the text messages are decoded line by line from the raw stream, so that
+				// no bytes of the binary protocol are lost in the buffer of a Reader
+				fPushbackInput= new PushbackInputStream(new BufferedInputStream(fSocket.getInputStream()));
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
+				if (isBinaryProtocolEnabled())
+					fWriter.println(MessageIds.PROTOCOL_OFFER + MessageIds.BINARY_PROTOCOL_VERSION);
 				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+				while(fPushbackInput != null && (message= readMessage(fPushbackInput)) != null) {
 					receiveMessage(message);
-			} catch (SocketException e) {
+					if (fBinaryProtocol) {
+						readBinaryMessages(new DataInputStream(fPushbackInput));
+						break;
+					}
+				}
+			} catch (SocketException | EOFException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
 				LOG.error(e.getMessage(), e);
@@ -343,9 +369,9 @@ public class RemoteTestRunnerClient {
 			fWriter= null;
 		}
 		try {
-			if (fPushbackReader != null) {
-				fPushbackReader.close();
-				fPushbackReader= null;
+			if (fPushbackInput != null) {
+				fPushbackInput.close();
+				fPushbackInput= null;
 			}
 		} catch(IOException e) {
 		}
@@ -378,32 +404,111 @@ public class RemoteTestRunnerClient {
 		return fSocket != null;
 	}
 
-	private String readMessage(PushbackReader in) throws IOException {
-		StringBuilder buf= new StringBuilder(128);
+	/**
+	 * @return <code>true</code> if the runner switched to the binary protocol
+	 */
+	public boolean isBinaryProtocol() {
+		return fBinaryProtocol;
+	}
+
+	private boolean isBinaryProtocolEnabled() {
+		return Platform.getPreferencesService().getBoolean(JUnitCorePlugin.CORE_PLUGIN_ID, JUnitPreferencesConstants.BINARY_PROTOCOL, false, null);
+	}
+
+	private String readMessage(PushbackInputStream in) throws IOException {
+		// line delimiters are ASCII and never part of a multi-byte UTF-8 sequence
+		ByteArrayOutputStream buf= new ByteArrayOutputStream(128);
 		int ch;
 		while ((ch= in.read()) != -1) {
 			switch (ch) {
 			case '\n':
 				fLastLineDelimiter= "\n"; //$NON-NLS-1$
-				return buf.toString();
+				return buf.toString(StandardCharsets.UTF_8);
 			case '\r':
 				ch= in.read();
 				if (ch == '\n') {
 					fLastLineDelimiter= "\r\n"; //$NON-NLS-1$
 				} else {
-					in.unread(ch);
+					if (ch != -1)
+						in.unread(ch);
 					fLastLineDelimiter= "\r"; //$NON-NLS-1$
 				}
-				return buf.toString();
+				return buf.toString(StandardCharsets.UTF_8);
 			default:
-				buf.append((char) ch);
+				buf.write(ch);
 				break;
 			}
 		}
 		fLastLineDelimiter= null;
-		if (buf.length() == 0)
+		if (buf.size() == 0)
 			return null;
-		return buf.toString();
+		return buf.toString(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the records of the binary protocol until the stream ends.
+	 *
+	 * @param in the stream positioned after the protocol switch message
+	 * @throws IOException if reading fails
+	 * @see BinaryProtocol
+	 */
+	private void readBinaryMessages(DataInputStream in) throws IOException {
+		// each text record is one complete message, including embedded line delimiters
+		fLastLineDelimiter= "\n"; //$NON-NLS-1$
+		List<String> names= new ArrayList<>();
+		int type;
+		while (fPushbackInput != null && (type= in.read()) != -1) {
+			switch (type) {
+			case BinaryProtocol.NAME:
+				int index= BinaryProtocol.readVarInt(in);
+				String name= BinaryProtocol.readString(in);
+				if (index == names.size())
+					names.add(name);
+				else
+					names.set(index, name);
+				break;
+			case BinaryProtocol.TEST_START:
+			case BinaryProtocol.TEST_END:
+			case BinaryProtocol.TEST_ERROR:
+			case BinaryProtocol.TEST_FAILED:
+			case BinaryProtocol.TEST_TREE:
+				String testId= Integer.toString(BinaryProtocol.readVarInt(in));
+				String testName= names.get(BinaryProtocol.readVarInt(in));
+				receiveTestMessage(type, testId, testName, type == BinaryProtocol.TEST_TREE ? BinaryProtocol.readString(in) : null);
+				break;
+			case BinaryProtocol.TEXT:
+				receiveMessage(BinaryProtocol.readString(in));
+				break;
+			default:
+				throw new IOException("Unknown record type: " + type); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void receiveTestMessage(int type, String testId, String testName, String rest) {
+		switch (type) {
+		case BinaryProtocol.TEST_START:
+			notifyTestStarted(testId, testName);
+			break;
+		case BinaryProtocol.TEST_END:
+			notifyTestEnded(testId, testName);
+			break;
+		case BinaryProtocol.TEST_ERROR:
+			fFailedTestId= testId;
+			fFailedTest= testName;
+			fFailureKind= ITestRunListener2.STATUS_ERROR;
+			break;
+		case BinaryProtocol.TEST_FAILED:
+			fFailedTestId= testId;
+			fFailedTest= testName;
+			fFailureKind= ITestRunListener2.STATUS_FAILURE;
+			break;
+		case BinaryProtocol.TEST_TREE:
+			notifyTestTreeEntry(testId + ',' + testName + ',' + rest);
+			break;
+		default:
+			break;
+		}
 	}
 
 	private void receiveMessage(String message) {
@@ -546,29 +651,27 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
-	private void notifyTestEnded(final String test) {
+	private void notifyTestEnded(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testEnded(s[0], s[1]);
+					listener.testEnded(testId, testName);
 				}
 			});
 		}
 	}
 
-	private void notifyTestStarted(final String test) {
+	private void notifyTestStarted(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testStarted(s[0], s[1]);
+					listener.testStarted(testId, testName);
 				}
 			});
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,14 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.IOException;
+
 import org.eclipse.jdt.junit.model.ITestElement;
 import org.eclipse.jdt.junit.model.ITestElementContainer;
 import org.eclipse.jdt.junit.model.ITestRunSession;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.ILog;
 
 public abstract class TestElement implements ITestElement {
 	public final static class Status {
@@ -194,6 +197,12 @@ public abstract class TestElement implements ITestElement {
 	private String fExpected;
 	private String fActual;
 
+	/**
+	 * Handle of the trace, expected and actual result in the {@link FailureTraceStore} of the
+	 * session, or <code>-1</code> if they are kept in the fields above.
+	 */
+	private long fFailureHandle= -1;
+
 	private boolean fAssumptionFailed;
 
 	/**
@@ -262,8 +271,9 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && hasTrace())) {
+			String[] failure= getFailure();
+			return new FailureTrace(failure[0], failure[1], failure[2]);
 		}
 		return null;
 	}
@@ -304,34 +314,88 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
-		if (trace != null && fTrace != null) {
+		if (trace != null && hasTrace()) {
 			//don't overwrite first trace if same test run logs multiple errors
-			fTrace= fTrace + trace;
-		} else {
-			fTrace= trace;
-			fExpected= expected;
-			fActual= actual;
+			String[] failure= getFailure();
+			trace= failure[0] + trace;
+			expected= failure[1];
+			actual= failure[2];
 		}
+		setFailure(trace, expected, actual);
 		setStatus(status);
 	}
 
+	private void setFailure(String trace, String expected, String actual) {
+		FailureTraceStore store= trace != null ? getFailureTraceStore() : null;
+		if (store != null) {
+			try {
+				fFailureHandle= store.store(trace, expected, actual);
+				fTrace= null;
+				fExpected= null;
+				fActual= null;
+				return;
+			} catch (IOException e) {
+				ILog.of(TestElement.class).error(e.getMessage(), e);
+			}
+		}
+		fFailureHandle= -1;
+		fTrace= trace;
+		fExpected= expected;
+		fActual= actual;
+	}
+
+	/**
+	 * @return the trace, expected and actual result, read from the session's
+	 *         {@link FailureTraceStore} if necessary
+	 */
+	private String[] getFailure() {
+		if (fFailureHandle >= 0) {
+			FailureTraceStore store= getFailureTraceStore();
+			if (store != null) {
+				try {
+					return store.load(fFailureHandle);
+				} catch (IOException e) {
+					ILog.of(TestElement.class).error(e.getMessage(), e);
+				}
+			}
+			return new String[3];
+		}
+		return new String[] { fTrace, fExpected, fActual };
+	}
+
+	private boolean hasTrace() {
+		return fFailureHandle >= 0 || fTrace != null;
+	}
+
+	private FailureTraceStore getFailureTraceStore() {
+		TestSuiteElement parent= getParent();
+		if (parent == null)
+			return null;
+		ITestRunSession session= getTestRunSession();
+		return session instanceof TestRunSession ? ((TestRunSession) session).getFailureTraceStore() : null;
+	}
+
 	public Status getStatus() {
 		return fStatus;
 	}
 
 	public String getTrace() {
-		return fTrace;
+		return fFailureHandle >= 0 ? getFailure()[0] : fTrace;
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return fFailureHandle >= 0 ? getFailure()[1] : fExpected;
 	}
 
 	public String getActual() {
-		return fActual;
+		return fFailureHandle >= 0 ? getFailure()[2] : fActual;
 	}
 
 	public boolean isComparisonFailure() {
+		if (fFailureHandle >= 0) {
+			String[] failure= getFailure();
+			return failure[1] != null && failure[2] != null;
+		}
 		return fExpected != null && fActual != null;
 	}
 
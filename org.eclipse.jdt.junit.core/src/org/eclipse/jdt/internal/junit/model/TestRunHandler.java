@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -112,6 +112,7 @@ public class TestRunHandler extends DefaultHandler {
 						javaProject= null;
 				}
 				fTestRunSession= new TestRunSession(name, javaProject);
+				fTestRunSession.enableFailureTraceStore();
 				String includeTags= attributes.getValue(IXMLTags.ATTR_INCLUDE_TAGS);
 				if (includeTags != null && includeTags.trim().length() > 0) {
 					fTestRunSession.setIncludeTags(includeTags);
@@ -136,6 +137,7 @@ public class TestRunHandler extends DefaultHandler {
 				if (fTestRunSession == null) {
 					// support standalone suites and Ant's 'junitreport' task:
 					fTestRunSession= new TestRunSession(name, null);
+					fTestRunSession.enableFailureTraceStore();
 					fTestSuite= fTestRunSession.getTestRoot();
 				}	String pack= attributes.getValue(IXMLTags.ATTR_PACKAGE);
 				String suiteName= pack == null ? name : pack + "." + name; //$NON-NLS-1$
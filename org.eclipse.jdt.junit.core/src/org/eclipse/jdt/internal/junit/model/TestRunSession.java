@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 package org.eclipse.jdt.internal.junit.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -96,11 +97,33 @@ public class TestRunSession implements ITestRunSession {
 
 	private List<IncompleteTestSuite> fFactoryTestSuites;
 
+	/**
+	 * <code>true</code> if the runner streams the test tree: the entries arrive interleaved with
+	 * the test results, and every entry names its parent.
+	 */
+	private boolean fStreamTestTree;
+
 	/**
 	 * Suite for unrooted test case elements, or <code>null</code>.
 	 */
 	private TestSuiteElement fUnrootedSuite;
 
+	/**
+	 * Store for the failure traces of an imported or swapped in session, or <code>null</code>
+	 * if the traces are kept in the test elements.
+	 */
+	private volatile FailureTraceStore fFailureTraceStore;
+
+	/**
+	 * Number of views that show this session, see {@link #connect()}.
+	 */
+	private int fViewCount;
+
+	/**
+	 * <code>true</code> once the session has been removed from the model.
+	 */
+	private boolean fRemoved;
+
 	private static final ILog LOG = ILog.of(TestRunSession.class);
 
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
@@ -195,6 +218,7 @@ public class TestRunSession implements ITestRunSession {
 
 		fTestRoot= new TestRoot(this);
 		fIdToTest= new HashMap<>();
+		fStreamTestTree= Boolean.parseBoolean(launch.getAttribute(JUnitLaunchConfigurationConstants.ATTR_STREAM_TEST_TREE));
 
 		fTestRunnerClient= new RemoteTestRunnerClient(fTestRunnerKind);
 		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
@@ -360,7 +384,7 @@ public class TestRunSession implements ITestRunSession {
 	}
 
 	public synchronized void swapOut() {
-		if (fTestRoot == null)
+		if (fTestRoot == null || fRemoved)
 			return;
 		if (isRunning() || isStarting() || isKeptAlive())
 			return;
@@ -373,7 +397,7 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
+			JUnitModel.swapOutTestRunSession(this, swapFile);
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
@@ -381,6 +405,7 @@ public class TestRunSession implements ITestRunSession {
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
+			disposeFailureTraceStore();
 
 		} catch (IllegalStateException | CoreException e) {
 			LOG.error(e.getMessage(), e);
@@ -396,12 +421,80 @@ public class TestRunSession implements ITestRunSession {
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
+		disposeFailureTraceStore();
+	}
+
+	/**
+	 * Called by a view that starts to show this session. If the session is removed from the
+	 * model meanwhile, its swap file and failure traces are kept until the last view has called
+	 * {@link #disconnect()}.
+	 */
+	public synchronized void connect() {
+		fViewCount++;
+	}
+
+	/**
+	 * Called by a view that no longer shows this session.
+	 */
+	public void disconnect() {
+		boolean release;
+		synchronized (this) {
+			fViewCount--;
+			release= fViewCount == 0 && fRemoved;
+		}
+		if (release)
+			removeSwapFile();
+	}
+
+	/**
+	 * Called by the model when it has removed this session. The swap file and the failure
+	 * traces are deleted now or, if a view still shows the session, when the last view
+	 * disconnects.
+	 */
+	void removed() {
+		boolean release;
+		synchronized (this) {
+			fRemoved= true;
+			release= fViewCount == 0;
+		}
+		if (release)
+			removeSwapFile();
+	}
+
+	/**
+	 * Moves the failure traces that are reported from now on to a {@link FailureTraceStore}
+	 * on disk. Used for sessions that are imported or swapped in, which can have many failures.
+	 */
+	void enableFailureTraceStore() {
+		if (fFailureTraceStore != null)
+			return;
+		try {
+			fFailureTraceStore= FailureTraceStore.create(JUnitCorePlugin.getHistoryDirectory());
+		} catch (IOException | IllegalStateException e) {
+			LOG.error(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return the store for failure traces, or <code>null</code> if the traces are kept in the
+	 *         test elements
+	 */
+	FailureTraceStore getFailureTraceStore() {
+		return fFailureTraceStore;
+	}
+
+	private void disposeFailureTraceStore() {
+		FailureTraceStore store= fFailureTraceStore;
+		if (store != null) {
+			fFailureTraceStore= null;
+			store.dispose();
+		}
 	}
 
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".session"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -410,8 +503,9 @@ public class TestRunSession implements ITestRunSession {
 		if (fTestRoot != null)
 			return;
 
+		enableFailureTraceStore();
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			JUnitModel.swapInTestRunSession(getSwapFile(), this);
 		} catch (IllegalStateException | CoreException e) {
 			LOG.error(e.getMessage(), e);
 			fTestRoot= new TestRoot(this);
@@ -552,6 +646,12 @@ public class TestRunSession implements ITestRunSession {
 				}
 			}
 			return createTestElement(getUnrootedSuite(), id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId); // should not reach here
+		} else if (fStreamTestTree) {
+			if (parentId == null)
+				return createTestElement(fTestRoot, id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId);
+			TestElement parent= fIdToTest.get(parentId);
+			TestSuiteElement parentSuite= parent instanceof TestSuiteElement ? (TestSuiteElement) parent : getUnrootedSuite();
+			return createTestElement(parentSuite, id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId);
 		} else {
 			if (fIncompleteTestSuites.isEmpty()) {
 				return createTestElement(fTestRoot, id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId);
@@ -575,7 +675,8 @@ public class TestRunSession implements ITestRunSession {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
 			if (testCount > 0) {
-				fIncompleteTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
+				if (!fStreamTestTree)
+					fIncompleteTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
 			} else if (fFactoryTestSuites != null) {
 				fFactoryTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
 			}
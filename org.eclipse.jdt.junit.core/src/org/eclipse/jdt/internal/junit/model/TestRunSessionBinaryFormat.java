@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.eclipse.jdt.internal.junit.runner.BinaryProtocol;
+
+/**
+ * Compact binary form of the SAX events of a test run session, used for the sessions that
+ * {@link TestRunSession#swapOut()} writes to the history directory.
+ * <p>
+ * The file holds the events {@link TestRunSessionSerializer} produces for the XML export, so
+ * reading it into a {@link TestRunHandler} gives the same model as importing the XML. After a
+ * header, the file is a sequence of records: {@link #START} + name + attribute count +
+ * (name + value)*, {@link #END}, or {@link #CHARACTERS} + text. Element names, attribute names
+ * and attribute values are strings of the form <code>varint ref</code>: <code>0</code> is
+ * followed by a new string, which gets the next index in the string table, any other value
+ * references the string <code>ref - 1</code> of the table. Texts are not put into the table.
+ * Integers and strings are encoded as in {@link BinaryProtocol}.
+ * </p>
+ */
+final class TestRunSessionBinaryFormat {
+
+	private static final int MAGIC= 0x4A555452; // "JUTR"
+	private static final int VERSION= 1;
+
+	private static final int START= 1;
+	private static final int END= 2;
+	private static final int CHARACTERS= 3;
+
+	private TestRunSessionBinaryFormat() {
+	}
+
+	private static class Writer extends DefaultHandler {
+		private final DataOutputStream fOut;
+		private final HashMap<String, Integer> fStrings= new HashMap<>();
+
+		Writer(DataOutputStream out) {
+			fOut= out;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			try {
+				fOut.write(START);
+				writeRef(qName);
+				int length= attributes.getLength();
+				BinaryProtocol.writeVarInt(fOut, length);
+				for (int i= 0; i < length; i++) {
+					writeRef(attributes.getQName(i));
+					writeRef(attributes.getValue(i));
+				}
+			} catch (IOException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) throws SAXException {
+			try {
+				fOut.write(END);
+			} catch (IOException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) throws SAXException {
+			try {
+				fOut.write(CHARACTERS);
+				BinaryProtocol.writeString(fOut, new String(ch, start, length));
+			} catch (IOException e) {
+				throw new SAXException(e);
+			}
+		}
+
+		private void writeRef(String string) throws IOException {
+			Integer index= fStrings.get(string);
+			if (index != null) {
+				BinaryProtocol.writeVarInt(fOut, index.intValue() + 1);
+			} else {
+				fStrings.put(string, Integer.valueOf(fStrings.size()));
+				BinaryProtocol.writeVarInt(fOut, 0);
+				BinaryProtocol.writeString(fOut, string);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given session.
+	 *
+	 * @param testRunSession the session
+	 * @param out the destination, not closed
+	 * @throws IOException if writing fails
+	 * @throws SAXException if serializing the session fails
+	 */
+	static void write(TestRunSession testRunSession, OutputStream out) throws IOException, SAXException {
+		DataOutputStream dataOut= new DataOutputStream(out);
+		dataOut.writeInt(MAGIC);
+		dataOut.write(VERSION);
+		TestRunSessionSerializer serializer= new TestRunSessionSerializer(testRunSession);
+		serializer.setContentHandler(new Writer(dataOut));
+		serializer.parse(new InputSource());
+		dataOut.flush();
+	}
+
+	/**
+	 * Reads a session written by {@link #write(TestRunSession, OutputStream)} and reports its
+	 * events to the given handler.
+	 *
+	 * @param in the source, not closed
+	 * @param handler the handler to receive the events
+	 * @throws IOException if reading fails or the source is not in this format
+	 * @throws SAXException if the handler fails
+	 */
+	static void read(InputStream in, ContentHandler handler) throws IOException, SAXException {
+		DataInputStream dataIn= new DataInputStream(in);
+		if (dataIn.readInt() != MAGIC || dataIn.read() != VERSION)
+			throw new IOException("Unsupported test run session format"); //$NON-NLS-1$
+
+		List<String> strings= new ArrayList<>();
+		List<String> openElements= new ArrayList<>();
+		AttributesImpl attributes= new AttributesImpl();
+		handler.startDocument();
+		int type;
+		while ((type= dataIn.read()) != -1) {
+			switch (type) {
+			case START:
+				String name= readRef(dataIn, strings);
+				attributes.clear();
+				int length= BinaryProtocol.readVarInt(dataIn);
+				for (int i= 0; i < length; i++) {
+					String attributeName= readRef(dataIn, strings);
+					attributes.addAttribute("", attributeName, attributeName, "CDATA", readRef(dataIn, strings)); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				openElements.add(name);
+				handler.startElement("", name, name, attributes); //$NON-NLS-1$
+				break;
+			case END:
+				if (openElements.isEmpty())
+					throw new IOException("Unbalanced end of element"); //$NON-NLS-1$
+				String openElement= openElements.remove(openElements.size() - 1);
+				handler.endElement("", openElement, openElement); //$NON-NLS-1$
+				break;
+			case CHARACTERS:
+				char[] text= BinaryProtocol.readString(dataIn).toCharArray();
+				handler.characters(text, 0, text.length);
+				break;
+			default:
+				throw new IOException("Unknown record type " + type); //$NON-NLS-1$
+			}
+		}
+		if (!openElements.isEmpty())
+			throw new IOException("Unexpected end of file"); //$NON-NLS-1$
+		handler.endDocument();
+	}
+
+	private static String readRef(DataInputStream in, List<String> strings) throws IOException {
+		int ref= BinaryProtocol.readVarInt(in);
+		if (ref == 0) {
+			String string= BinaryProtocol.readString(in);
+			strings.add(string);
+			return string;
+		}
+		if (ref > strings.size())
+			throw new IOException("Invalid string reference " + ref); //$NON-NLS-1$
+		return strings.get(ref - 1);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -67,6 +67,7 @@ import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.buildpath.BuildPathSupport;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
@@ -96,6 +97,7 @@ import org.eclipse.jdt.launching.VMRunnerConfiguration;
 public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigurationDelegate {
 
 	private boolean fKeepAlive= false;
+	private boolean fStreamTestTree= false;
 	private int fPort;
 	private IJavaElement[] fTestElements;
 
@@ -153,6 +155,8 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			fKeepAlive= ILaunchManager.DEBUG_MODE.equals(mode) && configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, false);
 			fPort= evaluatePort();
 			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PORT, String.valueOf(fPort));
+			fStreamTestTree= Platform.getPreferencesService().getBoolean(JUnitCorePlugin.CORE_PLUGIN_ID, JUnitPreferencesConstants.STREAM_TEST_TREE, false, null);
+			launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_STREAM_TEST_TREE, String.valueOf(fStreamTestTree));
 
 			ITestKind testKind= getTestRunnerKind(configuration);
 			IJavaProject javaProject= getJavaProject(configuration);
@@ -458,6 +462,12 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
+		if (Platform.getPreferencesService().getBoolean(JUnitCorePlugin.CORE_PLUGIN_ID, JUnitPreferencesConstants.BINARY_PROTOCOL, false, null))
+			programArguments.add("-binaryprotocol"); //$NON-NLS-1$
+
+		if (fStreamTestTree)
+			programArguments.add("-streamtree"); //$NON-NLS-1$
+
 		ITestKind testRunnerKind= getTestRunnerKind(configuration);
 
 		programArguments.add("-testLoaderClass"); //$NON-NLS-1$
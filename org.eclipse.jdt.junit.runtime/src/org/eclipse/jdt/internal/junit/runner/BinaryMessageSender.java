@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * A {@link MessageSender} which encodes the messages of the text protocol
+ * as described in {@link BinaryProtocol} and sends them in batches.
+ * <p>
+ * {@link #flush()} is only a hint: the records are written when
+ * {@link #FLUSH_COUNT} records are pending, when the last write is
+ * {@link #FLUSH_INTERVAL} ms ago, or when the end of a run has been reported.
+ * A timer writes records which would otherwise wait for the next test event.
+ * </p>
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	/**
+	 * Maximum number of records kept before they are written.
+	 */
+	static final int FLUSH_COUNT= 512;
+
+	/**
+	 * Maximum time in ms a record is kept before it is written.
+	 */
+	static final long FLUSH_INTERVAL= 50;
+
+	private final OutputStream fOutput;
+	private final ByteArrayOutputStream fBuffer= new ByteArrayOutputStream(64 * 1024);
+	private final HashMap<String, Integer> fNames= new HashMap<>();
+	private final Timer fTimer;
+
+	private int fPending;
+	private long fLastWrite;
+	private boolean fFailed;
+
+	public BinaryMessageSender(OutputStream output) {
+		fOutput= output;
+		fLastWrite= System.currentTimeMillis();
+		fTimer= new Timer("BinaryMessageSender", true); //$NON-NLS-1$
+		fTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				synchronized (BinaryMessageSender.this) {
+					if (fPending > 0 && System.currentTimeMillis() - fLastWrite >= FLUSH_INTERVAL)
+						write();
+				}
+			}
+		}, FLUSH_INTERVAL, FLUSH_INTERVAL);
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fFailed)
+			return;
+		boolean urgent= false;
+		try {
+			if (msg.startsWith(MessageIds.TEST_START)) {
+				encodeTestMessage(BinaryProtocol.TEST_START, msg);
+			} else if (msg.startsWith(MessageIds.TEST_END)) {
+				encodeTestMessage(BinaryProtocol.TEST_END, msg);
+			} else if (msg.startsWith(MessageIds.TEST_ERROR)) {
+				encodeTestMessage(BinaryProtocol.TEST_ERROR, msg);
+			} else if (msg.startsWith(MessageIds.TEST_FAILED)) {
+				encodeTestMessage(BinaryProtocol.TEST_FAILED, msg);
+			} else if (msg.startsWith(MessageIds.TEST_TREE)) {
+				encodeTestMessage(BinaryProtocol.TEST_TREE, msg);
+			} else {
+				fBuffer.write(BinaryProtocol.TEXT);
+				BinaryProtocol.writeString(fBuffer, msg);
+				urgent= msg.startsWith(MessageIds.TEST_RUN_END) || msg.startsWith(MessageIds.TEST_STOPPED) || msg.startsWith(MessageIds.TEST_RERAN);
+			}
+		} catch (IOException e) {
+			// cannot happen for a ByteArrayOutputStream
+		}
+		if (urgent || ++fPending >= FLUSH_COUNT)
+			write();
+	}
+
+	/*
+	 * Encodes a message of the form: header + testId + "," + testName [+ "," + rest]
+	 */
+	private void encodeTestMessage(int type, String msg) throws IOException {
+		int idEnd= msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH);
+		int testId;
+		try {
+			testId= Integer.parseInt(msg.substring(MessageIds.MSG_HEADER_LENGTH, idEnd));
+		} catch (RuntimeException e) {
+			// not an id assigned by TestIdMap, keep the message as it is
+			fBuffer.write(BinaryProtocol.TEXT);
+			BinaryProtocol.writeString(fBuffer, msg);
+			return;
+		}
+		String name;
+		String rest= null;
+		if (type == BinaryProtocol.TEST_TREE) {
+			int nameEnd= indexOfUnescapedComma(msg, idEnd + 1);
+			name= msg.substring(idEnd + 1, nameEnd);
+			rest= msg.substring(nameEnd + 1);
+		} else {
+			name= msg.substring(idEnd + 1);
+		}
+		int nameIndex= internName(name);
+		fBuffer.write(type);
+		BinaryProtocol.writeVarInt(fBuffer, testId);
+		BinaryProtocol.writeVarInt(fBuffer, nameIndex);
+		if (rest != null)
+			BinaryProtocol.writeString(fBuffer, rest);
+	}
+
+	private int internName(String name) throws IOException {
+		Integer index= fNames.get(name);
+		if (index != null)
+			return index.intValue();
+		int newIndex= fNames.size();
+		fNames.put(name, Integer.valueOf(newIndex));
+		fBuffer.write(BinaryProtocol.NAME);
+		BinaryProtocol.writeVarInt(fBuffer, newIndex);
+		BinaryProtocol.writeString(fBuffer, name);
+		return newIndex;
+	}
+
+	private static int indexOfUnescapedComma(String s, int start) {
+		for (int i= start; i < s.length(); i++) {
+			char c= s.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == ',')
+				return i;
+		}
+		return s.length();
+	}
+
+	@Override
+	public synchronized void flush() {
+		if (fPending > 0 && System.currentTimeMillis() - fLastWrite >= FLUSH_INTERVAL)
+			write();
+	}
+
+	/**
+	 * Writes all pending records and stops the timer.
+	 */
+	public synchronized void close() {
+		fTimer.cancel();
+		if (fPending > 0 || fBuffer.size() > 0)
+			write();
+	}
+
+	private void write() {
+		if (!fFailed) {
+			try {
+				fBuffer.writeTo(fOutput);
+				fOutput.flush();
+			} catch (IOException e) {
+				// the client has gone, as with the PrintWriter of the text protocol
+				fFailed= true;
+			}
+		}
+		fBuffer.reset();
+		fPending= 0;
+		fLastWrite= System.currentTimeMillis();
+	}
+}
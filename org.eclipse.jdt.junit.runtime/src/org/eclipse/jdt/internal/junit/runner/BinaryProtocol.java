@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Record types and encoding of the binary protocol the RemoteTestRunner uses
+ * after it answered a {@link MessageIds#PROTOCOL_OFFER} with
+ * {@link MessageIds#PROTOCOL_SWITCH}.
+ * <p>
+ * The stream is a sequence of records. Every record starts with one byte
+ * holding its type, followed by the fields of the type. Integers are
+ * unsigned varints (7 bits per byte, least significant group first), strings
+ * are a varint byte count followed by the UTF-8 bytes. Test names are sent
+ * once with a {@link #NAME} record and afterwards referenced by their index.
+ * </p>
+ *
+ * @see BinaryMessageSender
+ */
+public final class BinaryProtocol {
+
+	/**
+	 * Defines a test name.
+	 * NAME + index + name
+	 */
+	public static final int NAME= 1;
+	/**
+	 * See {@link MessageIds#TEST_START}.
+	 * TEST_START + testId + nameIndex
+	 */
+	public static final int TEST_START= 2;
+	/**
+	 * See {@link MessageIds#TEST_END}.
+	 * TEST_END + testId + nameIndex
+	 */
+	public static final int TEST_END= 3;
+	/**
+	 * See {@link MessageIds#TEST_ERROR}.
+	 * TEST_ERROR + testId + nameIndex
+	 */
+	public static final int TEST_ERROR= 4;
+	/**
+	 * See {@link MessageIds#TEST_FAILED}.
+	 * TEST_FAILED + testId + nameIndex
+	 */
+	public static final int TEST_FAILED= 5;
+	/**
+	 * See {@link MessageIds#TEST_TREE}.
+	 * TEST_TREE + testId + nameIndex + rest, where rest are the remaining
+	 * comma separated fields of the text message
+	 */
+	public static final int TEST_TREE= 6;
+	/**
+	 * Any other message, sent as in the text protocol.
+	 * TEXT + message
+	 */
+	public static final int TEXT= 7;
+
+	private BinaryProtocol() {
+	}
+
+	public static void writeVarInt(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		out.write(value);
+	}
+
+	public static void writeString(OutputStream out, String value) throws IOException {
+		byte[] bytes= value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	public static int readVarInt(InputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			int b= in.read();
+			if (b == -1)
+				throw new EOFException();
+			value|= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed varint"); //$NON-NLS-1$
+	}
+
+	public static String readString(DataInputStream in) throws IOException {
+		int length= readVarInt(in);
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
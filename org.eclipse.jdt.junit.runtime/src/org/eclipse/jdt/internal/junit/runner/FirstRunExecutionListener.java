@@ -21,6 +21,8 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 
 	private TestIdMap fIds;
 
+	private TestTreeStreamer fTreeStreamer;
+
 	FirstRunExecutionListener(MessageSender sender, TestIdMap ids) {
 		fSender = sender;
 		if (ids == null)
@@ -28,6 +30,14 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 		fIds = ids;
 	}
 
+	/**
+	 * @param streamer the streamer which sends the tree entry of a test before its first event,
+	 *            or <code>null</code> if the tree has been sent before the run
+	 */
+	void setTreeStreamer(TestTreeStreamer streamer) {
+		fTreeStreamer= streamer;
+	}
+
 	@Override
 	public void notifyTestEnded(ITestIdentifier test) {
 		sendMessage(test, MessageIds.TEST_END);
@@ -64,7 +74,10 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 	}
 
 	private void sendMessage(ITestIdentifier test, String status) {
-		fSender.sendMessage(status + getTestId(test) + ',' + RemoteTestRunner.escapeText(test.getName()));
+		String testId= getTestId(test);
+		if (fTreeStreamer != null)
+			fTreeStreamer.ensureSent(testId);
+		fSender.sendMessage(status + testId + ',' + RemoteTestRunner.escapeText(test.getName()));
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -133,6 +133,26 @@ public class MessageIds {
 	 */
 	public static final String TEST_RERUN=	">RERUN  "; //$NON-NLS-1$
 
+	/**
+	 * Offer to switch to the binary protocol, sent by the client right after
+	 * it accepted the connection.
+	 * PROTOCOL_OFFER + BINARY_PROTOCOL_VERSION
+	 */
+	public static final String PROTOCOL_OFFER=	">PROTO  "; //$NON-NLS-1$
+	/**
+	 * Notification that the runner accepted the offered binary protocol.
+	 * PROTOCOL_SWITCH + BINARY_PROTOCOL_VERSION <br>
+	 * This is the last text message of the run, all further messages are
+	 * encoded as described in {@link BinaryProtocol}. Messages sent to the
+	 * runner remain text messages.
+	 */
+	public static final String PROTOCOL_SWITCH= "%PROTO  "; //$NON-NLS-1$
+	/**
+	 * Version of the binary protocol exchanged by PROTOCOL_OFFER and
+	 * PROTOCOL_SWITCH.
+	 */
+	public static final String BINARY_PROTOCOL_VERSION= "binary1"; //$NON-NLS-1$
+
 	/**
 	 * MessageFormat to encode test method identifiers:
 	 * testMethod(testClass)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -62,6 +63,12 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	public static final String RERAN_OK = "OK"; //$NON-NLS-1$
 
+	/**
+	 * Time in ms to wait for the client's {@link MessageIds#PROTOCOL_OFFER}
+	 * before the text protocol is used.
+	 */
+	private static final long PROTOCOL_OFFER_TIMEOUT= 2000;
+
 	/**
 	 * The name of the test classes to be executed
 	 */
@@ -151,6 +158,24 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * Should the binary protocol be used if the client offers it (argument -binaryprotocol)?
+	 */
+	private boolean fBinaryProtocolRequested= false;
+	/**
+	 * The protocol version offered by the client or <code>null</code>
+	 */
+	private String fProtocolOffer;
+	/**
+	 * The sender used once the binary protocol has been negotiated or <code>null</code>
+	 */
+	private BinaryMessageSender fBinarySender;
+	/**
+	 * Collects the test tree and sends its entries when they are needed
+	 * (argument -streamtree), or <code>null</code> to send the tree before the run
+	 */
+	private TestTreeStreamer fTreeStreamer;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -189,6 +214,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 								RemoteTestRunner.this.notifyAll();
 							}
 						}
+
+						else if (message.startsWith(MessageIds.PROTOCOL_OFFER)) {
+							synchronized(RemoteTestRunner.this) {
+								fProtocolOffer= message.substring(MessageIds.MSG_HEADER_LENGTH);
+								RemoteTestRunner.this.notifyAll();
+							}
+						}
 					}
 				}
 			} catch (Exception e) {
@@ -216,6 +248,8 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -binaryprotocol: use the binary protocol if the client offers it
+	 * -streamtree: send the test tree entries interleaved with the test events
      * </pre>
      */
 	public static void main(String[] args) {
@@ -315,6 +349,12 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if("-binaryprotocol".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fBinaryProtocolRequested= true;
+			}
+			else if("-streamtree".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fTreeStreamer= new TestTreeStreamer(this);
+			}
 			else if("-debugging".equalsIgnoreCase(args[i]) || "-debug".equalsIgnoreCase(args[i])){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -484,6 +524,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	protected void run() {
 		if (!connect())
 			return;
+		if (!negotiateProtocol()) {
+			shutDown();
+			return;
+		}
 		if (fRerunTest != null) {
 			rerunTest(new RerunRequest(Integer.parseInt(fRerunTest), fTestClassNames[0], fTestName));
 			return;
@@ -500,7 +544,9 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	}
 
 	public FirstRunExecutionListener firstRunExecutionListener() {
-		return new FirstRunExecutionListener(fSender, fIds);
+		FirstRunExecutionListener listener= new FirstRunExecutionListener(fSender, fIds);
+		listener.setTreeStreamer(fTreeStreamer);
+		return listener;
 	}
 
 	/**
@@ -590,10 +636,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			return;
 		}*/
 
-		sendTrees(suites);
+		if (fTreeStreamer == null)
+			sendTrees(suites);
 
 		long testStartTime= System.nanoTime();
-		execution.run(suites);
+		if (fTreeStreamer != null)
+			runStreamed(execution, suites);
+		else
+			execution.run(suites);
 		long elapsedTime= (System.nanoTime() - testStartTime) / 1_000_000L;
 		notifyListenersOfTestEnd(execution, elapsedTime);
 	}
@@ -609,6 +659,21 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			System.out.println("done send tree - time(ms): " + (System.currentTimeMillis() - startTime)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Runs the suites one after the other. The tree of a suite is only collected
+	 * when the suite is about to run, the tree streamer sends its entries as the
+	 * tests are executed.
+	 */
+	private void runStreamed(TestExecution execution, ITestReference[] suites) {
+		for (ITestReference suite : suites) {
+			if (execution.shouldStop())
+				break;
+			suite.sendTree(fTreeStreamer);
+			execution.run(new ITestReference[] { suite });
+		}
+		fTreeStreamer.sendRemaining();
+	}
+
 	private int countTests(ITestReference[] tests) {
 		int count= 0;
 		for (ITestReference test : tests) {
@@ -645,6 +710,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void visitTreeEntry(ITestIdentifier identifier, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId) {
+		// dynamic tests are reported while the tests run, their parent must be known by then
+		if (fTreeStreamer != null)
+			fTreeStreamer.ensureSent(parentId);
+		sendTreeEntry(identifier, hasChildren, testCount, isDynamicTest, parentId);
+	}
+
+	void sendTreeEntry(ITestIdentifier identifier, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId) {
 		String treeEntry= getTestId(identifier) + ',' + escapeText(identifier.getName()) + ',' + hasChildren + ',' + testCount
 				+ ',' + isDynamicTest + ',' + parentId + ',' + escapeText(identifier.getDisplayName()) + ',' + escapeText(identifier.getParameterTypes())
 				+ ',' + escapeText(identifier.getUniqueId());
@@ -740,10 +812,61 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		return false;
 	}
 
+	/**
+	 * Switches to the binary protocol if it was requested and the client offers
+	 * it in time. Otherwise the text protocol is kept.
+	 *
+	 * @return <code>false</code> if the switch was announced but could not be sent,
+	 * the run cannot be reported then
+	 */
+	private boolean negotiateProtocol() {
+		if (!fBinaryProtocolRequested || fClientSocket == null)
+			return true;
+		String offer;
+		synchronized (this) {
+			long deadline= System.currentTimeMillis() + PROTOCOL_OFFER_TIMEOUT;
+			long remaining;
+			while (fProtocolOffer == null && !fStopped && (remaining= deadline - System.currentTimeMillis()) > 0) {
+				try {
+					wait(remaining);
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+			offer= fProtocolOffer;
+		}
+		if (!MessageIds.BINARY_PROTOCOL_VERSION.equals(offer))
+			return true;
+		OutputStream out;
+		try {
+			out= fClientSocket.getOutputStream();
+		} catch (IOException e) {
+			// nothing has been announced yet, both sides stay on the text protocol
+			if (fDebugMode)
+				e.printStackTrace();
+			return true;
+		}
+		sendMessage(MessageIds.PROTOCOL_SWITCH + MessageIds.BINARY_PROTOCOL_VERSION);
+		fWriter.flush();
+		if (fWriter.checkError()) {
+			// the client may already expect binary records, the run cannot be reported
+			runFailed(JUnitMessages.getString("RemoteTestRunner.error.protocol"), null); //$NON-NLS-1$
+			return false;
+		}
+		fBinarySender= new BinaryMessageSender(out);
+		if (fDebugMode)
+			System.out.println("protocol: " + offer); //$NON-NLS-1$
+		return true;
+	}
+
 	/**
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			fBinarySender= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -777,6 +900,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		if (fBinarySender != null) {
+			fBinarySender.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -817,6 +944,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
+		if (fBinarySender != null) {
+			fBinarySender.flush();
+			return;
+		}
 	    fWriter.flush();
 	}
 
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Collects the test tree instead of sending it and sends the entries when
+ * they are needed (argument -streamtree).
+ * <p>
+ * The runner collects the tree of a suite only when the suite is about to run.
+ * The entries are collected in the depth-first order of
+ * {@link ITestReference#sendTree(IVisitsTestTrees)}, and the parent of every
+ * entry is determined the same way the client does it for a tree sent at once.
+ * Before an event of a test is sent, {@link #ensureSent(String)} sends all
+ * entries up to the entry of the test which have not been sent yet, so the
+ * entries reach the client in the order of their definition even if the tests
+ * run in a different order. Every streamed entry carries the id of its parent,
+ * so the client can attach it although the entries are interleaved with the
+ * events of the tests.
+ * </p>
+ */
+public class TestTreeStreamer implements IVisitsTestTrees {
+
+	private static class Entry {
+		final ITestIdentifier fIdentifier;
+		final String fId;
+		final boolean fHasChildren;
+		final int fTestCount;
+		final String fParentId;
+		final int fIndex;
+		int fOutstandingChildren;
+
+		Entry(ITestIdentifier identifier, String id, boolean hasChildren, int testCount, String parentId, int index) {
+			fIdentifier= identifier;
+			fId= id;
+			fHasChildren= hasChildren;
+			fTestCount= testCount;
+			fParentId= parentId;
+			fIndex= index;
+			fOutstandingChildren= testCount;
+		}
+	}
+
+	private final RemoteTestRunner fRunner;
+	/**
+	 * The entries which have not been sent yet, by id
+	 */
+	private final HashMap<String, Entry> fEntries= new HashMap<>();
+	/**
+	 * The collected entries in the order of their definition, the sent ones are cleared
+	 */
+	private final List<Entry> fOrder= new ArrayList<>();
+	private final List<Entry> fOpenSuites= new ArrayList<>();
+	/**
+	 * The number of entries sent so far
+	 */
+	private int fSentCount;
+
+	public TestTreeStreamer(RemoteTestRunner runner) {
+		fRunner= runner;
+	}
+
+	@Override
+	public synchronized void visitTreeEntry(ITestIdentifier identifier, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId) {
+		String parent= "-1"; //$NON-NLS-1$
+		int top= fOpenSuites.size() - 1;
+		if (top >= 0) {
+			Entry openSuite= fOpenSuites.get(top);
+			parent= openSuite.fId;
+			if (--openSuite.fOutstandingChildren <= 0)
+				fOpenSuites.remove(top);
+		}
+		String id= fRunner.getTestId(identifier);
+		Entry entry= new Entry(identifier, id, hasChildren, testCount, parent, fOrder.size());
+		if (hasChildren && testCount > 0)
+			fOpenSuites.add(entry);
+		fEntries.put(id, entry);
+		fOrder.add(entry);
+	}
+
+	/**
+	 * Sends the tree entry of a test and all entries defined before it,
+	 * unless they have been sent already.
+	 *
+	 * @param testId the id of the test
+	 */
+	public synchronized void ensureSent(String testId) {
+		Entry entry= fEntries.get(testId);
+		if (entry != null)
+			sendUpTo(entry.fIndex);
+	}
+
+	/**
+	 * Sends the entries of the tests which have not been executed.
+	 */
+	public synchronized void sendRemaining() {
+		sendUpTo(fOrder.size() - 1);
+	}
+
+	private void sendUpTo(int index) {
+		while (fSentCount <= index) {
+			Entry entry= fOrder.set(fSentCount++, null);
+			fEntries.remove(entry.fId);
+			fRunner.sendTreeEntry(entry.fIdentifier, entry.fHasChildren, entry.fTestCount, false, entry.fParentId);
+		}
+	}
+}
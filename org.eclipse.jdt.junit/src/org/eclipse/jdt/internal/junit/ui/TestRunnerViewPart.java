@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1622,6 +1622,10 @@ action enablement
 		TestRunSession deactivatedSession= fTestRunSession;
 
 		fTestRunSession= testRunSession;
+		if (testRunSession != null)
+			testRunSession.connect();
+		if (deactivatedSession != null)
+			deactivatedSession.disconnect();
 		fTestViewer.registerActiveSession(testRunSession);
 
 		if (fSashForm.isDisposed()) {
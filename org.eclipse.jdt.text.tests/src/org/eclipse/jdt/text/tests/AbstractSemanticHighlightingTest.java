@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -165,6 +165,23 @@ public class AbstractSemanticHighlightingTest {
 		EditorTestHelper.runEventQueue(100);
 	}
 
+	/**
+	 * Replaces text of the editor's document and waits until the semantic highlighting is
+	 * reconciled with the change.
+	 *
+	 * @param line the line of the replaced text
+	 * @param column the column of the replaced text
+	 * @param length the length of the replaced text
+	 * @param text the new text
+	 * @throws BadLocationException if the range is not in the document
+	 */
+	protected void replace(int line, int column, int length, String text) throws BadLocationException {
+		IDocument document= fSourceViewer.getDocument();
+		document.replace(document.getLineOffset(line) + column, length, text);
+		assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+	}
+
 	private void enableSemanticHighlighting(String preferenceKey) {
 		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
 		store.setValue(getEnabledPreferenceKey(preferenceKey), true);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
 import org.eclipse.jdt.text.tests.codemining.CodeMiningTriggerTest;
+import org.eclipse.jdt.text.tests.codemining.JavaReferenceCountServiceTest;
 import org.eclipse.jdt.text.tests.codemining.ParameterNamesCodeMiningTest;
 import org.eclipse.jdt.text.tests.contentassist.ContentAssistTestSuite;
 import org.eclipse.jdt.text.tests.folding.FoldingTestSuite;
@@ -56,6 +57,7 @@ import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 	BracketInserterTest.class,
 	SpellCheckEngineTestCase.class,
 	SemanticHighlightingTest.class,
+	ViewportFirstComputationTest.class,
 	SemanticTokensProviderTest.class,
 	SemanticTokensProviderErrorTest.class,
 	AutoboxingSemanticHighlightingTest.class,
@@ -74,6 +76,7 @@ import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 	JavaElementPrefixPatternMatcherTest.class,
 	CodeMiningTriggerTest.class,
 	ParameterNamesCodeMiningTest.class,
+	JavaReferenceCountServiceTest.class,
 	FoldingTestSuite.class,
 })
 public class JdtTextTestSuite {
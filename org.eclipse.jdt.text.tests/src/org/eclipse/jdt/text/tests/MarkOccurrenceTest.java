@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ import org.eclipse.swt.graphics.RGB;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -119,6 +120,13 @@ public class MarkOccurrenceTest {
 			}
 
 			private void countOccurrences() {
+				try {
+					// the occurrences are marked by a job of the editor
+					Job.getJobManager().join(fEditor, null);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
 				synchronized (MarkOccurrenceTest.this) {
 					int occurrences= 0;
 					Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -207,6 +207,52 @@ public class SemanticHighlightingTest extends AbstractSemanticHighlightingTest {
 		assertEqualPositions(expected, actual);
 	}
 
+	@Test
+	public void localVariableHighlightingAfterMethodBodyChange() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE);
+		replace(10, 0, 0, "\t\tint other= local;\n");
+		Position[] expected= new Position[] {
+				createPosition(7, 17, 5),
+				createPosition(8, 6, 5),
+				createPosition(8, 13, 5),
+				createPosition(9, 2, 5),
+				createPosition(10, 6, 5),
+				createPosition(10, 13, 5),
+				createPosition(14, 11, 6),
+				createPosition(14, 22, 6),
+				createPosition(14, 35, 6),
+				createPosition(15, 26, 6),
+				createPosition(16, 3, 5),
+				createPosition(16, 10, 6),
+				createPosition(17, 3, 6),
+				createPosition(42, 16, 4),
+				createPosition(43, 20, 13),
+				createPosition(44, 15, 7),
+		};
+		Position[] actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+
+		replace(10, 0, 20, "");
+		expected= new Position[] {
+				createPosition(7, 17, 5),
+				createPosition(8, 6, 5),
+				createPosition(8, 13, 5),
+				createPosition(9, 2, 5),
+				createPosition(13, 11, 6),
+				createPosition(13, 22, 6),
+				createPosition(13, 35, 6),
+				createPosition(14, 26, 6),
+				createPosition(15, 3, 5),
+				createPosition(15, 10, 6),
+				createPosition(16, 3, 6),
+				createPosition(41, 16, 4),
+				createPosition(42, 20, 13),
+				createPosition(43, 15, 7),
+		};
+		actual= getSemanticHighlightingPositions();
+		assertEqualPositions(expected, actual);
+	}
+
 	@Test
 	public void parameterVariableHighlighting() throws Exception {
 		setUpSemanticHighlighting(SemanticHighlightings.PARAMETER_VARIABLE);
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.text.tests.performance.DisplayHelper;
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotation;
+import org.eclipse.jface.text.source.projection.ProjectionAnnotationModel;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingPresenter;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+import org.eclipse.jdt.internal.ui.javaeditor.ViewportTracker;
+
+/**
+ * Tests that the semantic highlighting and the folding structure of large documents are computed
+ * for the visible range first, see {@link ViewportTracker}.
+ */
+public class ViewportFirstComputationTest {
+
+	private static final int METHODS= 1000;
+
+	private static final String FIELD_ENABLED_KEY= PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_PREFIX + SemanticHighlightings.FIELD
+			+ PreferenceConstants.EDITOR_SEMANTIC_HIGHLIGHTING_ENABLED_SUFFIX;
+
+	private interface Condition {
+		boolean test() throws Exception;
+	}
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	private IPackageFragment fPackage;
+
+	private JavaEditor fEditor;
+
+	@Before
+	public void setUp() throws Exception {
+		IJavaProject project= projectSetup.getProject();
+		IPackageFragmentRoot sourceFolder= project.findPackageFragmentRoot(project.getResource().getFullPath().append("src"));
+		if (sourceFolder == null) {
+			sourceFolder= JavaProjectHelper.addSourceContainer(project, "src");
+		}
+		fPackage= sourceFolder.createPackageFragment("test1", false, null);
+		JavaPlugin.getDefault().getPreferenceStore().setValue(FIELD_ENABLED_KEY, true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fEditor != null) {
+			EditorTestHelper.closeEditor(fEditor);
+			fEditor= null;
+		}
+		ViewportTracker.setThresholds(ViewportTracker.VIEWPORT_FIRST_LINES, ViewportTracker.VIEWPORT_ONLY_LINES);
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		store.setToDefault(FIELD_ENABLED_KEY);
+	}
+
+	/*
+	 * Method i is declared in line 3 + 3 * i and assigns the field in the line below.
+	 */
+	private void openEditor() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class Large {\n");
+		buf.append("    int f;\n");
+		for (int i= 0; i < METHODS; i++) {
+			buf.append("    void m").append(i).append("() {\n");
+			buf.append("        f= ").append(i).append(";\n");
+			buf.append("    }\n");
+		}
+		buf.append("}\n");
+		ICompilationUnit cu= fPackage.createCompilationUnit("Large.java", buf.toString(), true, null);
+		fEditor= (JavaEditor) EditorUtility.openInEditor(cu);
+	}
+
+	private void joinReconciler() {
+		assertTrue(EditorTestHelper.joinReconciler(EditorTestHelper.getSourceViewer(fEditor), 0, 10000, 100));
+		EditorTestHelper.runEventQueue(500);
+	}
+
+	private static int getMethodLine(int method) {
+		return 3 + 3 * method;
+	}
+
+	private IDocument getDocument() {
+		return fEditor.getViewer().getDocument();
+	}
+
+	private ProjectionAnnotation getFoldingAnnotation(int line) throws BadLocationException {
+		ProjectionAnnotationModel model= fEditor.getAdapter(ProjectionAnnotationModel.class);
+		int offset= getDocument().getLineOffset(line);
+		for (Iterator<Annotation> iter= model.getAnnotationIterator(); iter.hasNext();) {
+			Annotation annotation= iter.next();
+			if (annotation instanceof ProjectionAnnotation) {
+				Position position= model.getPosition(annotation);
+				if (position != null && position.getOffset() == offset) {
+					return (ProjectionAnnotation) annotation;
+				}
+			}
+		}
+		return null;
+	}
+
+	private boolean isFieldHighlighted(int method) throws BadLocationException, BadPositionCategoryException {
+		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager");
+		SemanticHighlightingPresenter presenter= (SemanticHighlightingPresenter) new Accessor(manager, manager.getClass()).get("fPresenter");
+		String positionCategory= (String) new Accessor(presenter, presenter.getClass()).invoke("getPositionCategory", new Object[0]);
+		int offset= getDocument().getLineOffset(getMethodLine(method) + 1) + 8;
+		for (Position position : getDocument().getPositions(positionCategory)) {
+			if (position.getOffset() == offset && position.getLength() == 1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean waitFor(Condition condition) {
+		return new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				try {
+					return condition.test();
+				} catch (Exception e) {
+					return false;
+				}
+			}
+		}.waitForCondition(Display.getDefault(), 10000);
+	}
+
+	private void revealMethod(int method) throws BadLocationException {
+		fEditor.selectAndReveal(getDocument().getLineOffset(getMethodLine(method)), 0);
+		EditorTestHelper.runEventQueue(100);
+	}
+
+	@Test
+	public void testViewportFirst() throws Exception {
+		ViewportTracker.setThresholds(METHODS, Integer.MAX_VALUE);
+		openEditor();
+
+		// the visible range is folded when the editor is opened
+		ProjectionAnnotation first= getFoldingAnnotation(getMethodLine(0));
+		assertNotNull(first);
+		assertFalse(first.isCollapsed());
+		ProjectionAnnotationModel model= fEditor.getAdapter(ProjectionAnnotationModel.class);
+		model.collapse(first);
+
+		// the rest of the document is computed in the background, without scrolling
+		assertTrue(waitFor(() -> getFoldingAnnotation(getMethodLine(METHODS - 1)) != null));
+		assertTrue(waitFor(() -> isFieldHighlighted(METHODS - 1)));
+		assertTrue(isFieldHighlighted(0));
+		assertTrue(first.isCollapsed());
+	}
+
+	@Test
+	public void testViewportOnly() throws Exception {
+		ViewportTracker.setThresholds(METHODS, 2 * METHODS);
+		openEditor();
+		joinReconciler();
+
+		ProjectionAnnotation first= getFoldingAnnotation(getMethodLine(0));
+		assertNotNull(first);
+		assertTrue(waitFor(() -> isFieldHighlighted(0)));
+		assertNull(getFoldingAnnotation(getMethodLine(METHODS - 1)));
+		assertFalse(isFieldHighlighted(METHODS - 1));
+		ProjectionAnnotationModel model= fEditor.getAdapter(ProjectionAnnotationModel.class);
+		model.collapse(first);
+
+		// the end of the document is only computed when it is scrolled into view
+		revealMethod(METHODS - 1);
+		assertTrue(waitFor(() -> getFoldingAnnotation(getMethodLine(METHODS - 1)) != null));
+		assertTrue(waitFor(() -> isFieldHighlighted(METHODS - 1)));
+		assertNull(getFoldingAnnotation(getMethodLine(METHODS / 2)));
+		assertTrue(first.isCollapsed());
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaReferenceCountService;
+
+public class JavaReferenceCountServiceTest {
+
+	private IJavaProject fJavaProject;
+	private IPackageFragment fPackage;
+
+	@BeforeEach
+	public void setUp() throws CoreException {
+		fJavaProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar18(fJavaProject);
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJavaProject, "src");
+		fPackage= root.createPackageFragment("p", true, null);
+	}
+
+	@AfterEach
+	public void tearDown() throws CoreException {
+		JavaProjectHelper.delete(fJavaProject);
+	}
+
+	private static long count(IJavaElement element) throws Exception {
+		return countAsync(element).get(30, TimeUnit.SECONDS).longValue();
+	}
+
+	private static CompletableFuture<Long> countAsync(IJavaElement element) {
+		return JavaReferenceCountService.getDefault().getReferenceCount(element, -1, null, new NullProgressMonitor());
+	}
+
+	@Test
+	public void testBatchedCounts() throws Exception {
+		String a= """
+			package p;
+			public class A {
+				public int size;
+				public A() {
+				}
+				public A(int size) {
+					this.size= size;
+				}
+				public void foo() {
+				}
+				public void bar() {
+				}
+				public void foo(int i) {
+				}
+			}
+			""";
+		String b= """
+			package p;
+			public class B extends A {
+				B() {
+					super(1);
+					foo();
+					foo();
+					bar();
+					foo(size);
+				}
+				A create() {
+					return new A();
+				}
+			}
+			""";
+		IType type= fPackage.createCompilationUnit("A.java", a, true, null).getType("A");
+		fPackage.createCompilationUnit("B.java", b, true, null);
+
+		CompletableFuture<Long> foo= countAsync(type.getMethod("foo", new String[0]));
+		CompletableFuture<Long> bar= countAsync(type.getMethod("bar", new String[0]));
+		CompletableFuture<Long> fooInt= countAsync(type.getMethod("foo", new String[] { "I" }));
+		CompletableFuture<Long> size= countAsync(type.getField("size"));
+		CompletableFuture<Long> constructor= countAsync(type.getMethod("A", new String[0]));
+		CompletableFuture<Long> constructorInt= countAsync(type.getMethod("A", new String[] { "I" }));
+		CompletableFuture<Long> typeA= countAsync(type);
+
+		assertEquals(2, foo.get(30, TimeUnit.SECONDS).longValue());
+		assertEquals(1, bar.get(30, TimeUnit.SECONDS).longValue());
+		assertEquals(1, fooInt.get(30, TimeUnit.SECONDS).longValue());
+		assertEquals(2, size.get(30, TimeUnit.SECONDS).longValue());
+		assertEquals(1, constructor.get(30, TimeUnit.SECONDS).longValue());
+		assertEquals(1, constructorInt.get(30, TimeUnit.SECONDS).longValue());
+		assertEquals(3, typeA.get(30, TimeUnit.SECONDS).longValue());
+	}
+
+	@Test
+	public void testCountUpdatedOnChange() throws Exception {
+		String a= """
+			package p;
+			public class A {
+				public void foo() {
+				}
+				public void bar() {
+				}
+			}
+			""";
+		String b= """
+			package p;
+			public class B {
+				void m(A a) {
+					a.foo();
+				}
+			}
+			""";
+		IType type= fPackage.createCompilationUnit("A.java", a, true, null).getType("A");
+		fPackage.createCompilationUnit("B.java", b, true, null);
+		assertEquals(1, count(type.getMethod("foo", new String[0])));
+		assertEquals(0, count(type.getMethod("bar", new String[0])));
+
+		fPackage.createCompilationUnit("B.java", b.replace("a.foo();", "a.foo();\n\t\ta.foo();\n\t\ta.bar();"), true, null);
+		assertEquals(2, count(type.getMethod("foo", new String[0])));
+		assertEquals(1, count(type.getMethod("bar", new String[0])));
+
+		fPackage.getCompilationUnit("B.java").delete(true, null);
+		assertEquals(0, count(type.getMethod("foo", new String[0])));
+		assertEquals(0, count(type.getMethod("bar", new String[0])));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -151,6 +151,103 @@ public class ChainCompletionTest {
 		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
 	}
 
+	@Test
+	public void testChangedTypeIsSearchedAgain() throws Exception {
+		pkg.createCompilationUnit("Baz.java", """
+			package test;
+			public class Baz {
+			}""", false, null);
+		String bar= """
+			package test;
+			public class Bar {
+			  public Baz getBaz() {
+			    return new Baz();
+			  }
+			}""";
+		pkg.createCompilationUnit("Bar.java", bar, false, null);
+
+		StringBuffer buf= new StringBuffer();
+		buf.append("""
+			package test;
+			public class Foo {
+			  public Bar getBar() {
+			    return new Bar();
+			  }
+			
+			  public static void mainMethod () {
+			    Foo f = new Foo();
+			    Baz b = f.$
+			  }
+			}""");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(1, proposals.size());
+		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
+
+		pkg.createCompilationUnit("Bar.java", bar.replace("getBaz", "getOtherBaz"), true, null);
+
+		proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(1, proposals.size());
+		assertEquals("getBar().getOtherBaz() - 2 elements", proposals.get(0).getDisplayString());
+	}
+
+	@Test
+	public void testUnsavedChangeIsSearchedAgain() throws Exception {
+		pkg.createCompilationUnit("Baz.java", """
+			package test;
+			public class Baz {
+			}""", false, null);
+		String bar= """
+			package test;
+			public class Bar {
+			  public Baz getBaz() {
+			    return new Baz();
+			  }
+			}""";
+		ICompilationUnit barCU= pkg.createCompilationUnit("Bar.java", bar, false, null);
+
+		StringBuffer buf= new StringBuffer();
+		buf.append("""
+			package test;
+			public class Foo {
+			  public Bar getBar() {
+			    return new Bar();
+			  }
+			
+			  public static void mainMethod () {
+			    Foo f = new Foo();
+			    Baz b = f.$
+			  }
+			}""");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(1, proposals.size());
+		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
+
+		barCU.becomeWorkingCopy(null);
+		try {
+			barCU.getBuffer().setContents(bar.replace("getBaz", "getOtherBaz"));
+			barCU.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+			proposals= computeCompletionProposals(cu, completionIndex);
+			assertEquals(1, proposals.size());
+			assertEquals("getBar().getOtherBaz() - 2 elements", proposals.get(0).getDisplayString());
+		} finally {
+			barCU.discardWorkingCopy();
+		}
+
+		// the unsaved change is gone
+		proposals= computeCompletionProposals(cu, completionIndex);
+		assertEquals(1, proposals.size());
+		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
+	}
+
 	@Test
 	public void testPrimitiveCompletion() throws Exception {
 		StringBuffer buf= new StringBuffer();
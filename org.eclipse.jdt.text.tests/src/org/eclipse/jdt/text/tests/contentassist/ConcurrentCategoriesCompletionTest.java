@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.java.CompletionProposalComputerRegistry;
+import org.eclipse.jdt.internal.ui.text.java.ContentAssistProcessor;
+import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProcessor;
+
+/**
+ * Tests the concurrent computation of the completion proposal categories, see
+ * {@link ContentAssistProcessor#setCategoryComputation(int, long)}.
+ */
+public class ConcurrentCategoriesCompletionTest extends AbstractCompletionTest {
+
+	private static final String CONTENTS= """
+			package test1;
+			public class Concurrent {
+			    // longCompletion
+			    void foo() {
+			        Strin
+			    }
+			}
+			""";
+
+	private JavaEditor fEditor;
+	private int fOffset;
+
+	@Before
+	public void openEditor() throws Exception {
+		assumeFalse(CompletionProposalComputerRegistry.getDefault().computingCompletionRequiresUIThread());
+		assertTrue(CONTENTS.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+
+		IPackageFragment pack= getAnonymousTestPackage();
+		ICompilationUnit cu= pack.createCompilationUnit("Concurrent.java", CONTENTS, true, null);
+		fEditor= (JavaEditor) EditorUtility.openInEditor(cu);
+		fOffset= CONTENTS.indexOf("Strin") + "Strin".length();
+
+		// the first computation of the Java proposals is slow
+		computeProposals(createProcessor(1, 0));
+	}
+
+	@After
+	public void closeEditor() {
+		if (fEditor != null) {
+			EditorTestHelper.closeEditor(fEditor);
+			fEditor= null;
+		}
+	}
+
+	private JavaCompletionProcessor createProcessor(int parallelism, long deadline) {
+		ContentAssistant assistant= new ContentAssistant();
+		assistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		JavaCompletionProcessor processor= new JavaCompletionProcessor(fEditor, assistant, IDocument.DEFAULT_CONTENT_TYPE);
+		processor.setCategoryComputation(parallelism, deadline);
+		return processor;
+	}
+
+	private List<String> computeProposals(JavaCompletionProcessor processor) {
+		List<String> displayStrings= new ArrayList<>();
+		for (ICompletionProposal proposal : processor.computeCompletionProposals(fEditor.getViewer(), fOffset)) {
+			displayStrings.add(proposal.getDisplayString());
+		}
+		return displayStrings;
+	}
+
+	/*
+	 * Sets up the processor the way a content assist session does.
+	 */
+	private static Accessor startSession(JavaCompletionProcessor processor) {
+		Accessor accessor= new Accessor(processor, ContentAssistProcessor.class);
+		accessor.invoke("setCategoryIteration", new Object[0]);
+		accessor.set("fRepetition", 0);
+		return accessor;
+	}
+
+	private static int getPageCount(Accessor accessor) {
+		return ((List<?>) accessor.get("fCategoryIteration")).size();
+	}
+
+	@Test
+	public void testConcurrentResultEqualsSequentialResult() throws Exception {
+		List<String> sequential= computeProposals(createProcessor(1, 0));
+		List<String> concurrent= computeProposals(createProcessor(4, 60_000));
+
+		assertTrue(sequential.toString(), sequential.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+		assertEquals(sequential, concurrent);
+	}
+
+	@Test
+	public void testDeadlineOutsideSession() throws Exception {
+		List<String> proposals= computeProposals(createProcessor(4, 500));
+
+		assertFalse(proposals.isEmpty());
+		assertFalse(proposals.toString(), proposals.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+	}
+
+	@Test
+	public void testCanceledCategoryIsNotComputedWhileRunning() throws Exception {
+		JavaCompletionProcessor processor= createProcessor(4, 100);
+		List<String> first= computeProposals(processor);
+		assertFalse(first.toString(), first.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+
+		// the canceled computation does not stop, the category is left out until it is done
+		processor.setCategoryComputation(4, 60_000);
+		List<String> second= computeProposals(processor);
+		assertFalse(second.isEmpty());
+		assertFalse(second.toString(), second.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+
+		Map<?, ?> running= (Map<?, ?>) new Accessor(processor, ContentAssistProcessor.class).get("fRunningCategories");
+		long end= System.currentTimeMillis() + 10_000;
+		while (!running.isEmpty() && System.currentTimeMillis() < end) {
+			Thread.sleep(50);
+		}
+		assertTrue(running.isEmpty());
+		List<String> third= computeProposals(processor);
+		assertTrue(third.toString(), third.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+	}
+
+	@Test
+	public void testLateProposalsPage() throws Exception {
+		JavaCompletionProcessor processor= createProcessor(4, 500);
+		Accessor accessor= startSession(processor);
+		int pageCount= getPageCount(accessor);
+
+		List<String> first= computeProposals(processor);
+		assertFalse(first.isEmpty());
+		assertFalse(first.toString(), first.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+		assertEquals(pageCount + 1, getPageCount(accessor));
+
+		// the next invocation shows the late proposals, however long they take
+		processor.setCategoryComputation(4, 60_000);
+		List<String> late= computeProposals(processor);
+		assertTrue(late.toString(), late.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+		assertEquals(pageCount, getPageCount(accessor));
+	}
+}
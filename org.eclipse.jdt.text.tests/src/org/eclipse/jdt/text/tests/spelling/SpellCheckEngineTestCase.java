@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,9 +18,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Set;
@@ -260,4 +264,89 @@ public class SpellCheckEngineTestCase {
 		assertTrue(proposals.size() >= 1);
 		assertEquals(- DefaultPhoneticDistanceAlgorithm.COST_CASE, proposals.iterator().next().getRank());
 	}
+
+	@Test
+	public void testConcurrentLookups() throws Exception {
+		final TestDictionary dictionary= new TestDictionary();
+		for (int i= 0; i < 1000; i++)
+			dictionary.addWord("word" + i); //$NON-NLS-1$
+
+		Thread[] readers= new Thread[4];
+		final boolean[] failed= new boolean[1];
+		for (int t= 0; t < readers.length; t++) {
+			readers[t]= new Thread(() -> {
+				for (int i= 0; i < 1000; i++) {
+					if (!dictionary.isCorrect("word" + i)) //$NON-NLS-1$
+						failed[0]= true;
+				}
+			});
+			readers[t].start();
+		}
+		for (int i= 1000; i < 1100; i++)
+			dictionary.addWord("word" + i); //$NON-NLS-1$
+		for (Thread reader : readers)
+			reader.join();
+
+		assertFalse(failed[0]);
+		assertTrue(dictionary.isCorrect("word1099")); //$NON-NLS-1$
+		assertFalse(dictionary.isCorrect("word1100")); //$NON-NLS-1$
+		assertTrue(contains(dictionary.getProposals("word10", false), "word10")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testCompiledDictionaryCache() throws Exception {
+		final File directory= Files.createTempDirectory("dictionaries").toFile(); //$NON-NLS-1$
+		final File wordList= new File(directory, "words.txt"); //$NON-NLS-1$
+		final File cacheFile= new File(directory, "words.bin"); //$NON-NLS-1$
+		Files.write(wordList.toPath(), Arrays.asList(TRUCK, LORRY, GLOBAL), StandardCharsets.UTF_8);
+		try {
+			class CachedDictionary extends AbstractSpellDictionary {
+				@Override
+				protected URL getURL() throws MalformedURLException {
+					return wordList.toURI().toURL();
+				}
+
+				@Override
+				protected File getCacheFile() {
+					return cacheFile;
+				}
+
+				@Override
+				protected String getEncoding() {
+					return "UTF-8"; //$NON-NLS-1$
+				}
+			}
+
+			CachedDictionary dictionary= new CachedDictionary();
+			assertTrue(dictionary.isCorrect(TRUCK));
+			File[] cacheFiles= getCacheFiles(directory, cacheFile);
+			assertEquals(1, cacheFiles.length);
+
+			// the second dictionary maps the compiled word list
+			dictionary= new CachedDictionary();
+			assertTrue(dictionary.isCorrect(LORRY));
+			assertTrue(dictionary.isCorrect(GLOBAL));
+			assertFalse(dictionary.isCorrect(LASTWAGEN));
+
+			// a changed word list is parsed again
+			Files.write(wordList.toPath(), Arrays.asList(LASTWAGEN), StandardCharsets.UTF_8);
+			assertTrue(wordList.setLastModified(cacheFiles[0].lastModified() + 10000));
+			dictionary= new CachedDictionary();
+			assertTrue(dictionary.isCorrect(LASTWAGEN));
+			assertFalse(dictionary.isCorrect(TRUCK));
+
+			// the new content is cached in a new file, the file of the old content may still be mapped
+			File[] newCacheFiles= getCacheFiles(directory, cacheFile);
+			assertTrue(Arrays.stream(newCacheFiles).anyMatch(file -> !file.equals(cacheFiles[0])));
+		} finally {
+			for (File file : directory.listFiles())
+				file.delete();
+			directory.delete();
+		}
+	}
+
+	private static File[] getCacheFiles(File directory, File baseFile) {
+		File[] files= directory.listFiles((dir, name) -> name.startsWith(baseFile.getName() + '.') && !name.endsWith(".tmp")); //$NON-NLS-1$
+		return files != null ? files : new File[0];
+	}
 }
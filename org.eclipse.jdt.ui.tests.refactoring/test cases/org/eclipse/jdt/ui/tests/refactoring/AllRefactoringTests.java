@@ -120,7 +120,8 @@ import org.junit.platform.suite.api.Suite;
 
 	//--helpers
 	RenamingNameSuggestorTests.class,
-	DelegateCreatorTests.class
+	DelegateCreatorTests.class,
+	ParallelChangeProcessorTest.class
 })
 public class AllRefactoringTests {
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.jdt.internal.corext.refactoring.util.ParallelChangeProcessor;
+
+public class ParallelChangeProcessorTest {
+
+	private static final int ELEMENTS= 200;
+
+	private static List<Integer> createElements() {
+		List<Integer> elements= new ArrayList<>(ELEMENTS);
+		for (int i= 0; i < ELEMENTS; i++) {
+			elements.add(Integer.valueOf(i));
+		}
+		return elements;
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	public void testResultOrder() throws Exception {
+		List<Integer> elements= createElements();
+		List<String> results= ParallelChangeProcessor.run(elements, (element, monitor) -> {
+			// the later elements finish first
+			sleep((ELEMENTS - element.intValue()) % 7);
+			return "r" + element;
+		}, new NullProgressMonitor());
+
+		assertEquals(ELEMENTS, results.size());
+		for (int i= 0; i < ELEMENTS; i++) {
+			assertEquals("r" + i, results.get(i));
+		}
+	}
+
+	@Test
+	public void testFirstFailure() throws Exception {
+		AtomicBoolean interrupted= new AtomicBoolean();
+		AtomicInteger running= new AtomicInteger();
+		try {
+			ParallelChangeProcessor.run(createElements(), (element, monitor) -> {
+				running.incrementAndGet();
+				try {
+					int index= element.intValue();
+					if (index == 50) {
+						// fails after the later element
+						sleep(200);
+						throw new CoreException(new Status(IStatus.ERROR, "test", "50"));
+					}
+					if (index == 51) {
+						throw new CoreException(new Status(IStatus.ERROR, "test", "51"));
+					}
+					sleep(5);
+					if (Thread.currentThread().isInterrupted())
+						interrupted.set(true);
+					return element;
+				} finally {
+					running.decrementAndGet();
+				}
+			}, new NullProgressMonitor());
+			fail("CoreException expected");
+		} catch (CoreException e) {
+			assertEquals("50", e.getStatus().getMessage());
+		}
+		assertEquals(0, running.get());
+		assertFalse(interrupted.get());
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		NullProgressMonitor pm= new NullProgressMonitor();
+		AtomicInteger started= new AtomicInteger();
+		AtomicInteger running= new AtomicInteger();
+		AtomicBoolean canceledSeen= new AtomicBoolean();
+		try {
+			ParallelChangeProcessor.run(createElements(), (element, monitor) -> {
+				started.incrementAndGet();
+				running.incrementAndGet();
+				try {
+					if (element.intValue() == 10)
+						pm.setCanceled(true);
+					sleep(5);
+					if (monitor.isCanceled())
+						canceledSeen.set(true);
+					return element;
+				} finally {
+					running.decrementAndGet();
+				}
+			}, pm);
+			fail("OperationCanceledException expected");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertEquals(0, running.get());
+		assertTrue(canceledSeen.get());
+		assertTrue(String.valueOf(started.get()), started.get() < ELEMENTS);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -945,6 +945,26 @@ public class RenameTypeTests extends GenericRefactoringTest {
 		helper2("A", "B");
 	}
 
+	@Test
+	public void testManyCompilationUnits() throws Exception {
+		// enough compilation units to create and check the changes on several workers
+		int count= 60;
+		IType classA= getType(createCU(getPackageP(), "A.java", "package p;\npublic class A {\n}\n"), "A");
+		for (int i= 0; i < count; i++) {
+			createCU(getPackageP(), "Ref" + i + ".java", "package p;\nclass Ref" + i + " {\n\tA a;\n\tA m(A p) {\n\t\treturn new A();\n\t}\n}\n");
+		}
+
+		RefactoringStatus result= performRefactoring(createRefactoringDescriptor(classA, "B"));
+		assertNull("was supposed to pass", result);
+
+		assertFalse(getPackageP().getCompilationUnit("A.java").exists());
+		assertEquals("package p;\npublic class B {\n}\n", getPackageP().getCompilationUnit("B.java").getSource());
+		for (int i= 0; i < count; i++) {
+			String expected= "package p;\nclass Ref" + i + " {\n\tB a;\n\tB m(B p) {\n\t\treturn new B();\n\t}\n}\n";
+			assertEqualLines("Ref" + i, expected, getPackageP().getCompilationUnit("Ref" + i + ".java").getSource());
+		}
+	}
+
 	@Test
 	public void test10() throws Exception {
 		helper2("A", "B");
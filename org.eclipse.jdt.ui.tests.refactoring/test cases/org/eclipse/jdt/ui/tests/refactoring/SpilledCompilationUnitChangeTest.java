@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.GroupCategory;
+import org.eclipse.ltk.core.refactoring.GroupCategorySet;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChangeGroup;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
+
+import org.eclipse.jdt.internal.corext.refactoring.changes.SpilledCompilationUnitChange;
+import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+public class SpilledCompilationUnitChangeTest extends GenericRefactoringTest {
+
+	private static final String SOURCE= """
+		package p;
+		class A {
+			int foo;
+			int bar= foo;
+		}
+		""";
+
+	public SpilledCompilationUnitChangeTest() {
+		rts= new RefactoringTestSetup();
+	}
+
+	@Test
+	public void testSpillAndPerform() throws Exception {
+		ICompilationUnit cu= createCU(getPackageP(), "A.java", SOURCE);
+		CompilationUnitChange change= new CompilationUnitChange("A.java", cu);
+		GroupCategorySet categories= new GroupCategorySet(new GroupCategory("id", "name", "description"));
+		TextChangeCompatibility.addTextEdit(change, "rename", new ReplaceEdit(SOURCE.indexOf("foo"), 3, "baz"), categories);
+		TextChangeCompatibility.addTextEdit(change, "rename", new ReplaceEdit(SOURCE.lastIndexOf("foo"), 3, "baz"), categories);
+		TextChangeCompatibility.addTextEdit(change, "insert", new InsertEdit(SOURCE.indexOf("class"), "final "));
+		TextChangeCompatibility.addTextEdit(change, "delete", new DeleteEdit(SOURCE.indexOf("bar") - 4, 4));
+		String expected= change.getPreviewContent(new NullProgressMonitor());
+
+		TextEditBasedChange[] changes= SpilledCompilationUnitChange.spill(new TextChange[] { change });
+		assertTrue(changes[0] instanceof SpilledCompilationUnitChange);
+		SpilledCompilationUnitChange spilled= (SpilledCompilationUnitChange) changes[0];
+		try {
+			assertEquals(expected, spilled.getPreviewContent(new NullProgressMonitor()));
+			assertEquals(SOURCE, spilled.getCurrentContent(new NullProgressMonitor()));
+
+			CompilationUnitChange unspilled= spilled.unspill();
+			assertEquals(4, unspilled.getChangeGroups().length);
+			assertEquals(expected, unspilled.getPreviewContent(new NullProgressMonitor()));
+
+			Change undo= performChange(spilled);
+			assertEquals(expected, cu.getSource());
+			performChange(undo);
+			assertEquals(SOURCE, cu.getSource());
+		} finally {
+			spilled.dispose();
+		}
+	}
+
+	@Test
+	public void testSpilledChangeGroups() throws Exception {
+		ICompilationUnit cu= createCU(getPackageP(), "A.java", SOURCE);
+		CompilationUnitChange change= new CompilationUnitChange("A.java", cu);
+		GroupCategorySet categories= new GroupCategorySet(new GroupCategory("id", "name", "description"));
+		TextChangeCompatibility.addTextEdit(change, "rename", new ReplaceEdit(SOURCE.indexOf("foo"), 3, "baz"), categories);
+		TextChangeCompatibility.addTextEdit(change, "insert", new InsertEdit(SOURCE.indexOf("class"), "final "));
+		TextEditBasedChangeGroup[] groups= change.getChangeGroups();
+		IRegion region= new Region(0, SOURCE.length());
+		String renamePreview= change.getPreviewContent(new TextEditBasedChangeGroup[] { groups[0] }, region, false, 0, new NullProgressMonitor());
+
+		TextEditBasedChange[] changes= SpilledCompilationUnitChange.spill(new TextChange[] { change });
+		SpilledCompilationUnitChange spilled= (SpilledCompilationUnitChange) changes[0];
+		try {
+			TextEditBasedChangeGroup[] spilledGroups= spilled.getChangeGroups();
+			assertEquals(2, spilledGroups.length);
+			assertSame(spilled, spilledGroups[0].getTextEditChange());
+			assertEquals("rename", spilledGroups[0].getName());
+			assertSame(categories, spilledGroups[0].getGroupCategorySet());
+			assertEquals(groups[0].getRegion(), spilledGroups[0].getRegion());
+			assertEquals("insert", spilledGroups[1].getName());
+			assertEquals(1, spilledGroups[1].getTextEdits().length);
+			assertEquals(renamePreview, spilled.getPreviewContent(new TextEditBasedChangeGroup[] { spilledGroups[0] }, region, false, 0, new NullProgressMonitor()));
+
+			spilledGroups[1].setEnabled(false);
+			CompilationUnitChange unspilled= spilled.unspill();
+			assertFalse(unspilled.getChangeGroups()[1].isEnabled());
+
+			performChange(spilled);
+			assertEquals(SOURCE.replaceFirst("foo", "baz"), cu.getSource());
+		} finally {
+			spilled.dispose();
+		}
+	}
+
+	@Test
+	public void testUnsavedChangeInvalidatesSpilledChange() throws Exception {
+		ICompilationUnit cu= createCU(getPackageP(), "A.java", SOURCE);
+		CompilationUnitChange change= new CompilationUnitChange("A.java", cu);
+		TextChangeCompatibility.addTextEdit(change, "rename", new ReplaceEdit(SOURCE.indexOf("foo"), 3, "baz"));
+
+		TextEditBasedChange[] changes= SpilledCompilationUnitChange.spill(new TextChange[] { change });
+		SpilledCompilationUnitChange spilled= (SpilledCompilationUnitChange) changes[0];
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		IPath path= cu.getResource().getFullPath();
+		try {
+			spilled.initializeValidationData(new NullProgressMonitor());
+			assertTrue(spilled.isValid(new NullProgressMonitor()).isOK());
+
+			manager.connect(path, LocationKind.IFILE, null);
+			try {
+				// edit the buffer without saving, the file's modification stamp stays the same
+				IDocument document= manager.getTextFileBuffer(path, LocationKind.IFILE).getDocument();
+				document.replace(0, 0, "//");
+				RefactoringStatus status= spilled.isValid(new NullProgressMonitor());
+				assertTrue(status.hasFatalError());
+				document.replace(0, 2, "");
+			} finally {
+				manager.disconnect(path, LocationKind.IFILE, null);
+			}
+		} finally {
+			spilled.dispose();
+		}
+	}
+
+	@Test
+	public void testNestedEditsNotSpilled() throws Exception {
+		ICompilationUnit cu= createCU(getPackageP(), "A.java", SOURCE);
+		CompilationUnitChange change= new CompilationUnitChange("A.java", cu);
+		MultiTextEdit nested= new MultiTextEdit();
+		nested.addChild(new ReplaceEdit(SOURCE.indexOf("foo"), 3, "baz"));
+		TextChangeCompatibility.addTextEdit(change, "nested", nested);
+
+		TextEditBasedChange[] changes= SpilledCompilationUnitChange.spill(new TextChange[] { change });
+		assertSame(change, changes[0]);
+	}
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryProtocol;
+import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import junit.framework.TestCase;
+
+/**
+ * Runs the real {@link RemoteTestRunner} against the real {@link RemoteTestRunnerClient} with
+ * and without the binary protocol (runner argument -binaryprotocol).
+ */
+public class BinaryProtocolTest {
+
+	/**
+	 * The tests run by the runner.
+	 */
+	public static class Sample extends TestCase {
+		public void testPass() {
+		}
+
+		public void testFail() {
+			fail("expected failure");
+		}
+	}
+
+	private static class Runner extends RemoteTestRunner {
+		void start(String... args) {
+			init(args);
+			run();
+		}
+	}
+
+	private static class RecordingListener implements ITestRunListener2 {
+		final List<String> fEvents= Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch fEnded= new CountDownLatch(1);
+
+		@Override
+		public void testRunStarted(int testCount) {
+			fEvents.add("started " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEvents.add("ended");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEvents.add("stopped");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			fEvents.add("start " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEvents.add("end " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEvents.add("terminated");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			// drop the id, it is assigned by the runner
+			fEvents.add("tree " + description.substring(description.indexOf(',') + 1));
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fEvents.add("failed " + status + ' ' + testName + ' ' + trace.substring(0, trace.indexOf('\n')).trim());
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			fEvents.add("reran " + testName);
+		}
+	}
+
+	private final IEclipsePreferences fPreferences= InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID);
+
+	@After
+	public void tearDown() throws Exception {
+		fPreferences.remove(JUnitPreferencesConstants.BINARY_PROTOCOL);
+	}
+
+	private RemoteTestRunnerClient run(RecordingListener listener, boolean binaryProtocol) throws Exception {
+		int port= SocketUtil.findFreePort();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient(TestKindRegistry.getDefault().getKind(TestKindRegistry.JUNIT3_TEST_KIND_ID));
+		client.startListening(new ITestRunListener2[] { listener }, port);
+		List<String> args= new ArrayList<>(List.of(
+				"-version", "3",
+				"-port", Integer.toString(port),
+				"-testLoaderClass", JUnit3TestLoader.class.getName(),
+				"-loaderpluginname", "org.eclipse.jdt.junit.runtime",
+				"-classNames", Sample.class.getName()));
+		if (binaryProtocol)
+			args.add("-binaryprotocol");
+		new Runner().start(args.toArray(new String[args.size()]));
+		assertTrue(listener.fEnded.await(10, TimeUnit.SECONDS));
+		return client;
+	}
+
+	/*
+	 * The order of the test methods is up to the VM, only the first and last events are fixed.
+	 */
+	private static void assertEvents(List<String> events) {
+		assertEquals("started 2", events.get(0));
+		assertEquals("ended", events.get(events.size() - 1));
+		assertEquals(10, events.size());
+		assertTrue(events.toString(), events.containsAll(expectedEvents()));
+	}
+
+	private static List<String> expectedEvents() {
+		String sample= Sample.class.getName();
+		List<String> expected= new ArrayList<>();
+		expected.add("tree " + sample + ",true,2,false,-1," + sample + ",,");
+		expected.add("tree testPass(" + sample + "),false,1,false,1,testPass(" + sample + "),,");
+		expected.add("tree testFail(" + sample + "),false,1,false,1,testFail(" + sample + "),,");
+		expected.add("start testPass(" + sample + ")");
+		expected.add("end testPass(" + sample + ")");
+		expected.add("start testFail(" + sample + ")");
+		expected.add("failed " + ITestRunListener2.STATUS_FAILURE + " testFail(" + sample + ") junit.framework.AssertionFailedError: expected failure");
+		expected.add("end testFail(" + sample + ")");
+		return expected;
+	}
+
+	@Test
+	public void varInts() throws Exception {
+		int[] values= { 0, 1, 127, 128, 300, 16384, Integer.MAX_VALUE };
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		for (int value : values)
+			BinaryProtocol.writeVarInt(out, value);
+		assertEquals(1 + 1 + 1 + 2 + 2 + 3 + 5, out.size());
+		DataInputStream in= new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+		for (int value : values)
+			assertEquals(value, BinaryProtocol.readVarInt(in));
+	}
+
+	@Test
+	public void runnerSwitchesWhenOffered() throws Exception {
+		fPreferences.putBoolean(JUnitPreferencesConstants.BINARY_PROTOCOL, true);
+		RecordingListener binary= new RecordingListener();
+		assertTrue(run(binary, true).isBinaryProtocol());
+		assertEvents(binary.fEvents);
+
+		fPreferences.putBoolean(JUnitPreferencesConstants.BINARY_PROTOCOL, false);
+		RecordingListener text= new RecordingListener();
+		assertFalse(run(text, true).isBinaryProtocol());
+		assertEquals(text.fEvents, binary.fEvents);
+	}
+
+	@Test
+	public void clientOfferIsIgnoredByTextRunner() throws Exception {
+		fPreferences.putBoolean(JUnitPreferencesConstants.BINARY_PROTOCOL, true);
+		RecordingListener listener= new RecordingListener();
+		assertFalse(run(listener, false).isBinaryProtocol());
+		assertEvents(listener.fEvents);
+	}
+}
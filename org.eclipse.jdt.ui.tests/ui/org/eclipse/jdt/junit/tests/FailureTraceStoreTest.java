@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.FailureTraceStore;
+
+public class FailureTraceStoreTest {
+
+	@Test
+	public void storeAndLoad() throws Exception {
+		FailureTraceStore store= FailureTraceStore.create(new File(System.getProperty("java.io.tmpdir")));
+		try {
+			long first= store.store("junit.framework.AssertionFailedError\n\tat p.T.test(T.java:5)", null, null);
+			long second= store.store("org.junit.ComparisonFailure: \u00e4", "expected\n", "");
+			assertArrayEquals(new String[] { "junit.framework.AssertionFailedError\n\tat p.T.test(T.java:5)", null, null }, store.load(first));
+			assertArrayEquals(new String[] { "org.junit.ComparisonFailure: \u00e4", "expected\n", "" }, store.load(second));
+		} finally {
+			store.dispose();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,10 @@ import org.junit.platform.suite.api.Suite;
 //WrappingSystemTest.class,
 //WrappingUnitTest.class,
 
+BinaryProtocolTest.class,
+StreamTestTreeTest.class,
+FailureTraceStoreTest.class,
+TestRunSessionSwapTest.class,
 TestEnableAssertions.class,
 TestPriorization.class,
 TestTestSearchEngine.class,
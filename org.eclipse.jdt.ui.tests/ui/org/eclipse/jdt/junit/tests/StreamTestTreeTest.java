@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
+import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+import org.eclipse.jdt.internal.junit.runner.ITestIdentifier;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestTreeStreamer;
+import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the streamed test tree (runner argument -streamtree): the runner side collects the tree
+ * of a suite when it runs and sends the entries in their definition order when they are needed,
+ * and the model attaches them to the parents they name.
+ */
+public class StreamTestTreeTest {
+
+	private static class Identifier implements ITestIdentifier {
+		private final String fName;
+
+		Identifier(String name) {
+			fName= name;
+		}
+
+		@Override
+		public String getName() {
+			return fName;
+		}
+
+		@Override
+		public String getDisplayName() {
+			return fName;
+		}
+
+		@Override
+		public String getParameterTypes() {
+			return "";
+		}
+
+		@Override
+		public String getUniqueId() {
+			return "";
+		}
+	}
+
+	public static class First extends TestCase {
+		public void testFirst() {
+		}
+	}
+
+	public static class Second extends TestCase {
+		public void testSecond() {
+		}
+	}
+
+	private static class SocketRunner extends RemoteTestRunner {
+		void start(String... args) {
+			init(args);
+			run();
+		}
+	}
+
+	private static class RecordingRunner extends RemoteTestRunner {
+		final List<String> fMessages= new ArrayList<>();
+
+		@Override
+		public void sendMessage(String msg) {
+			fMessages.add(msg);
+		}
+	}
+
+	/*
+	 * AllTests
+	 *   A: a1, a2
+	 *   B: b1
+	 */
+	private final Identifier fAllTests= new Identifier("p.AllTests");
+	private final Identifier fA= new Identifier("p.A");
+	private final Identifier fA1= new Identifier("a1(p.A)");
+	private final Identifier fA2= new Identifier("a2(p.A)");
+	private final Identifier fB= new Identifier("p.B");
+	private final Identifier fB1= new Identifier("b1(p.B)");
+
+	private final RecordingRunner fRunner= new RecordingRunner();
+	private final TestTreeStreamer fStreamer= new TestTreeStreamer(fRunner);
+
+	private void collectTree() {
+		fStreamer.visitTreeEntry(fAllTests, true, 2, false, "-1");
+		fStreamer.visitTreeEntry(fA, true, 2, false, "-1");
+		fStreamer.visitTreeEntry(fA1, false, 1, false, "-1");
+		fStreamer.visitTreeEntry(fA2, false, 1, false, "-1");
+		fStreamer.visitTreeEntry(fB, true, 1, false, "-1");
+		fStreamer.visitTreeEntry(fB1, false, 1, false, "-1");
+	}
+
+	/*
+	 * Sends the events of a test the way FirstRunExecutionListener does.
+	 */
+	private void runTest(Identifier test) {
+		String id= fRunner.getTestId(test);
+		fStreamer.ensureSent(id);
+		fRunner.sendMessage(MessageIds.TEST_START + id + ',' + test.getName());
+		fStreamer.ensureSent(id);
+		fRunner.sendMessage(MessageIds.TEST_END + id + ',' + test.getName());
+	}
+
+	private String treeEntry(Identifier test, Identifier parent) {
+		String parentId= parent == null ? "-1" : fRunner.getTestId(parent);
+		boolean isSuite= test == fAllTests || test == fA || test == fB;
+		int testCount= test == fAllTests || test == fA ? 2 : 1;
+		return MessageIds.TEST_TREE + fRunner.getTestId(test) + ',' + test.getName() + ',' + isSuite + ',' + testCount + ",false," + parentId + ',' + test.getName() + ",,";
+	}
+
+	@Test
+	public void entriesAreSentBeforeTheirFirstEvent() throws Exception {
+		collectTree();
+		assertTrue(fRunner.fMessages.isEmpty());
+
+		runTest(fA1);
+		runTest(fB1);
+		fStreamer.sendRemaining();
+
+		List<String> expected= new ArrayList<>();
+		expected.add(treeEntry(fAllTests, null));
+		expected.add(treeEntry(fA, fAllTests));
+		expected.add(treeEntry(fA1, fA));
+		expected.add(MessageIds.TEST_START + fRunner.getTestId(fA1) + ",a1(p.A)");
+		expected.add(MessageIds.TEST_END + fRunner.getTestId(fA1) + ",a1(p.A)");
+		expected.add(treeEntry(fA2, fA));
+		expected.add(treeEntry(fB, fAllTests));
+		expected.add(treeEntry(fB1, fB));
+		expected.add(MessageIds.TEST_START + fRunner.getTestId(fB1) + ",b1(p.B)");
+		expected.add(MessageIds.TEST_END + fRunner.getTestId(fB1) + ",b1(p.B)");
+		assertEquals(expected, fRunner.fMessages);
+	}
+
+	@Test
+	public void entriesKeepTheirDefinitionOrder() throws Exception {
+		collectTree();
+
+		runTest(fB1);
+		runTest(fA1);
+		fStreamer.sendRemaining();
+
+		List<String> expected= new ArrayList<>();
+		expected.add(treeEntry(fAllTests, null));
+		expected.add(treeEntry(fA, fAllTests));
+		expected.add(treeEntry(fA1, fA));
+		expected.add(treeEntry(fA2, fA));
+		expected.add(treeEntry(fB, fAllTests));
+		expected.add(treeEntry(fB1, fB));
+		expected.add(MessageIds.TEST_START + fRunner.getTestId(fB1) + ",b1(p.B)");
+		expected.add(MessageIds.TEST_END + fRunner.getTestId(fB1) + ",b1(p.B)");
+		expected.add(MessageIds.TEST_START + fRunner.getTestId(fA1) + ",a1(p.A)");
+		expected.add(MessageIds.TEST_END + fRunner.getTestId(fA1) + ",a1(p.A)");
+		assertEquals(expected, fRunner.fMessages);
+	}
+
+	@Test
+	public void suiteTreeIsCollectedWhenTheSuiteRuns() throws Exception {
+		List<String> messages= new ArrayList<>();
+		try (ServerSocket server= new ServerSocket(0)) {
+			String[] args= { "-version", "3", "-port", Integer.toString(server.getLocalPort()),
+					"-testLoaderClass", JUnit3TestLoader.class.getName(),
+					"-loaderpluginname", "org.eclipse.jdt.junit.runtime",
+					"-streamtree",
+					"-classNames", First.class.getName(), Second.class.getName() };
+			Thread runner= new Thread(() -> new SocketRunner().start(args), "StreamTestTreeTest runner");
+			runner.start();
+			try (Socket socket= server.accept();
+					BufferedReader reader= new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+				socket.setSoTimeout(10000);
+				String message;
+				while ((message= reader.readLine()) != null && !message.startsWith(MessageIds.TEST_RUN_END)) {
+					String header= message.substring(0, MessageIds.MSG_HEADER_LENGTH);
+					if (header.equals(MessageIds.TEST_TREE) || header.equals(MessageIds.TEST_START) || header.equals(MessageIds.TEST_END))
+						messages.add(header + message.substring(MessageIds.MSG_HEADER_LENGTH).split(",")[1]);
+				}
+			}
+			runner.join(10000);
+		}
+
+		String first= First.class.getName();
+		String second= Second.class.getName();
+		List<String> expected= new ArrayList<>();
+		expected.add(MessageIds.TEST_TREE + first);
+		expected.add(MessageIds.TEST_TREE + "testFirst(" + first + ")");
+		expected.add(MessageIds.TEST_START + "testFirst(" + first + ")");
+		expected.add(MessageIds.TEST_END + "testFirst(" + first + ")");
+		expected.add(MessageIds.TEST_TREE + second);
+		expected.add(MessageIds.TEST_TREE + "testSecond(" + second + ")");
+		expected.add(MessageIds.TEST_START + "testSecond(" + second + ")");
+		expected.add(MessageIds.TEST_END + "testSecond(" + second + ")");
+		assertEquals(expected, messages);
+	}
+
+	@Test
+	public void sessionBuildsStreamedTree() throws Exception {
+		collectTree();
+		runTest(fB1);
+		runTest(fA1);
+		fStreamer.sendRemaining();
+
+		Launch launch= new Launch(null, ILaunchManager.RUN_MODE, null);
+		launch.setAttribute(JUnitLaunchConfigurationConstants.ATTR_STREAM_TEST_TREE, "true");
+		IJavaProject project= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot().getProject("StreamTestTreeTest"));
+		int port= SocketUtil.findFreePort();
+		TestRunSession session= new TestRunSession(launch, project, port);
+		CountDownLatch ended= new CountDownLatch(1);
+		session.addTestSessionListener(new ITestSessionListener() {
+			@Override
+			public void sessionStarted() {
+			}
+			@Override
+			public void sessionEnded(long elapsedTime) {
+				ended.countDown();
+			}
+			@Override
+			public void sessionStopped(long elapsedTime) {
+			}
+			@Override
+			public void sessionTerminated() {
+			}
+			@Override
+			public void testAdded(TestElement testElement) {
+			}
+			@Override
+			public void runningBegins() {
+			}
+			@Override
+			public void testStarted(TestCaseElement testCaseElement) {
+			}
+			@Override
+			public void testEnded(TestCaseElement testCaseElement) {
+			}
+			@Override
+			public void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+			}
+			@Override
+			public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+			}
+			@Override
+			public boolean acceptsSwapToDisk() {
+				return false;
+			}
+		});
+
+		try (Socket socket= connect(port);
+				PrintWriter writer= new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+			writer.println(MessageIds.TEST_RUN_START + "3 v2");
+			for (String message : fRunner.fMessages)
+				writer.println(message);
+			writer.println(MessageIds.TEST_RUN_END + "5");
+		}
+		assertTrue(ended.await(10, TimeUnit.SECONDS));
+
+		ITestElement[] roots= session.getTestRoot().getChildren();
+		assertEquals(1, roots.length);
+		TestSuiteElement allTests= (TestSuiteElement) roots[0];
+		assertEquals("p.AllTests", allTests.getTestName());
+		ITestElement[] suites= allTests.getChildren();
+		assertEquals(2, suites.length);
+		assertEquals("p.A", ((TestElement) suites[0]).getTestName());
+		assertEquals("p.B", ((TestElement) suites[1]).getTestName());
+
+		ITestElement[] bTests= ((TestSuiteElement) suites[1]).getChildren();
+		assertEquals(1, bTests.length);
+		assertEquals("b1(p.B)", ((TestElement) bTests[0]).getTestName());
+		assertEquals(Result.OK, bTests[0].getTestResult(false));
+
+		ITestElement[] aTests= ((TestSuiteElement) suites[0]).getChildren();
+		assertEquals(2, aTests.length);
+		assertEquals("a1(p.A)", ((TestElement) aTests[0]).getTestName());
+		assertEquals("a2(p.A)", ((TestElement) aTests[1]).getTestName());
+		assertEquals(Result.OK, aTests[0].getTestResult(false));
+		assertEquals(Result.UNDEFINED, aTests[1].getTestResult(false));
+	}
+
+	private static Socket connect(int port) throws IOException, InterruptedException {
+		// the session opens its server socket in a thread of its own
+		for (int attempt= 0;; attempt++) {
+			try {
+				return new Socket("127.0.0.1", port);
+			} catch (ConnectException e) {
+				if (attempt == 100)
+					throw e;
+				Thread.sleep(50);
+			}
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestRunHandler;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+
+/**
+ * Tests that a session swapped out in the compact <code>.session</code> format is read back
+ * unchanged, and that the files of the session are deleted when it is removed and no longer
+ * shown.
+ */
+public class TestRunSessionSwapTest {
+
+	private static final String FAILURES= "testresources/JUnitWorkspace/JUnit4Tests/xml/Failures.xml";
+
+	private static Set<String> historyFiles() {
+		return new TreeSet<>(Arrays.asList(JUnitCorePlugin.getHistoryDirectory().list()));
+	}
+
+	private static String export(TestRunSession session) throws Exception {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		JUnitModel.exportTestRunSession(session, out);
+		return out.toString("UTF-8");
+	}
+
+	@Test
+	public void swapOutAndIn() throws Exception {
+		Set<String> before= historyFiles();
+
+		File file= JavaTestPlugin.getDefault().getFileInPlugin(new Path(FAILURES));
+		TestRunHandler handler= new TestRunHandler();
+		SAXParserFactory.newInstance().newSAXParser().parse(file, handler);
+		TestRunSession session= handler.getTestRunSession();
+		try {
+			String imported= export(session);
+			assertTrue(imported, imported.contains("<expected>"));
+
+			session.swapOut();
+			Set<String> swapped= historyFiles();
+			assertEquals(swapped.toString(), before.size() + 1, swapped.size());
+			assertTrue(swapped.toString(), swapped.stream().anyMatch(name -> name.endsWith(".session")));
+
+			// getTestRoot() swaps the session in again
+			assertEquals(imported, export(session));
+			assertNotEquals(swapped, historyFiles());
+		} finally {
+			session.removeSwapFile();
+		}
+		assertEquals(before, historyFiles());
+	}
+
+	@Test
+	public void removedSessionKeepsFilesWhileShown() throws Exception {
+		Set<String> before= historyFiles();
+
+		File file= JavaTestPlugin.getDefault().getFileInPlugin(new Path(FAILURES));
+		TestRunHandler handler= new TestRunHandler();
+		SAXParserFactory.newInstance().newSAXParser().parse(file, handler);
+		TestRunSession session= handler.getTestRunSession();
+		JUnitModel model= JUnitCorePlugin.getModel();
+		model.addTestRunSession(session);
+		String imported= export(session);
+		session.swapOut();
+
+		session.connect();
+		try {
+			model.removeTestRunSession(session);
+			assertNotEquals(before, historyFiles());
+			assertEquals(imported, export(session));
+
+			// a removed session is not written to the history again
+			session.swapOut();
+			assertEquals(imported, export(session));
+		} finally {
+			session.disconnect();
+		}
+		assertEquals(before, historyFiles());
+	}
+}
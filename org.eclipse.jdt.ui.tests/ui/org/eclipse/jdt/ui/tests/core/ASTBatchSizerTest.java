@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import org.eclipse.jdt.internal.corext.dom.ASTBatchSizer;
+
+public class ASTBatchSizerTest {
+
+	private static class FixedSizer extends ASTBatchSizer {
+		private final long fHeap;
+		private final long fSourceSize;
+
+		FixedSizer(long heap, long sourceSize) {
+			fHeap= heap;
+			fSourceSize= sourceSize;
+		}
+
+		@Override
+		protected long getAvailableHeap() {
+			return fHeap;
+		}
+
+		@Override
+		protected long estimateSourceSize(ICompilationUnit unit) {
+			return fSourceSize;
+		}
+	}
+
+	private static List<ICompilationUnit> units(int count) {
+		return Arrays.asList(new ICompilationUnit[count]);
+	}
+
+	@Test
+	public void smallSourcesAreBatchedUpToMaximum() {
+		ASTBatchSizer sizer= new FixedSizer(1L << 40, 100);
+		assertEquals(ASTBatchSizer.MAX_BATCH_SIZE, sizer.nextBatchSize(units(5000), 0));
+		assertEquals(10, sizer.nextBatchSize(units(5000), 4990));
+		assertEquals(0, sizer.nextBatchSize(units(10), 10));
+	}
+
+	@Test
+	public void largeSourcesReduceBatchSize() {
+		ASTBatchSizer small= new FixedSizer(1L << 30, 10 * 1024);
+		ASTBatchSizer large= new FixedSizer(1L << 30, 10 * 1024 * 1024);
+		int smallBatch= small.nextBatchSize(units(5000), 0);
+		int largeBatch= large.nextBatchSize(units(5000), 0);
+		assertEquals(1, largeBatch);
+		assertTrue(smallBatch > largeBatch);
+	}
+
+	@Test
+	public void atLeastOneUnitWithoutHeap() {
+		ASTBatchSizer sizer= new FixedSizer(0, 1024);
+		assertEquals(1, sizer.nextBatchSize(units(100), 0));
+	}
+
+	@Test
+	public void statistics() {
+		ASTBatchSizer sizer= new FixedSizer(1L << 30, 1024);
+		sizer.batchParsed(10, 2000000);
+		sizer.batchParsed(4, 3000000);
+		assertEquals(2, sizer.getBatchCount());
+		assertEquals(14, sizer.getParsedUnitCount());
+		assertEquals(10, sizer.getLargestBatchSize());
+		assertEquals(4, sizer.getSmallestBatchSize());
+		assertEquals(5, sizer.getParseTime());
+	}
+}
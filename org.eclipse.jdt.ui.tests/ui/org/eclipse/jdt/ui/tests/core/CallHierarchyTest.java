@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,12 +31,18 @@ import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphExporter;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -113,6 +120,126 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedMethods, cachedCalls);
     }
 
+	@Test
+	public void callersBreadthFirst() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper wrapper= getSingleCallerRoot(helper.getMethod1());
+        List<MethodWrapper[]> levels= CallHierarchyCore.getDefault().expandCallers(new MethodWrapper[] { wrapper }, 3, new NullProgressMonitor());
+
+        assertEquals(4, levels.size());
+        helper.assertCalls(new IMember[] { helper.getMethod1() }, levels.get(0));
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod3() }, levels.get(1));
+        helper.assertCalls(new IMember[] { helper.getMethod3(), helper.getMethod4() }, levels.get(2));
+        helper.assertCalls(new IMember[] { helper.getMethod4() }, levels.get(3));
+    }
+
+	@Test
+	public void exportCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        IMember[] members= { helper.getMethod1() };
+        StringWriter out= new StringWriter();
+        CallGraphExporter.Result result= new CallGraphExporter(true, 10, 100, CallGraphExporter.Format.CSV).export(members, out, new NullProgressMonitor());
+
+        assertEquals(4, result.getEdges());
+        assertEquals(4, result.getNodes());
+        assertEquals(3, result.getDepth());
+        assertFalse(result.isTruncated());
+        List<String> lines= out.toString().lines().toList();
+        assertEquals(5, lines.size());
+        assertEquals("caller,callee,depth,calls,offset", lines.get(0));
+        String method1= helper.getMethod1().getHandleIdentifier();
+        String method2= helper.getMethod2().getHandleIdentifier();
+        String method3= helper.getMethod3().getHandleIdentifier();
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(method2 + "," + method1 + ",1,1,")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(method3 + "," + method1 + ",1,1,")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith(method3 + "," + method2 + ",2,1,")));
+
+        out= new StringWriter();
+        result= new CallGraphExporter(true, 1, 100, CallGraphExporter.Format.JSON_LINES).export(members, out, new NullProgressMonitor());
+        assertEquals(2, result.getEdges());
+        assertTrue(result.isTruncated());
+        assertTrue(out.toString().startsWith("{\"caller\":\""));
+    }
+
+	@Test
+	public void exportCallersWithinBudget() throws Exception {
+        helper.createSimpleClasses();
+
+        // method4 is not expanded, but it has no callers, so no edge is missing
+        IMember[] members= { helper.getMethod1() };
+        CallGraphExporter.Result result= new CallGraphExporter(true, 2, 100, CallGraphExporter.Format.CSV).export(members, new StringWriter(), new NullProgressMonitor());
+        assertEquals(4, result.getEdges());
+        assertFalse(result.isTruncated());
+
+        result= new CallGraphExporter(true, 10, 3, CallGraphExporter.Format.CSV).export(members, new StringWriter(), new NullProgressMonitor());
+        assertEquals(4, result.getEdges());
+        assertEquals(3, result.getNodes());
+        assertFalse(result.isTruncated());
+    }
+
+	@Test
+	public void callersAfterChange() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod3() },
+                getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        helper.getPackage2().createCompilationUnit("B.java",
+                "package pack2;\npublic class B extends pack1.A {\npublic void method3() { method2(); }\n public void method4() { method3(); method1(); }\n}\n",
+                true, null);
+
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod4() },
+                getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void callersAfterDiscardedChange() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod3() },
+                getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        ICompilationUnit cu= helper.getMethod3().getCompilationUnit();
+        cu.becomeWorkingCopy(null);
+        try {
+            cu.getBuffer().setContents("package pack2;\npublic class B extends pack1.A {\npublic void method3() { method2(); }\n public void method4() { method3(); method1(); }\n}\n");
+            cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod4() },
+                    getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+        } finally {
+            cu.discardWorkingCopy();
+        }
+
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod3() },
+                getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void callersInScope() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod3() },
+                getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+
+        CallHierarchy callHierarchy= CallHierarchy.getDefault();
+        IJavaSearchScope scope= callHierarchy.getSearchScope();
+        try {
+            callHierarchy.setSearchScope(SearchEngine.createJavaSearchScope(new IJavaElement[] { method.getCompilationUnit() }));
+            helper.assertCalls(new IMember[] { helper.getMethod2() },
+                    getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+        } finally {
+            callHierarchy.setSearchScope(scope);
+        }
+
+        helper.assertCalls(new IMember[] { helper.getMethod2(), helper.getMethod3() },
+                getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
 	@Test
 	public void callees() throws Exception {
         helper.createSimpleClasses();
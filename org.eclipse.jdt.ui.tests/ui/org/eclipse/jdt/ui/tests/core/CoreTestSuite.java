@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.jdt.internal.ui.compare.JavaTokenComparatorTest;
 AddImportTest.class,
 SourceActionTests.class,
 ASTNodesInsertTest.class,
+ASTBatchSizerTest.class,
 BindingsHierarchyTest.class,
 BindingsNameTest.class,
 CallHierarchyTest.class,
@@ -51,6 +52,7 @@ MethodOverrideTest1d8.class,
 NameProposerTest.class,
 OverrideTest.class,
 PartialASTTest.class,
+ProblemSeverityTreeTest.class,
 ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
 TypeHierarchyTest.class,
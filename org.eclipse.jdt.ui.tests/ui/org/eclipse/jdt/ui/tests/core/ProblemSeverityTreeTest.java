@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityTree;
+
+public class ProblemSeverityTreeTest {
+
+	private ProblemSeverityTree fTree;
+	private IProject fProject;
+	private IFolder fFolder;
+	private IFolder fSubFolder;
+	private IFile fFile;
+	private IFile fSubFile;
+
+	@Before
+	public void setUp() throws Exception {
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		fProject= root.getProject("ProblemSeverityTreeTest");
+		fProject.create(null);
+		fProject.open(null);
+		fFolder= fProject.getFolder("folder");
+		fFolder.create(true, true, null);
+		fSubFolder= fFolder.getFolder("sub");
+		fSubFolder.create(true, true, null);
+		fFile= fFolder.getFile("a.txt");
+		fFile.create(new ByteArrayInputStream(new byte[0]), true, null);
+		fSubFile= fSubFolder.getFile("b.txt");
+		fSubFile.create(new ByteArrayInputStream(new byte[0]), true, null);
+
+		fTree= new ProblemSeverityTree();
+		fTree.connect();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fTree.disconnect();
+		fProject.delete(true, true, null);
+	}
+
+	private static IMarker createProblem(IResource resource, int severity) throws CoreException {
+		IMarker marker= resource.createMarker(IMarker.PROBLEM);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	private void joinInitialization() throws Exception {
+		fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE);
+		Job.getJobManager().join(ProblemSeverityTree.class, null);
+	}
+
+	private void assertSeverity(IResource resource, int depth) throws CoreException {
+		assertEquals(resource.getFullPath().toString(), resource.findMaxProblemSeverity(IMarker.PROBLEM, true, depth), fTree.getMaxSeverity(resource, depth));
+	}
+
+	private void assertSeverities(IResource... resources) throws CoreException {
+		for (IResource resource : resources) {
+			assertSeverity(resource, IResource.DEPTH_ZERO);
+			assertSeverity(resource, IResource.DEPTH_ONE);
+			assertSeverity(resource, IResource.DEPTH_INFINITE);
+		}
+	}
+
+	@Test
+	public void testInitialization() throws Exception {
+		createProblem(fSubFile, IMarker.SEVERITY_ERROR);
+
+		// the tree is built in the background, no problems are reported until it is ready
+		assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(Collections.emptyList(), fTree.getMembersWithProblems(fFolder));
+
+		joinInitialization();
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(Collections.singletonList("sub"), sortedMembers(fFolder));
+	}
+
+	@Test
+	public void testChangesDuringInitialization() throws Exception {
+		IMarker error= createProblem(fSubFile, IMarker.SEVERITY_ERROR);
+		synchronized (fTree) {
+			// the job cannot apply the markers it has read before these changes are recorded
+			assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+			error.delete();
+			createProblem(fFile, IMarker.SEVERITY_WARNING);
+		}
+		Job.getJobManager().join(ProblemSeverityTree.class, null);
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(IMarker.SEVERITY_WARNING, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+		assertEquals(Collections.singletonList("a.txt"), sortedMembers(fFolder));
+	}
+
+	@Test
+	public void testMarkerChanges() throws Exception {
+		joinInitialization();
+		createProblem(fFile, IMarker.SEVERITY_WARNING);
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(IMarker.SEVERITY_WARNING, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+
+		IMarker error= createProblem(fSubFile, IMarker.SEVERITY_ERROR);
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(fFolder, IResource.DEPTH_INFINITE));
+		assertEquals(IMarker.SEVERITY_WARNING, fTree.getMaxSeverity(fFolder, IResource.DEPTH_ONE));
+
+		error.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_INFO);
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(IMarker.SEVERITY_INFO, fTree.getMaxSeverity(fSubFolder, IResource.DEPTH_INFINITE));
+
+		error.delete();
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(-1, fTree.getMaxSeverity(fSubFolder, IResource.DEPTH_INFINITE));
+
+		fFile.deleteMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+	}
+
+	@Test
+	public void testResourceChanges() throws Exception {
+		joinInitialization();
+		createProblem(fSubFile, IMarker.SEVERITY_ERROR);
+		createProblem(fFile, IMarker.SEVERITY_INFO);
+		assertSeverities(fProject, fFolder, fSubFolder, fFile, fSubFile);
+		assertEquals(Arrays.asList("a.txt", "sub"), sortedMembers(fFolder));
+
+		fSubFolder.move(fProject.getFullPath().append("moved"), true, null);
+		IFolder moved= fProject.getFolder("moved");
+		assertSeverities(fProject, fFolder, fFile, moved, moved.getFile("b.txt"));
+		assertEquals(IMarker.SEVERITY_ERROR, fTree.getMaxSeverity(moved, IResource.DEPTH_INFINITE));
+		assertEquals(IMarker.SEVERITY_INFO, fTree.getMaxSeverity(fFolder, IResource.DEPTH_INFINITE));
+		assertEquals(Collections.singletonList("a.txt"), sortedMembers(fFolder));
+
+		fProject.close(null);
+		assertEquals(-1, fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+
+		fProject.open(null);
+		assertEquals(fProject.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE), fTree.getMaxSeverity(fProject, IResource.DEPTH_INFINITE));
+
+		fFolder.delete(true, null);
+		assertSeverities(fProject, moved);
+		assertFalse(sortedMembers(fProject).contains("folder"));
+	}
+
+	private List<String> sortedMembers(IContainer container) throws CoreException {
+		List<String> members= fTree.getMembersWithProblems(container);
+		Collections.sort(members);
+		return members;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.Collator;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -28,6 +33,8 @@ import org.eclipse.jdt.internal.corext.util.History;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 public class SelectionHistoryTest {
 	@Rule
 	public ProjectTestSetup pts= new ProjectTestSetup();
@@ -124,6 +131,138 @@ public class SelectionHistoryTest {
 
 	}
 
+	private static final class StoredHistory extends History<String, String> {
+
+		public StoredHistory() {
+			super("SelectionHistoryTest.xml");
+			load();
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {
+			element.setAttribute("name", (String) object);
+		}
+		@Override
+		protected String createFromElement(Element type) {
+			return type.getAttribute("name");
+		}
+		@Override
+		protected String getKey(String object) {return object;}
+
+	}
+
+	/*
+	 * The entries are "key=value" strings.
+	 */
+	private static final class KeyValueHistory extends History<String, String> {
+
+		public KeyValueHistory() {
+			super("SelectionHistoryTest.xml");
+			load();
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {
+			element.setAttribute("entry", (String) object);
+		}
+		@Override
+		protected String createFromElement(Element type) {
+			return type.getAttribute("entry");
+		}
+		@Override
+		protected String getKey(String object) {
+			return object.substring(0, object.indexOf('='));
+		}
+		void update(String object) {
+			updated(object);
+		}
+		String[] getEntries() {
+			return getValues().toArray(new String[0]);
+		}
+
+	}
+
+	@Test
+	public void storedHistory() throws Exception {
+		File file= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.history").toFile();
+		file.delete();
+		try {
+			History<String, String> history= new StoredHistory();
+			history.accessed("a");
+			history.accessed("b");
+			history.accessed("c");
+			history.remove("b");
+			history.save();
+
+			history= new StoredHistory();
+			history.accessed("a");
+			history.save();
+
+			history= new StoredHistory();
+			Comparator<String> comparator= new TestHistoryComparator(history);
+			String[] strings= {"b", "c", "a"};
+			Arrays.sort(strings, comparator);
+			assertEquals(strings, new String[] {"a", "c", "b"});
+			assertFalse(history.containsKey("b"));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void migratedHistory() throws Exception {
+		File file= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.history").toFile();
+		File xmlFile= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.xml").toFile();
+		file.delete();
+		try {
+			String xml= """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<histroyRootNode>
+				<infoNode name="a"/>
+				<infoNode name="b"/>
+				</histroyRootNode>
+				""";
+			Files.write(xmlFile.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+
+			History<String, String> history= new StoredHistory();
+			history.accessed("c");
+			history.save();
+			assertTrue(file.exists());
+			// an earlier version still reads the xml file
+			assertTrue(xmlFile.exists());
+
+			history= new StoredHistory();
+			Comparator<String> comparator= new TestHistoryComparator(history);
+			String[] strings= {"a", "b", "c"};
+			Arrays.sort(strings, comparator);
+			assertEquals(strings, new String[] {"c", "b", "a"});
+		} finally {
+			file.delete();
+			xmlFile.delete();
+		}
+	}
+
+	@Test
+	public void updatedEntryKeepsItsPosition() throws Exception {
+		File file= JavaPlugin.getDefault().getStateLocation().append("SelectionHistoryTest.history").toFile();
+		file.delete();
+		try {
+			KeyValueHistory history= new KeyValueHistory();
+			history.accessed("a=1");
+			history.accessed("b=1");
+			history.save();
+
+			history= new KeyValueHistory();
+			history.update("a=2");
+			history.update("c=1");
+			history.save();
+			assertEquals(history.getEntries(), new String[] {"a=2", "b=1"});
+
+			history= new KeyValueHistory();
+			assertEquals(history.getEntries(), new String[] {"a=2", "b=1"});
+		} finally {
+			file.delete();
+		}
+	}
+
 	@Test
 	public void organizeImportHistory01() throws Exception {
 		History<String, String> history= new TestHistory();
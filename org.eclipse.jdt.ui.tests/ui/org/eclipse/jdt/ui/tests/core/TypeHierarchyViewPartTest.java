@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,11 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -27,6 +32,8 @@ import org.junit.Test;
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 
+import org.eclipse.core.runtime.jobs.Job;
+
 import org.eclipse.ui.IWorkbenchWindow;
 
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -34,11 +41,14 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
 import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyViewPart;
 import org.eclipse.jdt.internal.ui.util.OpenTypeHierarchyUtil;
 
@@ -105,4 +115,48 @@ public class TypeHierarchyViewPartTest {
 		viewPart.setInputElements(javaElements2);
 		assertEquals("Wrong fourth history entry number ", 3, viewPart.getHistoryEntries().size());
     }
+
+	@Test
+	public void testHierarchyKeptOnMemberChange() throws Exception {
+		IPackageFragment pack= fJProject1.getPackageFragmentRoot(fJProject1.getProject().getFolder(SRC_CONTAINER)).createPackageFragment("p", true, null);
+		ICompilationUnit cuA= pack.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", true, null);
+		pack.createCompilationUnit("B.java", "package p;\npublic class B extends A {\n    void foo() {\n    }\n}\n", true, null);
+		IType typeA= cuA.getType("A");
+
+		TypeHierarchyLifeCycle lifeCycle= new TypeHierarchyLifeCycle(false);
+		List<IType[]> changes= new ArrayList<>();
+		lifeCycle.addChangedListener((typeHierarchy, changedTypes) -> {
+			synchronized (changes) {
+				changes.add(changedTypes);
+			}
+		});
+		try {
+			lifeCycle.ensureRefreshedTypeHierarchy(typeA, (fork, cancelable, runnable) -> runnable.run(null));
+			ITypeHierarchy hierarchy= lifeCycle.getHierarchy();
+			assertEquals(1, hierarchy.getSubtypes(typeA).length);
+
+			// a member change is reported for the changed type only
+			pack.createCompilationUnit("B.java", "package p;\npublic class B extends A {\n    void foo() {\n        foo();\n    }\n}\n", true, null);
+			Job.getJobManager().join(lifeCycle, null);
+			assertSame(hierarchy, lifeCycle.getHierarchy());
+			synchronized (changes) {
+				assertFalse(changes.isEmpty());
+				for (IType[] changedTypes : changes) {
+					assertNotNull(changedTypes);
+				}
+				changes.clear();
+			}
+
+			// a supertype change computes a new hierarchy in the background
+			pack.createCompilationUnit("B.java", "package p;\npublic class B {\n    void foo() {\n    }\n}\n", true, null);
+			Job.getJobManager().join(lifeCycle, null);
+			assertNotSame(hierarchy, lifeCycle.getHierarchy());
+			assertEquals(0, lifeCycle.getHierarchy().getSubtypes(typeA).length);
+			synchronized (changes) {
+				assertTrue(changes.contains(null));
+			}
+		} finally {
+			lifeCycle.freeHierarchy();
+		}
+	}
 }
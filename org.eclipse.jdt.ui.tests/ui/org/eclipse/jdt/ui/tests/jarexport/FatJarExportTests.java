@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -112,6 +112,8 @@ public class FatJarExportTests {
 
 	private static final int JAVA_RUN_TIMEOUT= 300; // 10th of a second
 
+	private static final String INDEXED_LOADER= "org.eclipse.jdt.internal.jarinjarloader.IndexedJarClassLoader"; //$NON-NLS-1$
+
 	@BeforeClass
 	public static void setUpTest() {
 	}
@@ -193,6 +195,30 @@ public class FatJarExportTests {
 		return data;
 	}
 
+	/*
+	 * Replaces the main class by one which prints the class loaders of the main class and of the library class.
+	 */
+	private void createClassLoaderMain() throws CoreException {
+		IPackageFragment fragment= fMainRoot.getPackageFragment("org.eclipse.jdt.ui.test"); //$NON-NLS-1$
+		String str = """
+			package org.eclipse.jdt.ui.test;
+			import mylib.Foo;
+			public class Main {
+			    public static void main(String[] args) {
+			        System.out.println(Main.class.getClassLoader().getClass().getName());
+			        System.out.println(Foo.class.getClassLoader().getClass().getName());
+			    }
+			}
+			"""; //$NON-NLS-1$
+		fragment.createCompilationUnit("Main.java", str, true, null); //$NON-NLS-1$
+	}
+
+	private static String runJarInJar(IJavaProject project, String testName) throws Exception {
+		JarPackageData data= assertFatJarWithLoaderExport(project, testName, true, new PackageLibraryHandler());
+		String stdout= runJar(project, data.getJarLocation().toOSString());
+		return stdout.replaceAll("\r\n", "\n").replaceAll("\r", "\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
 	private static JarPackageData assertFatJarExport(IJavaProject project, String testName, boolean compressJar, LibraryHandler libraryHandler) throws Exception {
 		//create class files
 		buildProject();
@@ -859,6 +885,38 @@ public class FatJarExportTests {
 		}
 	}
 
+	@Test
+	public void exportStoredLib() throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+
+		try {
+			// Jar-in-Jar loader, the stored library is read by offset
+			JarPackageData data= createAndRunFatJar(fProject, getName(), true, new PackageLibraryHandler());
+			try (ZipFile generatedArchive= JarPackagerUtil.createZipFile(data.getJarLocation())) {
+				ZipEntry libEntry= generatedArchive.getEntry("mylib_stdout.jar"); //$NON-NLS-1$
+				assertNotNull(libEntry);
+				assertEquals(ZipEntry.STORED, libEntry.getMethod());
+				assertEquals(lib.length(), libEntry.getSize());
+			}
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+		}
+	}
+
+	@Test
+	public void indexedLoader() throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+
+		try {
+			createClassLoaderMain();
+			assertEquals(INDEXED_LOADER + '\n' + INDEXED_LOADER + '\n', runJarInJar(fProject, getName()));
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+		}
+	}
+
 	@Test
 	public void exportExternalLib() throws Exception {
 		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_STDOUT);
@@ -976,6 +1034,20 @@ public class FatJarExportTests {
 		}
 	}
 
+	@Test
+	public void indexedLoaderWithSignedLib() throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB_SIG);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(fProject, Path.fromOSString(lib.getPath()), null, null);
+
+		try {
+			// only the signed library is loaded from a JarFile
+			createClassLoaderMain();
+			assertEquals(INDEXED_LOADER + '\n' + INDEXED_LOADER + "$LibraryClassLoader\n", runJarInJar(fProject, getName())); //$NON-NLS-1$
+		} finally {
+			JavaProjectHelper.removeFromClasspath(fProject, root.getPath());
+		}
+	}
+
 	@Test
 	public void externalClassFolder() throws Exception {
 		File classFolder= JavaTestPlugin.getDefault().getFileInPlugin(new Path("testresources/externalClassFolder/"));//$NON-NLS-1$
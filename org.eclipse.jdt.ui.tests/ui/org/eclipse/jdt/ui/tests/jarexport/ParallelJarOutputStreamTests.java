@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.jarexport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.internal.jarpackager.ParallelJarOutputStream;
+
+public class ParallelJarOutputStreamTests {
+
+	@Rule
+	public TemporaryFolder fTemporaryFolder= new TemporaryFolder();
+
+	private static byte[] createContent(int index) {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < index * 50; i++) {
+			buf.append("content ").append(index).append(' ').append(i).append('\n');
+		}
+		return buf.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testEntriesWrittenInOrder() throws Exception {
+		Manifest manifest= new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "p.Main");
+		Map<String, byte[]> expected= new LinkedHashMap<>();
+		File jar= fTemporaryFolder.newFile("out.jar");
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new BufferedOutputStream(new FileOutputStream(jar)), manifest)) {
+			out.setComment("comment");
+			JarEntry directory= new JarEntry("p/");
+			directory.setMethod(ZipEntry.STORED);
+			directory.setSize(0);
+			directory.setCrc(0);
+			out.putNextEntry(directory);
+			expected.put("p/", new byte[0]);
+			for (int i= 0; i < 100; i++) {
+				String name= "p/File" + i + ".txt";
+				byte[] content= createContent(i);
+				out.putNextEntry(new JarEntry(name));
+				out.write(content);
+				expected.put(name, content);
+			}
+		}
+
+		try (JarFile jarFile= new JarFile(jar)) {
+			assertEquals("comment", jarFile.getComment());
+			assertEquals("p.Main", jarFile.getManifest().getMainAttributes().getValue(Attributes.Name.MAIN_CLASS));
+			List<String> names= new ArrayList<>();
+			for (JarEntry entry : Collections.list(jarFile.entries())) {
+				names.add(entry.getName());
+			}
+			List<String> expectedNames= new ArrayList<>();
+			expectedNames.add(JarFile.MANIFEST_NAME);
+			expectedNames.addAll(expected.keySet());
+			assertEquals(expectedNames, names);
+			for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+				assertArrayEquals(entry.getKey(), entry.getValue(), jarFile.getInputStream(jarFile.getEntry(entry.getKey())).readAllBytes());
+			}
+		}
+	}
+
+	@Test
+	public void testMoreThan65535Entries() throws Exception {
+		int count= 0x10000 + 100;
+		File jar= fTemporaryFolder.newFile("out.jar");
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new BufferedOutputStream(new FileOutputStream(jar)))) {
+			for (int i= 0; i < count; i++) {
+				out.putNextEntry(new JarEntry("p/File" + i + ".txt"));
+				out.write(("entry " + i).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		try (ZipFile zipFile= new ZipFile(jar)) {
+			assertEquals(count, zipFile.size());
+			for (int i : new int[] { 0, 0xFFFF, count - 1 }) {
+				ZipEntry entry= zipFile.getEntry("p/File" + i + ".txt");
+				assertNotNull(entry);
+				assertEquals("entry " + i, new String(zipFile.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+		try (JarInputStream in= new JarInputStream(new BufferedInputStream(new FileInputStream(jar)))) {
+			int i= 0;
+			for (JarEntry entry= in.getNextJarEntry(); entry != null; entry= in.getNextJarEntry()) {
+				assertEquals("p/File" + i + ".txt", entry.getName());
+				assertEquals("entry " + i, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+				i++;
+			}
+			assertEquals(count, i);
+		}
+	}
+
+	@Test
+	public void testStoredEntry() throws Exception {
+		byte[] content= new byte[2 * 1024 * 1024];
+		for (int i= 0; i < content.length; i++) {
+			content[i]= (byte) (i * 31);
+		}
+		CRC32 crc= new CRC32();
+		crc.update(content);
+		File jar= fTemporaryFolder.newFile("out.jar");
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(jar))) {
+			out.putNextEntry(new JarEntry("before.txt"));
+			out.write(createContent(1));
+			JarEntry entry= new JarEntry("lib.jar");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(content.length);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(content);
+		}
+
+		try (ZipFile zipFile= new ZipFile(jar)) {
+			ZipEntry entry= zipFile.getEntry("lib.jar");
+			assertEquals(ZipEntry.STORED, entry.getMethod());
+			assertArrayEquals(content, zipFile.getInputStream(entry).readAllBytes());
+			assertArrayEquals(createContent(1), zipFile.getInputStream(zipFile.getEntry("before.txt")).readAllBytes());
+		}
+	}
+
+	@Test
+	public void testCopyRawEntry() throws Exception {
+		File library= fTemporaryFolder.newFile("library.jar");
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(library))) {
+			for (int i= 0; i < 10; i++) {
+				out.putNextEntry(new ZipEntry("q/File" + i + ".txt"));
+				out.write(createContent(i));
+			}
+		}
+
+		File jar= fTemporaryFolder.newFile("out.jar");
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(jar));
+				ZipFile zipFile= new ZipFile(library)) {
+			for (ZipEntry entry : Collections.list(zipFile.entries())) {
+				assertTrue(entry.getName(), out.copyRawEntry(zipFile, entry, new JarEntry(entry.getName())));
+			}
+			try {
+				out.copyRawEntry(zipFile, zipFile.getEntry("q/File0.txt"), new JarEntry("q/File0.txt"));
+				fail("duplicate entry expected");
+			} catch (ZipException e) {
+				assertTrue(e.getMessage().startsWith("duplicate entry:"));
+			}
+		}
+
+		try (ZipFile zipFile= new ZipFile(jar)) {
+			assertEquals(10, zipFile.size());
+			for (int i= 0; i < 10; i++) {
+				ZipEntry entry= zipFile.getEntry("q/File" + i + ".txt");
+				assertNotNull(entry);
+				assertArrayEquals(createContent(i), zipFile.getInputStream(entry).readAllBytes());
+			}
+		}
+	}
+
+	@Test
+	public void testStoredEntryNotCopied() throws Exception {
+		byte[] content= createContent(3);
+		CRC32 crc= new CRC32();
+		crc.update(content);
+		File library= fTemporaryFolder.newFile("library.jar");
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(library))) {
+			ZipEntry entry= new ZipEntry("stored.txt");
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(content.length);
+			entry.setCrc(crc.getValue());
+			out.putNextEntry(entry);
+			out.write(content);
+		}
+
+		File jar= fTemporaryFolder.newFile("out.jar");
+		try (ParallelJarOutputStream out= new ParallelJarOutputStream(new FileOutputStream(jar));
+				ZipFile zipFile= new ZipFile(library)) {
+			assertFalse(out.copyRawEntry(zipFile, zipFile.getEntry("stored.txt"), new JarEntry("stored.txt")));
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextEditBasedChange;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpMetrics;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.fix.CodeStyleCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.ImportsCleanUp;
+
+/**
+ * Tests the time and allocation metrics collected by {@link CleanUpRefactoring}.
+ */
+public class CleanUpMetricsTest extends CleanUpTestCase {
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	@Override
+	protected IJavaProject getProject() {
+		return projectSetup.getProject();
+	}
+
+	@Override
+	protected IClasspathEntry[] getDefaultClasspath() throws CoreException {
+		return projectSetup.getDefaultClasspath();
+	}
+
+	private static CodeStyleCleanUpCore createCleanUp() {
+		Map<String, String> options= new Hashtable<>();
+		options.put(CleanUpConstants.MEMBER_ACCESSES_STATIC_QUALIFY_WITH_DECLARING_CLASS, CleanUpOptions.TRUE);
+		options.put(CleanUpConstants.MEMBER_ACCESSES_STATIC_QUALIFY_WITH_DECLARING_CLASS_INSTANCE_ACCESS, CleanUpOptions.TRUE);
+		return new CodeStyleCleanUpCore(options);
+	}
+
+	@Test
+	public void testCleanUpMetrics() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E1 {
+			    public static int I;
+			    public void foo() {
+			        (new E1()).I= 10;
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("E1.java", str, false, null);
+
+		CleanUpRefactoring refactoring= new CleanUpRefactoring();
+		refactoring.addCompilationUnit(cu);
+		refactoring.addCleanUp(createCleanUp());
+
+		refactoring.setCollectMetrics(false);
+		refactoring.checkAllConditions(null);
+		assertNull(refactoring.getMetrics());
+
+		refactoring.setCollectMetrics(true);
+		refactoring.checkAllConditions(null);
+		CleanUpMetrics metrics= refactoring.getMetrics();
+		assertNotNull(metrics);
+		assertEquals(1, metrics.getCalls(CodeStyleCleanUpCore.class.getName()));
+		assertEquals(1, metrics.getIterations(getProject().getElementName()));
+		String report= metrics.getReport();
+		assertTrue(report, report.contains(CodeStyleCleanUpCore.class.getName()));
+	}
+
+	@Test
+	public void testFreshASTCleanUpAfterUnchangedPass() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			import java.util.List;
+			public class E1 {
+			    public static int I;
+			    public void foo() {
+			        E1.I= 10;
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("E1.java", str, false, null);
+
+		CleanUpRefactoring refactoring= new CleanUpRefactoring();
+		refactoring.addCompilationUnit(cu);
+		refactoring.addCleanUp(createCleanUp());
+		Map<String, String> options= new Hashtable<>();
+		options.put(CleanUpConstants.ORGANIZE_IMPORTS, CleanUpOptions.TRUE);
+		refactoring.addCleanUp(new ImportsCleanUp(options));
+		refactoring.setCollectMetrics(true);
+
+		String expected1= """
+			package test1;
+			public class E1 {
+			    public static int I;
+			    public void foo() {
+			        E1.I= 10;
+			    }
+			}
+			""";
+
+		RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+		assertFalse(status.toString(), status.hasFatalError());
+		CompositeChange change= (CompositeChange) refactoring.createChange(new NullProgressMonitor());
+		assertEquals(1, change.getChildren().length);
+		assertEquals(expected1, ((TextEditBasedChange) change.getChildren()[0]).getPreviewContent(new NullProgressMonitor()));
+		// the code style clean up did not change the unit, so organize imports works on the same AST
+		assertEquals(1, refactoring.getMetrics().getIterations(getProject().getElementName()));
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.tests.core.rules.Java1d8ProjectTestSetup;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Tests that the parallel mode of {@link CleanUpRefactoring} computes the same changes as the
+ * sequential mode.
+ */
+public class CleanUpParallelTest extends CleanUpTestCase {
+
+	private static final int UNIT_COUNT= 25;
+
+	@Rule
+	public ProjectTestSetup projectSetup= new Java1d8ProjectTestSetup();
+
+	@Override
+	protected IJavaProject getProject() {
+		return projectSetup.getProject();
+	}
+
+	@Override
+	protected IClasspathEntry[] getDefaultClasspath() throws CoreException {
+		return projectSetup.getDefaultClasspath();
+	}
+
+	private ICompilationUnit[] createUnits() throws CoreException {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] units= new ICompilationUnit[UNIT_COUNT];
+		for (int i= 0; i < UNIT_COUNT; i++) {
+			String source= """
+				package test1;
+				import java.util.List;
+				import java.io.Serializable;
+				import java.util.ArrayList;
+				public class E%d {
+				    public String toString() {
+				        return null;
+				    }
+				    int b%d;
+				    int a;
+				    List<String> list= new ArrayList<>();
+				}
+				""".formatted(i, i);
+			units[i]= pack1.createCompilationUnit("E" + i + ".java", source, false, null);
+		}
+		return units;
+	}
+
+	private Map<String, String> computePreviews(ICompilationUnit[] units, int parallelism) throws CoreException {
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		ref.setMaxParallelism(parallelism);
+		for (ICompilationUnit unit : units) {
+			ref.addCompilationUnit(unit);
+		}
+		for (ICleanUp cleanUp : JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps()) {
+			ref.addCleanUp(cleanUp);
+		}
+
+		RefactoringStatus status= ref.checkAllConditions(new NullProgressMonitor());
+		assertFalse(status.toString(), status.hasFatalError());
+		Map<String, String> previews= new TreeMap<>();
+		collectPreviews(ref.createChange(new NullProgressMonitor()), previews);
+		return previews;
+	}
+
+	private void collectPreviews(Change change, Map<String, String> previews) throws CoreException {
+		if (change instanceof TextChange) {
+			IJavaElement element= (IJavaElement) change.getModifiedElement();
+			previews.put(element.getElementName(), ((TextChange) change).getPreviewContent(new NullProgressMonitor()));
+		} else if (change instanceof CompositeChange) {
+			for (Change child : ((CompositeChange) change).getChildren()) {
+				collectPreviews(child, previews);
+			}
+		}
+	}
+
+	@Test
+	public void testParallelResultEqualsSequentialResult() throws Exception {
+		ICompilationUnit[] units= createUnits();
+
+		// organize imports and sort members keep state in their clean up instances
+		enable(CleanUpConstants.ORGANIZE_IMPORTS);
+		enable(CleanUpConstants.SORT_MEMBERS);
+		enable(CleanUpConstants.SORT_MEMBERS_ALL);
+		enable(CleanUpConstants.ADD_MISSING_ANNOTATIONS);
+		enable(CleanUpConstants.ADD_MISSING_ANNOTATIONS_OVERRIDE);
+
+		Map<String, String> sequential= computePreviews(units, 1);
+		Map<String, String> parallel= computePreviews(units, 4);
+
+		assertEquals(UNIT_COUNT, sequential.size());
+		for (ICompilationUnit unit : units) {
+			assertNotEquals(unit.getElementName(), unit.getSource(), sequential.get(unit.getElementName()));
+		}
+		assertEquals(sequential, parallel);
+	}
+}
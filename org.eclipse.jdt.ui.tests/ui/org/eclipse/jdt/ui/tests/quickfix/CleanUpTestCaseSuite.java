@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2025 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,8 @@ import org.junit.platform.suite.api.Suite;
 	CleanUpAnnotationTest.class,
 	SaveParticipantTest.class,
 	CleanUpActionTest.class,
+	CleanUpParallelTest.class,
+	CleanUpMetricsTest.class,
 	NullAnnotationsCleanUpTest1d8.class
 })
 public class CleanUpTestCaseSuite {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2025 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1331,6 +1331,67 @@ public class SaveParticipantTest extends CleanUpTestCase {
 
 	}
 
+	@Test
+	public void testSecondPassUsesFreshAST() throws Exception {
+		// Given
+		IPackageFragment pack2= fSourceFolder.createPackageFragment("test2", false, null);
+		String sample= """
+			package test2;
+			public class E2 {
+			    public static int I;
+			}
+			"""; //
+		pack2.createCompilationUnit("E2.java", sample, false, null);
+
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String fileOnDisk= """
+			package test1;
+
+			import java.util.List;
+
+			public class E1 extends test2.E2 {
+			    public void foo() {
+			    }
+			}
+			"""; //
+
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", fileOnDisk, false, null);
+
+		String fileOnEditor= """
+			package test1;
+
+			import java.util.List;
+
+			public class E1 extends test2.E2 {
+			    public void foo() {
+			        I= 10;
+			    }
+			}
+			"""; //
+
+		// organize imports runs in a second pass and must see the import added by the first one
+		String expected1= """
+			package test1;
+
+			import test2.E2;
+
+			public class E1 extends test2.E2 {
+			    public void foo() {
+			        E2.I= 10;
+			    }
+			}
+			"""; //
+
+		enable(CleanUpConstants.MEMBER_ACCESSES_STATIC_QUALIFY_WITH_DECLARING_CLASS);
+		enable(CleanUpConstants.MEMBER_ACCESSES_STATIC_QUALIFY_WITH_DECLARING_CLASS_FIELD);
+		enable(CleanUpConstants.ORGANIZE_IMPORTS);
+
+		// When
+		editCUInEditor(cu1, fileOnEditor);
+
+		assertChangedFromTo(cu1, fileOnDisk, fileOnEditor, expected1);
+	}
+
 	// Use debug tracing for: https://github.com/eclipse-jdt/eclipse.jdt.ui/issues/79
 	private static void setDebugTracesEnabled(boolean enable) {
 		TestUtils.setDebugEnabled(CopyOnWriteTextStore.class, enable);
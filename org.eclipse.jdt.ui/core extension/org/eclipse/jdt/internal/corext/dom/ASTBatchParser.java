@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,21 +34,14 @@ import org.eclipse.jdt.internal.ui.util.Progress;
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * The size of the subsets is decided by an {@link ASTBatchSizer}
+ * from the size of the sources and the free heap.
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
-	private static final int MAX_AT_ONCE;
-	static {
-		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
-
-		if      (maxMemory >= 2000) MAX_AT_ONCE= 400;
-		else if (maxMemory >= 1500) MAX_AT_ONCE= 300;
-		else if (maxMemory >= 1000) MAX_AT_ONCE= 200;
-		else if (maxMemory >=  500) MAX_AT_ONCE= 100;
-		else                        MAX_AT_ONCE=  25;
-	}
+	private ASTBatchSizer fBatchSizer;
 
 	/**
 	 * Creates ASTs for each compilation unit in <code>units</code>.
@@ -75,24 +68,23 @@ public class ASTBatchParser {
 		if (monitor == null)
 			monitor= new NullProgressMonitor();
 
+		ASTBatchSizer batchSizer= createBatchSizer();
+		fBatchSizer= batchSizer;
 		monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
 		try {
 
 			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
-					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, Progress.subMonitor(monitor, units.length));
-				} else {
-					List<ICompilationUnit> list= Arrays.asList(units);
-					int end= 0;
-					int cursor= 0;
-					while (cursor < units.length) {
-						end= Math.min(end + MAX_AT_ONCE, units.length);
-						List<ICompilationUnit> toParse= list.subList(cursor, end);
-
-						createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
-							Progress.subMonitor(monitor, toParse.size()));
-						cursor= end;
-					}
+				List<ICompilationUnit> list= Arrays.asList(units);
+				int cursor= 0;
+				while (cursor < units.length) {
+					int size= batchSizer.nextBatchSize(list, cursor);
+					List<ICompilationUnit> toParse= list.subList(cursor, cursor + size);
+
+					long start= System.nanoTime();
+					createParser(units[0].getJavaProject()).createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), bindingKeys, requestor,
+						Progress.subMonitor(monitor, toParse.size()));
+					batchSizer.batchParsed(size, System.nanoTime() - start);
+					cursor+= size;
 				}
 			}
 		} finally {
@@ -100,6 +92,32 @@ public class ASTBatchParser {
 		}
 	}
 
+	/**
+	 * Returns the sizer of the last call to {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}.
+	 * It holds the number and size of the batches parsed in that run and
+	 * the time spent parsing them.
+	 *
+	 * @return the batch sizer of the last run, or <code>null</code> if no
+	 *   ASTs have been created yet
+	 */
+	public ASTBatchSizer getBatchSizer() {
+		return fBatchSizer;
+	}
+
+	/**
+	 * Creates the sizer which decides how many compilation units are
+	 * parsed at once. Called once for every call to
+	 * {@link #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)}.
+	 * <p>
+	 * Subclasses may override
+	 * </p>
+	 *
+	 * @return a new batch sizer
+	 */
+	protected ASTBatchSizer createBatchSizer() {
+		return new ASTBatchSizer();
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
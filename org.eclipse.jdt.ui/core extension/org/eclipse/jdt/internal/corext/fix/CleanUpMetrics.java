@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Collects the cost of the clean ups of a {@link CleanUpRefactoring}.
+ * <p>
+ * For every clean up and every compilation unit the wall time, the bytes allocated by the
+ * calling thread and the number of AST traversals are recorded, for every project the number of
+ * fixpoint iterations. Every measured call is also reported as a JFR event
+ * <code>org.eclipse.jdt.ui.CleanUp</code>, every fixpoint iteration as
+ * <code>org.eclipse.jdt.ui.CleanUpIteration</code>.
+ * </p>
+ * <p>
+ * Metrics are collected if the debug option <code>org.eclipse.jdt.ui/debug/CleanUpMetrics</code>
+ * is set, if a JFR recording has the clean up event enabled, or if
+ * {@link CleanUpRefactoring#setCollectMetrics(boolean)} asks for them. This class is thread
+ * safe, the workers of a parallel clean up report into the same instance.
+ * </p>
+ * <p>
+ * <code>jdk.jfr</code> and <code>com.sun.management</code> are optional imports. Only the
+ * holder classes <code>Jfr</code> and <code>Allocation</code> refer to them, and their first use is
+ * guarded. If the classes cannot be loaded, no events are reported and no allocations are
+ * measured.
+ * </p>
+ */
+public final class CleanUpMetrics {
+
+	@Name("org.eclipse.jdt.ui.CleanUp")
+	@Label("Clean Up")
+	@Category({ "Eclipse", "JDT" })
+	@Description("A clean up creating its fix for one compilation unit")
+	@StackTrace(false)
+	private static final class CleanUpEvent extends Event {
+		@Label("Clean Up")
+		String cleanUp;
+
+		@Label("Compilation Unit")
+		String compilationUnit;
+
+		@Label("Allocated")
+		@DataAmount
+		long allocated;
+
+		@Label("AST Traversal")
+		boolean astTraversal;
+
+		@Label("Fix Created")
+		boolean fixCreated;
+	}
+
+	@Name("org.eclipse.jdt.ui.CleanUpIteration")
+	@Label("Clean Up Fixpoint Iteration")
+	@Category({ "Eclipse", "JDT" })
+	@Description("One iteration of the clean up fixpoint iterator of a project")
+	@StackTrace(false)
+	private static final class CleanUpIterationEvent extends Event {
+		@Label("Project")
+		String project;
+
+		@Label("Iteration")
+		int iteration;
+
+		@Label("Parsed Units")
+		int parsedUnits;
+
+		@Label("Units Without AST")
+		int sourceUnits;
+
+		@Label("Remaining Units")
+		int remainingUnits;
+	}
+
+	/**
+	 * The only class that uses the JFR types.
+	 */
+	private static final class Jfr {
+		static boolean isEnabled() {
+			return new CleanUpEvent().isEnabled();
+		}
+
+		static Object begin() {
+			CleanUpEvent event= new CleanUpEvent();
+			event.begin();
+			return event;
+		}
+
+		static void end(Object cleanUpEvent, String cleanUp, String compilationUnit, long allocated, boolean astTraversal, boolean fixCreated) {
+			CleanUpEvent event= (CleanUpEvent) cleanUpEvent;
+			event.end();
+			if (event.shouldCommit()) {
+				event.cleanUp= cleanUp;
+				event.compilationUnit= compilationUnit;
+				event.allocated= allocated;
+				event.astTraversal= astTraversal;
+				event.fixCreated= fixCreated;
+				event.commit();
+			}
+		}
+
+		static void iterationDone(String project, int iteration, int parsedUnits, int sourceUnits, int remainingUnits) {
+			CleanUpIterationEvent event= new CleanUpIterationEvent();
+			if (event.shouldCommit()) {
+				event.project= project;
+				event.iteration= iteration;
+				event.parsedUnits= parsedUnits;
+				event.sourceUnits= sourceUnits;
+				event.remainingUnits= remainingUnits;
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	 * The only class that uses <code>com.sun.management</code>.
+	 */
+	private static final class Allocation {
+		static long currentThreadAllocatedBytes() {
+			if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemoryEnabled())
+				return bean.getCurrentThreadAllocatedBytes();
+			return -1;
+		}
+	}
+
+	/**
+	 * The measurement of a single {@link ICleanUp#createFix(CleanUpContext)} call.
+	 */
+	public final class Measurement {
+		private final ICleanUp fCleanUp;
+		private final CleanUpContext fContext;
+		/**
+		 * The JFR event, or <code>null</code> if JFR is not available
+		 */
+		private final Object fEvent;
+		private final long fStartTime;
+		private final long fStartAllocated;
+
+		Measurement(ICleanUp cleanUp, CleanUpContext context) {
+			fCleanUp= cleanUp;
+			fContext= context;
+			fEvent= beginEvent();
+			fStartAllocated= currentThreadAllocatedBytes();
+			fStartTime= System.nanoTime();
+		}
+
+		/**
+		 * Ends the measurement.
+		 *
+		 * @param fixCreated <code>true</code> if the clean up created a fix
+		 */
+		public void end(boolean fixCreated) {
+			long time= System.nanoTime() - fStartTime;
+			long allocated= fStartAllocated < 0 ? 0 : Math.max(0, currentThreadAllocatedBytes() - fStartAllocated);
+			boolean astTraversal= fContext.getAST() != null;
+
+			fCleanUps.computeIfAbsent(fCleanUp.getClass().getName(), k -> new Counters()).add(time, allocated, astTraversal, fixCreated);
+			String unitName= getName(fContext.getCompilationUnit());
+			fUnits.computeIfAbsent(unitName, k -> new Counters()).add(time, allocated, false, fixCreated);
+
+			if (fEvent != null)
+				endEvent(fEvent, fCleanUp.getClass().getName(), unitName, allocated, astTraversal, fixCreated);
+		}
+	}
+
+	private static final class Counters {
+		final LongAdder fCalls= new LongAdder();
+		final LongAdder fFixes= new LongAdder();
+		final LongAdder fASTTraversals= new LongAdder();
+		final LongAdder fTime= new LongAdder();
+		final LongAdder fAllocated= new LongAdder();
+
+		void add(long time, long allocated, boolean astTraversal, boolean fixCreated) {
+			fCalls.increment();
+			fTime.add(time);
+			fAllocated.add(allocated);
+			if (astTraversal)
+				fASTTraversals.increment();
+			if (fixCreated)
+				fFixes.increment();
+		}
+	}
+
+	/**
+	 * Number of compilation units listed in the report.
+	 */
+	private static final int REPORTED_UNITS= 20;
+
+	private static volatile boolean fgJfrAvailable= true;
+	private static volatile boolean fgAllocationAvailable= true;
+
+	private final Map<String, Counters> fCleanUps= new ConcurrentHashMap<>();
+	private final Map<String, Counters> fUnits= new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> fIterations= new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> fParses= new ConcurrentHashMap<>();
+	private final long fStartTime= System.nanoTime();
+
+	/**
+	 * @return <code>true</code> if metrics should be collected without being asked for
+	 */
+	static boolean isRequested() {
+		if (JavaPlugin.DEBUG_CLEAN_UP_METRICS)
+			return true;
+		if (fgJfrAvailable) {
+			try {
+				return Jfr.isEnabled();
+			} catch (LinkageError e) {
+				fgJfrAvailable= false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Starts to measure a call of {@link ICleanUp#createFix(CleanUpContext)}.
+	 *
+	 * @param cleanUp the clean up
+	 * @param context the context the clean up is called with
+	 * @return the measurement to end after the call
+	 */
+	public Measurement begin(ICleanUp cleanUp, CleanUpContext context) {
+		return new Measurement(cleanUp, context);
+	}
+
+	/**
+	 * Records that a compilation unit has been parsed for the clean ups.
+	 *
+	 * @param unit the compilation unit
+	 */
+	void unitParsed(ICompilationUnit unit) {
+		fParses.computeIfAbsent(getName(unit), k -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Records a fixpoint iteration.
+	 *
+	 * @param project the project
+	 * @param parsedUnits the number of compilation units parsed in the iteration
+	 * @param sourceUnits the number of compilation units processed without AST
+	 * @param remainingUnits the number of compilation units with clean ups left for the next
+	 *            iteration
+	 */
+	void iterationDone(IJavaProject project, int parsedUnits, int sourceUnits, int remainingUnits) {
+		int iteration= fIterations.computeIfAbsent(project.getElementName(), k -> new AtomicInteger()).incrementAndGet();
+		if (fgJfrAvailable) {
+			try {
+				Jfr.iterationDone(project.getElementName(), iteration, parsedUnits, sourceUnits, remainingUnits);
+			} catch (LinkageError e) {
+				fgJfrAvailable= false;
+			}
+		}
+	}
+
+	/**
+	 * @param project the name of a project
+	 * @return the number of fixpoint iterations of the project
+	 */
+	public int getIterations(String project) {
+		AtomicInteger iterations= fIterations.get(project);
+		return iterations != null ? iterations.get() : 0;
+	}
+
+	/**
+	 * @param cleanUpClass the class name of a clean up
+	 * @return the number of calls of the clean up
+	 */
+	public long getCalls(String cleanUpClass) {
+		Counters counters= fCleanUps.get(cleanUpClass);
+		return counters != null ? counters.fCalls.sum() : 0;
+	}
+
+	/**
+	 * @return a table of the cost of the clean ups, the most expensive first, and of the
+	 *         compilation units which took the most time
+	 */
+	public String getReport() {
+		StringBuilder buf= new StringBuilder();
+		buf.append(String.format(Locale.ROOT, "Clean up metrics: %d compilation units, %d fixpoint iterations, %.1f ms%n", //$NON-NLS-1$
+				Integer.valueOf(fUnits.size()), Integer.valueOf(fIterations.values().stream().mapToInt(AtomicInteger::get).sum()), Double.valueOf((System.nanoTime() - fStartTime) / 1e6)));
+		for (Map.Entry<String, AtomicInteger> entry : fIterations.entrySet()) {
+			buf.append(String.format(Locale.ROOT, "  %s: %d iterations%n", entry.getKey(), Integer.valueOf(entry.getValue().get()))); //$NON-NLS-1$
+		}
+
+		buf.append(String.format(Locale.ROOT, "%n%-70s %8s %8s %8s %12s %14s%n", "Clean up", "calls", "fixes", "ASTs", "time [ms]", "alloc [KB]")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+		for (Map.Entry<String, Counters> entry : sortByTime(fCleanUps)) {
+			Counters counters= entry.getValue();
+			buf.append(String.format(Locale.ROOT, "%-70s %8d %8d %8d %12.1f %14d%n", entry.getKey(), //$NON-NLS-1$
+					Long.valueOf(counters.fCalls.sum()), Long.valueOf(counters.fFixes.sum()), Long.valueOf(counters.fASTTraversals.sum()),
+					Double.valueOf(counters.fTime.sum() / 1e6), Long.valueOf(counters.fAllocated.sum() / 1024)));
+		}
+
+		buf.append(String.format(Locale.ROOT, "%n%-70s %8s %8s %8s %12s %14s%n", "Compilation unit", "calls", "fixes", "parses", "time [ms]", "alloc [KB]")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+		List<Map.Entry<String, Counters>> units= sortByTime(fUnits);
+		for (Map.Entry<String, Counters> entry : units.subList(0, Math.min(REPORTED_UNITS, units.size()))) {
+			Counters counters= entry.getValue();
+			LongAdder parses= fParses.get(entry.getKey());
+			buf.append(String.format(Locale.ROOT, "%-70s %8d %8d %8d %12.1f %14d%n", entry.getKey(), //$NON-NLS-1$
+					Long.valueOf(counters.fCalls.sum()), Long.valueOf(counters.fFixes.sum()), Long.valueOf(parses != null ? parses.sum() : 0),
+					Double.valueOf(counters.fTime.sum() / 1e6), Long.valueOf(counters.fAllocated.sum() / 1024)));
+		}
+		return buf.toString();
+	}
+
+	private static List<Map.Entry<String, Counters>> sortByTime(Map<String, Counters> map) {
+		List<Map.Entry<String, Counters>> result= new ArrayList<>(map.entrySet());
+		result.sort(Comparator.comparingLong((Map.Entry<String, Counters> entry) -> entry.getValue().fTime.sum()).reversed());
+		return result;
+	}
+
+	private static String getName(ICompilationUnit unit) {
+		return unit.getPath().toString();
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread so far, or <code>-1</code> if the VM
+	 *         does not support allocation measurement
+	 */
+	private static long currentThreadAllocatedBytes() {
+		if (fgAllocationAvailable) {
+			try {
+				return Allocation.currentThreadAllocatedBytes();
+			} catch (LinkageError e) {
+				fgAllocationAvailable= false;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return a started JFR clean up event, or <code>null</code> if JFR is not available
+	 */
+	private static Object beginEvent() {
+		if (fgJfrAvailable) {
+			try {
+				return Jfr.begin();
+			} catch (LinkageError e) {
+				fgJfrAvailable= false;
+			}
+		}
+		return null;
+	}
+
+	private static void endEvent(Object event, String cleanUp, String compilationUnit, long allocated, boolean astTraversal, boolean fixCreated) {
+		try {
+			Jfr.end(event, cleanUp, compilationUnit, allocated, astTraversal, fixCreated);
+		} catch (LinkageError e) {
+			fgJfrAvailable= false;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -324,6 +324,13 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 				return;
 
 			ICleanUp[] cleanUps= getCleanUps(unit.getJavaProject().getProject());
+			if (changedRegions != null && changedRegions.length == 0) {
+				// nothing changed since the last save, the clean ups restricted to the changed
+				// regions cannot create a fix, and without them the unit may not need an AST
+				cleanUps= removeChangedRegionsCleanUps(cleanUps);
+				if (cleanUps.length == 0)
+					return;
+			}
 
 			long oldFileValue= unit.getResource().getModificationStamp();
 			long oldDocValue= getDocumentStamp((IFile)unit.getResource(), Progress.subMonitor(monitor, 2));
@@ -335,6 +342,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 			IUndoManager manager= RefactoringCore.getUndoManager();
 
 			boolean success= false;
+			boolean unitChanged= false;
 			try {
     			manager.aboutToPerformChange(result);
 
@@ -362,7 +370,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
     				CompilationUnit ast= null;
     				if (requiresAST(cleanUps)) {
-    					ast= createAst(unit, options, Progress.subMonitor(monitor, 10));
+    					ast= createAst(unit, options, !unitChanged, Progress.subMonitor(monitor, 10));
     				}
 
     				CleanUpContext context;
@@ -401,6 +409,7 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 
     					performChangeOperation.getUndoChange();
     					undoEdits.addFirst(change.getUndoEdit());
+    					unitChanged= true;
     				}
     			} while (cleanUps.length > 0);
     			success= true;
@@ -560,6 +569,22 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 	    return false;
     }
 
+	/**
+	 * Returns the clean ups which do not require the changed regions. The fixes of the clean ups
+	 * which require them are restricted to the changed regions.
+	 *
+	 * @param cleanUps the clean ups
+	 * @return the clean ups which are not restricted to the changed regions
+	 */
+	private static ICleanUp[] removeChangedRegionsCleanUps(ICleanUp[] cleanUps) {
+		ArrayList<ICleanUp> result= new ArrayList<>();
+		for (ICleanUp cleanUp : cleanUps) {
+			if (!cleanUp.getRequirements().requiresChangedRegions())
+				result.add(cleanUp);
+		}
+		return result.toArray(new ICleanUp[result.size()]);
+	}
+
 	private boolean requiresChangedRegions(ICleanUp[] cleanUps) {
 		for (ICleanUp cleanUp : cleanUps) {
 			CleanUpRequirements requirements= cleanUp.getRequirements();
@@ -570,9 +595,19 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return false;
 	}
 
-	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, IProgressMonitor monitor) {
+	/**
+	 * Returns an AST of the given compilation unit.
+	 *
+	 * @param unit the compilation unit
+	 * @param cleanUpOptions the compiler options the clean ups require
+	 * @param useSharedAST <code>true</code> if the AST of the editor can be used, that is as long
+	 *            as the save action has not changed the compilation unit yet
+	 * @param monitor the progress monitor
+	 * @return the AST
+	 */
+	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, boolean useSharedAST, IProgressMonitor monitor) {
 		IJavaProject project= unit.getJavaProject();
-		if (compatibleOptions(project, cleanUpOptions)) {
+		if (useSharedAST && compatibleOptions(project, cleanUpOptions)) {
 			CompilationUnit ast= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_NO, monitor);
 			if (ast != null)
 				return ast;
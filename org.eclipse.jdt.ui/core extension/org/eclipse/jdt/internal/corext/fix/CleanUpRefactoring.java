@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,16 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -252,10 +262,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
+		private final CleanUpMetrics fMetrics;
 
-		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor, CleanUpMetrics metrics) {
 			fSolutions= solutions;
 			fMonitor= monitor;
+			fMetrics= metrics;
 			fUndoneElements= new ArrayList<>();
 			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
@@ -271,6 +283,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
 			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
 			CleanUpTarget target= element.getTarget();
+			if (fMetrics != null && ast != null)
+				fMetrics.unitParsed(primary);
 
 			CleanUpContext context;
 			if (target instanceof MultiFixTarget) {
@@ -300,7 +314,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
 			try {
-				solution= calculateChange(context, cleanUps, result, null);
+				solution= calculateChange(context, cleanUps, result, null, fMetrics);
 			} catch (CoreException e) {
 				throw new FixCalculationException(e);
 			}
@@ -324,6 +338,42 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Progress monitor handed to the parsers of a parallel iteration step. The parsers only check it
+	 * for cancellation, progress is reported by the thread which fixes the parsed units.
+	 */
+	private static final class WorkerProgressMonitor extends NullProgressMonitor {
+
+		private volatile boolean fCanceled;
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled;
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled= canceled;
+		}
+	}
+
+	/**
+	 * A compilation unit parsed by a worker of a parallel iteration step. The worker waits until
+	 * the unit has been fixed, because the bindings of the AST can only be resolved as long as the
+	 * parser of the batch is alive.
+	 */
+	private static final class ParsedUnit {
+
+		final ICompilationUnit fSource;
+		final CompilationUnit fAST;
+		final CountDownLatch fFixed= new CountDownLatch(1);
+
+		ParsedUnit(ICompilationUnit source, CompilationUnit ast) {
+			fSource= source;
+			fAST= ast;
+		}
+	}
+
 	private class CleanUpFixpointIterator {
 
 		private List<ParseListElement> fParseList;
@@ -332,9 +382,12 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final Map<String, String> fCleanUpOptions;
 		private final Map<String, String> fSeparateOptions;
 		private final int fSize;
+		private final IJavaProject fProject;
 		private int fIndex;
+		private ExecutorService fExecutor;
 
-		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+		public CleanUpFixpointIterator(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+			fProject= project;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
@@ -387,27 +440,16 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
-				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor, fMetrics);
 				if (parseList.size() > 0) {
-					ASTBatchParser parser= new ASTBatchParser() {
-						@Override
-						protected ASTParser createParser(IJavaProject project) {
-							ASTParser result= createCleanUpASTParser();
-							result.setProject(project);
-
-							Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
-							if (!fSeparateOptions.isEmpty()) {
-								options.putAll(fSeparateOptions);
-							} else {
-								options.putAll(fCleanUpOptions);
-							}
-							result.setCompilerOptions(options);
-							return result;
-						}
-					};
+					List<ICompilationUnit[]> batches= fMaxParallelism > 1 ? splitIntoBatches(parseList) : null;
 					try {
-						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						if (batches != null && batches.size() > 1) {
+							parseInParallel(batches, requestor, cuMonitor);
+						} else {
+							ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
+							createBatchParser().createASTs(units, new String[0], requestor, cuMonitor);
+						}
 					} catch (FixCalculationException e) {
 						throw e.getException();
 					}
@@ -425,6 +467,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 
 				fParseList= requestor.getUndoneElements();
+				if (fMetrics != null)
+					fMetrics.iterationDone(fProject, parseList.size(), sourceList.size(), fParseList.size());
 				// check if undone cleanup requires separate options in which case, set up special options.
 				if (fParseList != null && !fParseList.isEmpty()) {
 					ParseListElement element= fParseList.get(0);
@@ -441,7 +485,148 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 		}
 
+		private ASTBatchParser createBatchParser() {
+			return new ASTBatchParser() {
+				@Override
+				protected ASTParser createParser(IJavaProject project) {
+					ASTParser result= createCleanUpASTParser();
+					result.setProject(project);
+
+					Map<String, String> options= RefactoringASTParser.getCompilerOptions(project);
+					if (!fSeparateOptions.isEmpty()) {
+						options.putAll(fSeparateOptions);
+					} else {
+						options.putAll(fCleanUpOptions);
+					}
+					result.setCompilerOptions(options);
+					return result;
+				}
+			};
+		}
+
+		/**
+		 * Splits the compilation units to parse into batches which can be processed independently.
+		 * The iterator works on the units of a single project, and the order of the units is kept,
+		 * so that the batches and therefore the merged result are the same on every run.
+		 *
+		 * @param parseList the compilation units to parse
+		 * @return the batches in a stable order
+		 */
+		private List<ICompilationUnit[]> splitIntoBatches(List<ICompilationUnit> parseList) {
+			int batchSize= Math.max(MIN_PARALLEL_BATCH_SIZE, (parseList.size() + fMaxParallelism - 1) / fMaxParallelism);
+			List<ICompilationUnit[]> result= new ArrayList<>();
+			for (int start= 0; start < parseList.size(); start+= batchSize) {
+				List<ICompilationUnit> batch= parseList.subList(start, Math.min(start + batchSize, parseList.size()));
+				result.add(batch.toArray(new ICompilationUnit[batch.size()]));
+			}
+			return result;
+		}
+
+		/**
+		 * Parses the given batches on the worker pool, each worker with its own parser. The parsed
+		 * units are fixed by <code>requestor</code> in the calling thread one after the other, so
+		 * that the clean ups are never called concurrently.
+		 *
+		 * @param batches the batches to parse
+		 * @param requestor the requestor which fixes the parsed units
+		 * @param cuMonitor the monitor to report progress to, only accessed from the calling thread
+		 * @throws CoreException if parsing failed
+		 */
+		private void parseInParallel(List<ICompilationUnit[]> batches, CleanUpASTRequestor requestor, CleanUpRefactoringProgressMonitor cuMonitor) throws CoreException {
+			if (fExecutor == null)
+				fExecutor= createExecutor(Math.min(fMaxParallelism, batches.size()));
+
+			BlockingQueue<ParsedUnit> parsedUnits= new LinkedBlockingQueue<>();
+			WorkerProgressMonitor workerMonitor= new WorkerProgressMonitor();
+			ASTRequestor handOff= new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					ParsedUnit unit= new ParsedUnit(source, ast);
+					parsedUnits.add(unit);
+					try {
+						while (!unit.fFixed.await(PROGRESS_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+							if (workerMonitor.isCanceled())
+								throw new OperationCanceledException();
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new OperationCanceledException();
+					}
+				}
+			};
+			List<Future<?>> futures= new ArrayList<>(batches.size());
+			for (ICompilationUnit[] batch : batches) {
+				futures.add(fExecutor.submit(() -> createBatchParser().createASTs(batch, new String[0], handOff, workerMonitor)));
+			}
+
+			try {
+				while (true) {
+					ParsedUnit unit= parsedUnits.poll(PROGRESS_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+					if (unit != null) {
+						try {
+							cuMonitor.internalWorked(1);
+							requestor.acceptAST(unit.fSource, unit.fAST);
+						} finally {
+							unit.fFixed.countDown();
+						}
+					} else if (isDone(futures)) {
+						// a worker only finishes after all of its units have been fixed
+						break;
+					}
+					if (cuMonitor.isCanceled())
+						throw new OperationCanceledException();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} finally {
+				// stop the workers without interrupting them and wait until they no longer use the working copies
+				workerMonitor.setCanceled(true);
+				awaitTermination(futures);
+			}
+		}
+
+		private boolean isDone(List<Future<?>> futures) throws CoreException, InterruptedException {
+			boolean done= true;
+			for (Future<?> future : futures) {
+				if (!future.isDone()) {
+					done= false;
+					continue;
+				}
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					Throwable cause= e.getCause();
+					if (cause instanceof OperationCanceledException)
+						throw (OperationCanceledException)cause;
+					if (cause instanceof RuntimeException)
+						throw (RuntimeException)cause;
+					if (cause instanceof Error)
+						throw (Error)cause;
+					throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, cause.getMessage(), cause));
+				}
+			}
+			return done;
+		}
+
+		private void awaitTermination(List<Future<?>> futures) {
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					// already reported or caused by the cancellation
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+
 		public void dispose() {
+			if (fExecutor != null) {
+				fExecutor.shutdown();
+				fExecutor= null;
+			}
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
 					cu.discardWorkingCopy();
@@ -525,6 +710,22 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * Default for {@link #setMaxParallelism(int)}, <code>1</code> unless overridden with the system
+	 * property <code>org.eclipse.jdt.ui.cleanup.parallelism</code>.
+	 */
+	private static final int DEFAULT_PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.cleanup.parallelism", 1).intValue()); //$NON-NLS-1$
+
+	/**
+	 * Smallest number of compilation units worth handing to a separate worker.
+	 */
+	private static final int MIN_PARALLEL_BATCH_SIZE= 10;
+
+	/**
+	 * Interval in ms in which the progress of the workers is reported.
+	 */
+	private static final long PROGRESS_POLL_INTERVAL= 100;
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -532,6 +733,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	private final String fName;
 
 	private boolean fUseOptionsFromProfile;
+	private int fMaxParallelism;
+	private boolean fCollectMetrics;
+	private CleanUpMetrics fMetrics;
 
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
@@ -542,12 +746,59 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fMaxParallelism= DEFAULT_PARALLELISM;
+		fCollectMetrics= CleanUpMetrics.isRequested();
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of worker threads used to parse the compilation units of a project.
+	 * <p>
+	 * With a value greater than <code>1</code> the units of a project are split into batches
+	 * which are parsed concurrently, each worker with its own parser. Only parsing runs
+	 * concurrently: the projects are still cleaned up one after the other, and the fixes are
+	 * computed by a single requestor in the thread running the refactoring, one unit after the
+	 * other, while the worker which parsed the unit waits. Clean ups therefore need not be thread
+	 * safe, and their per project state between
+	 * {@link ICleanUp#checkPreConditions(IJavaProject, ICompilationUnit[], IProgressMonitor)} and
+	 * {@link ICleanUp#checkPostConditions(IProgressMonitor)} stays valid.
+	 * </p>
+	 *
+	 * @param maxParallelism the maximal number of workers, <code>1</code> to run sequentially
+	 */
+	public void setMaxParallelism(int maxParallelism) {
+		fMaxParallelism= Math.max(1, maxParallelism);
+	}
+
+	public int getMaxParallelism() {
+		return fMaxParallelism;
+	}
+
+	/**
+	 * Sets whether the time, allocations and AST traversals of every clean up are recorded.
+	 * Metrics are collected by default if the debug option
+	 * <code>org.eclipse.jdt.ui/debug/CleanUpMetrics</code> is set or a JFR recording has the
+	 * <code>org.eclipse.jdt.ui.CleanUp</code> event enabled.
+	 *
+	 * @param collectMetrics <code>true</code> to collect metrics in the next
+	 *            {@link #checkFinalConditions(IProgressMonitor)}
+	 * @see #getMetrics()
+	 */
+	public void setCollectMetrics(boolean collectMetrics) {
+		fCollectMetrics= collectMetrics;
+	}
+
+	/**
+	 * @return the metrics of the last {@link #checkFinalConditions(IProgressMonitor)}, or
+	 *         <code>null</code> if no metrics have been collected
+	 */
+	public CleanUpMetrics getMetrics() {
+		return fMetrics;
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -647,6 +898,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		RefactoringStatus result= new RefactoringStatus();
 
 		ICleanUp[] cleanUps= getCleanUps();
+		fMetrics= fCollectMetrics ? new CleanUpMetrics() : null;
 		pm.beginTask("", cuCount * 2 * fCleanUps.size() + 4 * cleanUps.length); //$NON-NLS-1$
 		try {
 			DynamicValidationStateChange change= new DynamicValidationStateChange(getName());
@@ -678,6 +930,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			result.merge(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), pm));
 		} finally {
 			pm.done();
+			if (fMetrics != null && JavaPlugin.DEBUG_CLEAN_UP_METRICS)
+				JavaPlugin.trace("/debug/CleanUpMetrics", fMetrics.getReport()); //$NON-NLS-1$
 		}
 
 		return result;
@@ -696,7 +950,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	}
 
 	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
-		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
+		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(project, targets, cleanUps);
 
 		IProgressMonitor subMonitor= Progress.subMonitor(monitor, 2 * targets.length * cleanUps.length);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
@@ -779,6 +1033,23 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	}
 
 	public static CleanUpChange calculateChange(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps) throws CoreException {
+		return calculateChange(context, cleanUps, undoneCleanUps, slowCleanUps, null);
+	}
+
+	/**
+	 * Creates the fixes of the given clean ups for one compilation unit and merges them into one
+	 * change.
+	 *
+	 * @param context the context of the compilation unit
+	 * @param cleanUps the clean ups to apply
+	 * @param undoneCleanUps collects the clean ups which have to be applied in a further pass
+	 * @param slowCleanUps collects the clean ups which took longer than
+	 *            the slow clean up threshold, can be <code>null</code>
+	 * @param metrics the metrics to record the clean ups in, can be <code>null</code>
+	 * @return the merged change or <code>null</code> if no clean up created a fix
+	 * @throws CoreException if a clean up failed
+	 */
+	public static CleanUpChange calculateChange(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps, CleanUpMetrics metrics) throws CoreException {
 		if (cleanUps.length == 0)
 			return null;
 
@@ -786,6 +1057,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		int i= 0;
 		do {
 			ICleanUp cleanUp= cleanUps[i];
+			CleanUpMetrics.Measurement measurement= metrics != null ? metrics.begin(cleanUp, context) : null;
 			ICleanUpFix fix;
 			if (slowCleanUps != null) {
 				long timeBefore= System.currentTimeMillis();
@@ -795,6 +1067,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			} else {
 				fix= cleanUp.createFix(context);
 			}
+			if (measurement != null)
+				measurement.end(fix != null);
 			if (fix != null) {
 				CompilationUnitChange current= fix.createChange(null);
 				TextEdit currentEdit= current.getEdit();
@@ -819,7 +1093,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 			}
 			i++;
-		} while (i < cleanUps.length && (context.getAST() == null || !cleanUps[i].getRequirements().requiresFreshAST()));
+		} while (i < cleanUps.length && (context.getAST() == null || canShareAST(cleanUps[i], solution)));
 
 		for (; i < cleanUps.length; i++) {
 			undoneCleanUps.add(cleanUps[i]);
@@ -827,6 +1101,22 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		return solution;
 	}
 
+	/**
+	 * Tells whether the given clean up can work on the AST the previous clean ups of the pass
+	 * worked on. A clean up which requires a fresh AST can still use it as long as no clean up
+	 * changed the compilation unit, unless it needs an AST parsed with its own options.
+	 *
+	 * @param cleanUp the next clean up
+	 * @param solution the change of the previous clean ups, <code>null</code> if none
+	 * @return <code>true</code> if the clean up does not need another AST
+	 */
+	private static boolean canShareAST(ICleanUp cleanUp, CleanUpChange solution) {
+		CleanUpRequirements requirements= cleanUp.getRequirements();
+		if (!requirements.requiresFreshAST())
+			return true;
+		return solution == null && !requirements.requiresSeparateOptions();
+	}
+
 	private static void copyChangeGroups(CompilationUnitChange target, CompilationUnitChange source) {
 		for (TextEditBasedChangeGroup changeGroup : source.getChangeGroups()) {
 			TextEditGroup textEditGroup= changeGroup.getTextEditGroup();
@@ -854,6 +1144,20 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		return ResourcesPlugin.getWorkspace().getRoot();
 	}
 
+	private static ExecutorService createExecutor(int parallelism) {
+		ThreadFactory factory= new ThreadFactory() {
+			private final AtomicInteger counter= new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t= new Thread(r, "Clean Up Worker-" + counter.getAndIncrement()); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			}
+		};
+		return Executors.newFixedThreadPool(parallelism, factory);
+	}
+
 	public static ASTParser createCleanUpASTParser() {
 		ASTParser result= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
 
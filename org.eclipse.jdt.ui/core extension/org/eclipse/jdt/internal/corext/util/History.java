@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,29 +13,34 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Hashtable;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -43,11 +48,11 @@ import org.xml.sax.helpers.DefaultHandler;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
@@ -63,7 +68,13 @@ import org.eclipse.jdt.internal.ui.util.XmlProcessorFactoryJdtUi;
  * MAX_HISTORY_SIZE. If the list exceeds this size the eldest element is removed
  * from the list. An element can be added/renewed with a call to <code>accessed(Object)</code>.
  *
- * The history can be stored to/loaded from an xml file.
+ * The history is stored in an append-only binary file in the state location of the plug-in: every
+ * <code>accessed</code>, <code>remove</code> and <code>updated</code> since the last
+ * {@link #save()} is appended as a record, and the file is rewritten with the current entries only once it holds
+ * {@link #MAX_STORE_RECORDS} records. {@link #load()} only marks the history to be read; the file
+ * is replayed on first use. A history that was stored to an xml file by earlier versions is read
+ * from that file until it is saved for the first time. The xml file is left in place, so that an
+ * earlier version still finds its history.
  *
  * @param <K> key type
  * @param <V> value type
@@ -74,6 +85,28 @@ public abstract class History<K, V> {
 	private static final String DEFAULT_INFO_NODE_NAME= "infoNode"; //$NON-NLS-1$
 	private static final int MAX_HISTORY_SIZE= 60;
 
+	private static final String STORE_FILE_EXTENSION= ".history"; //$NON-NLS-1$
+	private static final int STORE_MAGIC= 0x4A444854;
+	private static final int STORE_VERSION= 1;
+	private static final byte RECORD_ACCESSED= 1;
+	private static final byte RECORD_REMOVED= 2;
+	private static final byte RECORD_UPDATED= 3;
+
+	/**
+	 * Number of records after which the store is rewritten with the current entries only.
+	 */
+	private static final int MAX_STORE_RECORDS= 4 * MAX_HISTORY_SIZE;
+
+	private static final class Record<V> {
+		final byte fKind;
+		final V fObject;
+
+		Record(byte kind, V object) {
+			fKind= kind;
+			fObject= object;
+		}
+	}
+
 	private static JavaUIException createException(Throwable t, String message) {
 		return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, t));
 	}
@@ -84,6 +117,20 @@ public abstract class History<K, V> {
 	private final String fRootNodeName;
 	private final String fInfoNodeName;
 
+	/**
+	 * The changes that are not in the store yet.
+	 */
+	private final List<Record<V>> fPendingRecords= new ArrayList<>();
+	/**
+	 * Whether {@link #load()} was called and the store has not been read yet.
+	 */
+	private boolean fLoadPending;
+	/**
+	 * The number of records in the store, or <code>-1</code> if the store must be rewritten.
+	 */
+	private int fStoreRecords= -1;
+	private Document fDocument;
+
 	public History(String fileName, String rootNodeName, String infoNodeName) {
 		fHistory= new LinkedHashMap<>(80, 0.75f, true) {
 			private static final long serialVersionUID= 1L;
@@ -103,34 +150,63 @@ public abstract class History<K, V> {
 	}
 
 	public synchronized void accessed(V object) {
+		ensureLoaded();
 		fHistory.put(getKey(object), object);
+		addRecord(RECORD_ACCESSED, object);
 		rebuildPositions();
 	}
 
 	public synchronized boolean contains(V object) {
+		ensureLoaded();
 		return fHistory.containsKey(getKey(object));
 	}
 
 	public synchronized boolean containsKey(K key) {
+		ensureLoaded();
 		return fHistory.containsKey(key);
 	}
 
 	public synchronized boolean isEmpty() {
+		ensureLoaded();
 		return fHistory.isEmpty();
 	}
 
 	public synchronized Object remove(V object) {
-		Object removed= fHistory.remove(getKey(object));
+		ensureLoaded();
+		V removed= fHistory.remove(getKey(object));
+		if (removed != null) {
+			addRecord(RECORD_REMOVED, removed);
+		}
 		rebuildPositions();
 		return removed;
 	}
 
 	public synchronized Object removeKey(Object key) {
-		Object removed= fHistory.remove(key);
+		ensureLoaded();
+		V removed= fHistory.remove(key);
+		if (removed != null) {
+			addRecord(RECORD_REMOVED, removed);
+		}
 		rebuildPositions();
 		return removed;
 	}
 
+	/**
+	 * Replaces an object of the history, or records that its stored form changed, without
+	 * changing its position in the history. Does nothing if the key of the object is not in the
+	 * history.
+	 *
+	 * @param object the changed object
+	 */
+	protected synchronized void updated(V object) {
+		ensureLoaded();
+		K key= getKey(object);
+		if (fHistory.containsKey(key)) {
+			replace(key, object);
+			addRecord(RECORD_UPDATED, object);
+		}
+	}
+
 	/**
 	 * Normalized position in history of object denoted by key.
 	 * The position is a value between zero and one where zero
@@ -165,38 +241,86 @@ public abstract class History<K, V> {
 		return fPositions.get(key);
 	}
 
+	/**
+	 * Marks the history to be read from its file when it is used first.
+	 */
 	public synchronized void load() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
-		if (file.exists()) {
-			try (InputStreamReader reader= new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
-				load(new InputSource(reader));
-			} catch (IOException | CoreException e) {
-				JavaPlugin.log(e);
-			}
-		}
+		fLoadPending= true;
 	}
 
+	/**
+	 * Writes the changes since the last save to the file of the history.
+	 */
 	public synchronized void save() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
-		try (OutputStream out= new FileOutputStream(file)) {
-			save(out);
-		} catch (IOException | CoreException | TransformerFactoryConfigurationError e) {
-			// The XML library can be misconficgured (e.g. via
-			// -Djava.endorsed.dirs=C:\notExisting\xerces-2_7_1)
+		if (fPendingRecords.isEmpty() && (fLoadPending || fStoreRecords != -1)) {
+			return;
+		}
+		File file= getStoreFile();
+		try {
+			if (fStoreRecords == -1 || fStoreRecords + fPendingRecords.size() > MAX_STORE_RECORDS || !file.exists()) {
+				compact(file);
+			} else {
+				try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+					for (Record<V> record : fPendingRecords) {
+						writeRecord(out, record.fKind, record.fObject);
+					}
+				}
+				fStoreRecords+= fPendingRecords.size();
+			}
+			fPendingRecords.clear();
+		} catch (IOException e) {
+			fStoreRecords= -1;
 			JavaPlugin.log(e);
 		}
 	}
 
 	protected Set<K> getKeys() {
+		ensureLoaded();
 		return fHistory.keySet();
 	}
 
 	protected Collection<V> getValues() {
+		ensureLoaded();
 		return fHistory.values();
 	}
 
+	/**
+	 * Writes an object to the store. The default implementation writes the attributes set by
+	 * {@link #setAttributes(Object, Element)}.
+	 *
+	 * @param object the object to write
+	 * @param out the output to write to
+	 * @throws IOException if writing fails
+	 */
+	protected void writeObject(V object, DataOutput out) throws IOException {
+		Element element= getDocument().createElement(fInfoNodeName);
+		setAttributes(object, element);
+		NamedNodeMap attributes= element.getAttributes();
+		out.writeInt(attributes.getLength());
+		for (int i= 0; i < attributes.getLength(); i++) {
+			Node attribute= attributes.item(i);
+			out.writeUTF(attribute.getNodeName());
+			out.writeUTF(attribute.getNodeValue());
+		}
+	}
+
+	/**
+	 * Reads an object written by {@link #writeObject(Object, DataOutput)}. The default
+	 * implementation creates the object with {@link #createFromElement(Element)}.
+	 *
+	 * @param in the input to read from
+	 * @return the object, or <code>null</code> if it cannot be restored
+	 * @throws IOException if reading fails
+	 */
+	protected V readObject(DataInput in) throws IOException {
+		Element element= getDocument().createElement(fInfoNodeName);
+		int count= in.readInt();
+		for (int i= 0; i < count; i++) {
+			element.setAttribute(in.readUTF(), in.readUTF());
+		}
+		return createFromElement(element);
+	}
+
 	/**
 	 * Store <code>Object</code> in <code>Element</code>
 	 *
@@ -230,6 +354,142 @@ public abstract class History<K, V> {
 		}
 	}
 
+	private void addRecord(byte kind, V object) {
+		if (fStoreRecords == -1 || fPendingRecords.size() >= MAX_STORE_RECORDS) {
+			// the store is rewritten on save anyway
+			fPendingRecords.clear();
+			fStoreRecords= -1;
+		}
+		fPendingRecords.add(new Record<>(kind, object));
+	}
+
+	private File getStoreFile() {
+		int extension= fFileName.lastIndexOf('.');
+		String name= extension != -1 ? fFileName.substring(0, extension) : fFileName;
+		return JavaPlugin.getDefault().getStateLocation().append(name + STORE_FILE_EXTENSION).toFile();
+	}
+
+	private File getXmlFile() {
+		return JavaPlugin.getDefault().getStateLocation().append(fFileName).toFile();
+	}
+
+	private Document getDocument() throws IOException {
+		if (fDocument == null) {
+			try {
+				fDocument= XmlProcessorFactoryJdtUi.createDocumentBuilderFactoryWithErrorOnDOCTYPE().newDocumentBuilder().newDocument();
+			} catch (ParserConfigurationException e) {
+				throw new IOException(e);
+			}
+		}
+		return fDocument;
+	}
+
+	private void ensureLoaded() {
+		if (!fLoadPending) {
+			return;
+		}
+		fLoadPending= false;
+		File file= getStoreFile();
+		if (file.exists()) {
+			readStore(file);
+			return;
+		}
+		File xmlFile= getXmlFile();
+		if (xmlFile.exists()) {
+			try (InputStreamReader reader= new InputStreamReader(new FileInputStream(xmlFile), StandardCharsets.UTF_8)) {
+				load(new InputSource(reader));
+			} catch (IOException | CoreException e) {
+				JavaPlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Replays the records of the store. A record that was cut off by an interrupted write ends the
+	 * replay, and the store is rewritten on the next save.
+	 *
+	 * @param file the store
+	 */
+	private void readStore(File file) {
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != STORE_MAGIC || in.readInt() != STORE_VERSION) {
+				return;
+			}
+			int records= 0;
+			try {
+				int kind;
+				while ((kind= in.read()) != -1) {
+					byte[] bytes= new byte[in.readInt()];
+					in.readFully(bytes);
+					V object= readObject(new DataInputStream(new ByteArrayInputStream(bytes)));
+					if (object != null) {
+						if (kind == RECORD_REMOVED) {
+							fHistory.remove(getKey(object));
+						} else if (kind == RECORD_UPDATED) {
+							replace(getKey(object), object);
+						} else {
+							fHistory.put(getKey(object), object);
+						}
+					}
+					records++;
+				}
+				fStoreRecords= records;
+			} catch (EOFException e) {
+				// truncated, rewrite on save
+			}
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+		}
+		rebuildPositions();
+	}
+
+	/**
+	 * Replaces the object of a key without touching the access order.
+	 *
+	 * @param key the key
+	 * @param object the new object
+	 */
+	private void replace(K key, V object) {
+		for (Map.Entry<K, V> entry : fHistory.entrySet()) {
+			if (entry.getKey().equals(key)) {
+				entry.setValue(object);
+				return;
+			}
+		}
+	}
+
+	private void writeRecord(DataOutputStream out, byte kind, V object) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream(128);
+		writeObject(object, new DataOutputStream(bytes));
+		out.writeByte(kind);
+		out.writeInt(bytes.size());
+		bytes.writeTo(out);
+	}
+
+	/**
+	 * Rewrites the store with the current entries, oldest first.
+	 *
+	 * @param file the store
+	 * @throws IOException if writing fails
+	 */
+	private void compact(File file) throws IOException {
+		ensureLoaded();
+		File tmpFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.writeInt(STORE_MAGIC);
+			out.writeInt(STORE_VERSION);
+			for (V object : fHistory.values()) {
+				writeRecord(out, RECORD_ACCESSED, object);
+			}
+		}
+		try {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		fStoreRecords= fHistory.size();
+	}
+
 	private void load(InputSource inputSource) throws CoreException {
 		Element root;
 		try {
@@ -261,34 +521,4 @@ public abstract class History<K, V> {
 		rebuildPositions();
 	}
 
-	private void save(OutputStream stream) throws CoreException {
-		try {
-			DocumentBuilderFactory factory= XmlProcessorFactoryJdtUi.createDocumentBuilderFactoryWithErrorOnDOCTYPE();
-			DocumentBuilder builder= factory.newDocumentBuilder();
-			Document document= builder.newDocument();
-
-			Element rootElement = document.createElement(fRootNodeName);
-			document.appendChild(rootElement);
-
-			Iterator<V> values= getValues().iterator();
-			while (values.hasNext()) {
-				Object object= values.next();
-				Element element= document.createElement(fInfoNodeName);
-				setAttributes(object, element);
-				rootElement.appendChild(element);
-			}
-
-			Transformer transformer= XmlProcessorFactoryJdtUi.createTransformerFactoryWithErrorOnDOCTYPE().newTransformer();
-			transformer.setOutputProperty(OutputKeys.METHOD, "xml"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
-			DOMSource source = new DOMSource(document);
-			StreamResult result = new StreamResult(stream);
-
-			transformer.transform(source, result);
-		} catch (TransformerException | ParserConfigurationException e) {
-			throw createException(e, Messages.format(CorextMessages.History_error_serialize, BasicElementLabels.getResourceName(fFileName)));
-		}
-	}
-
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,13 +13,18 @@
  *******************************************************************************/
  package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.w3c.dom.Element;
 
@@ -27,6 +32,7 @@ import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -62,20 +68,20 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private static class TypeHistoryDeltaListener implements IElementChangedListener {
 		@Override
 		public void elementChanged(ElementChangedEvent event) {
-			if (processDelta(event.getDelta())) {
-				OpenTypeHistory.getInstance().markAsInconsistent();
+			Set<IPath> changedPaths= new HashSet<>();
+			processDelta(event.getDelta(), changedPaths);
+			if (!changedPaths.isEmpty()) {
+				OpenTypeHistory.getInstance().markAsInconsistent(changedPaths);
 			}
 		}
 
 		/**
-		 * Computes whether the history needs a consistency check or not.
+		 * Computes the elements whose types need a consistency check.
 		 *
 		 * @param delta the Java element delta
-		 *
-		 * @return <code>true</code> if consistency must be checked
-		 *  <code>false</code> otherwise.
+		 * @param changedPaths receives the paths of the elements to check
 		 */
-		private boolean processDelta(IJavaElementDelta delta) {
+		private void processDelta(IJavaElementDelta delta, Set<IPath> changedPaths) {
 			IJavaElement elem= delta.getElement();
 
 			boolean isChanged= delta.getKind() == IJavaElementDelta.CHANGED;
@@ -85,44 +91,55 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				case IJavaElement.JAVA_PROJECT:
 					if (isRemoved || (isChanged &&
 							(delta.getFlags() & IJavaElementDelta.F_CLOSED) != 0)) {
-						return true;
+						changedPaths.add(elem.getPath());
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, changedPaths);
+					return;
 				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
 					if (isRemoved || (isChanged && (
 							(delta.getFlags() & IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED) != 0 ||
 							(delta.getFlags() & IJavaElementDelta.F_REMOVED_FROM_CLASSPATH) != 0))) {
-						return true;
+						changedPaths.add(elem.getPath());
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, changedPaths);
+					return;
 				case IJavaElement.TYPE:
 					if (isChanged && (delta.getFlags() & IJavaElementDelta.F_MODIFIERS) != 0) {
-						return true;
+						changedPaths.add(elem.getPath());
+						return;
 					}
 					if (isRemoved) {
-						return true;
+						changedPaths.add(elem.getPath());
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, changedPaths);
+					return;
 				case IJavaElement.JAVA_MODEL:
 				case IJavaElement.PACKAGE_FRAGMENT:
 				case IJavaElement.CLASS_FILE:
 					if (isRemoved) {
-						return true;
+						changedPaths.add(elem.getPath());
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, changedPaths);
+					return;
 				case IJavaElement.COMPILATION_UNIT:
 					// Not the primary compilation unit. Ignore it
 					if (!JavaModelUtil.isPrimary((ICompilationUnit) elem)) {
-						return false;
+						return;
 					}
 
 					if (isRemoved || (isChanged && isUnknownStructuralChange(delta.getFlags()))) {
-						return true;
+						changedPaths.add(elem.getPath());
+						return;
 					}
-					return processChildrenDelta(delta);
+					processChildrenDelta(delta, changedPaths);
+					return;
 				default:
 					// fields, methods, imports ect
-					return false;
+					return;
 			}
 		}
 
@@ -138,13 +155,10 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		}
 		*/
 
-		private boolean processChildrenDelta(IJavaElementDelta delta) {
+		private void processChildrenDelta(IJavaElementDelta delta, Set<IPath> changedPaths) {
 			for (IJavaElementDelta child : delta.getAffectedChildren()) {
-				if (processDelta(child)) {
-					return true;
-				}
+				processDelta(child, changedPaths);
 			}
-			return false;
 		}
 	}
 
@@ -169,6 +183,13 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private volatile boolean fNeedsConsistencyCheck;
 	// Map of cached time stamps
 	private Map<TypeNameMatch, Long> fTimestampMapping;
+	// Paths of the changed elements whose types need to be checked, guarded by itself
+	private final Set<IPath> fChangedPaths;
+	// Whether all types need to be checked, guarded by fChangedPaths
+	private boolean fCheckAll;
+	// Whether the types whose container changes are not reported by deltas, or that have no stored
+	// time stamp, need to be checked, guarded by fChangedPaths. Only the case after loading.
+	private boolean fCheckUnverified;
 
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
@@ -197,6 +218,8 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	private OpenTypeHistory() {
 		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO);
 		fTimestampMapping= new HashMap<>();
+		fChangedPaths= new HashSet<>();
+		fCheckUnverified= true;
 		fNeedsConsistencyCheck= true;
 		load();
 		fDeltaListener= new TypeHistoryDeltaListener();
@@ -211,6 +234,20 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	public void markAsInconsistent() {
+		synchronized (fChangedPaths) {
+			fCheckAll= true;
+		}
+		scheduleConsistencyCheck();
+	}
+
+	private void markAsInconsistent(Collection<IPath> changedPaths) {
+		synchronized (fChangedPaths) {
+			fChangedPaths.addAll(changedPaths);
+		}
+		scheduleConsistencyCheck();
+	}
+
+	private void scheduleConsistencyCheck() {
 		fNeedsConsistencyCheck= true;
 		// cancel the old job. If no job is running this is a NOOP.
 		fUpdateJob.cancel();
@@ -297,10 +334,56 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		// Setting fNeedsConsistencyCheck is necessary here since
 		// markAsInconsistent isn't synchronized.
 		fNeedsConsistencyCheck= true;
+		boolean checkAll;
+		boolean checkUnverified;
+		IPath[] changedPaths;
+		synchronized (fChangedPaths) {
+			checkAll= fCheckAll;
+			checkUnverified= fCheckUnverified;
+			changedPaths= fChangedPaths.toArray(new IPath[fChangedPaths.size()]);
+			fCheckAll= false;
+			fCheckUnverified= false;
+			fChangedPaths.clear();
+		}
+		try {
+			checkTypes(checkAll, checkUnverified, changedPaths, monitor);
+		} catch (OperationCanceledException e) {
+			synchronized (fChangedPaths) {
+				fCheckAll|= checkAll;
+				fCheckUnverified|= checkUnverified;
+				fChangedPaths.addAll(List.of(changedPaths));
+			}
+			throw e;
+		}
+		synchronized (fChangedPaths) {
+			fNeedsConsistencyCheck= fCheckAll || fCheckUnverified || !fChangedPaths.isEmpty();
+		}
+	}
+
+	/**
+	 * Checks the types of the history, only those that are contained in a changed element unless
+	 * all types are checked. A checked type whose container has the stored time stamp is
+	 * considered unchanged, the refreshed time stamps are stored with the history.
+	 * <p>
+	 * After loading, the workspace changes made since the last session are reported by deltas,
+	 * so only the types which are not covered by them are checked: those in external archives and
+	 * those without a stored time stamp.
+	 * </p>
+	 *
+	 * @param checkAll whether to check all types
+	 * @param checkUnverified whether to check the types not covered by deltas
+	 * @param changedPaths the paths of the changed elements
+	 * @param monitor the progress monitor
+	 */
+	private void checkTypes(boolean checkAll, boolean checkUnverified, IPath[] changedPaths, IProgressMonitor monitor) throws OperationCanceledException {
 		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
 		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
 		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
 		for (TypeNameMatch type : typesToCheck) {
+			if (!checkAll && !isAffected(type, changedPaths) && !(checkUnverified && isUnverified(type))) {
+				monitor.worked(1);
+				continue;
+			}
 			long currentTimestamp= getContainerTimestamp(type);
 			Long lastTested= fTimestampMapping.get(type);
 			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
@@ -316,6 +399,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
 					} else {
 						fTimestampMapping.put(type, currentTimestamp);
+						updated(type);
 					}
 				}
 			} catch (JavaModelException e) {
@@ -326,7 +410,23 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 			monitor.worked(1);
 		}
 		monitor.done();
-		fNeedsConsistencyCheck= false;
+	}
+
+	private static boolean isAffected(TypeNameMatch match, IPath[] changedPaths) {
+		IType type= match.getType();
+		IPath path= type.getPath();
+		// types of external archives are contained in the project that references them
+		IPath projectPath= type.getJavaProject().getPath();
+		for (IPath changedPath : changedPaths) {
+			if (changedPath.isPrefixOf(path) || changedPath.isPrefixOf(projectPath)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isUnverified(TypeNameMatch match) {
+		return !fTimestampMapping.containsKey(match) || match.getType().getResource() == null;
 	}
 
 	private long getContainerTimestamp(TypeNameMatch match) {
@@ -387,17 +487,12 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		if (handle == null )
 			return null;
 
-		IJavaElement element= JavaCore.create(handle);
-		if (!(element instanceof IType))
-			return null;
-
 		int modifiers= 0;
 		try {
 			modifiers= Integer.parseInt(type.getAttribute(NODE_MODIFIERS));
 		} catch (NumberFormatException e) {
 			// take zero
 		}
-		TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
 		long timestamp= IResource.NULL_STAMP;
 		String timestampValue= type.getAttribute(NODE_TIMESTAMP);
 		if (timestampValue != null && timestampValue.length() > 0) {
@@ -407,12 +502,37 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				// take null stamp
 			}
 		}
+		return createTypeNameMatch(handle, modifiers, timestamp);
+	}
+
+	@Override
+	protected TypeNameMatch readObject(DataInput in) throws IOException {
+		String handle= in.readUTF();
+		int modifiers= in.readInt();
+		long timestamp= in.readLong();
+		return createTypeNameMatch(handle, modifiers, timestamp);
+	}
+
+	private TypeNameMatch createTypeNameMatch(String handle, int modifiers, long timestamp) {
+		IJavaElement element= JavaCore.create(handle);
+		if (!(element instanceof IType))
+			return null;
+
+		TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
 		if (timestamp != IResource.NULL_STAMP) {
 			fTimestampMapping.put(info, timestamp);
 		}
 		return info;
 	}
 
+	@Override
+	protected void writeObject(TypeNameMatch type, DataOutput out) throws IOException {
+		out.writeUTF(type.getType().getHandleIdentifier());
+		out.writeInt(type.getModifiers());
+		Long timestamp= fTimestampMapping.get(type);
+		out.writeLong(timestamp == null ? IResource.NULL_STAMP : timestamp.longValue());
+	}
+
 	@Override
 	protected void setAttributes(Object object, Element typeElement) {
 		TypeNameMatch type= (TypeNameMatch) object;
@@ -0,0 +1,762 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.jarinjarloader;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.security.SecureClassLoader;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This class will be compiled into the binary jar-in-jar-loader.zip. This ZIP is used for the
+ * "Runnable JAR File Exporter".
+ *
+ * A class loader which reads the classes and resources of the nested libraries directly from the
+ * runnable JAR. The central directory of the runnable JAR is used to locate the nested libraries,
+ * which have to be stored uncompressed, and the central directories of the libraries are read from
+ * their position in the runnable JAR. At startup an index from package names to the libraries
+ * containing the package is built, classes are then read with random access without copying or
+ * streaming the libraries.
+ *
+ * Like the <code>URLClassLoader</code> over <code>rsrc:</code> URLs which it replaces, this class
+ * loader delegates to its parent first and searches the class path entries in their order.
+ * Signed, sealed and multi-release libraries need the verification and the features of a
+ * <code>JarFile</code>, each of them is loaded by its own <code>URLClassLoader</code>, which this
+ * class loader delegates to at the position of the library in the class path.
+ */
+final class IndexedJarClassLoader extends SecureClassLoader {
+
+	static {
+		registerAsParallelCapable();
+	}
+
+	private static final int LOC_SIG= 0x04034b50;
+	private static final int CEN_SIG= 0x02014b50;
+	private static final int END_SIG= 0x06054b50;
+	private static final int ZIP64_END_SIG= 0x06064b50;
+	private static final int ZIP64_LOCATOR_SIG= 0x07064b50;
+	private static final int LOC_HEADER_SIZE= 30;
+	private static final int CEN_HEADER_SIZE= 46;
+	private static final int END_HEADER_SIZE= 22;
+	private static final int ZIP64_END_HEADER_SIZE= 56;
+	private static final int ZIP64_LOCATOR_SIZE= 20;
+	private static final int ZIP64_EXTRA_ID= 0x0001;
+	private static final long ZIP64_MAGIC= 0xFFFFFFFFL;
+	private static final int STORED= 0;
+	private static final int DEFLATED= 8;
+	private static final int ENCRYPTED_FLAG= 0x0001;
+	private static final String META_INF= "META-INF/"; //$NON-NLS-1$
+	private static final String SIGNATURE_FILE_SUFFIX= ".SF"; //$NON-NLS-1$
+	private static final String VERSIONS= "META-INF/versions/"; //$NON-NLS-1$
+	private static final Attributes.Name MULTI_RELEASE= new Attributes.Name("Multi-Release"); //$NON-NLS-1$
+
+	/**
+	 * The runnable JAR, read with random access by all class path entries.
+	 */
+	private static final class ArchiveFile {
+		private final RandomAccessFile fFile;
+
+		ArchiveFile(File file) throws IOException {
+			fFile= new RandomAccessFile(file, "r"); //$NON-NLS-1$
+		}
+
+		long length() throws IOException {
+			return fFile.length();
+		}
+
+		synchronized void read(long position, byte[] b, int off, int len) throws IOException {
+			fFile.seek(position);
+			fFile.readFully(b, off, len);
+		}
+
+		void close() throws IOException {
+			fFile.close();
+		}
+
+		/**
+		 * Reads the central directory of the ZIP archive stored in the given region of the file.
+		 *
+		 * @param start the position of the archive in the file
+		 * @param length the length of the archive
+		 * @return the entries of the archive by name
+		 * @throws IOException if the archive cannot be read
+		 */
+		Map<String, Entry> readEntries(long start, long length) throws IOException {
+			int tailLength= (int) Math.min(length, END_HEADER_SIZE + 0xFFFF);
+			long tailPosition= start + length - tailLength;
+			byte[] tail= new byte[tailLength];
+			read(tailPosition, tail, 0, tailLength);
+			int end= -1;
+			for (int i= tailLength - END_HEADER_SIZE; i >= 0; i--) {
+				if (getInt(tail, i) == END_SIG) {
+					end= i;
+					break;
+				}
+			}
+			if (end < 0)
+				throw new IOException("zip END header not found"); //$NON-NLS-1$
+
+			long endPosition= tailPosition + end;
+			long count= getShort(tail, end + 10);
+			long cenSize= getInt(tail, end + 12) & ZIP64_MAGIC;
+			long cenOffset= getInt(tail, end + 16) & ZIP64_MAGIC;
+			long cenEnd= endPosition;
+			if ((count == 0xFFFF || cenSize == ZIP64_MAGIC || cenOffset == ZIP64_MAGIC) && endPosition - start >= ZIP64_LOCATOR_SIZE + ZIP64_END_HEADER_SIZE) {
+				byte[] zip64End= new byte[ZIP64_END_HEADER_SIZE + ZIP64_LOCATOR_SIZE];
+				long zip64EndPosition= endPosition - zip64End.length;
+				read(zip64EndPosition, zip64End, 0, zip64End.length);
+				if (getInt(zip64End, ZIP64_END_HEADER_SIZE) == ZIP64_LOCATOR_SIG) {
+					if (getInt(zip64End, 0) != ZIP64_END_SIG)
+						throw new IOException("invalid zip64 END header"); //$NON-NLS-1$
+					count= getLong(zip64End, 32);
+					cenSize= getLong(zip64End, 40);
+					cenOffset= getLong(zip64End, 48);
+					cenEnd= zip64EndPosition;
+				}
+			}
+			if (cenSize > Integer.MAX_VALUE || cenSize > cenEnd - start)
+				throw new IOException("invalid central directory size"); //$NON-NLS-1$
+
+			// offsets are relative to the start of the archive, which can be preceded by other data
+			long cenPosition= cenEnd - cenSize;
+			long base= cenPosition - cenOffset;
+			byte[] cen= new byte[(int) cenSize];
+			read(cenPosition, cen, 0, cen.length);
+			Map<String, Entry> entries= new HashMap<>((int) Math.min(count, 1 << 20) * 4 / 3 + 1);
+			int position= 0;
+			while (position + CEN_HEADER_SIZE <= cen.length) {
+				if (getInt(cen, position) != CEN_SIG)
+					throw new IOException("invalid CEN header (bad signature)"); //$NON-NLS-1$
+				int flags= getShort(cen, position + 8);
+				int method= getShort(cen, position + 10);
+				long compressedSize= getInt(cen, position + 20) & ZIP64_MAGIC;
+				long size= getInt(cen, position + 24) & ZIP64_MAGIC;
+				int nameLength= getShort(cen, position + 28);
+				int extraLength= getShort(cen, position + 30);
+				int commentLength= getShort(cen, position + 32);
+				long offset= getInt(cen, position + 42) & ZIP64_MAGIC;
+				int namePosition= position + CEN_HEADER_SIZE;
+				int extraPosition= namePosition + nameLength;
+				if (extraPosition + extraLength > cen.length)
+					throw new IOException("invalid CEN header (bad header size)"); //$NON-NLS-1$
+
+				if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || offset == ZIP64_MAGIC) {
+					int extra= extraPosition;
+					while (extra + 4 <= extraPosition + extraLength) {
+						int id= getShort(cen, extra);
+						int dataLength= getShort(cen, extra + 2);
+						int value= extra + 4;
+						if (id == ZIP64_EXTRA_ID) {
+							int valueEnd= Math.min(value + dataLength, extraPosition + extraLength);
+							if (size == ZIP64_MAGIC && value + 8 <= valueEnd) {
+								size= getLong(cen, value);
+								value+= 8;
+							}
+							if (compressedSize == ZIP64_MAGIC && value + 8 <= valueEnd) {
+								compressedSize= getLong(cen, value);
+								value+= 8;
+							}
+							if (offset == ZIP64_MAGIC && value + 8 <= valueEnd) {
+								offset= getLong(cen, value);
+							}
+							break;
+						}
+						extra+= 4 + dataLength;
+					}
+				}
+
+				if ((flags & ENCRYPTED_FLAG) == 0 && (method == STORED || method == DEFLATED)) {
+					String name= new String(cen, namePosition, nameLength, StandardCharsets.UTF_8);
+					if (!entries.containsKey(name))
+						entries.put(name, new Entry(this, method, compressedSize, size, base + offset));
+				}
+				position= extraPosition + extraLength + commentLength;
+			}
+			return entries;
+		}
+	}
+
+	/**
+	 * An entry of the runnable JAR or of a nested library.
+	 */
+	private static final class Entry {
+		final ArchiveFile fFile;
+		final int fMethod;
+		final long fCompressedSize;
+		final long fSize;
+		final long fLocalHeaderOffset;
+		private volatile long fDataOffset= -1;
+
+		Entry(ArchiveFile file, int method, long compressedSize, long size, long localHeaderOffset) {
+			fFile= file;
+			fMethod= method;
+			fCompressedSize= compressedSize;
+			fSize= size;
+			fLocalHeaderOffset= localHeaderOffset;
+		}
+
+		long getDataOffset() throws IOException {
+			long dataOffset= fDataOffset;
+			if (dataOffset == -1) {
+				byte[] header= new byte[LOC_HEADER_SIZE];
+				fFile.read(fLocalHeaderOffset, header, 0, LOC_HEADER_SIZE);
+				if (getInt(header, 0) != LOC_SIG)
+					throw new IOException("invalid LOC header (bad signature)"); //$NON-NLS-1$
+				dataOffset= fLocalHeaderOffset + LOC_HEADER_SIZE + getShort(header, 26) + getShort(header, 28);
+				fDataOffset= dataOffset;
+			}
+			return dataOffset;
+		}
+
+		byte[] readBytes() throws IOException {
+			if (fSize > Integer.MAX_VALUE - 8 || fCompressedSize > Integer.MAX_VALUE - 8)
+				throw new IOException("entry too large"); //$NON-NLS-1$
+			long dataOffset= getDataOffset();
+			if (fMethod == STORED) {
+				byte[] bytes= new byte[(int) fSize];
+				fFile.read(dataOffset, bytes, 0, bytes.length);
+				return bytes;
+			}
+			// the inflater needs an extra dummy byte at the end of the input
+			byte[] compressed= new byte[(int) fCompressedSize + 1];
+			fFile.read(dataOffset, compressed, 0, compressed.length - 1);
+			byte[] bytes= new byte[(int) fSize];
+			Inflater inflater= new Inflater(true);
+			try {
+				inflater.setInput(compressed);
+				int count= 0;
+				while (count < bytes.length) {
+					int n= inflater.inflate(bytes, count, bytes.length - count);
+					if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+						break;
+					count+= n;
+				}
+				if (count != bytes.length)
+					throw new EOFException();
+			} catch (DataFormatException e) {
+				throw new IOException(e);
+			} finally {
+				inflater.end();
+			}
+			return bytes;
+		}
+
+		InputStream openStream() throws IOException {
+			InputStream in= new EntryInputStream(fFile, getDataOffset(), fCompressedSize);
+			if (fMethod == STORED)
+				return in;
+			return new InflaterInputStream(in, new Inflater(true), 8192) {
+				private boolean fEof;
+				private boolean fClosed;
+
+				@Override
+				protected void fill() throws IOException {
+					if (fEof)
+						throw new EOFException("Unexpected end of ZLIB input stream"); //$NON-NLS-1$
+					len= this.in.read(buf, 0, buf.length);
+					if (len == -1) {
+						// the inflater needs an extra dummy byte at the end of the input
+						buf[0]= 0;
+						len= 1;
+						fEof= true;
+					}
+					inf.setInput(buf, 0, len);
+				}
+
+				@Override
+				public void close() throws IOException {
+					if (!fClosed) {
+						fClosed= true;
+						super.close();
+						inf.end();
+					}
+				}
+			};
+		}
+	}
+
+	private static final class EntryInputStream extends InputStream {
+		private final ArchiveFile fFile;
+		private long fPosition;
+		private final long fEnd;
+
+		EntryInputStream(ArchiveFile file, long position, long length) {
+			fFile= file;
+			fPosition= position;
+			fEnd= position + length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b= new byte[1];
+			return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0)
+				return 0;
+			if (fPosition >= fEnd)
+				return -1;
+			int count= (int) Math.min(len, fEnd - fPosition);
+			fFile.read(fPosition, b, off, count);
+			fPosition+= count;
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return (int) Math.min(Integer.MAX_VALUE, fEnd - fPosition);
+		}
+	}
+
+	/**
+	 * An entry of the <code>Rsrc-Class-Path</code>, either a nested library or a folder of the
+	 * runnable JAR.
+	 */
+	private static final class ClassPathEntry {
+		final String fPath;
+		final boolean fLibrary;
+		final boolean fRequiresJarFile;
+		final Map<String, Entry> fEntries;
+		final CodeSource fCodeSource;
+		/**
+		 * The class loader of a library which requires a <code>JarFile</code>, <code>null</code>
+		 * for all other entries.
+		 */
+		LibraryClassLoader fClassLoader;
+		private Manifest fManifest;
+		private boolean fManifestRead;
+
+		ClassPathEntry(String path, boolean library, boolean requiresJarFile, Map<String, Entry> entries, URL url) {
+			fPath= path;
+			fLibrary= library;
+			fRequiresJarFile= requiresJarFile;
+			fEntries= entries;
+			fCodeSource= new CodeSource(url, (Certificate[]) null);
+		}
+
+		synchronized Manifest getManifest() {
+			if (!fManifestRead) {
+				fManifestRead= true;
+				Entry entry= fEntries.get(JarFile.MANIFEST_NAME);
+				if (entry != null) {
+					try (InputStream in= entry.openStream()) {
+						fManifest= new Manifest(in);
+					} catch (IOException e) {
+						// no package information
+					}
+				}
+			}
+			return fManifest;
+		}
+	}
+
+	/**
+	 * Loads the classes of a library which requires a <code>JarFile</code> through its
+	 * <code>jar:rsrc:</code> URL. All classes are loaded through the indexed class loader, which
+	 * calls {@link #findLibraryClass(String)} for the classes of the library, so references from
+	 * the library to other class path entries are resolved like for the indexed libraries, and the
+	 * locks are always taken in the same order.
+	 */
+	private static final class LibraryClassLoader extends URLClassLoader {
+
+		static {
+			registerAsParallelCapable();
+		}
+
+		private final IndexedJarClassLoader fClassPath;
+
+		LibraryClassLoader(URL url, IndexedJarClassLoader classPath) {
+			super(new URL[] { url }, classPath);
+			fClassPath= classPath;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			return fClassPath.loadClass(name);
+		}
+
+		Class<?> findLibraryClass(String name) throws ClassNotFoundException {
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> c= findLoadedClass(name);
+				return c != null ? c : findClass(name);
+			}
+		}
+	}
+
+	/**
+	 * Opens the resources of nested libraries with random access. The URLs have the same form as
+	 * the URLs of the <code>URLClassLoader</code>, <code>jar:rsrc:library.jar!/name</code>.
+	 */
+	private final class NestedJarURLStreamHandler extends URLStreamHandler {
+
+		@Override
+		protected URLConnection openConnection(URL url) throws IOException {
+			String file= url.getFile();
+			int separator= file.indexOf(JIJConstants.JAR_INTERNAL_SEPARATOR);
+			if (!file.startsWith(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON) || separator == -1)
+				throw new MalformedURLException("no !/ in spec"); //$NON-NLS-1$
+			String path= file.substring(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON.length(), separator);
+			String name= file.substring(separator + JIJConstants.JAR_INTERNAL_SEPARATOR.length());
+			ClassPathEntry classPathEntry= fLibraries.get(path);
+			final Entry entry= classPathEntry != null ? classPathEntry.fEntries.get(name) : null;
+			if (entry == null)
+				throw new FileNotFoundException("JAR entry " + name + " not found in " + path); //$NON-NLS-1$ //$NON-NLS-2$
+			return new URLConnection(url) {
+				@Override
+				public void connect() {
+					connected= true;
+				}
+
+				@Override
+				public InputStream getInputStream() throws IOException {
+					connect();
+					return entry.openStream();
+				}
+
+				@Override
+				public long getContentLengthLong() {
+					return entry.fSize;
+				}
+			};
+		}
+
+		@Override
+		protected void parseURL(URL url, String spec, int start, int limit) {
+			String file;
+			if (spec.regionMatches(true, 0, JIJConstants.JAR_PROTOCOL + ':', 0, JIJConstants.JAR_PROTOCOL.length() + 1)) {
+				file= spec.substring(JIJConstants.JAR_PROTOCOL.length() + 1);
+			} else {
+				String context= url.getFile();
+				int separator= context.indexOf(JIJConstants.JAR_INTERNAL_SEPARATOR);
+				String relative= spec.substring(start, limit);
+				if (relative.startsWith(JIJConstants.PATH_SEPARATOR))
+					file= context.substring(0, separator + 1) + relative;
+				else
+					file= context.substring(0, context.lastIndexOf('/') + 1) + relative;
+			}
+			setURL(url, JIJConstants.JAR_PROTOCOL, "", -1, null, null, file, null, null); //$NON-NLS-1$
+		}
+	}
+
+	private final Map<String, List<ClassPathEntry>> fPackageIndex;
+	private final Map<String, ClassPathEntry> fLibraries;
+	private final Map<String, Boolean> fDefinedPackages= new ConcurrentHashMap<>();
+	private final URLStreamHandler fHandler= new NestedJarURLStreamHandler();
+
+	private IndexedJarClassLoader(List<ClassPathEntry> classPath, ClassLoader parent) {
+		super(parent);
+		fLibraries= new HashMap<>();
+		fPackageIndex= new HashMap<>();
+		for (ClassPathEntry classPathEntry : classPath) {
+			if (classPathEntry.fLibrary)
+				fLibraries.put(classPathEntry.fPath, classPathEntry);
+			if (classPathEntry.fRequiresJarFile)
+				classPathEntry.fClassLoader= new LibraryClassLoader(classPathEntry.fCodeSource.getLocation(), this);
+			for (String name : classPathEntry.fEntries.keySet()) {
+				String packageName= getPackagePath(name);
+				List<ClassPathEntry> entries= fPackageIndex.get(packageName);
+				if (entries == null) {
+					entries= new ArrayList<>(1);
+					fPackageIndex.put(packageName, entries);
+				}
+				if (entries.isEmpty() || entries.get(entries.size() - 1) != classPathEntry)
+					entries.add(classPathEntry);
+			}
+		}
+	}
+
+	/**
+	 * Creates a class loader for the given <code>Rsrc-Class-Path</code>.
+	 *
+	 * @param rsrcClassPath the class path entries, relative to the runnable JAR
+	 * @param parent the parent class loader
+	 * @return the class loader or <code>null</code> if the runnable JAR cannot be read with random
+	 *         access or contains compressed libraries, the libraries have to be streamed then
+	 */
+	static IndexedJarClassLoader create(String[] rsrcClassPath, ClassLoader parent) {
+		File file= getRunnableJar();
+		if (file == null)
+			return null;
+		ArchiveFile archiveFile= null;
+		try {
+			archiveFile= new ArchiveFile(file);
+			Map<String, Entry> entries= archiveFile.readEntries(0, archiveFile.length());
+			List<ClassPathEntry> classPath= new ArrayList<>(rsrcClassPath.length);
+			for (String path : rsrcClassPath) {
+				if (path.endsWith(JIJConstants.PATH_SEPARATOR)) {
+					String prefix= JIJConstants.CURRENT_DIR.equals(path) ? "" : path; //$NON-NLS-1$
+					Map<String, Entry> folderEntries= new HashMap<>();
+					for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+						String name= entry.getKey();
+						if (name.startsWith(prefix) && name.length() > prefix.length())
+							folderEntries.put(name.substring(prefix.length()), entry.getValue());
+					}
+					URL url= new URL(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON + path);
+					classPath.add(new ClassPathEntry(path, false, false, folderEntries, url));
+				} else {
+					Entry library= entries.get(path);
+					if (library == null)
+						continue; // like URLClassLoader, ignore missing libraries
+					if (library.fMethod != STORED)
+						return null;
+					Map<String, Entry> libraryEntries= archiveFile.readEntries(library.getDataOffset(), library.fSize);
+					boolean requiresJarFile= requiresJarFile(libraryEntries);
+					if (requiresJarFile)
+						addVersionedEntries(libraryEntries);
+					URL url= new URL(JIJConstants.JAR_INTERNAL_URL_PROTOCOL_WITH_COLON + path + JIJConstants.JAR_INTERNAL_SEPARATOR);
+					classPath.add(new ClassPathEntry(path, true, requiresJarFile, libraryEntries, url));
+				}
+			}
+			// the runnable JAR stays open as long as the class loader is used
+			IndexedJarClassLoader classLoader= new IndexedJarClassLoader(classPath, parent);
+			archiveFile= null;
+			return classLoader;
+		} catch (IOException e) {
+			return null;
+		} finally {
+			if (archiveFile != null) {
+				try {
+					archiveFile.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether a library is signed, sealed or a multi-release JAR. Such a library is only
+	 * loaded correctly from a <code>JarFile</code>, which verifies the signatures and selects the
+	 * versioned entries.
+	 *
+	 * @param entries the entries of the library
+	 * @return <code>true</code> if the library has to be loaded by a <code>URLClassLoader</code>
+	 * @throws IOException if the manifest cannot be read
+	 */
+	private static boolean requiresJarFile(Map<String, Entry> entries) throws IOException {
+		for (String name : entries.keySet()) {
+			if (name.regionMatches(true, 0, META_INF, 0, META_INF.length()) && name.indexOf('/', META_INF.length()) == -1
+					&& name.regionMatches(true, name.length() - SIGNATURE_FILE_SUFFIX.length(), SIGNATURE_FILE_SUFFIX, 0, SIGNATURE_FILE_SUFFIX.length()))
+				return true;
+		}
+		Entry entry= entries.get(JarFile.MANIFEST_NAME);
+		if (entry == null)
+			return false;
+		Manifest manifest;
+		try (InputStream in= entry.openStream()) {
+			manifest= new Manifest(in);
+		}
+		Attributes main= manifest.getMainAttributes();
+		if (main.containsKey(Attributes.Name.SEALED) || main.containsKey(MULTI_RELEASE))
+			return true;
+		for (Attributes attributes : manifest.getEntries().values()) {
+			if (attributes.containsKey(Attributes.Name.SEALED))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the entries of the versioned directories of a multi-release library under their
+	 * unversioned names, so that the index finds the classes which only exist for some versions.
+	 * The library's <code>JarFile</code> selects the version.
+	 *
+	 * @param entries the entries of the library
+	 */
+	private static void addVersionedEntries(Map<String, Entry> entries) {
+		Map<String, Entry> versioned= new HashMap<>();
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			String name= entry.getKey();
+			int separator= name.indexOf('/', VERSIONS.length());
+			if (name.startsWith(VERSIONS) && separator != -1 && separator + 1 < name.length())
+				versioned.put(name.substring(separator + 1), entry.getValue());
+		}
+		for (Map.Entry<String, Entry> entry : versioned.entrySet()) {
+			if (!entries.containsKey(entry.getKey()))
+				entries.put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private static File getRunnableJar() {
+		CodeSource codeSource= IndexedJarClassLoader.class.getProtectionDomain().getCodeSource();
+		URL location= codeSource != null ? codeSource.getLocation() : null;
+		if (location == null || !JIJConstants.FILE_PROTOCOL.equals(location.getProtocol()))
+			return null;
+		try {
+			File file= new File(location.toURI());
+			return file.isFile() ? file : null;
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String path= name.replace('.', '/').concat(".class"); //$NON-NLS-1$
+		List<ClassPathEntry> classPathEntries= fPackageIndex.get(getPackagePath(path));
+		if (classPathEntries != null) {
+			for (ClassPathEntry classPathEntry : classPathEntries) {
+				Entry entry= classPathEntry.fEntries.get(path);
+				if (entry != null && classPathEntry.fClassLoader != null) {
+					try {
+						return classPathEntry.fClassLoader.findLibraryClass(name);
+					} catch (ClassNotFoundException e) {
+						// only contained in a version directory for a later Java version
+					}
+				} else if (entry != null) {
+					byte[] bytes;
+					try {
+						bytes= entry.readBytes();
+					} catch (IOException e) {
+						throw new ClassNotFoundException(name, e);
+					}
+					int lastDot= name.lastIndexOf('.');
+					if (lastDot != -1)
+						definePackage(name.substring(0, lastDot), path, classPathEntry);
+					return defineClass(name, bytes, 0, bytes.length, classPathEntry.fCodeSource);
+				}
+			}
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	private void definePackage(String packageName, String path, ClassPathEntry classPathEntry) {
+		if (fDefinedPackages.putIfAbsent(packageName, Boolean.TRUE) != null)
+			return;
+		String specTitle= null, specVersion= null, specVendor= null;
+		String implTitle= null, implVersion= null, implVendor= null;
+		Manifest manifest= classPathEntry.getManifest();
+		if (manifest != null) {
+			Attributes main= manifest.getMainAttributes();
+			Attributes attributes= manifest.getAttributes(path.substring(0, path.lastIndexOf('/') + 1));
+			specTitle= getAttribute(attributes, main, Attributes.Name.SPECIFICATION_TITLE);
+			specVersion= getAttribute(attributes, main, Attributes.Name.SPECIFICATION_VERSION);
+			specVendor= getAttribute(attributes, main, Attributes.Name.SPECIFICATION_VENDOR);
+			implTitle= getAttribute(attributes, main, Attributes.Name.IMPLEMENTATION_TITLE);
+			implVersion= getAttribute(attributes, main, Attributes.Name.IMPLEMENTATION_VERSION);
+			implVendor= getAttribute(attributes, main, Attributes.Name.IMPLEMENTATION_VENDOR);
+		}
+		try {
+			definePackage(packageName, specTitle, specVersion, specVendor, implTitle, implVersion, implVendor, null);
+		} catch (IllegalArgumentException e) {
+			// already defined
+		}
+	}
+
+	private static String getAttribute(Attributes attributes, Attributes main, Attributes.Name name) {
+		String value= attributes != null ? attributes.getValue(name) : null;
+		return value != null ? value : main.getValue(name);
+	}
+
+	@Override
+	protected URL findResource(String name) {
+		List<ClassPathEntry> classPathEntries= fPackageIndex.get(getPackagePath(name));
+		if (classPathEntries != null) {
+			for (ClassPathEntry classPathEntry : classPathEntries) {
+				if (classPathEntry.fEntries.containsKey(name)) {
+					URL url= classPathEntry.fClassLoader != null ? classPathEntry.fClassLoader.findResource(name) : getResourceURL(classPathEntry, name);
+					if (url != null)
+						return url;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	protected Enumeration<URL> findResources(String name) {
+		List<URL> urls= new ArrayList<>();
+		List<ClassPathEntry> classPathEntries= fPackageIndex.get(getPackagePath(name));
+		if (classPathEntries != null) {
+			for (ClassPathEntry classPathEntry : classPathEntries) {
+				if (classPathEntry.fEntries.containsKey(name) && classPathEntry.fClassLoader != null) {
+					try {
+						urls.addAll(Collections.list(classPathEntry.fClassLoader.findResources(name)));
+					} catch (IOException e) {
+						// like URLClassLoader, skip libraries which cannot be read
+					}
+				} else if (classPathEntry.fEntries.containsKey(name)) {
+					URL url= getResourceURL(classPathEntry, name);
+					if (url != null)
+						urls.add(url);
+				}
+			}
+		}
+		return Collections.enumeration(urls);
+	}
+
+	private URL getResourceURL(ClassPathEntry classPathEntry, String name) {
+		try {
+			if (classPathEntry.fLibrary) {
+				return new URL(JIJConstants.JAR_PROTOCOL, "", -1, //$NON-NLS-1$
+						JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON + classPathEntry.fPath + JIJConstants.JAR_INTERNAL_SEPARATOR + name, fHandler);
+			}
+			// resources of the runnable JAR are served by the rsrc: protocol, like with URLClassLoader
+			return new URL(classPathEntry.fCodeSource.getLocation(), name);
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the key of the package index for a class or resource, directories are indexed in
+	 * their parent.
+	 *
+	 * @param name the name of the entry
+	 * @return the path of the package containing the entry
+	 */
+	private static String getPackagePath(String name) {
+		int lastSlash= name.lastIndexOf('/', name.length() - 2);
+		return lastSlash == -1 ? "" : name.substring(0, lastSlash); //$NON-NLS-1$
+	}
+
+	private static int getShort(byte[] b, int off) {
+		return (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8;
+	}
+
+	private static int getInt(byte[] b, int off) {
+		return getShort(b, off) | getShort(b, off + 2) << 16;
+	}
+
+	private static long getLong(byte[] b, int off) {
+		return (getInt(b, off) & ZIP64_MAGIC) | (long) getInt(b, off + 4) << 32;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,10 @@ final class JIJConstants {
 	static final String UTF8_ENCODING                        = "UTF-8";  //$NON-NLS-1$
 	static final String RUNTIME_WITH_HASH                    = "#runtime";  //$NON-NLS-1$
 	static final String RUNTIME                              = "runtime";  //$NON-NLS-1$
+	static final String JAR_PROTOCOL                         = "jar";  //$NON-NLS-1$
+	static final String FILE_PROTOCOL                        = "file";  //$NON-NLS-1$
+	/** set to <code>false</code> to stream the libraries instead of reading them with random access */
+	static final String INDEXED_LOADER_PROPERTY              = "org.eclipse.jdt.internal.jarinjarloader.indexed";  //$NON-NLS-1$
 
 	private JIJConstants() {
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2023 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
@@ -47,20 +48,35 @@ public class JarRsrcLoader {
 		ManifestInfo mi = getManifestInfo();
 		ClassLoader cl = Thread.currentThread().getContextClassLoader();
 		URL.setURLStreamHandlerFactory(new RsrcURLStreamHandlerFactory(cl));
-		URL[] rsrcUrls = new URL[mi.rsrcClassPath.length];
-		for (int i = 0; i < mi.rsrcClassPath.length; i++) {
-			String rsrcPath = mi.rsrcClassPath[i];
+		ClassLoader jceClassLoader = null;
+		if (!"false".equals(System.getProperty(JIJConstants.INDEXED_LOADER_PROPERTY))) //$NON-NLS-1$
+			jceClassLoader = IndexedJarClassLoader.create(mi.rsrcClassPath, getParentClassLoader());
+		if (jceClassLoader == null)
+			jceClassLoader = createURLClassLoader(mi.rsrcClassPath);
+		Thread.currentThread().setContextClassLoader(jceClassLoader);
+		Class<?> c = Class.forName(mi.rsrcMainClass, true, jceClassLoader);
+		Method main = c.getMethod(JIJConstants.MAIN_METHOD_NAME, args.getClass());
+		main.invoke((Object) null, new Object[] {args});
+	}
+
+	/**
+	 * Creates a class loader which streams the libraries through <code>rsrc:</code> URLs. It is used
+	 * when the libraries cannot be read with random access, for example because they are compressed.
+	 *
+	 * @param rsrcClassPath the class path entries, relative to the runnable JAR
+	 * @return the class loader
+	 */
+	@SuppressWarnings("resource")
+	private static ClassLoader createURLClassLoader(String[] rsrcClassPath) throws MalformedURLException, InvocationTargetException, IllegalAccessException {
+		URL[] rsrcUrls = new URL[rsrcClassPath.length];
+		for (int i = 0; i < rsrcClassPath.length; i++) {
+			String rsrcPath = rsrcClassPath[i];
 			if (rsrcPath.endsWith(JIJConstants.PATH_SEPARATOR))
 				rsrcUrls[i] = new URL(JIJConstants.INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath);
 			else
 				rsrcUrls[i] = new URL(JIJConstants.JAR_INTERNAL_URL_PROTOCOL_WITH_COLON + rsrcPath + JIJConstants.JAR_INTERNAL_SEPARATOR);
 		}
-		@SuppressWarnings("resource")
-		ClassLoader jceClassLoader = new URLClassLoader(rsrcUrls, getParentClassLoader());
-		Thread.currentThread().setContextClassLoader(jceClassLoader);
-		Class<?> c = Class.forName(mi.rsrcMainClass, true, jceClassLoader);
-		Method main = c.getMethod(JIJConstants.MAIN_METHOD_NAME, args.getClass());
-		main.invoke((Object) null, new Object[] {args});
+		return new URLClassLoader(rsrcUrls, getParentClassLoader());
 	}
 
 	private static ClassLoader getParentClassLoader() throws InvocationTargetException, IllegalAccessException {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,7 @@ import org.osgi.service.prefs.BackingStoreException;
 
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
+import org.eclipse.osgi.service.debug.DebugTrace;
 
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
@@ -117,6 +118,7 @@ import org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter;
 import org.eclipse.jdt.internal.ui.javaeditor.ICompilationUnitDocumentProvider;
 import org.eclipse.jdt.internal.ui.javaeditor.WorkingCopyManager;
 import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaCodeMiningExecutor;
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaReferenceCountService;
 import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.SaveParticipantRegistry;
 import org.eclipse.jdt.internal.ui.preferences.MembersOrderPreferenceCache;
 import org.eclipse.jdt.internal.ui.preferences.formatter.FormatterProfileStore;
@@ -129,6 +131,7 @@ import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImagesOnFileSystemRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityTree;
 import org.eclipse.jdt.internal.ui.wizards.buildpaths.ClasspathAttributeConfigurationDescriptors;
 import org.eclipse.jdt.internal.ui.workingsets.DynamicSourcesWorkingSetUpdater;
 import org.eclipse.jdt.internal.ui.workingsets.IWorkingSetIDs;
@@ -159,6 +162,14 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	public static boolean DEBUG_RESULT_COLLECTOR;
 
+	public static boolean DEBUG_CLEAN_UP_METRICS;
+
+	/**
+	 * The trace of this plug-in's debug options, or <code>null</code> before the options are known.
+	 * @since 3.38
+	 */
+	private static DebugTrace fgDebugTrace;
+
 	private static JavaPlugin fgJavaPlugin;
 
 	private static LinkedHashMap<String, Long> fgRepeatedMessages= new LinkedHashMap<>(20, 0.75f, true) {
@@ -206,6 +217,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	private volatile ClassFileDocumentProvider fClassFileDocumentProvider;
 	private volatile JavaTextTools fJavaTextTools;
 	private volatile ProblemMarkerManager fProblemMarkerManager;
+	private volatile ProblemSeverityTree fProblemSeverityTree;
 	private volatile ImageDescriptorRegistry fImageDescriptorRegistry;
 
 	private volatile MembersOrderPreferenceCache fMembersOrderPreferenceCache;
@@ -355,6 +367,19 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 			log(new Exception(message + detail).fillInStackTrace());
 	}
 
+	/**
+	 * Writes a message to the trace of this plug-in if the given debug option is enabled.
+	 *
+	 * @param option the debug option relative to the plug-in id, e.g. <code>/debug/CleanUpMetrics</code>
+	 * @param message the message to trace
+	 * @since 3.38
+	 */
+	public static void trace(String option, String message) {
+		DebugTrace trace= fgDebugTrace;
+		if (trace != null)
+			trace.trace(option, message);
+	}
+
 	public static boolean isDebug() {
 		return getDefault().isDebugging();
 	}
@@ -544,6 +569,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 			QualifiedTypeNameHistory.getDefault().save();
 
+			JavaReferenceCountService.shutdown();
 			JavaCodeMiningExecutor.shutdown();
 
 			// must add here to guarantee that it is the first in the listener list
@@ -640,6 +666,19 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		}
 	}
 
+	public ProblemSeverityTree getProblemSeverityTree() {
+		ProblemSeverityTree result= fProblemSeverityTree;
+		if (result != null) { // First check (no locking)
+			return result;
+		}
+		synchronized(this) {
+			if (fProblemSeverityTree == null) { // Second check (with locking)
+				fProblemSeverityTree= new ProblemSeverityTree();
+			}
+			return fProblemSeverityTree;
+		}
+	}
+
 	public JavaTextTools getJavaTextTools() {
 		JavaTextTools result= fJavaTextTools;
 		if (result != null) { // First check (no locking)
@@ -1159,6 +1198,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.ui/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_BREADCRUMB_ITEM_DROP_DOWN= options.getBooleanOption("org.eclipse.jdt.ui/debug/BreadcrumbItemDropDown", false); //$NON-NLS-1$
 		DEBUG_RESULT_COLLECTOR= options.getBooleanOption("org.eclipse.jdt.ui/debug/ResultCollector", false); //$NON-NLS-1$
+		DEBUG_CLEAN_UP_METRICS= options.getBooleanOption("org.eclipse.jdt.ui/debug/CleanUpMetrics", false); //$NON-NLS-1$
+		fgDebugTrace= options.newDebugTrace(getPluginId());
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,9 +20,13 @@ package org.eclipse.jdt.internal.ui.jarpackagerfat;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -94,6 +98,34 @@ public class JarWriter4 extends JarWriter3 {
 		jarOutputStream.write(content);
 	}
 
+	/**
+	 * Writes an archive as stored entry. The archive is already compressed, so it is neither
+	 * deflated nor held in memory.
+	 *
+	 * @param file the archive to write
+	 * @param path the path of the entry
+	 * @throws IOException if an I/O error has occurred
+	 *
+	 * @since 3.38
+	 */
+	public void addStoredArchive(File file, String path) throws IOException {
+		if (fJarPackage.areDirectoryEntriesIncluded())
+			addDirectories(path);
+		JarEntry newEntry= new JarEntry(path.replace(File.separatorChar, '/'));
+		newEntry.setMethod(ZipEntry.STORED);
+		try (CheckedInputStream content= new CheckedInputStream(Files.newInputStream(file.toPath()), new CRC32())) {
+			newEntry.setSize(content.transferTo(OutputStream.nullOutputStream()));
+			newEntry.setCrc(content.getChecksum().getValue());
+		}
+		newEntry.setTime(System.currentTimeMillis());
+		@SuppressWarnings("resource")
+		JarOutputStream jarOutputStream= getJarOutputStream();
+		jarOutputStream.putNextEntry(newEntry);
+		try (InputStream content= Files.newInputStream(file.toPath())) {
+			content.transferTo(jarOutputStream);
+		}
+	}
+
 	public void write(File file, IPath destinationPath) throws CoreException {
 		try {
 			addFile(file, destinationPath);
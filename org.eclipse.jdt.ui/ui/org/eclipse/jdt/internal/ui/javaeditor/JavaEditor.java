@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,7 +54,6 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
@@ -1684,6 +1683,11 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	private ActivationListener fActivationListener= new ActivationListener();
 	private ISelectionListenerWithAST fPostSelectionListenerWithAST;
 	private OccurrencesFinderJob fOccurrencesFinderJob;
+	/**
+	 * The occurrences found for the bindings of the current AST.
+	 * @since 3.38
+	 */
+	private final OccurrencesCache fOccurrencesCache= new OccurrencesCache();
 	/** The occurrences finder job canceler */
 	private OccurrencesFinderJobCanceler fOccurrencesFinderJobCanceler;
 	/**
@@ -3176,23 +3180,60 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	}
 
 	/**
-	 * Finds and marks occurrence annotations.
+	 * Caches the occurrences of bindings, as long as the AST they were found in is current.
+	 *
+	 * @since 3.38
+	 */
+	private static final class OccurrencesCache {
+
+		private static final int MAX_SIZE= 100;
+
+		private CompilationUnit fASTRoot;
+		private final Map<String, OccurrenceLocation[]> fLocations= new HashMap<>();
+
+		synchronized OccurrenceLocation[] get(CompilationUnit astRoot, String bindingKey) {
+			return astRoot == fASTRoot ? fLocations.get(bindingKey) : null;
+		}
+
+		synchronized void put(CompilationUnit astRoot, String bindingKey, OccurrenceLocation[] locations) {
+			if (astRoot != fASTRoot || fLocations.size() >= MAX_SIZE) {
+				fASTRoot= astRoot;
+				fLocations.clear();
+			}
+			fLocations.put(bindingKey, locations);
+		}
+
+		synchronized void clear() {
+			fASTRoot= null;
+			fLocations.clear();
+		}
+	}
+
+	/**
+	 * Finds and marks occurrence annotations. The annotations are added to the annotation model
+	 * in batches of {@link #OCCURRENCES_BATCH_SIZE}, the job stops as soon as the selection or
+	 * the document changes.
+	 * <p>
+	 * The jobs belong to the family of their editor.
+	 * </p>
 	 *
 	 * @since 3.0
 	 */
 	class OccurrencesFinderJob extends Job {
 
 		private final IDocument fDocument;
-		private final ISelection fSelection;
+		private final ITextSelection fSelection;
 		private final ISelectionValidator fPostSelectionValidator;
-		private boolean fCanceled= false;
-		private final OccurrenceLocation[] fLocations;
+		private volatile boolean fCanceled= false;
+		private final CompilationUnit fASTRoot;
+		private final boolean fHasChanged;
 
-		public OccurrencesFinderJob(IDocument document, OccurrenceLocation[] locations, ISelection selection) {
+		public OccurrencesFinderJob(IDocument document, CompilationUnit astRoot, ITextSelection selection, boolean hasChanged) {
 			super(JavaEditorMessages.JavaEditor_markOccurrences_job_name);
 			fDocument= document;
 			fSelection= selection;
-			fLocations= locations;
+			fASTRoot= astRoot;
+			fHasChanged= hasChanged;
 
 			if (getSelectionProvider() instanceof ISelectionValidator)
 				fPostSelectionValidator= (ISelectionValidator)getSelectionProvider();
@@ -3212,6 +3253,11 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 				|| LinkedModeModel.hasInstalledModel(fDocument);
 		}
 
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JavaEditor.this;
+		}
+
 		/*
 		 * @see Job#run(org.eclipse.core.runtime.IProgressMonitor)
 		 */
@@ -3220,6 +3266,19 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			if (isCanceled(progressMonitor))
 				return Status.CANCEL_STATUS;
 
+			OccurrenceLocation[] locations= JavaCore.callReadOnly(() -> findOccurrences(fASTRoot, fSelection));
+
+			if (isCanceled(progressMonitor))
+				return Status.CANCEL_STATUS;
+
+			if (locations == null) {
+				if (!fStickyOccurrenceAnnotations
+						|| fHasChanged) { // check consistency of current annotations
+					removeOccurrenceAnnotations();
+				}
+				return Status.OK_STATUS;
+			}
+
 			ITextViewer textViewer= getViewer();
 			if (textViewer == null)
 				return Status.CANCEL_STATUS;
@@ -3236,46 +3295,62 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			if (annotationModel == null)
 				return Status.CANCEL_STATUS;
 
-			// Add occurrence annotations
-			int length= fLocations.length;
-			Map<Annotation, Position> annotationMap= new HashMap<>(length);
-			for (OccurrenceLocation location : fLocations) {
+			// Add occurrence annotations, the first batch replaces the current ones
+			int length= locations.length;
+			List<Annotation> annotations= new ArrayList<>(length);
+			Annotation[] published= null;
+			for (int start= 0; start == 0 || start < length; start+= OCCURRENCES_BATCH_SIZE) {
+				int end= Math.min(length, start + OCCURRENCES_BATCH_SIZE);
+				Map<Annotation, Position> annotationMap= new HashMap<>(end - start);
+				for (int i= start; i < end; i++) {
+					OccurrenceLocation location= locations[i];
+					Position position= new Position(location.getOffset(), location.getLength());
+
+					String description= location.getDescription();
+					String annotationType= (location.getFlags() == IOccurrencesFinder.F_WRITE_OCCURRENCE) ? "org.eclipse.jdt.ui.occurrences.write" : "org.eclipse.jdt.ui.occurrences"; //$NON-NLS-1$ //$NON-NLS-2$
+
+					annotationMap.put(new Annotation(annotationType, false, description), position);
+				}
 
 				if (isCanceled(progressMonitor))
 					return Status.CANCEL_STATUS;
 
-				Position position= new Position(location.getOffset(), location.getLength());
-
-				String description= location.getDescription();
-				String annotationType= (location.getFlags() == IOccurrencesFinder.F_WRITE_OCCURRENCE) ? "org.eclipse.jdt.ui.occurrences.write" : "org.eclipse.jdt.ui.occurrences"; //$NON-NLS-1$ //$NON-NLS-2$
-
-				annotationMap.put(new Annotation(annotationType, false, description), position);
-			}
-
-			if (isCanceled(progressMonitor))
-				return Status.CANCEL_STATUS;
-
-			synchronized (getLockObject(annotationModel)) {
-				if (annotationModel instanceof IAnnotationModelExtension) {
-					((IAnnotationModelExtension)annotationModel).replaceAnnotations(fOccurrenceAnnotations, annotationMap);
-				} else {
-					removeOccurrenceAnnotations();
-					Iterator<Entry<Annotation, Position>> iter= annotationMap.entrySet().iterator();
-					while (iter.hasNext()) {
-						Entry<Annotation, Position> mapEntry= iter.next();
-						annotationModel.addAnnotation(mapEntry.getKey(), mapEntry.getValue());
+				synchronized (getLockObject(annotationModel)) {
+					// A job is canceled before the next one is scheduled, so a canceled job must not
+					// touch the annotations of its successor. Once another job or the removal of the
+					// annotations replaced this job's annotations, they are no longer its own.
+					if (fCanceled || progressMonitor.isCanceled() || start > 0 && fOccurrenceAnnotations != published)
+						return Status.CANCEL_STATUS;
+					if (annotationModel instanceof IAnnotationModelExtension) {
+						((IAnnotationModelExtension)annotationModel).replaceAnnotations(start == 0 ? fOccurrenceAnnotations : null, annotationMap);
+					} else {
+						if (start == 0)
+							removeOccurrenceAnnotations();
+						Iterator<Entry<Annotation, Position>> iter= annotationMap.entrySet().iterator();
+						while (iter.hasNext()) {
+							Entry<Annotation, Position> mapEntry= iter.next();
+							annotationModel.addAnnotation(mapEntry.getKey(), mapEntry.getValue());
+						}
 					}
+					annotations.addAll(annotationMap.keySet());
+					published= annotations.toArray(new Annotation[annotations.size()]);
+					fOccurrenceAnnotations= published;
 				}
-				fOccurrenceAnnotations= annotationMap.keySet().toArray(new Annotation[annotationMap.size()]);
 			}
 
 			return Status.OK_STATUS;
 		}
 	}
 
+	/**
+	 * Maximal number of occurrence annotations added to the annotation model at once.
+	 * @since 3.38
+	 */
+	private static final int OCCURRENCES_BATCH_SIZE= 500;
+
 	/**
 	 * Updates the occurrences annotations based
-	 * on the current selection.
+	 * on the current selection. The occurrences are found and marked by a job.
 	 *
 	 * @param selection the text selection
 	 * @param astRoot the compilation unit AST
@@ -3283,18 +3358,21 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 	 */
 	protected void updateOccurrenceAnnotations(ITextSelection selection, CompilationUnit astRoot) {
 
-		if (fOccurrencesFinderJob != null)
-			fOccurrencesFinderJob.cancel();
-
-		if (!fMarkOccurrenceAnnotations)
+		if (!fMarkOccurrenceAnnotations) {
+			cancelOccurrencesFinderJob();
 			return;
+		}
 
-		if (astRoot == null || selection == null)
+		if (astRoot == null || selection == null) {
+			cancelOccurrencesFinderJob();
 			return;
+		}
 
 		IDocument document= getSourceViewer().getDocument();
-		if (document == null)
+		if (document == null) {
+			cancelOccurrencesFinderJob();
 			return;
+		}
 
 		boolean hasChanged= false;
 		if (document instanceof IDocumentExtension4) {
@@ -3302,7 +3380,7 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			long currentModificationStamp= ((IDocumentExtension4)document).getModificationStamp();
 			IRegion markOccurrenceTargetRegion= fMarkOccurrenceTargetRegion;
 			hasChanged= currentModificationStamp != fMarkOccurrenceModificationStamp;
-			if (markOccurrenceTargetRegion != null && !hasChanged) {
+			if (markOccurrenceTargetRegion != null && !hasChanged && isOccurrencesFinderJobDone()) {
 				if (markOccurrenceTargetRegion.getOffset() <= offset && offset <= markOccurrenceTargetRegion.getOffset() + markOccurrenceTargetRegion.getLength())
 					return;
 			}
@@ -3310,6 +3388,39 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 			fMarkOccurrenceModificationStamp= currentModificationStamp;
 		}
 
+		cancelOccurrencesFinderJob();
+		OccurrencesFinderJob job= new OccurrencesFinderJob(document, astRoot, selection, hasChanged);
+		job.setPriority(Job.INTERACTIVE);
+		job.setSystem(true);
+		fOccurrencesFinderJob= job;
+		job.schedule();
+	}
+
+	private void cancelOccurrencesFinderJob() {
+		OccurrencesFinderJob job= fOccurrencesFinderJob;
+		if (job != null)
+			job.doCancel();
+	}
+
+	/**
+	 * @return <code>true</code> if the last occurrences finder job has marked the occurrences
+	 * @since 3.38
+	 */
+	private boolean isOccurrencesFinderJobDone() {
+		OccurrencesFinderJob job= fOccurrencesFinderJob;
+		return job == null || job.getResult() != null && job.getResult().isOK();
+	}
+
+	/**
+	 * Finds the occurrences to mark for the given selection. The occurrences of a binding are
+	 * cached for the AST.
+	 *
+	 * @param astRoot the compilation unit AST
+	 * @param selection the text selection
+	 * @return the occurrences, or <code>null</code> if nothing is to be marked
+	 * @since 3.38
+	 */
+	private OccurrenceLocation[] findOccurrences(CompilationUnit astRoot, ITextSelection selection) {
 		OccurrenceLocation[] locations= null;
 
 		ASTNode selectedNode= NodeFinder.perform(astRoot, selection.getOffset(), selection.getLength());
@@ -3344,26 +3455,21 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		if (locations == null && selectedNode instanceof Name) {
 			IBinding binding= ((Name)selectedNode).resolveBinding();
 			if (binding != null && markOccurrencesOfType(binding)) {
-				OccurrencesFinder finder= new OccurrencesFinder();
-				if (finder.initialize(astRoot, selectedNode) == null) {
-					locations= finder.getOccurrences();
+				String key= binding.getKey();
+				if (key != null)
+					locations= fOccurrencesCache.get(astRoot, key);
+				if (locations == null) {
+					OccurrencesFinder finder= new OccurrencesFinder();
+					if (finder.initialize(astRoot, selectedNode) == null) {
+						locations= finder.getOccurrences();
+						if (key != null && locations != null)
+							fOccurrencesCache.put(astRoot, key, locations);
+					}
 				}
 			}
 		}
 
-		if (locations == null) {
-			if (!fStickyOccurrenceAnnotations
-					|| hasChanged) { // check consistency of current annotations
-				removeOccurrenceAnnotations();
-			}
-			return;
-		}
-
-		fOccurrencesFinderJob= new OccurrencesFinderJob(document, locations, selection);
-		//fOccurrencesFinderJob.setPriority(Job.DECORATE);
-		//fOccurrencesFinderJob.setSystem(true);
-		//fOccurrencesFinderJob.schedule();
-		fOccurrencesFinderJob.run(new NullProgressMonitor());
+		return locations;
 	}
 
 	protected void installOccurrencesFinder(boolean forceUpdate) {
@@ -3394,9 +3500,10 @@ public abstract class JavaEditor extends AbstractDecoratedTextEditor implements
 		fMarkOccurrenceAnnotations= false;
 
 		if (fOccurrencesFinderJob != null) {
-			fOccurrencesFinderJob.cancel();
+			fOccurrencesFinderJob.doCancel();
 			fOccurrencesFinderJob= null;
 		}
+		fOccurrencesCache.clear();
 
 		if (fOccurrencesFinderJobCanceler != null) {
 			fOccurrencesFinderJobCanceler.uninstall();
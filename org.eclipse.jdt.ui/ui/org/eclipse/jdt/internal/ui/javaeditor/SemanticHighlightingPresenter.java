@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,13 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	/** The background presentation reconciler */
 	private JavaPresentationReconciler fPresentationReconciler;
 
+	/**
+	 * Updates with fewer added and removed positions than the number of positions divided by this
+	 * ratio patch the positions in place instead of merging the lists.
+	 * @since 3.38
+	 */
+	private static final int SMALL_UPDATE_RATIO= 16;
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -77,6 +84,27 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	}
 
 
+	/**
+	 * Adds the current positions with an offset in the given range to the given list, ordered by
+	 * offset.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list the list
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @since 3.38
+	 */
+	public void addPositions(List<Position> list, int offset, int length) {
+		synchronized (fPositionLock) {
+			int i= computeIndexAtOffset(fPositions, offset);
+			int n= computeIndexAtOffset(fPositions, offset + length);
+			if (i < n)
+				list.addAll(fPositions.subList(i, n));
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
@@ -183,57 +211,61 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 
 		try {
 			synchronized (fPositionLock) {
-				List<Position> oldPositions= fPositions;
-				int newSize= Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
-
-				/*
-				 * The following loop is a kind of merge sort: it merges two List<Position>, each
-				 * sorted by position.offset, into one new list. The first of the two is the
-				 * previous list of positions (oldPositions), from which any deleted positions get
-				 * removed on the fly. The second of two is the list of added positions. The result
-				 * is stored in newPositions.
-				 */
-				List<Position> newPositions= new ArrayList<>(newSize);
-				Position position= null;
-				Position addedPosition= null;
-				for (int i= 0, j= 0, n= oldPositions.size(), m= addedPositions.length; i < n || position != null || j < m || addedPosition != null;) {
-					// loop variant: i + j < old(i + j)
-
-					// a) find the next non-deleted Position from the old list
-					while (position == null && i < n) {
-						position= oldPositions.get(i++);
-						if (position.isDeleted() || contain(removedPositionsList, position)) {
-							document.removePosition(positionCategory, position);
-							position= null;
+				if ((addedPositions.length + removedPositions.length) * SMALL_UPDATE_RATIO < fPositions.size()) {
+					updatePositions(document, positionCategory, addedPositions, removedPositions);
+				} else {
+					List<Position> oldPositions= fPositions;
+					int newSize= Math.max(fPositions.size() + addedPositions.length - removedPositions.length, 10);
+
+					/*
+					 * The following loop is a kind of merge sort: it merges two List<Position>, each
+					 * sorted by position.offset, into one new list. The first of the two is the
+					 * previous list of positions (oldPositions), from which any deleted positions get
+					 * removed on the fly. The second of two is the list of added positions. The result
+					 * is stored in newPositions.
+					 */
+					List<Position> newPositions= new ArrayList<>(newSize);
+					Position position= null;
+					Position addedPosition= null;
+					for (int i= 0, j= 0, n= oldPositions.size(), m= addedPositions.length; i < n || position != null || j < m || addedPosition != null;) {
+						// loop variant: i + j < old(i + j)
+
+						// a) find the next non-deleted Position from the old list
+						while (position == null && i < n) {
+							position= oldPositions.get(i++);
+							if (position.isDeleted() || contain(removedPositionsList, position)) {
+								document.removePosition(positionCategory, position);
+								position= null;
+							}
 						}
-					}
 
-					// b) find the next Position from the added list
-					if (addedPosition == null && j < m) {
-						addedPosition= addedPositions[j++];
-						document.addPosition(positionCategory, addedPosition);
-					}
+						// b) find the next Position from the added list
+						if (addedPosition == null && j < m) {
+							addedPosition= addedPositions[j++];
+							document.addPosition(positionCategory, addedPosition);
+						}
 
-					// c) merge: add the next of position/addedPosition with the lower offset
-					if (position != null) {
-						if (addedPosition != null)
-							if (position.getOffset() <= addedPosition.getOffset()) {
+						// c) merge: add the next of position/addedPosition with the lower offset
+						if (position != null) {
+							if (addedPosition != null)
+								if (position.getOffset() <= addedPosition.getOffset()) {
+									newPositions.add(position);
+									position= null;
+								} else {
+									newPositions.add(addedPosition);
+									addedPosition= null;
+								}
+							else {
 								newPositions.add(position);
 								position= null;
-							} else {
-								newPositions.add(addedPosition);
-								addedPosition= null;
 							}
-						else {
-							newPositions.add(position);
-							position= null;
+						} else if (addedPosition != null) {
+							newPositions.add(addedPosition);
+							addedPosition= null;
 						}
-					} else if (addedPosition != null) {
-						newPositions.add(addedPosition);
-						addedPosition= null;
 					}
+					fPositions= newPositions;
 				}
-				fPositions= newPositions;
 			}
 		} catch (BadPositionCategoryException | BadLocationException e) {
 			// happens when document content was changed meanwhile
@@ -256,6 +288,36 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 //		}
 //	}
 
+	/**
+	 * Patches the positions of this presenter in place, which only touches the changed positions
+	 * rather than copying the whole list.
+	 * <p>
+	 * NOTE: Called from the UI thread while holding <code>fPositionLock</code>.
+	 * </p>
+	 *
+	 * @param document the document
+	 * @param positionCategory the position category
+	 * @param addedPositions the added positions
+	 * @param removedPositions the removed positions
+	 * @throws BadPositionCategoryException if the category is not registered
+	 * @throws BadLocationException if an added position is not in the document
+	 * @since 3.38
+	 */
+	private void updatePositions(IDocument document, String positionCategory, HighlightedPosition[] addedPositions, HighlightedPosition[] removedPositions)
+			throws BadPositionCategoryException, BadLocationException {
+		for (HighlightedPosition position : removedPositions) {
+			int index= indexOf(fPositions, position);
+			if (index != -1) {
+				fPositions.remove(index);
+				document.removePosition(positionCategory, position);
+			}
+		}
+		for (HighlightedPosition position : addedPositions) {
+			document.addPosition(positionCategory, position);
+			insertPosition(position);
+		}
+	}
+
 	/**
 	 * Insert the given position in <code>fPositions</code>, s.t. the offsets remain in linear order.
 	 *
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,14 @@ package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Shell;
@@ -30,7 +36,11 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
@@ -41,18 +51,26 @@ import org.eclipse.ui.IWorkbenchPartSite;
 
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Block;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.StructuralPropertyDescriptor;
 import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.YieldStatement;
@@ -84,6 +102,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		/** The semantic token */
 		private SemanticToken fToken= new SemanticToken();
 
+		/*
+		 * @see org.eclipse.jdt.core.dom.ASTVisitor#preVisit2(org.eclipse.jdt.core.dom.ASTNode)
+		 * @since 3.38
+		 */
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			// the members of a split type are visited separately
+			return fJobSplitTypes.isEmpty() || node == fJobSubtree || !fJobSplitTypes.contains(node.getParent()) || !isMember(node);
+		}
 
 		@Override
 		protected boolean visitLiteral(Expression node) {
@@ -275,11 +302,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		protected void retainPositions(int offset, int length) {
-			// TODO: use binary search
-			for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+			for (int i= computeIndexAtOffset(fRemovedPositions, offset), n= fRemovedPositions.size(); i < n; i++) {
 				HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-				if (position != null && position.isContained(offset, length)) {
-					fRemovedPositions.set(i, null);
+				if (position.getOffset() >= offset + length)
+					break;
+				if (!fRetainedPositions.get(i) && position.isContained(offset, length)) {
+					fRetainedPositions.set(i);
 					fNOfRemovedPositions--;
 				}
 			}
@@ -315,26 +343,385 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param highlighting The highlighting
 	 */
 	private void addPosition(int offset, int length, Highlighting highlighting) {
-		boolean isExisting= false;
-		// TODO: use binary search
-		for (int i= 0, n= fRemovedPositions.size(); i < n; i++) {
+		for (int i= computeIndexAtOffset(fRemovedPositions, offset), n= fRemovedPositions.size(); i < n; i++) {
 			HighlightedPosition position= (HighlightedPosition) fRemovedPositions.get(i);
-			if (position == null)
-				continue;
-			if (position.isEqual(offset, length, highlighting)) {
-				isExisting= true;
-				fRemovedPositions.set(i, null);
-				fNOfRemovedPositions--;
+			if (position.getOffset() != offset)
 				break;
+			if (!fRetainedPositions.get(i) && position.isEqual(offset, length, highlighting)) {
+				fRetainedPositions.set(i);
+				fNOfRemovedPositions--;
+				return;
 			}
 		}
 
-		if (!isExisting) {
-			Position position= fJobPresenter.createHighlightedPosition(offset, length, highlighting);
-			fAddedPositions.add(position);
+		Position position= fJobPresenter.createHighlightedPosition(offset, length, highlighting);
+		fAddedPositions.add(position);
+	}
+
+	/**
+	 * Returns the index of the first position with an offset equal or greater than the given offset.
+	 *
+	 * @param positions the positions, ordered by offset
+	 * @param offset the offset
+	 * @return the index
+	 */
+	private static int computeIndexAtOffset(List<Position> positions, int offset) {
+		int i= -1;
+		int j= positions.size();
+		while (j - i > 1) {
+			int k= (i + j) >> 1;
+			if (positions.get(k).getOffset() >= offset)
+				j= k;
+			else
+				i= k;
+		}
+		return j;
+	}
+
+	/**
+	 * Returns whether the node is a member of its type declaration.
+	 *
+	 * @param node the node
+	 * @return <code>true</code> iff the node is a body declaration or an enum constant of a type
+	 *         declaration
+	 * @since 3.38
+	 */
+	private static boolean isMember(ASTNode node) {
+		StructuralPropertyDescriptor location= node.getLocationInParent();
+		return location == EnumDeclaration.ENUM_CONSTANTS_PROPERTY
+				|| node.getParent() instanceof AbstractTypeDeclaration type && location == type.getBodyDeclarationsProperty();
+	}
+
+	/**
+	 * Returns the members of a type declaration in source order.
+	 *
+	 * @param node the node
+	 * @return the body declarations and enum constants if the node is a type declaration, an empty
+	 *         list otherwise
+	 * @since 3.38
+	 */
+	private static List<ASTNode> getMembers(ASTNode node) {
+		if (!(node instanceof AbstractTypeDeclaration type))
+			return Collections.emptyList();
+		List<ASTNode> members= new ArrayList<>();
+		if (type instanceof EnumDeclaration enumDeclaration)
+			members.addAll(enumDeclaration.enumConstants());
+		members.addAll(type.bodyDeclarations());
+		return members;
+	}
+
+	/**
+	 * The range of the document that changed since the semantic highlighting was last updated,
+	 * taken before a reconcile.
+	 *
+	 * @since 3.38
+	 */
+	private static final class DocumentChanges {
+		/** Start of the changed range, <code>-1</code> if nothing changed */
+		final int fStart;
+		/** End of the changed range, exclusive */
+		final int fEnd;
+		/** <code>true</code> iff all positions must be recomputed */
+		final boolean fIsFull;
+		/** The modification stamp of the document the range refers to */
+		final long fStamp;
+		/** The number of full updates requested so far */
+		final int fFullRequests;
+
+		DocumentChanges(int start, int end, boolean isFull, long stamp, int fullRequests) {
+			fStart= start;
+			fEnd= end;
+			fIsFull= isFull;
+			fStamp= stamp;
+			fFullRequests= fullRequests;
 		}
 	}
 
+	/**
+	 * Tracks the range of the document that changed since the semantic highlighting was last
+	 * updated. The range is reset when the positions computed for the document at a given
+	 * modification stamp have been applied, and the document still has that stamp.
+	 * <p>
+	 * It also tracks the stale ranges of the document, whose positions have not been computed
+	 * since the last full update because they were not visible.
+	 * </p>
+	 *
+	 * @since 3.38
+	 */
+	private static final class DocumentChangeTracker implements IDocumentListener, ITextInputListener {
+
+		private IDocument fDocument;
+		private int fStart= -1;
+		private int fEnd= -1;
+		private boolean fIsFullRequired= true;
+		private int fFullRequests;
+		private long fStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** The stale ranges as <code>{start, end}</code> pairs, ordered by offset */
+		private final List<int[]> fStaleRanges= new ArrayList<>();
+
+		void install(ISourceViewer sourceViewer) {
+			sourceViewer.addTextInputListener(this);
+			setDocument(sourceViewer.getDocument());
+		}
+
+		void uninstall(ISourceViewer sourceViewer) {
+			sourceViewer.removeTextInputListener(this);
+			setDocument(null);
+		}
+
+		private synchronized void setDocument(IDocument document) {
+			if (fDocument != null)
+				fDocument.removeDocumentListener(this);
+			fDocument= document;
+			if (fDocument != null)
+				fDocument.addDocumentListener(this);
+			fStart= -1;
+			fEnd= -1;
+			fStaleRanges.clear();
+			fStamp= getModificationStamp(document);
+			requestFullUpdate();
+		}
+
+		/**
+		 * Requests that the next update recomputes all positions.
+		 */
+		synchronized void requestFullUpdate() {
+			fIsFullRequired= true;
+			fFullRequests++;
+		}
+
+		/**
+		 * @param isFull <code>true</code> iff all positions will be recomputed
+		 * @return the changes since the last update
+		 */
+		synchronized DocumentChanges getChanges(boolean isFull) {
+			boolean isKnown= fStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			return new DocumentChanges(fStart, fEnd, isFull || fIsFullRequired || !isKnown, fStamp, fFullRequests);
+		}
+
+		/**
+		 * Resets the changed range after the positions for the given changes have been applied.
+		 * If the positions were only computed for a part of the document, the rest of the
+		 * document becomes stale.
+		 *
+		 * @param changes the applied changes
+		 * @param coveredStart the start of the part of the document the positions were computed for
+		 * @param coveredEnd the end of that part, exclusive, {@link Integer#MAX_VALUE} if the
+		 *            positions were not limited to a part of the document
+		 */
+		synchronized void updated(DocumentChanges changes, int coveredStart, int coveredEnd) {
+			if (changes.fStamp == fStamp && changes.fStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+				fStart= -1;
+				fEnd= -1;
+				if (changes.fIsFull && changes.fFullRequests == fFullRequests)
+					fIsFullRequired= false;
+				if (coveredEnd != Integer.MAX_VALUE && fDocument != null) {
+					fStaleRanges.clear();
+					if (coveredStart > 0)
+						fStaleRanges.add(new int[] { 0, coveredStart });
+					if (coveredEnd < fDocument.getLength())
+						fStaleRanges.add(new int[] { coveredEnd, fDocument.getLength() });
+				} else if (changes.fIsFull) {
+					fStaleRanges.clear();
+				}
+			}
+		}
+
+		/**
+		 * Removes the given range from the stale ranges after the positions computed for it have
+		 * been applied.
+		 *
+		 * @param changes the changes taken before the positions were computed
+		 * @param start the start of the range
+		 * @param end the end of the range, exclusive
+		 */
+		synchronized void filled(DocumentChanges changes, int start, int end) {
+			if (changes.fStamp != fStamp || changes.fStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+				return;
+			List<int[]> ranges= new ArrayList<>(fStaleRanges.size() + 1);
+			for (int[] range : fStaleRanges) {
+				if (range[0] < start)
+					ranges.add(new int[] { range[0], Math.min(range[1], start) });
+				if (range[1] > end)
+					ranges.add(new int[] { Math.max(range[0], end), range[1] });
+			}
+			fStaleRanges.clear();
+			fStaleRanges.addAll(ranges);
+		}
+
+		synchronized boolean hasStaleRanges() {
+			return !fStaleRanges.isEmpty();
+		}
+
+		/**
+		 * Returns the part of the stale ranges to compute next: the stale part of the visible
+		 * range, or else the part of the stale range closest to the visible range.
+		 *
+		 * @param visibleStart the start of the visible range
+		 * @param visibleEnd the end of the visible range, exclusive
+		 * @param visibleOnly <code>true</code> iff only the stale part of the visible range is
+		 *            returned
+		 * @param maxLength the maximal length of a range outside of the visible range
+		 * @return the range as <code>{start, end}</code> pair, or <code>null</code> if there is
+		 *         nothing to compute
+		 */
+		synchronized int[] getNextStaleRange(int visibleStart, int visibleEnd, boolean visibleOnly, int maxLength) {
+			int[] closest= null;
+			int closestDistance= Integer.MAX_VALUE;
+			for (int[] range : fStaleRanges) {
+				int distance= range[1] <= visibleStart ? visibleStart - range[1] : range[0] >= visibleEnd ? range[0] - visibleEnd : 0;
+				if (distance < closestDistance && (distance == 0 || !visibleOnly)) {
+					closest= range;
+					closestDistance= distance;
+				}
+			}
+			if (closest == null)
+				return null;
+			if (closestDistance == 0)
+				return new int[] { Math.max(closest[0], visibleStart), Math.min(closest[1], visibleEnd) };
+			if (closest[1] <= visibleStart)
+				return new int[] { Math.max(closest[0], closest[1] - maxLength), closest[1] };
+			return new int[] { closest[0], Math.min(closest[1], closest[0] + maxLength) };
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			// nothing to do
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int oldEnd= offset + event.getLength();
+			int newEnd= offset + (event.getText() != null ? event.getText().length() : 0);
+			if (fStart == -1) {
+				fStart= offset;
+				fEnd= newEnd;
+			} else {
+				int end= fEnd <= offset ? fEnd : fEnd >= oldEnd ? fEnd + newEnd - oldEnd : newEnd;
+				fStart= Math.min(fStart, offset);
+				fEnd= Math.max(end, newEnd);
+			}
+			for (Iterator<int[]> iter= fStaleRanges.iterator(); iter.hasNext();) {
+				int[] range= iter.next();
+				range[0]= range[0] <= offset ? range[0] : range[0] >= oldEnd ? range[0] + newEnd - oldEnd : offset;
+				range[1]= range[1] <= offset ? range[1] : range[1] >= oldEnd ? range[1] + newEnd - oldEnd : newEnd;
+				if (range[1] <= range[0])
+					iter.remove();
+			}
+			fStamp= event.getModificationStamp();
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+			setDocument(null);
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			setDocument(newInput);
+		}
+	}
+
+	/**
+	 * Applies the positions computed by a reconcile in slices, re-posting itself after each slice
+	 * so that the UI thread stays responsive. The update stops if the document changed or a newer
+	 * reconcile started.
+	 *
+	 * @since 3.38
+	 */
+	private final class PresentationUpdater implements Runnable {
+
+		private final Display fDisplay;
+		private final IDocument fDocument;
+		private final List<Runnable> fRunnables;
+		private final int fGeneration;
+		private final Runnable fApplied;
+		private final long fStamp;
+		private final String fContents;
+		private int fNext;
+
+		PresentationUpdater(Display display, IDocument document, List<Runnable> runnables, int generation, DocumentChanges changes, Runnable applied) {
+			fDisplay= display;
+			fDocument= document;
+			fRunnables= runnables;
+			fGeneration= generation;
+			fApplied= applied;
+			fStamp= changes != null ? changes.fStamp : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			fContents= fStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP ? document.get() : null;
+		}
+
+		private boolean isDocumentUnchanged() {
+			if (fStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+				return fStamp == getModificationStamp(fDocument);
+			return Objects.equals(fContents, fDocument.get());
+		}
+
+		@Override
+		public void run() {
+			synchronized (fUpdateLock) {
+				if (fGeneration != fUpdateGeneration)
+					return;
+				// check Editor not reused for other document or document changed meanwhile
+				if (fSourceViewer == null || fDocument != fSourceViewer.getDocument() || !isDocumentUnchanged()) {
+					fIsUpdatePending= false;
+					return;
+				}
+				long end= System.currentTimeMillis() + UPDATE_SLICE_MILLIS;
+				do {
+					Runnable runnable= fRunnables.get(fNext++);
+					if (fDocument instanceof ISynchronizable s && s.getLockObject() instanceof Object lockObject) {
+						synchronized (lockObject) {
+							runnable.run();
+						}
+					} else {
+						runnable.run();
+					}
+				} while (fNext < fRunnables.size() && System.currentTimeMillis() < end);
+				if (fNext == fRunnables.size())
+					fIsUpdatePending= false;
+			}
+			if (fNext < fRunnables.size()) {
+				if (!fDisplay.isDisposed())
+					fDisplay.asyncExec(this);
+			} else {
+				fApplied.run();
+			}
+		}
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Maximal number of added and removed positions applied by one UI runnable.
+	 * @since 3.38
+	 */
+	private static final int MAX_POSITIONS_PER_UPDATE= 500;
+
+	/**
+	 * Time after which the UI thread is released while applying positions.
+	 * @since 3.38
+	 */
+	private static final long UPDATE_SLICE_MILLIS= 20;
+
+	/**
+	 * Maximal length of a stale range outside of the visible range computed by one run of the fill
+	 * job.
+	 * @since 3.38
+	 */
+	private static final int FILL_CHUNK_LENGTH= 64 * 1024;
+
+	/**
+	 * Delay of the fill job after the semantic highlighting was updated or the editor was
+	 * scrolled, in milliseconds.
+	 * @since 3.38
+	 */
+	private static final long FILL_DELAY= 200;
+
 	private static final String JAVA_EDITOR_SEMANTIC_TOKENS_EXTENSION_POINT= "org.eclipse.jdt.ui.semanticTokens"; //$NON-NLS-1$
 	private static final String ATTR_CLASS = "class"; //$NON-NLS-1$
 
@@ -358,11 +745,65 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 	/** Background job's added highlighted positions */
 	private List<Position> fAddedPositions= new ArrayList<>();
-	/** Background job's removed highlighted positions */
+	/** Background job's removed highlighted positions, ordered by offset */
 	private List<Position> fRemovedPositions= new ArrayList<>();
+	/**
+	 * Indices of the positions in {@link #fRemovedPositions} that are retained
+	 * @since 3.38
+	 */
+	private BitSet fRetainedPositions= new BitSet();
 	/** Number of removed positions */
 	private int fNOfRemovedPositions;
 
+	/**
+	 * Tracks the changes of the document, <code>null</code> if the positions are always
+	 * recomputed completely
+	 * @since 3.38
+	 */
+	private DocumentChangeTracker fChangeTracker;
+	/**
+	 * The changes taken by {@link #aboutToBeReconciled()} for the next reconcile
+	 * @since 3.38
+	 */
+	private volatile DocumentChanges fReconcileChanges;
+	/**
+	 * Lock for applying positions and for starting a reconcile
+	 * @since 3.38
+	 */
+	private final Object fUpdateLock= new Object();
+	/**
+	 * Number of the latest reconcile, a {@link PresentationUpdater} of an older reconcile stops
+	 * @since 3.38
+	 */
+	private int fUpdateGeneration;
+	/**
+	 * <code>true</code> while the positions of the latest reconcile are being applied
+	 * @since 3.38
+	 */
+	private boolean fIsUpdatePending;
+
+	/**
+	 * Tracks the visible range of the source viewer, <code>null</code> if the positions are always
+	 * computed for the whole document
+	 * @since 3.38
+	 */
+	private ViewportTracker fViewportTracker;
+	/**
+	 * The AST the stale ranges are computed with, <code>null</code> if there are none
+	 * @since 3.38
+	 */
+	private CompilationUnit fLastAst;
+	/**
+	 * The modification stamp of the document {@link #fLastAst} was created from
+	 * @since 3.38
+	 */
+	private long fLastAstStamp;
+	/**
+	 * Job that computes the stale ranges, closest to the visible range first
+	 * @since 3.38
+	 */
+	private Job fFillJob;
+
 	/** Background job */
 	private Job fJob;
 	/** Background job lock */
@@ -378,6 +819,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	private boolean fIsReconciling= false;
+	/**
+	 * <code>true</code> if the thread executing <code>reconcile</code> computes a stale range.
+	 * @since 3.38
+	 */
+	private boolean fIsFilling= false;
 
 	/** The semantic highlighting presenter - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)} */
 	private SemanticHighlightingPresenter fJobPresenter;
@@ -386,6 +832,16 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	/** Highlightings - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)} */
 	private Highlighting[] fJobHighlightings;
 	private Highlighting[] fJobSyntaxHighlightings;
+	/**
+	 * Type declarations that are reconciled without their members - cache for background thread
+	 * @since 3.38
+	 */
+	private final Set<ASTNode> fJobSplitTypes= new HashSet<>();
+	/**
+	 * The subtree being visited - cache for background thread
+	 * @since 3.38
+	 */
+	private ASTNode fJobSubtree;
 
 	/**
 	 * XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
@@ -398,7 +854,13 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		DocumentChangeTracker tracker= fChangeTracker;
+		fReconcileChanges= tracker != null ? tracker.getChanges(false) : null;
+		// yield to the reconcile, it reschedules the job when its positions are applied
+		synchronized (fJobLock) {
+			if (fFillJob != null)
+				fFillJob.cancel();
+		}
 	}
 
 	private static synchronized ISemanticTokensProvider[] getContributedSemanticTokensProviders() {
@@ -430,12 +892,38 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
-		// ensure at most one thread can be reconciling at any time
+		DocumentChanges changes= fReconcileChanges;
+		fReconcileChanges= null;
+		reconcile(ast, changes, forced, null, progressMonitor);
+	}
+
+	/**
+	 * Reconciles the positions with the given AST.
+	 *
+	 * @param ast the AST
+	 * @param changes the changes of the document the AST was created from, or <code>null</code>
+	 *            if they are not known
+	 * @param forced <code>true</code> iff the reconcile was not triggered by a document change
+	 * @param staleRange the stale range to compute as <code>{start, end}</code> pair, or
+	 *            <code>null</code> if the positions affected by the changes are reconciled
+	 * @param progressMonitor the progress monitor
+	 * @since 3.38
+	 */
+	private void reconcile(CompilationUnit ast, DocumentChanges changes, boolean forced, int[] staleRange, IProgressMonitor progressMonitor) {
+		// ensure at most one thread can be reconciling at any time, a stale range is computed quickly
 		synchronized (fReconcileLock) {
+			while (fIsReconciling && fIsFilling && staleRange == null) {
+				try {
+					fReconcileLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
 			if (fIsReconciling)
 				return;
-			else
-				fIsReconciling= true;
+			fIsReconciling= true;
+			fIsFilling= staleRange != null;
 		}
 		fJobPresenter= fPresenter;
 		fJobSemanticHighlightings= fSemanticHighlightings;
@@ -451,11 +939,45 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
-			if (subtrees.length == 0)
+			ASTNode[] subtrees;
+			int coveredStart= 0;
+			int coveredEnd= Integer.MAX_VALUE;
+			if (staleRange != null) {
+				coveredStart= staleRange[0];
+				coveredEnd= staleRange[1];
+				subtrees= getSubtrees(ast, coveredStart, coveredEnd);
+			} else {
+				subtrees= getAffectedSubtrees(ast, changes, forced);
+				IRegion priorityRegion= subtrees[0] == ast ? getPriorityRegion(changes) : null;
+				if (priorityRegion != null) {
+					coveredStart= priorityRegion.getOffset();
+					coveredEnd= priorityRegion.getOffset() + priorityRegion.getLength();
+					subtrees= getSubtrees(ast, coveredStart, coveredEnd);
+				}
+			}
+			if (coveredEnd != Integer.MAX_VALUE) {
+				for (ASTNode subtree : subtrees) {
+					coveredStart= Math.min(coveredStart, subtree.getStartPosition());
+					coveredEnd= Math.max(coveredEnd, getEndPosition(subtree));
+				}
+			}
+			Runnable applied= createAppliedRunnable(changes, staleRange != null, coveredStart, coveredEnd);
+
+			synchronized (fUpdateLock) {
+				// stops the updates of previous reconciles, the positions must not change while they are collected
+				fUpdateGeneration++;
+				fIsUpdatePending= false;
+				if (staleRange == null && changes != null) {
+					DocumentChangeTracker tracker= fChangeTracker;
+					fLastAst= coveredEnd != Integer.MAX_VALUE || tracker != null && tracker.hasStaleRanges() ? ast : null;
+					fLastAstStamp= changes.fStamp;
+				}
+			}
+			if (subtrees.length == 0) {
+				applied.run();
 				return;
-
-			startReconcilingPositions();
+			}
+			startReconcilingPositions(subtrees);
 
 			if (!fJobPresenter.isCanceled()) {
 				fJobDeprecatedMemberHighlighting= null;
@@ -467,16 +989,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					}
 				}
 
-				reconcilePositions(subtrees, getContributedSemanticTokens(ast));
+				reconcilePositions(subtrees, subtrees[0] == ast ? getContributedSemanticTokens(ast) : Collections.emptyList());
 
 			}
 
-			TextPresentation textPresentation= null;
 			if (!fJobPresenter.isCanceled())
-				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
-
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+				updatePresentation(fAddedPositions, fRemovedPositions, changes, applied);
 
 			stopReconcilingPositions();
 		} finally {
@@ -485,27 +1003,177 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fJobHighlightings= null;
 			fJobDeprecatedMemberHighlighting= null;
 			fJobSyntaxHighlightings = null;
+			fJobSplitTypes.clear();
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
+				fIsFilling= false;
+				fReconcileLock.notifyAll();
 			}
 		}
 	}
 
 	/**
-	 * @param node Root node
-	 * @return Array of subtrees that may be affected by past document changes
+	 * Creates the runnable that updates the change tracker once the positions of a reconcile have
+	 * been applied, and schedules the fill job if stale ranges remain.
+	 *
+	 * @param changes the changes of the document the positions were computed for, or
+	 *            <code>null</code>
+	 * @param isFill <code>true</code> iff the positions were computed for a stale range
+	 * @param coveredStart the start of the part of the document the positions were computed for
+	 * @param coveredEnd the end of that part, exclusive, {@link Integer#MAX_VALUE} if the
+	 *            positions were not limited to a part of the document
+	 * @return the runnable
+	 * @since 3.38
+	 */
+	private Runnable createAppliedRunnable(DocumentChanges changes, boolean isFill, int coveredStart, int coveredEnd) {
+		return () -> {
+			DocumentChangeTracker tracker= fChangeTracker;
+			if (tracker == null || changes == null)
+				return;
+			if (isFill)
+				tracker.filled(changes, coveredStart, coveredEnd);
+			else
+				tracker.updated(changes, coveredStart, coveredEnd);
+			if (tracker.hasStaleRanges())
+				scheduleFillJob();
+		};
+	}
+
+	/**
+	 * Returns the range of a large document whose positions are computed first, if the
+	 * positions of the whole document are to be recomputed.
+	 *
+	 * @param changes the changes of the document, or <code>null</code>
+	 * @return the region or <code>null</code> if the positions of the whole document are computed
+	 * @since 3.38
+	 */
+	private IRegion getPriorityRegion(DocumentChanges changes) {
+		ViewportTracker viewportTracker= fViewportTracker;
+		ISourceViewer sourceViewer= fSourceViewer;
+		if (changes == null || viewportTracker == null || sourceViewer == null || getContributedSemanticTokensProviders().length > 0)
+			return null;
+		IDocument document= sourceViewer.getDocument();
+		if (document == null || !ViewportTracker.isViewportFirst(document))
+			return null;
+		return viewportTracker.getPriorityRegion(document);
+	}
+
+	/**
+	 * Returns the subtrees of the AST that overlap the given range, in source order. A type
+	 * declaration that is only partially contained in the range is split and added to
+	 * {@link #fJobSplitTypes}: it is returned without its members if its header overlaps the
+	 * range, followed by its members that overlap the range.
+	 *
+	 * @param ast the AST
+	 * @param start the start of the range
+	 * @param end the end of the range, exclusive
+	 * @return the subtrees
+	 * @since 3.38
+	 */
+	private ASTNode[] getSubtrees(CompilationUnit ast, int start, int end) {
+		List<ASTNode> nodes= new ArrayList<>();
+		if (ast.getPackage() != null)
+			nodes.add(ast.getPackage());
+		nodes.addAll(ast.imports());
+		nodes.addAll(ast.types());
+		List<ASTNode> subtrees= new ArrayList<>();
+		collectSubtrees(nodes, start, end, subtrees);
+		return subtrees.toArray(new ASTNode[subtrees.size()]);
+	}
+
+	private void collectSubtrees(List<ASTNode> nodes, int start, int end, List<ASTNode> subtrees) {
+		for (ASTNode node : nodes) {
+			int nodeStart= node.getStartPosition();
+			int nodeEnd= nodeStart + node.getLength();
+			if (nodeEnd <= start || nodeStart >= end)
+				continue;
+			List<ASTNode> members= nodeStart < start || nodeEnd > end ? getMembers(node) : Collections.emptyList();
+			if (members.isEmpty()) {
+				subtrees.add(node);
+			} else {
+				fJobSplitTypes.add(node);
+				// the header of the type is only reconciled if it overlaps the range
+				if (members.get(0).getStartPosition() > start)
+					subtrees.add(node);
+				collectSubtrees(members, start, end, subtrees);
+			}
+		}
+	}
+
+	/**
+	 * Returns the end of the range reconciled for a subtree.
+	 *
+	 * @param subtree the subtree
+	 * @return the end of the subtree, or the start of its first member if the subtree is a split type
+	 * @since 3.38
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private int getEndPosition(ASTNode subtree) {
+		if (fJobSplitTypes.contains(subtree))
+			return getMembers(subtree).get(0).getStartPosition();
+		return subtree.getStartPosition() + subtree.getLength();
+	}
+
+	/**
+	 * Returns the subtrees of the AST whose positions may have changed.
+	 * <p>
+	 * The changes of a method or initializer body cannot change the bindings outside of the body,
+	 * and the parser recovers from syntax errors within a body. If the document only changed in
+	 * the body of a method or initializer, and all syntax errors are in that body, the positions
+	 * of the other members are kept. Otherwise all positions are recomputed.
+	 * </p>
+	 *
+	 * @param ast the AST
+	 * @param changes the changes of the document the AST was created from, or <code>null</code>
+	 * @param forced <code>true</code> iff the reconcile was not triggered by a document change
+	 * @return array of subtrees that may be affected by past document changes
+	 */
+	private ASTNode[] getAffectedSubtrees(CompilationUnit ast, DocumentChanges changes, boolean forced) {
+		if (changes == null || changes.fIsFull || forced || changes.fStart == -1 || getContributedSemanticTokensProviders().length > 0)
+			return new ASTNode[] { ast };
+
+		int start= changes.fStart;
+		int end= changes.fEnd;
+		ASTNode node= NodeFinder.perform(ast, start, end - start);
+		for (; node != null; node= node.getParent()) {
+			Block body= null;
+			if (node instanceof MethodDeclaration)
+				body= ((MethodDeclaration) node).getBody();
+			else if (node instanceof Initializer)
+				body= ((Initializer) node).getBody();
+			// the change must be between the braces of the body
+			if (body != null && body.getStartPosition() < start && end < body.getStartPosition() + body.getLength()) {
+				if (hasSyntaxErrorsOutside(ast, body))
+					break;
+				return new ASTNode[] { node };
+			}
+		}
+		return new ASTNode[] { ast };
+	}
+
+	private static boolean hasSyntaxErrorsOutside(CompilationUnit ast, ASTNode node) {
+		int start= node.getStartPosition();
+		int end= start + node.getLength();
+		for (IProblem problem : ast.getProblems()) {
+			if (problem.isError() && (problem.getID() & IProblem.Syntax) != 0
+					&& (problem.getSourceStart() < start || problem.getSourceEnd() >= end))
+				return true;
+		}
+		return false;
 	}
 
 	/**
 	 * Start reconciling positions.
+	 *
+	 * @param subtrees the AST subtrees whose positions are reconciled
 	 */
-	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+	private void startReconcilingPositions(ASTNode[] subtrees) {
+		if (subtrees.length == 1 && subtrees[0] instanceof CompilationUnit)
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		else
+			for (ASTNode subtree : subtrees)
+				fJobPresenter.addPositions(fRemovedPositions, subtree.getStartPosition(), getEndPosition(subtree) - subtree.getStartPosition());
 		fNOfRemovedPositions= fRemovedPositions.size();
+		fRetainedPositions.clear();
 	}
 
 	/**
@@ -515,10 +1183,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param contributedTokens contributed semantic tokens data
 	 */
 	private void reconcilePositions(ASTNode[] subtrees, List<ISemanticTokensProvider.SemanticToken> contributedTokens) {
-		// FIXME: remove positions not covered by subtrees
-
-		for (ASTNode subtree : subtrees)
+		for (ASTNode subtree : subtrees) {
+			fJobSubtree= subtree;
 			subtree.accept(fCollector);
+		}
+		fJobSubtree= null;
 
 		for (ISemanticTokensProvider.SemanticToken t : contributedTokens) {
 			Highlighting h = fromSemanticTokenType(t.tokenType());
@@ -530,9 +1199,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 		List<Position> oldPositions= fRemovedPositions;
 		List<Position> newPositions= new ArrayList<>(fNOfRemovedPositions);
-		for (Position current : oldPositions) {
-			if (current != null)
-				newPositions.add(current);
+		for (int i= 0, n= oldPositions.size(); i < n; i++) {
+			if (!fRetainedPositions.get(i))
+				newPositions.add(oldPositions.get(i));
 		}
 		fRemovedPositions= newPositions;
 	}
@@ -627,16 +1296,20 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	}
 
 	/**
-	 * Update the presentation.
+	 * Update the presentation. The positions are applied in slices of at most
+	 * {@link #MAX_POSITIONS_PER_UPDATE} positions, each with its own text presentation.
 	 *
-	 * @param textPresentation the text presentation
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @param changes the changes of the document the positions were computed for, or
+	 *            <code>null</code>
+	 * @param applied called once the positions have been applied
 	 */
-	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
-		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
-		if (runnable == null)
+	private void updatePresentation(List<Position> addedPositions, List<Position> removedPositions, DocumentChanges changes, Runnable applied) {
+		if (addedPositions.isEmpty() && removedPositions.isEmpty()) {
+			applied.run();
 			return;
+		}
 
 		JavaEditor editor= fEditor;
 		if (editor == null)
@@ -654,20 +1327,39 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		if (display == null || display.isDisposed())
 			return;
 
-		IDocument document= fSourceViewer.getDocument();
-		String contents= document.get();
-		display.asyncExec(() -> {
-			// check Editor not reused for other document or document changed meanwhile
-			if (fSourceViewer != null && document == fSourceViewer.getDocument() &&  Objects.equals(contents, document.get())) {
-				if (document instanceof ISynchronizable s && s.getLockObject() instanceof Object lockObject) {
-					synchronized (lockObject) {
-						runnable.run();
-					}
-				} else {
-					runnable.run();
-				}
+		List<Position> added= new ArrayList<>(addedPositions);
+		List<Position> removed= new ArrayList<>(removedPositions);
+		Comparator<Position> byOffset= Comparator.comparingInt(Position::getOffset);
+		added.sort(byOffset);
+		removed.sort(byOffset);
+
+		List<Runnable> runnables= new ArrayList<>();
+		for (int i= 0, j= 0, n= added.size(), m= removed.size(); i < n || j < m;) {
+			int sliceStart= i, sliceRemovedStart= j;
+			while ((i < n || j < m) && i - sliceStart + j - sliceRemovedStart < MAX_POSITIONS_PER_UPDATE) {
+				if (j == m || (i < n && added.get(i).getOffset() <= removed.get(j).getOffset()))
+					i++;
+				else
+					j++;
 			}
-		});
+			List<Position> addedSlice= added.subList(sliceStart, i);
+			List<Position> removedSlice= removed.subList(sliceRemovedStart, j);
+			TextPresentation textPresentation= fJobPresenter.createPresentation(addedSlice, removedSlice);
+			if (fJobPresenter.isCanceled())
+				return;
+			Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedSlice, removedSlice);
+			if (runnable == null)
+				return;
+			runnables.add(runnable);
+		}
+
+		IDocument document= fSourceViewer.getDocument();
+		int generation;
+		synchronized (fUpdateLock) {
+			generation= fUpdateGeneration;
+			fIsUpdatePending= true;
+		}
+		display.asyncExec(new PresentationUpdater(display, document, runnables, generation, changes, applied));
 	}
 
 	/**
@@ -675,6 +1367,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	private void stopReconcilingPositions() {
 		fRemovedPositions.clear();
+		fRetainedPositions.clear();
 		fNOfRemovedPositions= 0;
 		fAddedPositions.clear();
 	}
@@ -699,6 +1392,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		if (fEditor instanceof CompilationUnitEditor) {
 			if (registerAsEditorReconcilingListener()) {
+				fChangeTracker= new DocumentChangeTracker();
+				fChangeTracker.install(fSourceViewer);
+				fViewportTracker= new ViewportTracker(fSourceViewer, this::viewportChanged);
 				((CompilationUnitEditor)fEditor).addReconcileListener(this);
 			}
 		} else if (fEditor != null) {
@@ -740,6 +1436,26 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fEditor= null;
 		}
 
+		if (fChangeTracker != null) {
+			fChangeTracker.uninstall(fSourceViewer);
+			fChangeTracker= null;
+		}
+
+		if (fViewportTracker != null) {
+			fViewportTracker.dispose();
+			fViewportTracker= null;
+		}
+
+		synchronized (fJobLock) {
+			if (fFillJob != null) {
+				fFillJob.cancel();
+				fFillJob= null;
+			}
+		}
+		synchronized (fUpdateLock) {
+			fLastAst= null;
+		}
+
 		fSourceViewer= null;
 		fSemanticHighlightings= null;
 		fHighlightings= null;
@@ -782,9 +1498,11 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 						}
 						if (monitor.isCanceled())
 							return Status.CANCEL_STATUS;
+						DocumentChangeTracker tracker= fChangeTracker;
+						DocumentChanges changes= tracker != null ? tracker.getChanges(true) : null;
 						JavaCore.runReadOnly(() -> {
 							CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-							reconciled(ast, false, monitor);
+							reconcile(ast, changes, false, null, monitor);
 						});
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
@@ -801,6 +1519,77 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		}
 	}
 
+	/**
+	 * Schedules the low priority job that computes the stale ranges, the visible ones first. For
+	 * documents above {@link ViewportTracker#VIEWPORT_ONLY_LINES} only the visible stale ranges
+	 * are computed.
+	 *
+	 * @since 3.38
+	 */
+	private void scheduleFillJob() {
+		synchronized (fJobLock) {
+			if (fFillJob == null) {
+				fFillJob= new Job(JavaEditorMessages.SemanticHighlighting_job) {
+					@Override
+					protected IStatus run(IProgressMonitor monitor) {
+						fill(monitor);
+						return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+					}
+				};
+				fFillJob.setSystem(true);
+				fFillJob.setPriority(Job.DECORATE);
+			}
+			fFillJob.schedule(FILL_DELAY);
+		}
+	}
+
+	/**
+	 * Computes the next stale range with the AST of the last reconcile. Nothing is computed while
+	 * the document has changes that are not reconciled yet or the positions of the last
+	 * reconcile are being applied, the fill job is scheduled again once they are applied.
+	 *
+	 * @param monitor the progress monitor
+	 * @since 3.38
+	 */
+	private void fill(IProgressMonitor monitor) {
+		DocumentChangeTracker tracker= fChangeTracker;
+		ViewportTracker viewportTracker= fViewportTracker;
+		ISourceViewer sourceViewer= fSourceViewer;
+		IDocument document= sourceViewer != null ? sourceViewer.getDocument() : null;
+		if (tracker == null || viewportTracker == null || document == null || monitor.isCanceled())
+			return;
+
+		DocumentChanges changes= tracker.getChanges(false);
+		CompilationUnit ast;
+		synchronized (fUpdateLock) {
+			ast= fLastAst;
+			if (ast == null || fIsUpdatePending || changes.fIsFull || changes.fStart != -1 || changes.fStamp != fLastAstStamp)
+				return;
+		}
+		IRegion visible= viewportTracker.getPriorityRegion(document);
+		int visibleStart= visible.getOffset();
+		int[] staleRange= tracker.getNextStaleRange(visibleStart, visibleStart + visible.getLength(), ViewportTracker.isViewportOnly(document), FILL_CHUNK_LENGTH);
+		if (staleRange != null) {
+			JavaCore.runReadOnly(() -> reconcile(ast, changes, false, staleRange, monitor));
+		} else if (!tracker.hasStaleRanges()) {
+			synchronized (fUpdateLock) {
+				if (fLastAst == ast)
+					fLastAst= null;
+			}
+		}
+	}
+
+	/**
+	 * Called in the UI thread when the visible range of the source viewer changed.
+	 *
+	 * @since 3.38
+	 */
+	private void viewportChanged() {
+		DocumentChangeTracker tracker= fChangeTracker;
+		if (tracker != null && tracker.hasStaleRanges())
+			scheduleFillJob();
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.ITextInputListener#inputDocumentAboutToBeChanged(org.eclipse.jface.text.IDocument, org.eclipse.jface.text.IDocument)
 	 */
@@ -829,6 +1618,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		DocumentChangeTracker tracker= fChangeTracker;
+		if (tracker != null)
+			tracker.requestFullUpdate();
 		scheduleJob();
 	}
 }
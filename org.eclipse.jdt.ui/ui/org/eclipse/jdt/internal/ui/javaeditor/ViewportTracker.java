@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.ControlListener;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Region;
+
+/**
+ * Tracks the lines shown by a text viewer, so that the semantic highlighting and the folding
+ * structure of large documents, and the reference counts of code minings, can be computed for the
+ * visible part first.
+ * <p>
+ * Documents with more than {@link #VIEWPORT_FIRST_LINES} lines are computed for the
+ * {@link #getPriorityRegion(IDocument) priority region} first and for the rest of the document in
+ * the background. Documents with more than {@link #VIEWPORT_ONLY_LINES} lines are only computed
+ * for the parts that have been scrolled into view.
+ * </p>
+ * <p>
+ * The visible lines are read in the UI thread and can be queried from any thread.
+ * </p>
+ *
+ * @since 3.38
+ */
+public final class ViewportTracker implements IViewportListener, ControlListener {
+
+	/**
+	 * Number of lines above which the visible part of a document is computed first.
+	 */
+	public static final int VIEWPORT_FIRST_LINES= Integer.getInteger("org.eclipse.jdt.ui.editor.viewportFirstLines", 5000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Number of lines above which only the visible parts of a document are computed.
+	 */
+	public static final int VIEWPORT_ONLY_LINES= Integer.getInteger("org.eclipse.jdt.ui.editor.viewportOnlyLines", 50000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Minimal number of lines above and below the visible lines that belong to the priority region.
+	 */
+	private static final int MIN_MARGIN= 50;
+
+	private static volatile int fgViewportFirstLines= VIEWPORT_FIRST_LINES;
+
+	private static volatile int fgViewportOnlyLines= VIEWPORT_ONLY_LINES;
+
+	private final ITextViewer fViewer;
+	private final Runnable fListener;
+	private volatile int fTopLine= -1;
+	private volatile int fBottomLine= -1;
+
+	/**
+	 * Creates a tracker and installs it on the viewer.
+	 *
+	 * @param viewer the viewer
+	 * @param listener called in the UI thread when the visible lines changed
+	 */
+	public ViewportTracker(ITextViewer viewer, Runnable listener) {
+		fViewer= viewer;
+		fListener= listener;
+		runInUIThread(this::install);
+	}
+
+	/**
+	 * Sets the numbers of lines above which the visible part of a document is computed first and
+	 * only the visible parts are computed, instead of {@link #VIEWPORT_FIRST_LINES} and
+	 * {@link #VIEWPORT_ONLY_LINES}. Used for testing.
+	 *
+	 * @param viewportFirstLines the number of lines above which the visible part is computed first
+	 * @param viewportOnlyLines the number of lines above which only the visible parts are computed
+	 */
+	public static void setThresholds(int viewportFirstLines, int viewportOnlyLines) {
+		fgViewportFirstLines= viewportFirstLines;
+		fgViewportOnlyLines= viewportOnlyLines;
+	}
+
+	/**
+	 * Returns whether the visible part of a document is computed first.
+	 *
+	 * @param document the document
+	 * @return <code>true</code> if the document has more than {@link #VIEWPORT_FIRST_LINES} lines
+	 */
+	public static boolean isViewportFirst(IDocument document) {
+		return document.getNumberOfLines() > fgViewportFirstLines;
+	}
+
+	/**
+	 * Returns whether only the visible parts of a document are computed.
+	 *
+	 * @param document the document
+	 * @return <code>true</code> if the document has more than {@link #VIEWPORT_ONLY_LINES} lines
+	 */
+	public static boolean isViewportOnly(IDocument document) {
+		return document.getNumberOfLines() > fgViewportOnlyLines;
+	}
+
+	/**
+	 * Returns the region of the document that is computed first: the visible lines and a page
+	 * above and below them.
+	 *
+	 * @param document the document shown by the viewer
+	 * @return the region, covering whole lines
+	 */
+	public IRegion getPriorityRegion(IDocument document) {
+		int top= Math.max(0, fTopLine);
+		int bottom= fBottomLine;
+		if (bottom < top)
+			bottom= top + MIN_MARGIN;
+		int margin= getMargin(top, bottom);
+		try {
+			int lastLine= document.getNumberOfLines() - 1;
+			int start= document.getLineOffset(Math.min(lastLine, Math.max(0, top - margin)));
+			IRegion last= document.getLineInformation(Math.min(lastLine, bottom + margin));
+			return new Region(start, last.getOffset() + last.getLength() - start);
+		} catch (BadLocationException e) {
+			// the document changed meanwhile
+			return new Region(0, document.getLength());
+		}
+	}
+
+	/**
+	 * Returns whether a line belongs to the {@link #getPriorityRegion(IDocument) priority region}.
+	 *
+	 * @param line the line, or <code>-1</code> if it is not known
+	 * @return <code>true</code> if the line is in the priority region, or if the line or the
+	 *         visible lines are not known
+	 */
+	public boolean isInPriorityRegion(int line) {
+		int top= fTopLine;
+		int bottom= fBottomLine;
+		if (top < 0 || bottom < top || line < 0)
+			return true;
+		int margin= getMargin(top, bottom);
+		return line >= top - margin && line <= bottom + margin;
+	}
+
+	private static int getMargin(int top, int bottom) {
+		return Math.max(MIN_MARGIN, bottom - top);
+	}
+
+	/**
+	 * Uninstalls the tracker from the viewer.
+	 */
+	public void dispose() {
+		runInUIThread(this::uninstall);
+	}
+
+	private void runInUIThread(Runnable runnable) {
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed())
+			return;
+		Display display= widget.getDisplay();
+		if (display.getThread() == Thread.currentThread())
+			runnable.run();
+		else
+			display.asyncExec(runnable);
+	}
+
+	private void install() {
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed())
+			return;
+		fViewer.addViewportListener(this);
+		widget.addControlListener(this);
+		fTopLine= fViewer.getTopIndex();
+		fBottomLine= fViewer.getBottomIndex();
+	}
+
+	private void uninstall() {
+		fViewer.removeViewportListener(this);
+		StyledText widget= fViewer.getTextWidget();
+		if (widget != null && !widget.isDisposed())
+			widget.removeControlListener(this);
+	}
+
+	private void update() {
+		int top= fViewer.getTopIndex();
+		int bottom= fViewer.getBottomIndex();
+		if (top != fTopLine || bottom != fBottomLine) {
+			fTopLine= top;
+			fBottomLine= bottom;
+			fListener.run();
+		}
+	}
+
+	@Override
+	public void viewportChanged(int verticalOffset) {
+		update();
+	}
+
+	@Override
+	public void controlResized(ControlEvent e) {
+		update();
+	}
+
+	@Override
+	public void controlMoved(ControlEvent e) {
+		// the visible lines do not change
+	}
+}
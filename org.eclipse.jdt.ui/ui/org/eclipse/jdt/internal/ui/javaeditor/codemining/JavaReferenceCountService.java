@@ -0,0 +1,827 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.swt.custom.StyledText;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.text.ITextViewer;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.ConstructorReferenceMatch;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeReferenceMatch;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.javaeditor.ViewportTracker;
+import org.eclipse.jdt.internal.ui.preferences.JavaPreferencesPropertyTester;
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Counts the references to the elements shown by {@link JavaReferenceCodeMining}s.
+ * <p>
+ * Requests are queued and resolved by a single task on the {@link JavaCodeMiningExecutor}, which
+ * searches the references to a batch of elements with one or-pattern. A match does not tell which
+ * pattern it matched, so a batch only contains elements that can be told apart by the kind of the
+ * match and the name in the matched source; the few matches that remain ambiguous are counted by a
+ * search for the element alone. Requests of elements in lines far outside the visible area of
+ * their viewer are deferred until the viewer is scrolled to them.
+ * </p>
+ * <p>
+ * The counts are cached by the handle identifier of the element. A change of a compilation unit
+ * drops the counts of the elements named in the changed members, and of the elements whose
+ * references were found in a removed compilation unit; changes that cannot be attributed to
+ * compilation units, like classpath changes, drop all counts.
+ * </p>
+ */
+public final class JavaReferenceCountService implements IElementChangedListener {
+
+	private static final int MAX_ENTRIES= 20000;
+
+	private static final int MAX_BATCH_SIZE= 200;
+
+	/**
+	 * Number of remembered compilation unit contents that changes are compared with.
+	 */
+	private static final int MAX_SNAPSHOTS= 50;
+
+	/**
+	 * Number of compilation units changed by a delta after which all counts are dropped.
+	 */
+	private static final int MAX_CHANGED_UNITS= 50;
+
+	/**
+	 * The kind of the matches of constructors, which are told apart from the matches of methods.
+	 */
+	private static final int CONSTRUCTOR_KIND= -1;
+
+	private static JavaReferenceCountService fgDefault;
+
+	private static final class Entry {
+		final long fCount;
+		final String fName;
+		final Set<String> fTypeRoots;
+
+		Entry(long count, String name, Set<String> typeRoots) {
+			fCount= count;
+			fName= name;
+			fTypeRoots= typeRoots;
+		}
+	}
+
+	private static final class Request {
+		final IJavaElement fElement;
+		final String fHandle;
+		final int fKind;
+		final String fName;
+		final boolean fIsConstructor;
+		final boolean fInsideJRE;
+		final int fLine;
+		final ViewportTracker fViewport;
+		final IProgressMonitor fMonitor;
+		final CompletableFuture<Long> fFuture= new CompletableFuture<>();
+		long fCount;
+		Set<String> fTypeRoots= new HashSet<>();
+
+		Request(IJavaElement element, int line, ViewportTracker viewport, IProgressMonitor monitor) throws JavaModelException {
+			fElement= element;
+			fHandle= element.getHandleIdentifier();
+			fKind= element.getElementType();
+			fIsConstructor= element instanceof IMethod && ((IMethod) element).isConstructor();
+			fName= fIsConstructor ? ((IMethod) element).getDeclaringType().getElementName() : element.getElementName();
+			fInsideJRE= JavaSearchScopeFactory.getInstance().isInsideJRE(element);
+			fLine= line;
+			fViewport= viewport;
+			fMonitor= monitor;
+		}
+
+		int getMatchKind() {
+			return fIsConstructor ? CONSTRUCTOR_KIND : fKind;
+		}
+
+		String getBatchKey() {
+			return fIsConstructor ? String.valueOf(CONSTRUCTOR_KIND) : fKind + fName;
+		}
+
+		boolean isCanceled() {
+			return fFuture.isDone() || fMonitor.isCanceled();
+		}
+
+		boolean isVisible() {
+			return fViewport == null || fViewport.isInPriorityRegion(fLine);
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * The contents of recently changed or resolved compilation units by their handle identifier.
+	 */
+	private final Map<String, String> fSnapshots= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_SNAPSHOTS;
+		}
+	};
+
+	private final List<Request> fPending= new ArrayList<>();
+
+	/**
+	 * The trackers of the viewers that requests were made for. A tracker is removed when the text
+	 * widget of its viewer is disposed.
+	 */
+	private final Map<ITextViewer, ViewportTracker> fViewports= new HashMap<>();
+
+	private boolean fIsResolveScheduled;
+
+	/**
+	 * Incremented whenever counts are dropped, so that searches that ran across a change do not
+	 * store their outdated result.
+	 */
+	private long fGeneration;
+
+	private JavaReferenceCountService() {
+	}
+
+	/**
+	 * @return the shared service, which listens to Java element changes from its first use
+	 */
+	public static synchronized JavaReferenceCountService getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new JavaReferenceCountService();
+			JavaCore.addElementChangedListener(fgDefault, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Disposes the shared service. Called from {@code JavaPlugin#stop}.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDefault != null) {
+			JavaCore.removeElementChangedListener(fgDefault);
+			fgDefault.cancelAll();
+			fgDefault= null;
+		}
+	}
+
+	/**
+	 * Returns the number of references to an element.
+	 *
+	 * @param element the element
+	 * @param line the line of the element in the viewer, or <code>-1</code>
+	 * @param viewer the viewer that shows the element, or <code>null</code> to resolve the count
+	 *            regardless of the visible area
+	 * @param monitor the monitor that cancels the request, or <code>null</code>
+	 * @return the future number of references, which is completed exceptionally if the search
+	 *         fails or the request is canceled
+	 */
+	public CompletableFuture<Long> getReferenceCount(IJavaElement element, int line, ITextViewer viewer, IProgressMonitor monitor) {
+		String handle= element.getHandleIdentifier();
+		Request request;
+		synchronized (this) {
+			Entry entry= fEntries.get(handle);
+			if (entry != null) {
+				return CompletableFuture.completedFuture(Long.valueOf(entry.fCount));
+			}
+			try {
+				ViewportTracker viewport= viewer != null ? getViewport(viewer) : null;
+				request= new Request(element, line, viewport, monitor != null ? monitor : new NullProgressMonitor());
+			} catch (JavaModelException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+			fPending.add(request);
+		}
+		scheduleResolve();
+		return request.fFuture;
+	}
+
+	private ViewportTracker getViewport(ITextViewer viewer) {
+		ViewportTracker viewport= fViewports.get(viewer);
+		if (viewport == null) {
+			StyledText widget= viewer.getTextWidget();
+			if (widget == null || widget.isDisposed()) {
+				// nothing to track, nor to remove the tracker on
+				return null;
+			}
+			viewport= new ViewportTracker(viewer, this::scheduleResolve);
+			fViewports.put(viewer, viewport);
+			widget.getDisplay().asyncExec(() -> {
+				if (widget.isDisposed()) {
+					removeViewport(viewer);
+				} else {
+					widget.addDisposeListener(e -> removeViewport(viewer));
+				}
+			});
+		}
+		return viewport;
+	}
+
+	private void removeViewport(ITextViewer viewer) {
+		List<Request> canceled= new ArrayList<>();
+		synchronized (this) {
+			ViewportTracker viewport= fViewports.remove(viewer);
+			for (Iterator<Request> iter= fPending.iterator(); viewport != null && iter.hasNext();) {
+				Request request= iter.next();
+				if (request.fViewport == viewport) {
+					iter.remove();
+					canceled.add(request);
+				}
+			}
+		}
+		for (Request request : canceled) {
+			request.fFuture.cancel(false);
+		}
+	}
+
+	private void cancelAll() {
+		List<Request> canceled;
+		synchronized (this) {
+			canceled= new ArrayList<>(fPending);
+			fPending.clear();
+			fViewports.clear();
+			fEntries.clear();
+			fSnapshots.clear();
+		}
+		for (Request request : canceled) {
+			request.fFuture.cancel(false);
+		}
+	}
+
+	private synchronized void scheduleResolve() {
+		if (!fIsResolveScheduled && !fPending.isEmpty()) {
+			fIsResolveScheduled= true;
+			try {
+				CompletableFuture.runAsync(this::resolvePending, JavaCodeMiningExecutor.get());
+			} catch (RuntimeException e) {
+				// the executor is shut down
+				fIsResolveScheduled= false;
+			}
+		}
+	}
+
+	private void resolvePending() {
+		try {
+			while (true) {
+				List<Runnable> completions= new ArrayList<>();
+				List<Request> batch= nextBatch(completions);
+				complete(completions);
+				if (batch.isEmpty()) {
+					break;
+				}
+				resolve(batch);
+			}
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				fIsResolveScheduled= false;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Completes the futures of requests. The futures are completed outside the lock of the
+	 * service, since completing a future runs the actions that depend on it.
+	 *
+	 * @param completions the completions
+	 */
+	private static void complete(List<Runnable> completions) {
+		for (Runnable completion : completions) {
+			completion.run();
+		}
+	}
+
+	/**
+	 * Takes the next batch of visible requests from the queue. The batch only contains requests
+	 * that can be told apart by {@link #attribute(SearchMatch, Map)}.
+	 *
+	 * @param completions receives the completions of the requests that are canceled or whose
+	 *            count is known meanwhile
+	 * @return the batch, empty if there is nothing to resolve now
+	 */
+	private synchronized List<Request> nextBatch(List<Runnable> completions) {
+		List<Request> batch= new ArrayList<>();
+		Set<String> keys= new HashSet<>();
+		for (Iterator<Request> iter= fPending.iterator(); iter.hasNext() && batch.size() < MAX_BATCH_SIZE;) {
+			Request request= iter.next();
+			if (request.isCanceled()) {
+				iter.remove();
+				completions.add(() -> request.fFuture.cancel(false));
+				continue;
+			}
+			Entry entry= fEntries.get(request.fHandle);
+			if (entry != null) {
+				iter.remove();
+				Long count= Long.valueOf(entry.fCount);
+				completions.add(() -> request.fFuture.complete(count));
+				continue;
+			}
+			if (!request.isVisible() || (!batch.isEmpty() && batch.get(0).fInsideJRE != request.fInsideJRE)) {
+				continue;
+			}
+			if (keys.add(request.getBatchKey())) {
+				iter.remove();
+				batch.add(request);
+			}
+		}
+		if (batch.isEmpty()) {
+			fIsResolveScheduled= false;
+		}
+		return batch;
+	}
+
+	private void resolve(List<Request> batch) {
+		long generation;
+		synchronized (this) {
+			generation= fGeneration;
+		}
+		for (Request request : batch) {
+			rememberContents(request.fElement);
+		}
+		try {
+			search(batch);
+		} catch (CoreException | RuntimeException e) {
+			for (Request request : batch) {
+				request.fFuture.completeExceptionally(e);
+			}
+			return;
+		}
+		synchronized (this) {
+			if (generation == fGeneration) {
+				for (Request request : batch) {
+					if (!request.fFuture.isDone()) {
+						fEntries.put(request.fHandle, new Entry(request.fCount, request.fName, request.fTypeRoots));
+					}
+				}
+			}
+		}
+		for (Request request : batch) {
+			request.fFuture.complete(Long.valueOf(request.fCount));
+		}
+	}
+
+	private void search(List<Request> batch) throws CoreException {
+		SearchPattern pattern= null;
+		Map<Integer, List<Request>> requestsByKind= new HashMap<>();
+		IProgressMonitor monitor= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				for (Request request : batch) {
+					if (!request.isCanceled()) {
+						return false;
+					}
+				}
+				return true;
+			}
+		};
+		for (Request request : batch) {
+			SearchPattern elementPattern= SearchPattern.createPattern(request.fElement, IJavaSearchConstants.REFERENCES);
+			if (elementPattern != null) {
+				pattern= pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+				requestsByKind.computeIfAbsent(Integer.valueOf(request.getMatchKind()), k -> new ArrayList<>()).add(request);
+			}
+		}
+		if (pattern == null) {
+			return;
+		}
+		boolean ignoreInaccurate= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_IGNORE_INEXACT_MATCHES);
+		Set<Request> ambiguous= new HashSet<>();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+				createSearchScope(batch.get(0).fElement), new SearchRequestor() {
+					@Override
+					public void acceptSearchMatch(SearchMatch match) throws CoreException {
+						String typeRoot= getReferencingTypeRoot(match, ignoreInaccurate);
+						if (typeRoot == null) {
+							return;
+						}
+						List<Request> candidates= attribute(match, requestsByKind);
+						if (candidates.size() == 1) {
+							Request request= candidates.get(0);
+							request.fCount++;
+							request.fTypeRoots.add(typeRoot);
+						} else {
+							ambiguous.addAll(candidates);
+						}
+					}
+				}, monitor);
+
+		for (Request request : ambiguous) {
+			if (!request.isCanceled()) {
+				countReferences(request, ignoreInaccurate, request.fMonitor);
+			}
+		}
+	}
+
+	/**
+	 * Counts the references to the element of a request with a search for this element only.
+	 *
+	 * @param request the request
+	 * @param ignoreInaccurate whether inaccurate matches are ignored
+	 * @param monitor the progress monitor
+	 * @throws CoreException if the search fails
+	 */
+	private static void countReferences(Request request, boolean ignoreInaccurate, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern= SearchPattern.createPattern(request.fElement, IJavaSearchConstants.REFERENCES);
+		request.fCount= 0;
+		request.fTypeRoots.clear();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+				createSearchScope(request.fElement), new SearchRequestor() {
+					@Override
+					public void acceptSearchMatch(SearchMatch match) throws CoreException {
+						String typeRoot= getReferencingTypeRoot(match, ignoreInaccurate);
+						if (typeRoot != null) {
+							request.fCount++;
+							request.fTypeRoots.add(typeRoot);
+						}
+					}
+				}, monitor);
+	}
+
+	/**
+	 * Returns the type root of a match that counts as a reference.
+	 *
+	 * @param match the match
+	 * @param ignoreInaccurate whether inaccurate matches are ignored
+	 * @return the handle identifier of the type root, or <code>null</code> if the match does not
+	 *         count
+	 */
+	private static String getReferencingTypeRoot(SearchMatch match, boolean ignoreInaccurate) {
+		if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate) {
+			return null;
+		}
+		Object o= match.getElement();
+		if (o instanceof IJavaElement) {
+			IJavaElement typeRoot= ((IJavaElement) o).getAncestor(IJavaElement.COMPILATION_UNIT);
+			if (typeRoot == null) {
+				typeRoot= ((IJavaElement) o).getAncestor(IJavaElement.CLASS_FILE);
+			}
+			if (typeRoot != null) {
+				return typeRoot.getHandleIdentifier();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the requests that a match of the batch search can belong to.
+	 *
+	 * @param match the match
+	 * @param requestsByKind the requests of the batch by {@link Request#getMatchKind()}
+	 * @return the requests, a single one if the match could be attributed
+	 */
+	private static List<Request> attribute(SearchMatch match, Map<Integer, List<Request>> requestsByKind) {
+		int kind;
+		if (match instanceof TypeReferenceMatch) {
+			kind= IJavaElement.TYPE;
+		} else if (match instanceof ConstructorReferenceMatch) {
+			kind= CONSTRUCTOR_KIND;
+		} else if (match instanceof MethodReferenceMatch) {
+			kind= IJavaElement.METHOD;
+		} else if (match instanceof FieldReferenceMatch) {
+			kind= IJavaElement.FIELD;
+		} else {
+			return List.of();
+		}
+		List<Request> candidates= requestsByKind.get(Integer.valueOf(kind));
+		if (candidates == null || candidates.size() <= 1) {
+			return candidates != null ? candidates : List.of();
+		}
+		Set<String> names= getIdentifiers(getMatchText(match));
+		List<Request> named= new ArrayList<>(2);
+		for (Request candidate : candidates) {
+			if (names.contains(candidate.fName)) {
+				named.add(candidate);
+			}
+		}
+		return named.isEmpty() ? candidates : named;
+	}
+
+	private static String getMatchText(SearchMatch match) {
+		Object o= match.getElement();
+		if (o instanceof IJavaElement && match.getLength() > 0) {
+			try {
+				IBuffer buffer= ((IJavaElement) o).getOpenable().getBuffer();
+				if (buffer != null && match.getOffset() + match.getLength() <= buffer.getLength()) {
+					return buffer.getText(match.getOffset(), match.getLength());
+				}
+			} catch (JavaModelException e) {
+				// no source
+			}
+		}
+		return ""; //$NON-NLS-1$
+	}
+
+	private static IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		return factory.createWorkspaceScope(factory.isInsideJRE(element));
+	}
+
+	private static Set<String> getIdentifiers(String text) {
+		return getIdentifiers(text, 0, text.length(), new HashSet<>());
+	}
+
+	private static Set<String> getIdentifiers(String text, int start, int end, Set<String> identifiers) {
+		int i= start;
+		while (i < end) {
+			if (Character.isJavaIdentifierStart(text.charAt(i))) {
+				int identifierStart= i++;
+				while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) {
+					i++;
+				}
+				identifiers.add(text.substring(identifierStart, i));
+			} else {
+				i++;
+			}
+		}
+		return identifiers;
+	}
+
+	/**
+	 * Remembers the contents of the compilation unit of an element, so that its first change can
+	 * be compared with it.
+	 *
+	 * @param element the element
+	 */
+	private void rememberContents(IJavaElement element) {
+		ITypeRoot typeRoot= ((IMember) element).getTypeRoot();
+		if (!(typeRoot instanceof ICompilationUnit)) {
+			return;
+		}
+		String handle= typeRoot.getHandleIdentifier();
+		synchronized (this) {
+			if (fSnapshots.containsKey(handle)) {
+				return;
+			}
+		}
+		try {
+			String contents= typeRoot.getSource();
+			if (contents != null) {
+				synchronized (this) {
+					fSnapshots.putIfAbsent(handle, contents);
+				}
+			}
+		} catch (JavaModelException e) {
+			// nothing to compare with
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fEntries.isEmpty()) {
+				// nothing to drop, but the searches that are running must not store their result
+				fGeneration++;
+				return;
+			}
+		}
+		List<IJavaElementDelta> changedUnits= new ArrayList<>();
+		boolean invalidateAll= !collectChangedUnits(event.getDelta(), changedUnits) || changedUnits.size() > MAX_CHANGED_UNITS;
+		Set<String> names= new HashSet<>();
+		Set<String> removedTypeRoots= new HashSet<>();
+		if (!invalidateAll) {
+			for (IJavaElementDelta delta : changedUnits) {
+				collectChangedNames(delta, names, removedTypeRoots);
+			}
+		}
+		synchronized (this) {
+			if (invalidateAll) {
+				fEntries.clear();
+				fSnapshots.clear();
+				fGeneration++;
+			} else if (!names.isEmpty() || !removedTypeRoots.isEmpty()) {
+				fEntries.values().removeIf(entry -> names.contains(entry.fName) || containsAny(entry.fTypeRoots, removedTypeRoots));
+				fGeneration++;
+			}
+		}
+		scheduleResolve();
+	}
+
+	private static boolean containsAny(Set<String> set, Set<String> elements) {
+		for (String element : elements) {
+			if (set.contains(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Collects the deltas of the compilation units changed by a delta.
+	 *
+	 * @param delta the delta
+	 * @param changedUnits receives the deltas of the changed compilation units
+	 * @return <code>false</code> if the change cannot be expressed as changed compilation units
+	 */
+	private static boolean collectChangedUnits(IJavaElementDelta delta, List<IJavaElementDelta> changedUnits) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLASSPATH_CHANGED
+								| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+								| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					return false;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					// the removed children are not reported
+					return false;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN)) != 0) {
+					changedUnits.add(delta);
+				}
+				return true;
+			case IJavaElement.CLASS_FILE:
+				return delta.getKind() == IJavaElementDelta.CHANGED && delta.getFlags() == 0;
+			default:
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectChangedUnits(child, changedUnits)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Collects the names that references may have been added for or removed from by the change of
+	 * a compilation unit.
+	 * <p>
+	 * The contents are compared with the last known contents. The names are the identifiers in
+	 * the replaced lines and in the members that contain the change, since the bindings in a member
+	 * depend on the whole member. A change of the declarations, or a change without known
+	 * contents, affects all names in the compilation unit.
+	 * </p>
+	 *
+	 * @param delta the delta of the compilation unit
+	 * @param names receives the names
+	 * @param removedTypeRoots receives the handle identifier of the compilation unit if it was
+	 *            removed or is not known
+	 */
+	private void collectChangedNames(IJavaElementDelta delta, Set<String> names, Set<String> removedTypeRoots) {
+		ICompilationUnit unit= (ICompilationUnit) delta.getElement();
+		if (!unit.isPrimary() && delta.getKind() == IJavaElementDelta.CHANGED) {
+			return;
+		}
+		String handle= unit.getHandleIdentifier();
+		String contents= null;
+		try {
+			if (delta.getKind() != IJavaElementDelta.REMOVED && unit.exists()) {
+				contents= unit.getSource();
+			}
+		} catch (JavaModelException e) {
+			// treat as removed
+		}
+		String oldContents;
+		synchronized (this) {
+			oldContents= contents != null ? fSnapshots.put(handle, contents) : fSnapshots.remove(handle);
+		}
+		if (contents == null || oldContents == null) {
+			removedTypeRoots.add(handle);
+			if (oldContents != null) {
+				getIdentifiers(oldContents, 0, oldContents.length(), names);
+			}
+			if (contents != null) {
+				getIdentifiers(contents, 0, contents.length(), names);
+			}
+			return;
+		}
+		if (contents.equals(oldContents)) {
+			return;
+		}
+		if ((delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) == 0 || delta.getAffectedChildren().length > 0) {
+			// the declarations changed, or it is unknown what changed
+			getIdentifiers(oldContents, 0, oldContents.length(), names);
+			getIdentifiers(contents, 0, contents.length(), names);
+			return;
+		}
+		int prefix= 0;
+		int maxPrefix= Math.min(contents.length(), oldContents.length());
+		while (prefix < maxPrefix && contents.charAt(prefix) == oldContents.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix= 0;
+		int maxSuffix= maxPrefix - prefix;
+		while (suffix < maxSuffix && contents.charAt(contents.length() - 1 - suffix) == oldContents.charAt(oldContents.length() - 1 - suffix)) {
+			suffix++;
+		}
+		getIdentifiers(oldContents, lineStart(oldContents, prefix), lineEnd(oldContents, oldContents.length() - suffix), names);
+		int start= lineStart(contents, prefix);
+		int end= lineEnd(contents, contents.length() - suffix);
+		try {
+			ISourceRange first= getMemberRange(unit, start);
+			ISourceRange last= getMemberRange(unit, end);
+			if (first != null) {
+				start= Math.min(start, first.getOffset());
+			}
+			if (last != null) {
+				end= Math.max(end, Math.min(contents.length(), last.getOffset() + last.getLength()));
+			}
+		} catch (JavaModelException e) {
+			start= 0;
+			end= contents.length();
+		}
+		getIdentifiers(contents, start, end, names);
+	}
+
+	/**
+	 * Returns the source range of the member of a type that contains an offset.
+	 *
+	 * @param unit the compilation unit
+	 * @param offset the offset
+	 * @return the source range, or <code>null</code> if the offset is not in a member
+	 * @throws JavaModelException if the compilation unit cannot be accessed
+	 */
+	private static ISourceRange getMemberRange(ICompilationUnit unit, int offset) throws JavaModelException {
+		IJavaElement element= unit.getElementAt(offset);
+		IMember member= null;
+		while (element instanceof IMember) {
+			member= (IMember) element;
+			if (member.getElementType() != IJavaElement.TYPE && member.getParent().getElementType() == IJavaElement.TYPE) {
+				break;
+			}
+			element= element.getParent();
+		}
+		return member != null && member.getElementType() != IJavaElement.TYPE ? member.getSourceRange() : null;
+	}
+
+	private static int lineStart(String text, int offset) {
+		int start= Math.min(offset, text.length());
+		while (start > 0 && text.charAt(start - 1) != '\n' && text.charAt(start - 1) != '\r') {
+			start--;
+		}
+		return start;
+	}
+
+	private static int lineEnd(String text, int offset) {
+		int end= Math.max(0, offset);
+		while (end < text.length() && text.charAt(end) != '\n' && text.charAt(end) != '\r') {
+			end++;
+		}
+		return end;
+	}
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2022 Darmstadt University of Technology and others
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,11 @@
  */
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -47,6 +46,7 @@ import org.eclipse.jdt.internal.ui.text.Chain;
 import org.eclipse.jdt.internal.ui.text.ChainElement;
 import org.eclipse.jdt.internal.ui.text.ChainElementAnalyzer;
 import org.eclipse.jdt.internal.ui.text.ChainFinder;
+import org.eclipse.jdt.internal.ui.text.ChainGraph;
 import org.eclipse.jdt.internal.ui.text.ChainType;
 import org.eclipse.jdt.internal.ui.text.template.contentassist.TemplateProposal;
 
@@ -173,28 +173,33 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
 		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
-		try (ExecutorService executor= Executors.newSingleThreadExecutor()) {
+		// the members and edges found are kept in the shared graph, so the next search starts from them
+		Future<?> future= ChainGraph.getDefault().getExecutor().submit(() -> {
+			if (findEntrypoints()) {
+				finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+			}
+		});
+		try {
+			long timeout;
 			try {
-				Future<?> future= executor.submit(() -> {
-					if (findEntrypoints()) {
-						finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
-					}
-				});
-
-				long timeout;
-				try {
-					timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
-				} catch (NumberFormatException e) {
-					timeout= 1;
-				}
-				future.get(timeout, TimeUnit.SECONDS);
-			} catch (final Exception e) {
-				finder.cancel();
-				executor.shutdownNow();
-				setError("Timeout during call chain computation."); //$NON-NLS-1$
+				timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
+			} catch (NumberFormatException e) {
+				timeout= 1;
+			}
+			future.get(timeout, TimeUnit.SECONDS);
+		} catch (final Exception e) {
+			finder.cancel();
+			future.cancel(true);
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
 			}
+			setError("Timeout during call chain computation."); //$NON-NLS-1$
+		}
+		// after a timeout the search may still be adding chains
+		List<Chain> chains= finder.getChains();
+		synchronized (chains) {
+			return buildCompletionProposals(new ArrayList<>(chains));
 		}
-		return buildCompletionProposals(finder.getChains());
 	}
 
 	private List<ICompletionProposal> buildCompletionProposals(final List<Chain> chains) {
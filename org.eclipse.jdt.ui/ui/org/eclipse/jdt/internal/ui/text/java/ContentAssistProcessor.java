@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,7 +22,22 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -119,8 +134,11 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 
 			// This may show the warning dialog if all categories are disabled
 			setCategoryIteration();
+			// a category whose computation from an earlier session is still running sits this session out
+			fExcludedCategories= new HashSet<>(fRunningCategories.keySet());
 			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
-				cat.sessionStarted();
+				if (!fExcludedCategories.contains(cat))
+					cat.sessionStarted();
 			}
 
 			fRepetition= 0;
@@ -180,9 +198,29 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 				return;
 			}
 
+			PendingCategories pending= fPendingCategories;
+			fPendingCategories= null;
+			if (pending != null) {
+				pending.cancel();
+			}
+
+			// the canceled computations get the deadline to stop, a category which is still
+			// computing is told that the session ended once its computation is done
+			long deadline= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fCategoryDeadline);
 			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
-				cat.sessionEnded();
+				if (fExcludedCategories.contains(cat))
+					continue;
+				CategoryRun run= fRunningCategories.get(cat);
+				if (run == null || run.awaitFinished(deadline)) {
+					cat.sessionEnded();
+				} else {
+					run.setFinishAction(() -> Display.getDefault().asyncExec(() -> {
+						cat.sessionEnded();
+						run.release();
+					}));
+				}
 			}
+			fExcludedCategories= Collections.emptySet();
 
 			fSelectedProposal= null;
 			fCategoryIteration= null;
@@ -228,6 +266,143 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 
 	private static final Comparator<CompletionProposalCategory> ORDER_COMPARATOR= (d1, d2) -> d1.getSortOrder() - d2.getSortOrder();
 
+	/**
+	 * Number of threads computing the proposals of the categories concurrently, <code>1</code>
+	 * computes them one after the other. Only used if no computer requires the UI thread.
+	 *
+	 * @since 3.38
+	 */
+	private static final int CATEGORY_PARALLELISM= Math.max(1, Integer.getInteger("org.eclipse.jdt.ui.codeassist.parallelism", 1).intValue()); //$NON-NLS-1$
+
+	/**
+	 * Time in ms a concurrently computed category may take before its proposals are moved to a
+	 * separate page. Outside of a content assist session the category is canceled instead.
+	 *
+	 * @since 3.38
+	 */
+	private static final long CATEGORY_DEADLINE= Long.getLong("org.eclipse.jdt.ui.codeassist.categoryDeadline", 500).longValue(); //$NON-NLS-1$
+
+	private static ThreadPoolExecutor fgCategoryExecutor;
+
+	/**
+	 * The categories which missed their deadline in a concurrent computation.
+	 *
+	 * @since 3.38
+	 */
+	private static final class PendingCategories {
+		final int fOffset;
+		final List<CompletionProposalCategory> fCategories;
+		final List<CategoryRun> fRuns;
+
+		PendingCategories(int offset, List<CompletionProposalCategory> categories, List<CategoryRun> runs) {
+			fOffset= offset;
+			fCategories= categories;
+			fRuns= runs;
+		}
+
+		void cancel() {
+			for (CategoryRun run : fRuns) {
+				run.cancel();
+			}
+		}
+	}
+
+	/**
+	 * The computation of a category on the category pool. The category is registered in
+	 * {@link ContentAssistProcessor#fRunningCategories} until the computation is done, or until
+	 * it is canceled before it started.
+	 *
+	 * @since 3.38
+	 */
+	private final class CategoryRun implements Callable<List<ICompletionProposal>> {
+		final CompletionProposalCategory fCategory;
+		private final ContentAssistInvocationContext fContext;
+		private final IProgressMonitor fMonitor= new NullProgressMonitor();
+		private final AtomicBoolean fStarted= new AtomicBoolean();
+		private final CountDownLatch fFinished= new CountDownLatch(1);
+		private Runnable fFinishAction= this::release;
+		volatile Future<List<ICompletionProposal>> fFuture;
+
+		CategoryRun(CompletionProposalCategory category, ContentAssistInvocationContext context) {
+			fCategory= category;
+			fContext= context;
+		}
+
+		void submit(ExecutorService executor) {
+			fRunningCategories.put(fCategory, this);
+			fFuture= executor.submit(this);
+		}
+
+		@Override
+		public List<ICompletionProposal> call() {
+			if (!fStarted.compareAndSet(false, true))
+				return Collections.emptyList();
+			try {
+				return fCategory.computeCompletionProposals(fContext, fPartition, fMonitor);
+			} finally {
+				finished();
+			}
+		}
+
+		/**
+		 * Stops the computation. The computer is asked to stop through its progress monitor, the
+		 * worker thread is not interrupted. A computation which has not started yet never starts.
+		 */
+		void cancel() {
+			fMonitor.setCanceled(true);
+			fFuture.cancel(false);
+			if (fStarted.compareAndSet(false, true))
+				finished();
+		}
+
+		/**
+		 * Waits for the computation to be done.
+		 *
+		 * @param deadline the {@link System#nanoTime()} until which the computation is waited for
+		 * @return <code>true</code> if the computation is done
+		 */
+		boolean awaitFinished(long deadline) {
+			try {
+				return fFinished.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return fFinished.getCount() == 0;
+			}
+		}
+
+		/**
+		 * Replaces what is done once the computation is done, which is {@link #release()} by
+		 * default. The action is responsible for releasing the category.
+		 *
+		 * @param action the action, run on the worker thread
+		 */
+		void setFinishAction(Runnable action) {
+			synchronized (this) {
+				if (fFinished.getCount() > 0) {
+					fFinishAction= action;
+					return;
+				}
+			}
+			action.run();
+		}
+
+		/**
+		 * Allows the category to be computed again.
+		 */
+		void release() {
+			fRunningCategories.remove(fCategory, this);
+		}
+
+		private void finished() {
+			Runnable action;
+			synchronized (this) {
+				action= fFinishAction;
+				fFinished.countDown();
+			}
+			action.run();
+		}
+	}
+
 	private final List<CompletionProposalCategory> fCategories;
 	private final String fPartition;
 	private final ContentAssistant fAssistant;
@@ -258,6 +433,44 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private boolean fNeedsSortingAfterFiltering;
 
+	/**
+	 * The categories still being computed for the page after the current one, or
+	 * <code>null</code>.
+	 *
+	 * @since 3.38
+	 */
+	private volatile PendingCategories fPendingCategories;
+
+	/**
+	 * The categories which are computed on the category pool, including canceled computations
+	 * which have not stopped yet. A category is not computed again while it is in here.
+	 *
+	 * @since 3.38
+	 */
+	private final Map<CompletionProposalCategory, CategoryRun> fRunningCategories= new ConcurrentHashMap<>();
+
+	/**
+	 * The categories left out of the current session, as they were still computing for an earlier
+	 * session when it started.
+	 *
+	 * @since 3.38
+	 */
+	private volatile Set<CompletionProposalCategory> fExcludedCategories= Collections.emptySet();
+
+	/**
+	 * Number of categories computed concurrently, see {@link #CATEGORY_PARALLELISM}.
+	 *
+	 * @since 3.38
+	 */
+	private int fCategoryParallelism= CATEGORY_PARALLELISM;
+
+	/**
+	 * Time in ms a concurrently computed category may take, see {@link #CATEGORY_DEADLINE}.
+	 *
+	 * @since 3.38
+	 */
+	private long fCategoryDeadline= CATEGORY_DEADLINE;
+
 
 	public ContentAssistProcessor(ContentAssistant assistant, String partition) {
 		Assert.isNotNull(partition);
@@ -269,6 +482,19 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		fAssistant.addCompletionListener(new CompletionListener());
 	}
 
+	/**
+	 * Sets how the categories of a page are computed. Used for testing.
+	 *
+	 * @param parallelism the number of categories computed concurrently, <code>1</code> computes
+	 *            them one after the other
+	 * @param deadline the time in ms a concurrently computed category may take
+	 * @since 3.38
+	 */
+	public void setCategoryComputation(int parallelism, long deadline) {
+		fCategoryParallelism= Math.max(1, parallelism);
+		fCategoryDeadline= deadline;
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.contentassist.IContentAssistProcessor#computeCompletionProposals(org.eclipse.jface.text.ITextViewer, int)
 	 */
@@ -328,8 +554,28 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1));
+		List<List<ICompletionProposal>> results;
+		PendingCategories pending= fPendingCategories;
+		if (pending != null && pending.fCategories == providers && pending.fOffset == offset) {
+			results= collectPendingProposals(pending, monitor);
+		} else if (fCategoryParallelism > 1 && providers.size() > 1 && !fComputerRegistry.computingCompletionRequiresUIThread()) {
+			results= computeProposalsConcurrently(viewer, offset, providers, monitor);
+		} else {
+			results= new ArrayList<>(providers.size());
+			for (CompletionProposalCategory cat : providers) {
+				if (isComputable(cat)) {
+					results.add(cat.computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1)));
+				} else {
+					results.add(null);
+					monitor.worked(1);
+				}
+			}
+		}
+		for (int i= 0; i < providers.size(); i++) {
+			CompletionProposalCategory cat= providers.get(i);
+			List<ICompletionProposal> computed= results.get(i);
+			if (computed == null)
+				continue;
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
 			if (fErrorMessage == null) {
@@ -343,6 +589,176 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	/**
+	 * Tells whether the given category may be computed, which it may not if it sits out the
+	 * current session or if an earlier computation of it is still running.
+	 *
+	 * @param category the category
+	 * @return <code>true</code> if the category may be computed
+	 * @since 3.38
+	 */
+	private boolean isComputable(CompletionProposalCategory category) {
+		return !fExcludedCategories.contains(category) && !fRunningCategories.containsKey(category);
+	}
+
+	/**
+	 * Computes the proposals of the given categories on the category pool. Every category gets its
+	 * own invocation context, as the contexts are not thread safe. The categories which are not
+	 * done within the deadline are left running during a content assist session, their proposals
+	 * are shown on a separate page after the current one. Outside of a session they are canceled.
+	 * The categories which may not be computed, see {@link #isComputable(CompletionProposalCategory)},
+	 * are skipped.
+	 *
+	 * @param viewer the text viewer
+	 * @param offset the offset
+	 * @param categories the categories to compute
+	 * @param monitor the progress monitor
+	 * @return the proposals per category, <code>null</code> for the categories which are not done
+	 * @since 3.38
+	 */
+	private List<List<ICompletionProposal>> computeProposalsConcurrently(ITextViewer viewer, int offset, List<CompletionProposalCategory> categories, IProgressMonitor monitor) {
+		ExecutorService executor= getCategoryExecutor(fCategoryParallelism);
+		List<CategoryRun> runs= new ArrayList<>(categories.size());
+		for (CompletionProposalCategory cat : categories) {
+			if (isComputable(cat)) {
+				CategoryRun run= new CategoryRun(cat, createContext(viewer, offset));
+				run.submit(executor);
+				runs.add(run);
+			} else {
+				runs.add(null);
+			}
+		}
+
+		long deadline= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fCategoryDeadline);
+		List<List<ICompletionProposal>> results= new ArrayList<>(categories.size());
+		List<CompletionProposalCategory> lateCategories= new ArrayList<>();
+		List<CategoryRun> lateRuns= new ArrayList<>();
+		for (CategoryRun run : runs) {
+			List<ICompletionProposal> result= null;
+			if (run != null) {
+				result= getResult(run.fFuture, deadline);
+				if (result == null) {
+					lateCategories.add(run.fCategory);
+					lateRuns.add(run);
+				}
+			}
+			results.add(result);
+			monitor.worked(1);
+		}
+
+		if (!lateCategories.isEmpty()) {
+			PendingCategories pending= new PendingCategories(offset, lateCategories, lateRuns);
+			List<List<CompletionProposalCategory>> iteration= fCategoryIteration;
+			if (iteration != null) {
+				addPendingPage(iteration, pending);
+			} else {
+				pending.cancel();
+			}
+		}
+		return results;
+	}
+
+	private List<List<ICompletionProposal>> collectPendingProposals(PendingCategories pending, IProgressMonitor monitor) {
+		fPendingCategories= null;
+		long deadline= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fCategoryDeadline);
+		List<List<ICompletionProposal>> results= new ArrayList<>(pending.fRuns.size());
+		for (CategoryRun run : pending.fRuns) {
+			results.add(getResult(run.fFuture, deadline));
+			monitor.worked(1);
+		}
+		// the categories which are still not done are given up
+		pending.cancel();
+
+		// the page is only shown once, the categories are part of the default page anyway
+		List<List<CompletionProposalCategory>> iteration= fCategoryIteration;
+		if (iteration != null) {
+			for (int index= 0; index < iteration.size(); index++) {
+				if (iteration.get(index) == pending.fCategories) {
+					iteration.remove(index);
+					fRepetition= index;
+					setStatusMessage(createIterationMessage(index - 1));
+					break;
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the proposals computed by the given future.
+	 *
+	 * @param future the computation of a category
+	 * @param deadline the {@link System#nanoTime()} until which the computation is waited for
+	 * @return the proposals, or <code>null</code> if the computation is not done by the deadline
+	 * @since 3.38
+	 */
+	private static List<ICompletionProposal> getResult(Future<List<ICompletionProposal>> future, long deadline) {
+		try {
+			return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			return null;
+		} catch (ExecutionException e) {
+			JavaPlugin.log(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (CancellationException e) {
+			// no proposals
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Inserts the page of the late categories after the current page, so that the next
+	 * invocation shows their proposals.
+	 *
+	 * @param iteration the pages of the current session
+	 * @param pending the late categories
+	 * @since 3.38
+	 */
+	private void addPendingPage(List<List<CompletionProposalCategory>> iteration, PendingCategories pending) {
+		int current= (fRepetition - 1) % iteration.size();
+		iteration.add(current + 1, pending.fCategories);
+		fRepetition= current + 1;
+		PendingCategories previous= fPendingCategories;
+		if (previous != null)
+			previous.cancel();
+		fPendingCategories= pending;
+
+		String message= createIterationMessage(current);
+		Runnable update= () -> {
+			fAssistant.setRepeatedInvocationMode(true);
+			fAssistant.setShowEmptyList(true);
+			fAssistant.setStatusLineVisible(true);
+			fAssistant.setRepeatedInvocationTrigger(getIterationBinding());
+			fAssistant.setStatusMessage(message);
+		};
+		if (Display.getCurrent() != null) {
+			update.run();
+		} else {
+			Display.getDefault().asyncExec(update);
+		}
+	}
+
+	private static synchronized ExecutorService getCategoryExecutor(int parallelism) {
+		if (fgCategoryExecutor == null) {
+			ThreadFactory factory= new ThreadFactory() {
+				private final AtomicInteger counter= new AtomicInteger(1);
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t= new Thread(r, "Content Assist Worker-" + counter.getAndIncrement()); //$NON-NLS-1$
+					t.setDaemon(true);
+					return t;
+				}
+			};
+			fgCategoryExecutor= new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), factory);
+		} else if (fgCategoryExecutor.getMaximumPoolSize() < parallelism) {
+			fgCategoryExecutor.setMaximumPoolSize(parallelism);
+			fgCategoryExecutor.setCorePoolSize(parallelism);
+		}
+		return fgCategoryExecutor;
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
@@ -491,12 +907,7 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		}
 
 		int iteration= fRepetition % fCategoryIteration.size();
-		String iterationMessage = createIterationMessage();
-		if (Display.getCurrent() != null) {
-			fAssistant.setStatusMessage(iterationMessage);
-		} else {
-			Display.getDefault().asyncExec(() -> fAssistant.setStatusMessage(iterationMessage));
-		}
+		setStatusMessage(createIterationMessage());
 		fAssistant.setEmptyMessage(createEmptyMessage());
 		fRepetition++;
 
@@ -669,7 +1080,19 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	}
 
 	private String createIterationMessage() {
-		return Messages.format(JavaTextMessages.ContentAssistProcessor_toggle_affordance_update_message, new String[]{ getCategoryLabel(fRepetition), fIterationGesture, getCategoryLabel(fRepetition + 1) });
+		return createIterationMessage(fRepetition);
+	}
+
+	private String createIterationMessage(int repetition) {
+		return Messages.format(JavaTextMessages.ContentAssistProcessor_toggle_affordance_update_message, new String[]{ getCategoryLabel(repetition), fIterationGesture, getCategoryLabel(repetition + 1) });
+	}
+
+	private void setStatusMessage(String message) {
+		if (Display.getCurrent() != null) {
+			fAssistant.setStatusMessage(message);
+		} else {
+			Display.getDefault().asyncExec(() -> fAssistant.setStatusMessage(message));
+		}
 	}
 
 	private String getCategoryLabel(int repetition) {
@@ -677,7 +1100,12 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		if (iteration == 0) {
 			return JavaTextMessages.ContentAssistProcessor_defaultProposalCategory;
 		}
-		return toString(fCategoryIteration.get(iteration).get(0));
+		List<CompletionProposalCategory> page= fCategoryIteration.get(iteration);
+		PendingCategories pending= fPendingCategories;
+		if (pending != null && pending.fCategories == page) {
+			return JavaTextMessages.ContentAssistProcessor_lateProposalCategory;
+		}
+		return toString(page.get(0));
 	}
 
 	private String toString(CompletionProposalCategory category) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -66,6 +66,7 @@ final class JavaTextMessages extends NLS {
 	public static String CompletionProposalComputerRegistry_invalid_message;
 	public static String CompletionProposalComputerRegistry_error_dialog_title;
 	public static String ContentAssistProcessor_defaultProposalCategory;
+	public static String ContentAssistProcessor_lateProposalCategory;
 	public static String ContentAssistProcessor_toggle_affordance_press_gesture;
 	public static String ContentAssistProcessor_toggle_affordance_click_gesture;
 	public static String ContentAssistProcessor_toggle_affordance_update_message;
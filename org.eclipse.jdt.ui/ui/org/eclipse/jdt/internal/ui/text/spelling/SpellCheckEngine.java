@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,12 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	/** The dictionary location */
 	public static final String DICTIONARY_LOCATION= "dictionaries/"; //$NON-NLS-1$
 
+	/**
+	 * Directory in the plug-in state location holding the compiled dictionaries
+	 * @since 3.38
+	 */
+	private static final String DICTIONARY_CACHE_LOCATION= "dictionaries"; //$NON-NLS-1$
+
 	/** The singleton engine instance */
 	private static ISpellCheckEngine fgEngine= null;
 
@@ -261,6 +267,20 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	/** The user dictionary */
 	private ISpellDictionary fUserDictionary= null;
 
+	/**
+	 * Returns the directory in which the compiled locale dictionaries are cached.
+	 *
+	 * @return the cache directory, or <code>null</code> if there is no state location
+	 * @since 3.38
+	 */
+	private static File getDictionaryCacheDirectory() {
+		try {
+			return JavaPlugin.getDefault().getStateLocation().append(DICTIONARY_CACHE_LOCATION).toFile();
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Creates a new spell check manager.
 	 */
@@ -281,7 +301,7 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 				for (final Iterator<Locale> iterator= getLocalesWithInstalledDictionaries(location).iterator(); iterator.hasNext();) {
 
 					locale= iterator.next();
-					fLocaleDictionaries.put(locale, new LocaleSensitiveSpellDictionary(locale, location));
+					fLocaleDictionaries.put(locale, new LocaleSensitiveSpellDictionary(locale, location, getDictionaryCacheDirectory()));
 				}
 			}
 
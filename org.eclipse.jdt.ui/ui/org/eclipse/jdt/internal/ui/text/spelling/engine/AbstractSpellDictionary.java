@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -21,15 +22,20 @@ import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,6 +56,16 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
 
 /**
  * Partial implementation of a spell dictionary.
+ * <p>
+ * The words loaded from the word list are kept in an immutable {@link CompactWordTable}. Words
+ * added after loading go to a small copy-on-write overlay. Both are published through volatile
+ * fields, so lookups never lock.
+ * </p>
+ * <p>
+ * Dictionaries which return a {@link #getCacheFile() cache file} write the table to a file named
+ * after it and the content of the word list, after parsing the word list once, and memory-map it
+ * on later loads instead of parsing again.
+ * </p>
  *
  * @since 3.0
  */
@@ -111,8 +127,20 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
-	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	/** The words loaded from the word list */
+	private volatile CompactWordTable fTable= CompactWordTable.EMPTY;
+
+	/**
+	 * The words added after the word list has been loaded, replaced on every addition
+	 * @since 3.38
+	 */
+	private volatile Map<ByteArrayWrapper, byte[][]> fOverlay= Collections.emptyMap();
+
+	/**
+	 * Collects the words while the word list is loaded, <code>null</code> otherwise
+	 * @since 3.38
+	 */
+	private CompactWordTable.Builder fBuilder;
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
@@ -146,17 +174,35 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *
 	 * @param hash
 	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @return Array of candidates for the phonetic hash, empty if there are none
 	 */
-	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
+	protected final String[] getCandidates(final String hash) {
+		byte[] hashBytes;
 		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
+			hashBytes= hash.getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
-			return null;
+			return new String[0];
 		}
-		return fHashBuckets.get(hashBytes);
+
+		CompactWordTable table= fTable;
+		byte[][] added= fOverlay.get(new ByteArrayWrapper(hashBytes));
+		int bucket= table.find(hashBytes);
+		int loadedCount= bucket < 0 ? 0 : table.getWordCount(bucket);
+		int addedCount= added == null ? 0 : added.length;
+
+		String[] result= new String[loadedCount + addedCount];
+		for (int i= 0; i < loadedCount; i++)
+			result[i]= table.getWord(bucket, i);
+		for (int i= 0; i < addedCount; i++) {
+			try {
+				result[loadedCount + i]= new String(added[i], UTF_8);
+			} catch (UnsupportedEncodingException e) {
+				JavaPlugin.log(e);
+				return new String[0];
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -172,54 +218,20 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *                   Array of close hashes to find the matches
 	 * @return Set of ranked words with bounded distance to the specified word
 	 */
-	@SuppressWarnings("unchecked")
 	protected final Set<RankedWordProposal> getCandidates(final String word, final boolean sentence, final ArrayList<String> hashs) {
 
 		int distance= 0;
-		String hash= null;
 
 		final StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 		final HashSet<RankedWordProposal> result= new HashSet<>(BUCKET_CAPACITY * hashs.size());
 
-		for (String hash2 : hashs) {
+		for (String hash : hashs) {
 
-			hash= hash2;
-
-			ArrayList<byte[]> candidateList;
-			synchronized(fHashBuckets) {
-				final Object candidates= getCandidates(hash);
-				if (candidates == null)
-					continue;
-				else if (candidates instanceof byte[]) {
-					String candidate;
-					try {
-						candidate= new String((byte[])candidates, UTF_8);
-					} catch (UnsupportedEncodingException e) {
-						JavaPlugin.log(e);
-						return result;
-					}
-					distance= fDistanceAlgorithm.getDistance(word, candidate);
-					if (distance < DISTANCE_THRESHOLD) {
-						buffer.setLength(0);
-						buffer.append(candidate);
-						if (sentence)
-							buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-						result.add(new RankedWordProposal(buffer.toString(), -distance));
-					}
-					continue;
-				}
-				candidateList= new ArrayList<>((ArrayList<byte[]>)candidates);
-			}
-			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
+			final String[] candidates= getCandidates(hash);
+			int candidateSize= Math.min(500, candidates.length); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
 			for (int offset= 0; offset < candidateSize; offset++) {
 
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
+				String candidate= candidates[offset];
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -250,46 +262,19 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *                   Set of ranked words with smallest possible distance to the
 	 *                   specified word
 	 */
-	@SuppressWarnings("unchecked")
 	protected final void getCandidates(final String word, final boolean sentence, final Set<RankedWordProposal> result) {
 
 		int distance= 0;
 		int minimum= Integer.MAX_VALUE;
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
-		ArrayList<byte[]> candidateList;
-		synchronized(fHashBuckets) {
-			final Object candidates= getCandidates(fHashProvider.getHash(word));
-			if (candidates == null)
-				return;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				buffer.append(candidate);
-				if (sentence)
-					buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-				result.add(new RankedWordProposal(buffer.toString(), -distance));
-				return;
-			}
+		final String[] candidates= getCandidates(fHashProvider.getHash(word));
+		if (candidates.length == 0)
+			return;
 
-			candidateList= new ArrayList<>((ArrayList<byte[]>)candidates);
-		}
-		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
+		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidates.length);
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (String candidate : candidates) {
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -318,7 +303,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		return fTable.isEmpty() && fOverlay.isEmpty();
 	}
 
 	/**
@@ -342,19 +327,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	@Override
 	public Set<RankedWordProposal> getProposals(final String word, final boolean sentence) {
 
-		try {
-
-			if (!fLoaded) {
-				synchronized (this) {
-					fLoaded= load(getURL());
-					if (fLoaded)
-						compact();
-				}
-			}
-
-		} catch (MalformedURLException exception) {
-			// Do nothing
-		}
+		ensureLoaded();
 
 		final String hash= fHashProvider.getHash(word);
 		final char[] mutators= fHashProvider.getMutators();
@@ -460,6 +433,10 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	/**
 	 * Hashes the word into the dictionary.
+	 * <p>
+	 * While the word list is loaded the word is collected for the compact table, otherwise it is
+	 * added to the overlay.
+	 * </p>
 	 *
 	 * @param word
 	 *                   The word to hash in the dictionary
@@ -467,89 +444,86 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	protected final void hashWord(final String word) {
 
 		final String hash= fHashProvider.getHash(word);
-		ByteArrayWrapper hashBytes;
+		byte[] hashBytes;
 		byte[] wordBytes;
 		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
+			hashBytes= hash.getBytes(UTF_8);
 			wordBytes= word.getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
 			return;
 		}
 
-		synchronized(fHashBuckets) {
-			Object bucket= fHashBuckets.get(hashBytes);
+		synchronized (this) {
+			if (fBuilder != null) {
+				fBuilder.add(hashBytes, wordBytes);
+				return;
+			}
 
+			ByteArrayWrapper key= new ByteArrayWrapper(hashBytes);
+			Map<ByteArrayWrapper, byte[][]> overlay= new HashMap<>(fOverlay);
+			byte[][] bucket= overlay.get(key);
 			if (bucket == null) {
-				fHashBuckets.put(hashBytes, wordBytes);
-			} else if (bucket instanceof ArrayList) {
-				@SuppressWarnings("unchecked")
-				ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
-				bucketList.add(wordBytes);
+				bucket= new byte[][] { wordBytes };
 			} else {
-				ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
-				list.add(bucket);
-				list.add(wordBytes);
-				fHashBuckets.put(hashBytes, list);
+				bucket= Arrays.copyOf(bucket, bucket.length + 1);
+				bucket[bucket.length - 1]= wordBytes;
 			}
+			overlay.put(key, bucket);
+			fOverlay= overlay;
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public boolean isCorrect(String word) {
 		word= stripNonLetters(word);
-		try {
 
-			if (!fLoaded) {
-				synchronized (this) {
-					fLoaded= load(getURL());
-					if (fLoaded)
-						compact();
-				}
-			}
-
-		} catch (MalformedURLException exception) {
-			// Do nothing
-		}
+		ensureLoaded();
 
-		ArrayList<byte[]> candidateList;
-		Object candidates;
-		synchronized(fHashBuckets) {
-			candidates= getCandidates(fHashProvider.getHash(word));
-			if (candidates == null)
-				return false;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return false;
-				}
-				if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-					return true;
-				return false;
-			}
-			candidateList= new ArrayList<>((ArrayList<byte[]>)candidates);
-		}
+		byte[] hashBytes;
 		byte[] wordBytes;
 		byte[] lowercaseWordBytes;
 		try {
+			hashBytes= fHashProvider.getHash(word).getBytes(UTF_8);
 			wordBytes= word.getBytes(UTF_8);
 			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
 		} catch (UnsupportedEncodingException e) {
 			JavaPlugin.log(e);
 			return false;
 		}
-		for (byte[] candidate : candidateList) {
-			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
-				return true;
+
+		CompactWordTable table= fTable;
+		int bucket= table.find(hashBytes);
+		if (bucket >= 0 && (table.contains(bucket, wordBytes) || table.contains(bucket, lowercaseWordBytes)))
+			return true;
+
+		byte[][] added= fOverlay.get(new ByteArrayWrapper(hashBytes));
+		if (added != null) {
+			for (byte[] candidate : added) {
+				if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes))
+					return true;
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Loads the word list unless this has already been tried.
+	 *
+	 * @since 3.38
+	 */
+	private void ensureLoaded() {
+		if (!fLoaded) {
+			synchronized (this) {
+				try {
+					fLoaded= load(getURL());
+				} catch (MalformedURLException exception) {
+					// Do nothing
+				}
+			}
+		}
+	}
+
 	@Override
 	public void setStripNonLetters(boolean state) {
 		fIsStrippingNonLetters= state;
@@ -584,7 +558,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+		return fLoaded || !isEmpty();
 	}
 
 	/**
@@ -599,6 +573,159 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		 if (!fMustLoad)
 			 return fLoaded;
 
+		File baseFile= url != null ? getCacheFile() : null;
+		URL source= url;
+		String stamp= null;
+		if (baseFile != null) {
+			stamp= getCacheStamp(url);
+			URL lowercaseUrl= stamp == null ? toLowercaseURL(url) : null;
+			if (lowercaseUrl != null) {
+				// the word list is loaded from the lowercase URL then
+				stamp= getCacheStamp(lowercaseUrl);
+				if (stamp != null)
+					source= lowercaseUrl;
+			}
+		}
+		File cacheFile= stamp != null ? getCacheFile(baseFile, stamp) : null;
+		if (cacheFile != null) {
+			CompactWordTable table= CompactWordTable.map(cacheFile, stamp);
+			if (table != null) {
+				fTable= table;
+				fMustLoad= false;
+				return true;
+			}
+		}
+
+		boolean loaded= false;
+		fBuilder= new CompactWordTable.Builder(getInitialSize());
+		try {
+			loaded= loadWords(source);
+			return loaded;
+		} finally {
+			fTable= fBuilder.build();
+			fBuilder= null;
+			if (loaded && cacheFile != null)
+				writeCache(cacheFile, stamp);
+		}
+	}
+
+	/**
+	 * Returns the file after which the files caching the compiled word list are named. The word
+	 * list is cached in this file with a digest of its URL and modification stamp appended, so
+	 * that a new content of the word list never replaces a cache file which may still be mapped.
+	 * <p>
+	 * Subclasses whose word list does not change while it is in use may override. The default
+	 * returns <code>null</code>, i.e. the word list is parsed on every load.
+	 * </p>
+	 *
+	 * @return the base name of the cache files, or <code>null</code> if the word list is not
+	 *         cached
+	 * @since 3.38
+	 */
+	protected File getCacheFile() {
+		return null;
+	}
+
+	/**
+	 * Returns the file which caches the word list with the given stamp.
+	 *
+	 * @param baseFile the file after which the cache files are named
+	 * @param stamp the stamp of the word list
+	 * @return the cache file, or <code>null</code> if no digest can be computed
+	 */
+	private static File getCacheFile(File baseFile, String stamp) {
+		String digest= getDigest(stamp);
+		return digest != null ? new File(baseFile.getParentFile(), baseFile.getName() + '.' + digest) : null;
+	}
+
+	/**
+	 * Returns a digest of the given value which can be used in file names.
+	 *
+	 * @param value the value
+	 * @return the hexadecimal digest, or <code>null</code> if it cannot be computed
+	 * @since 3.38
+	 */
+	static String getDigest(String value) {
+		try {
+			byte[] digest= MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			return HexFormat.of().formatHex(digest, 0, 16);
+		} catch (NoSuchAlgorithmException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+
+	private static URL toLowercaseURL(URL url) {
+		String urlString= url.toString();
+		String lowercaseUrlString= urlString.toLowerCase();
+		if (urlString.equals(lowercaseUrlString))
+			return null;
+		try {
+			return new URL(lowercaseUrlString);
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the stamp which identifies the current content of the word list. A cache file
+	 * written with a different stamp is not used.
+	 *
+	 * @param url the URL of the word list
+	 * @return the stamp, or <code>null</code> if the word list cannot be accessed
+	 * @since 3.38
+	 */
+	private String getCacheStamp(URL url) {
+		try {
+			URLConnection connection= url.openConnection();
+			long lastModified= connection.getLastModified();
+			long length= connection.getContentLengthLong();
+			connection.getInputStream().close();
+			return url.toExternalForm() + '|' + lastModified + '|' + length + '|' + getEncoding() + '|' + fHashProvider.getClass().getName();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the loaded table to the cache file and maps it, so that the words no longer occupy
+	 * the Java heap. The cache files of other contents of the word list are deleted, unless they
+	 * are still mapped.
+	 *
+	 * @param cacheFile the file to write
+	 * @param stamp the stamp of the word list
+	 * @since 3.38
+	 */
+	private void writeCache(File cacheFile, String stamp) {
+		try {
+			fTable.write(cacheFile, stamp);
+			CompactWordTable mapped= CompactWordTable.map(cacheFile, stamp);
+			if (mapped != null)
+				fTable= mapped;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return;
+		}
+		String prefix= cacheFile.getName().substring(0, cacheFile.getName().lastIndexOf('.') + 1);
+		File[] files= cacheFile.getParentFile().listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().startsWith(prefix) && !file.equals(cacheFile) && !file.getName().endsWith(".tmp")) //$NON-NLS-1$
+					file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Reads the words of a word list into {@link #fBuilder}.
+	 *
+	 * @param url
+	 *                   The URL of the word list to load
+	 * @return <code>true</code> iff the word list could be loaded, <code>false</code>
+	 *               otherwise
+	 * @since 3.38
+	 */
+	private boolean loadWords(final URL url) {
 		if (url != null) {
 			InputStream stream= null;
 			int line= 0;
@@ -646,7 +773,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 					JavaPlugin.log(ex);
 				else
 					try {
-						return load(new URL(lowercaseUrlString));
+						return loadWords(new URL(lowercaseUrlString));
 					} catch (MalformedURLException e) {
 						JavaPlugin.log(e);
 					}
@@ -669,22 +796,6 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
-	/**
-	 * Compacts the dictionary.
-	 *
-	 * @since 3.3.
-	 */
-	private void compact() {
-		synchronized(fHashBuckets) {
-			Iterator<Object> iter= fHashBuckets.values().iterator();
-			while (iter.hasNext()) {
-				Object element= iter.next();
-				if (element instanceof ArrayList)
-					((ArrayList<?>)element).trimToSize();
-			}
-		}
-	}
-
 	/**
 	 * Sets the phonetic distance algorithm to use.
 	 *
@@ -709,9 +820,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	public synchronized void unload() {
 		fLoaded= false;
 		fMustLoad= true;
-		synchronized(fHashBuckets) {
-			fHashBuckets.clear();
-		}
+		fTable= CompactWordTable.EMPTY;
+		fOverlay= Collections.emptyMap();
 	}
 
 	@Override
@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Immutable mapping from phonetic hashes to the words of a dictionary.
+ * <p>
+ * All hashes and words are stored UTF-8 encoded in two byte arenas which are indexed by
+ * <code>int</code> offsets. A hash is located through an open addressing table, the words of a
+ * hash are stored next to each other. Instances are never modified after they have been built,
+ * so any number of threads can read them without locking.
+ * </p>
+ * <p>
+ * Bucket <code>i</code> has the hash bytes <code>[hashOffsets[i], hashOffsets[i + 1])</code> and
+ * the words <code>[bucketStarts[i], bucketStarts[i + 1])</code>. Word <code>j</code> has the
+ * bytes <code>[wordOffsets[j], wordOffsets[j + 1])</code>. The slots of the open addressing table
+ * hold the bucket index plus one, <code>0</code> marks a free slot. Compared to a hash map with
+ * one <code>byte[]</code> per word, a word costs its UTF-8 bytes and one <code>int</code> offset.
+ * </p>
+ * <p>
+ * A table can be written to a file with {@link #write(File, String)} and later be memory-mapped
+ * with {@link #map(File, String)}. A mapped table does not parse or hash anything and keeps its
+ * data outside of the Java heap.
+ * </p>
+ *
+ * @since 3.38
+ */
+final class CompactWordTable {
+
+	/** The empty table */
+	static final CompactWordTable EMPTY= new Builder(0).build();
+
+	/**
+	 * Collects the words of a dictionary while it is loaded.
+	 */
+	static final class Builder {
+
+		private final Map<Key, int[]> fBuckets;
+		private byte[] fWords;
+		private int fWordsLength;
+		private int[] fWordOffsets;
+		private int fWordCount;
+
+		Builder(int initialSize) {
+			fBuckets= new HashMap<>(Math.max(16, initialSize));
+			fWords= new byte[Math.max(64, initialSize * 8)];
+			fWordOffsets= new int[Math.max(16, initialSize)];
+		}
+
+		/**
+		 * Adds a word.
+		 *
+		 * @param hash the UTF-8 encoded phonetic hash of the word
+		 * @param word the UTF-8 encoded word
+		 */
+		void add(byte[] hash, byte[] word) {
+			if (fWordsLength + word.length > fWords.length)
+				fWords= Arrays.copyOf(fWords, Math.max(fWords.length * 2, fWordsLength + word.length));
+			System.arraycopy(word, 0, fWords, fWordsLength, word.length);
+			if (fWordCount == fWordOffsets.length)
+				fWordOffsets= Arrays.copyOf(fWordOffsets, fWordOffsets.length * 2);
+			fWordOffsets[fWordCount]= fWordsLength;
+			fWordsLength+= word.length;
+
+			// bucket layout: [size, wordIndex, wordIndex, ...]
+			Key key= new Key(hash);
+			int[] bucket= fBuckets.get(key);
+			if (bucket == null) {
+				bucket= new int[2];
+			} else if (bucket[0] + 1 == bucket.length) {
+				bucket= Arrays.copyOf(bucket, bucket.length * 2);
+			}
+			bucket[++bucket[0]]= fWordCount;
+			fBuckets.put(key, bucket);
+			fWordCount++;
+		}
+
+		CompactWordTable build() {
+			int bucketCount= fBuckets.size();
+			int hashesLength= 0;
+			for (Key key : fBuckets.keySet())
+				hashesLength+= key.fBytes.length;
+
+			byte[] hashes= new byte[hashesLength];
+			int[] hashOffsets= new int[bucketCount + 1];
+			byte[] words= new byte[fWordsLength];
+			int[] wordOffsets= new int[fWordCount + 1];
+			int[] bucketStarts= new int[bucketCount + 1];
+			int[] slots= new int[tableSize(bucketCount)];
+
+			int bucketIndex= 0;
+			int hashOffset= 0;
+			int wordIndex= 0;
+			int wordOffset= 0;
+			for (Map.Entry<Key, int[]> entry : fBuckets.entrySet()) {
+				byte[] hash= entry.getKey().fBytes;
+				System.arraycopy(hash, 0, hashes, hashOffset, hash.length);
+				hashOffsets[bucketIndex]= hashOffset;
+				hashOffset+= hash.length;
+
+				bucketStarts[bucketIndex]= wordIndex;
+				int[] bucket= entry.getValue();
+				for (int i= 1; i <= bucket[0]; i++) {
+					int word= bucket[i];
+					int start= fWordOffsets[word];
+					int end= word + 1 < fWordCount ? fWordOffsets[word + 1] : fWordsLength;
+					System.arraycopy(fWords, start, words, wordOffset, end - start);
+					wordOffsets[wordIndex++]= wordOffset;
+					wordOffset+= end - start;
+				}
+
+				int slot= hash(hash, 0, hash.length) & (slots.length - 1);
+				while (slots[slot] != 0)
+					slot= (slot + 1) & (slots.length - 1);
+				slots[slot]= bucketIndex + 1;
+				bucketIndex++;
+			}
+			hashOffsets[bucketCount]= hashOffset;
+			bucketStarts[bucketCount]= wordIndex;
+			wordOffsets[fWordCount]= wordOffset;
+
+			return new CompactWordTable(ByteBuffer.wrap(hashes), IntBuffer.wrap(hashOffsets), ByteBuffer.wrap(words), IntBuffer.wrap(wordOffsets),
+					IntBuffer.wrap(bucketStarts), IntBuffer.wrap(slots));
+		}
+
+		private static int tableSize(int count) {
+			int size= 2;
+			while (size < count * 2)
+				size<<= 1;
+			return size;
+		}
+	}
+
+	/**
+	 * Byte array wrapper used as hash key while building.
+	 */
+	private static final class Key {
+
+		final byte[] fBytes;
+		private final int fHash;
+
+		Key(byte[] bytes) {
+			fBytes= bytes;
+			fHash= hash(bytes, 0, bytes.length);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && Arrays.equals(fBytes, ((Key)obj).fBytes);
+		}
+	}
+
+	/** Identifies the binary format, followed by the format version */
+	private static final int MAGIC= 0x4A445344;
+	private static final int VERSION= 1;
+
+	/*
+	 * The buffers are only accessed with absolute get methods, which do not modify the buffers
+	 * and therefore are safe for concurrent readers.
+	 */
+	private final ByteBuffer fHashes;
+	private final IntBuffer fHashOffsets;
+	private final ByteBuffer fWords;
+	private final IntBuffer fWordOffsets;
+	private final IntBuffer fBucketStarts;
+	private final IntBuffer fSlots;
+
+	private CompactWordTable(ByteBuffer hashes, IntBuffer hashOffsets, ByteBuffer words, IntBuffer wordOffsets, IntBuffer bucketStarts, IntBuffer slots) {
+		fHashes= hashes;
+		fHashOffsets= hashOffsets;
+		fWords= words;
+		fWordOffsets= wordOffsets;
+		fBucketStarts= bucketStarts;
+		fSlots= slots;
+	}
+
+	/**
+	 * Memory-maps a table written by {@link #write(File, String)}.
+	 *
+	 * @param file the file to map
+	 * @param stamp the stamp the file must have been written with
+	 * @return the mapped table, or <code>null</code> if the file does not exist, has been written
+	 *         with another stamp or is corrupt
+	 */
+	static CompactWordTable map(File file, String stamp) {
+		if (!file.isFile())
+			return null;
+
+		try (RandomAccessFile raf= new RandomAccessFile(file, "r"); FileChannel channel= raf.getChannel()) { //$NON-NLS-1$
+			// validate the header with plain reads, a mapping would keep the file locked on some platforms
+			long size= channel.size();
+			ByteBuffer header= read(channel, 0, 3 * Integer.BYTES);
+			if (header == null || header.getInt() != MAGIC || header.getInt() != VERSION)
+				return null;
+
+			int stampLength= header.getInt();
+			if (stampLength < 0 || stampLength > size)
+				return null;
+			header= read(channel, 3 * Integer.BYTES, stampLength + 5 * Integer.BYTES);
+			if (header == null)
+				return null;
+			byte[] stampBytes= new byte[stampLength];
+			header.get(stampBytes);
+			if (!stamp.equals(new String(stampBytes, StandardCharsets.UTF_8)))
+				return null;
+
+			int bucketCount= header.getInt();
+			int wordCount= header.getInt();
+			int slotCount= header.getInt();
+			int hashesLength= header.getInt();
+			int wordsLength= header.getInt();
+			if (bucketCount < 0 || wordCount < 0 || Integer.bitCount(slotCount) != 1 || hashesLength < 0 || wordsLength < 0)
+				return null;
+			long dataStart= 8L * Integer.BYTES + stampLength;
+			long dataLength= Integer.BYTES * (2L * (bucketCount + 1L) + wordCount + 1L + slotCount) + hashesLength + wordsLength;
+			if (dataStart + dataLength != size || dataLength > Integer.MAX_VALUE)
+				return null;
+
+			MappedByteBuffer buffer= channel.map(FileChannel.MapMode.READ_ONLY, dataStart, dataLength);
+			IntBuffer hashOffsets= intSection(buffer, bucketCount + 1);
+			IntBuffer bucketStarts= intSection(buffer, bucketCount + 1);
+			IntBuffer wordOffsets= intSection(buffer, wordCount + 1);
+			IntBuffer slots= intSection(buffer, slotCount);
+			ByteBuffer hashes= byteSection(buffer, hashesLength);
+			ByteBuffer words= byteSection(buffer, wordsLength);
+
+			return new CompactWordTable(hashes, hashOffsets, words, wordOffsets, bucketStarts, slots);
+		} catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Reads the given number of bytes at the given position, returns null if the file is too short.
+	 */
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				return null;
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private static IntBuffer intSection(ByteBuffer buffer, int count) {
+		ByteBuffer section= byteSection(buffer, count * Integer.BYTES);
+		return section.asIntBuffer();
+	}
+
+	private static ByteBuffer byteSection(ByteBuffer buffer, int length) {
+		ByteBuffer section= buffer.slice(buffer.position(), length);
+		buffer.position(buffer.position() + length);
+		return section;
+	}
+
+	/**
+	 * Writes this table to a file which can be mapped with {@link #map(File, String)}. The file
+	 * is written to a temporary file first and then moved into place.
+	 *
+	 * @param file the file to write
+	 * @param stamp identifies the source of the table, e.g. the word list and its modification time
+	 * @throws IOException if the file could not be written
+	 */
+	void write(File file, String stamp) throws IOException {
+		File directory= file.getParentFile();
+		if (directory != null && !directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Cannot create " + directory); //$NON-NLS-1$
+
+		File temp= File.createTempFile(file.getName(), ".tmp", directory); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+				byte[] stampBytes= stamp.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(stampBytes.length);
+				out.write(stampBytes);
+				out.writeInt(fHashOffsets.limit() - 1);
+				out.writeInt(fWordOffsets.limit() - 1);
+				out.writeInt(fSlots.limit());
+				out.writeInt(fHashes.limit());
+				out.writeInt(fWords.limit());
+				writeInts(out, fHashOffsets);
+				writeInts(out, fBucketStarts);
+				writeInts(out, fWordOffsets);
+				writeInts(out, fSlots);
+				writeBytes(out, fHashes);
+				writeBytes(out, fWords);
+			}
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	private static void writeInts(DataOutputStream out, IntBuffer buffer) throws IOException {
+		for (int i= 0, n= buffer.limit(); i < n; i++)
+			out.writeInt(buffer.get(i));
+	}
+
+	private static void writeBytes(DataOutputStream out, ByteBuffer buffer) throws IOException {
+		for (int i= 0, n= buffer.limit(); i < n; i++)
+			out.write(buffer.get(i));
+	}
+
+	/**
+	 * Returns the bucket holding the words with the given phonetic hash.
+	 *
+	 * @param hash the UTF-8 encoded phonetic hash
+	 * @return the index of the bucket, or <code>-1</code> if there are no words with this hash
+	 */
+	int find(byte[] hash) {
+		int mask= fSlots.limit() - 1;
+		int slot= hash(hash, 0, hash.length) & mask;
+		while (true) {
+			int bucket= fSlots.get(slot) - 1;
+			if (bucket < 0)
+				return -1;
+			if (regionEquals(fHashes, fHashOffsets.get(bucket), fHashOffsets.get(bucket + 1), hash))
+				return bucket;
+			slot= (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * @param bucket the index of the bucket
+	 * @return the number of words in the bucket
+	 */
+	int getWordCount(int bucket) {
+		return fBucketStarts.get(bucket + 1) - fBucketStarts.get(bucket);
+	}
+
+	/**
+	 * @param bucket the index of the bucket
+	 * @param index the index of the word in the bucket
+	 * @return the word
+	 */
+	String getWord(int bucket, int index) {
+		int word= fBucketStarts.get(bucket) + index;
+		int start= fWordOffsets.get(word);
+		byte[] bytes= new byte[fWordOffsets.get(word + 1) - start];
+		fWords.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Tells whether the bucket contains the given word.
+	 *
+	 * @param bucket the index of the bucket
+	 * @param word the UTF-8 encoded word
+	 * @return <code>true</code> if the word is in the bucket
+	 */
+	boolean contains(int bucket, byte[] word) {
+		for (int i= fBucketStarts.get(bucket), end= fBucketStarts.get(bucket + 1); i < end; i++) {
+			if (regionEquals(fWords, fWordOffsets.get(i), fWordOffsets.get(i + 1), word))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean regionEquals(ByteBuffer buffer, int from, int to, byte[] bytes) {
+		if (to - from != bytes.length)
+			return false;
+		for (int i= 0; i < bytes.length; i++) {
+			if (buffer.get(from + i) != bytes[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of words in this table
+	 */
+	int size() {
+		return fWordOffsets.limit() - 1;
+	}
+
+	boolean isEmpty() {
+		return size() == 0;
+	}
+
+	private static int hash(byte[] bytes, int from, int to) {
+		int result= 1;
+		for (int i= from; i < to; i++)
+			result= 31 * result + bytes[i];
+		return result ^ (result >>> 16);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Locale;
@@ -31,6 +32,12 @@ public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
 	/** The location of the dictionaries */
 	private final URL fLocation;
 
+	/**
+	 * The directory for the compiled dictionaries, or <code>null</code>
+	 * @since 3.38
+	 */
+	private final File fCacheDirectory;
+
 	/**
 	 * Creates a new locale sensitive spell dictionary.
 	 *
@@ -40,8 +47,25 @@ public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
 	 *                   The location of the locale sensitive dictionaries
 	 */
 	public LocaleSensitiveSpellDictionary(final Locale locale, final URL location) {
+		this(locale, location, null);
+	}
+
+	/**
+	 * Creates a new locale sensitive spell dictionary which caches its compiled word list.
+	 *
+	 * @param locale
+	 *                   The locale for this dictionary
+	 * @param location
+	 *                   The location of the locale sensitive dictionaries
+	 * @param cacheDirectory
+	 *                   The directory for the compiled word list, or <code>null</code> to parse
+	 *                   the word list on every load
+	 * @since 3.38
+	 */
+	public LocaleSensitiveSpellDictionary(final Locale locale, final URL location, final File cacheDirectory) {
 		fLocation= location;
 		fLocale= locale;
+		fCacheDirectory= cacheDirectory;
 	}
 
 	/**
@@ -58,6 +82,17 @@ public class LocaleSensitiveSpellDictionary extends AbstractSpellDictionary {
 		return new URL(fLocation, fLocale.toString() + ".dictionary");  //$NON-NLS-1$
 	}
 
+	@Override
+	protected File getCacheFile() {
+		if (fCacheDirectory == null)
+			return null;
+		// several locations may contain a dictionary for the same locale
+		String digest= getDigest(fLocation.toExternalForm());
+		if (digest == null)
+			return null;
+		return new File(fCacheDirectory, fLocale.toString() + '-' + digest + ".dictionary"); //$NON-NLS-1$
+	}
+
 	@Override
 	protected int getInitialSize() {
 		return 32 * 1024;
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOrdinaryClassFile;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+/**
+ * Decides whether a Java element delta can change the structure of a type hierarchy, that is the
+ * set of types it contains or their supertypes.
+ * <p>
+ * Most changes to the compilation units of a hierarchy only edit members. The type hierarchy of
+ * JDT Core reports them all as hierarchy changes, which forces a rebuild of the whole hierarchy.
+ * The detector compares the supertypes declared by the changed types with the ones in the
+ * hierarchy instead, and looks for added types that extend a type of the hierarchy. Changes it
+ * cannot express in terms of types, like classpath changes, are structural.
+ * </p>
+ */
+final class HierarchyChangeDetector {
+
+	private static final int KIND_FLAGS= Flags.AccInterface | Flags.AccEnum | Flags.AccAnnotation;
+
+	private static final String JAVA_LANG_OBJECT= "java.lang.Object"; //$NON-NLS-1$
+
+	/**
+	 * The superclasses of types that do not declare one: classes, enums and records.
+	 */
+	private static final Set<String> IMPLICIT_SUPERCLASSES= Set.of(JAVA_LANG_OBJECT, "java.lang.Enum", "java.lang.Record"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private final ITypeHierarchy fHierarchy;
+	private final boolean fIsSuperTypesOnly;
+
+	/**
+	 * The types of the hierarchy by the handle identifier of their type root, created on first use.
+	 */
+	private Map<String, List<IType>> fTypesByTypeRoot;
+
+	/**
+	 * The simple names of the focus type and its subtypes, created on first use.
+	 */
+	private Set<String> fTypeNames;
+
+	/**
+	 * Creates a detector.
+	 *
+	 * @param hierarchy the hierarchy
+	 * @param isSuperTypesOnly <code>true</code> if the hierarchy only contains the supertypes of
+	 *            its type
+	 */
+	HierarchyChangeDetector(ITypeHierarchy hierarchy, boolean isSuperTypesOnly) {
+		fHierarchy= hierarchy;
+		fIsSuperTypesOnly= isSuperTypesOnly;
+	}
+
+	/**
+	 * Returns whether a delta can change the structure of the hierarchy.
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the hierarchy must be recomputed
+	 */
+	boolean isStructuralChange(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		try {
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					break;
+				case IJavaElement.JAVA_PROJECT:
+					if (delta.getKind() != IJavaElementDelta.CHANGED
+							|| (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLASSPATH_CHANGED
+									| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+						return true;
+					}
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (delta.getKind() != IJavaElementDelta.CHANGED
+							|| (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+									| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+						return true;
+					}
+					break;
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (delta.getKind() == IJavaElementDelta.REMOVED) {
+						// the removed children are not reported
+						return true;
+					}
+					break;
+				case IJavaElement.COMPILATION_UNIT:
+				case IJavaElement.CLASS_FILE:
+					return isStructuralTypeRootChange(delta);
+				case IJavaElement.TYPE:
+					return isStructuralTypeChange(delta);
+				case IJavaElement.METHOD:
+				case IJavaElement.FIELD:
+				case IJavaElement.INITIALIZER:
+					// local and anonymous types
+					break;
+				default:
+					return false;
+			}
+		} catch (JavaModelException e) {
+			return true;
+		}
+		return isStructuralChildrenChange(delta);
+	}
+
+	private boolean isStructuralChildrenChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isStructuralChange(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isStructuralTypeRootChange(IJavaElementDelta delta) throws JavaModelException {
+		ITypeRoot typeRoot= (ITypeRoot) delta.getElement();
+		if (typeRoot.getElementType() == IJavaElement.COMPILATION_UNIT && !JavaModelUtil.isPrimary((ICompilationUnit) typeRoot)) {
+			return false;
+		}
+		if (delta.getKind() == IJavaElementDelta.CHANGED && (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED) != 0 && !hasImportChange(delta)) {
+			return isStructuralChildrenChange(delta);
+		}
+		if (delta.getKind() == IJavaElementDelta.CHANGED
+				&& (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) == 0) {
+			return false;
+		}
+		// the contents changed without a fine grained delta, or the imports that resolve the
+		// supertype names changed: compare all types of the type root
+		List<IType> knownTypes= getTypesByTypeRoot().get(typeRoot.getHandleIdentifier());
+		if (knownTypes != null) {
+			for (IType type : knownTypes) {
+				if (!type.exists()) {
+					return true;
+				}
+			}
+		}
+		if (delta.getKind() == IJavaElementDelta.REMOVED || !typeRoot.exists()) {
+			return false;
+		}
+		List<IType> types= new ArrayList<>();
+		if (typeRoot instanceof IOrdinaryClassFile) {
+			types.add(((IOrdinaryClassFile) typeRoot).getType());
+		} else {
+			collectTypes(typeRoot, types);
+		}
+		for (IType type : types) {
+			if (isStructuralTypeChange(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasImportChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			int type= child.getElement().getElementType();
+			if (type == IJavaElement.IMPORT_CONTAINER || type == IJavaElement.IMPORT_DECLARATION) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isStructuralTypeChange(IJavaElementDelta delta) throws JavaModelException {
+		IType type= (IType) delta.getElement();
+		switch (delta.getKind()) {
+			case IJavaElementDelta.REMOVED:
+				return fHierarchy.contains(type);
+			case IJavaElementDelta.ADDED:
+				return isStructuralTypeChange(type);
+			default:
+				if ((delta.getFlags() & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0 && isStructuralTypeChange(type)) {
+					return true;
+				}
+				return isStructuralChildrenChange(delta);
+		}
+	}
+
+	private boolean isStructuralTypeChange(IType type) throws JavaModelException {
+		if (!type.exists()) {
+			return fHierarchy.contains(type);
+		}
+		if (!fHierarchy.contains(type)) {
+			return isPossibleNewType(type);
+		}
+		if ((fHierarchy.getCachedFlags(type) & KIND_FLAGS) != (type.getFlags() & KIND_FLAGS)) {
+			return true;
+		}
+		List<String> declared= new ArrayList<>();
+		addErasure(declared, type.getSuperclassName());
+		for (String name : type.getSuperInterfaceNames()) {
+			addErasure(declared, name);
+		}
+		List<IType> known= new ArrayList<>();
+		IType superclass= fHierarchy.getSuperclass(type);
+		if (superclass != null) {
+			if (type.getSuperclassName() != null) {
+				known.add(superclass);
+			} else if (!IMPLICIT_SUPERCLASSES.contains(superclass.getFullyQualifiedName('.'))) {
+				return true;
+			}
+		}
+		for (IType superInterface : fHierarchy.getSuperInterfaces(type)) {
+			known.add(superInterface);
+		}
+		known.removeIf(t -> JAVA_LANG_OBJECT.equals(t.getFullyQualifiedName('.')));
+		if (declared.size() != known.size()) {
+			return true;
+		}
+		for (String name : declared) {
+			if (!containsType(type, known, name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether a type that is not part of the hierarchy may have to be added to it.
+	 *
+	 * @param type the type
+	 * @return <code>true</code> if the type may belong to the hierarchy
+	 * @throws JavaModelException if the type cannot be accessed
+	 */
+	private boolean isPossibleNewType(IType type) throws JavaModelException {
+		if (fHierarchy.getType() == null) {
+			// a region hierarchy may grow by any type
+			return true;
+		}
+		if (fIsSuperTypesOnly) {
+			return false;
+		}
+		Set<String> typeNames= getTypeNames();
+		String superclassName= type.getSuperclassName();
+		if (superclassName != null && typeNames.contains(getSimpleName(superclassName))) {
+			return true;
+		}
+		for (String name : type.getSuperInterfaceNames()) {
+			if (typeNames.contains(getSimpleName(name))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsType(IType type, List<IType> types, String name) throws JavaModelException {
+		String qualifiedName= null;
+		if (!type.isBinary()) {
+			String[][] resolved= type.resolveType(name);
+			if (resolved != null && resolved.length == 1) {
+				qualifiedName= JavaModelUtil.concatenateName(resolved[0][0], resolved[0][1]);
+			}
+		}
+		for (IType candidate : types) {
+			String candidateName= candidate.getFullyQualifiedName('.');
+			if (qualifiedName != null ? candidateName.equals(qualifiedName) : candidateName.equals(name) || candidateName.endsWith('.' + name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void addErasure(List<String> names, String name) {
+		if (name != null) {
+			String erasure= Signature.getTypeErasure(name).replace('$', '.');
+			if (!JAVA_LANG_OBJECT.equals(erasure) && !"Object".equals(erasure)) { //$NON-NLS-1$
+				names.add(erasure);
+			}
+		}
+	}
+
+	private static String getSimpleName(String name) {
+		String erasure= Signature.getTypeErasure(name);
+		return erasure.substring(Math.max(erasure.lastIndexOf('.'), erasure.lastIndexOf('$')) + 1);
+	}
+
+	/**
+	 * Collects the types of an element, including member, local and anonymous types.
+	 *
+	 * @param parent the element
+	 * @param types receives the types
+	 * @throws JavaModelException if the element cannot be accessed
+	 */
+	private static void collectTypes(IParent parent, List<IType> types) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			switch (child.getElementType()) {
+				case IJavaElement.TYPE:
+					types.add((IType) child);
+					//$FALL-THROUGH$
+				case IJavaElement.METHOD:
+				case IJavaElement.FIELD:
+				case IJavaElement.INITIALIZER:
+					collectTypes((IParent) child, types);
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	private synchronized Map<String, List<IType>> getTypesByTypeRoot() {
+		if (fTypesByTypeRoot == null) {
+			Map<String, List<IType>> typesByTypeRoot= new HashMap<>();
+			for (IType type : fHierarchy.getAllTypes()) {
+				ITypeRoot typeRoot= type.getTypeRoot();
+				if (typeRoot != null) {
+					typesByTypeRoot.computeIfAbsent(typeRoot.getHandleIdentifier(), k -> new ArrayList<>()).add(type);
+				}
+			}
+			fTypesByTypeRoot= typesByTypeRoot;
+		}
+		return fTypesByTypeRoot;
+	}
+
+	private synchronized Set<String> getTypeNames() {
+		if (fTypeNames == null) {
+			// a new type can only be a subtype of the focus type
+			Set<String> typeNames= new HashSet<>();
+			IType focus= fHierarchy.getType();
+			typeNames.add(focus.getElementName());
+			for (IType type : fHierarchy.getAllSubtypes(focus)) {
+				typeNames.add(type.getElementName());
+			}
+			fTypeNames= typeNames;
+		}
+		return fTypeNames;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -56,6 +56,19 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
+	/**
+	 * Whether changes of the hierarchy are detected from the Java element deltas by a
+	 * {@link HierarchyChangeDetector} and computed in the background while the old hierarchy is
+	 * still shown. Otherwise every change reported by the type hierarchy refreshes it.
+	 */
+	private static final boolean INCREMENTAL_REFRESH= !Boolean.getBoolean("org.eclipse.jdt.ui.typehierarchy.fullRefresh"); //$NON-NLS-1$
+
+	/**
+	 * The time in milliseconds to wait for further changes before the hierarchy is updated in
+	 * the background.
+	 */
+	private static final int UPDATE_DELAY= Math.max(0, Integer.getInteger("org.eclipse.jdt.ui.typehierarchy.updateDelay", 500).intValue()); //$NON-NLS-1$
+
 	private boolean fHierarchyRefreshNeeded;
 	private ITypeHierarchy fHierarchy;
 	private IJavaElement[] fInputElements;
@@ -84,6 +97,17 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	private boolean fRefreshJobCanceledExplicitly= true;
 
+	/**
+	 * Detects the changes of the current hierarchy in incremental refresh mode.
+	 */
+	private HierarchyChangeDetector fChangeDetector;
+
+	/**
+	 * The job that computes the hierarchy again after a structural change in incremental refresh
+	 * mode, or <code>null</code>. The job belongs to the family of this life cycle.
+	 */
+	private Job fUpdateHierarchyJob;
+
 	/**
 	 * Creates the type hierarchy life cycle.
 	 *
@@ -121,14 +145,20 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		if (fHierarchy != null) {
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
-			fHierarchy= null;
-			fInputElements= null;
+			synchronized (this) {
+				fHierarchy= null;
+				fInputElements= null;
+				fChangeDetector= null;
+			}
 		}
 		synchronized (this) {
 			if (fRefreshHierarchyJob != null) {
 				fRefreshHierarchyJob.cancel();
 				fRefreshHierarchyJob= null;
 			}
+			if (fUpdateHierarchyJob != null) {
+				fUpdateHierarchyJob.cancel();
+			}
 		}
 	}
 
@@ -321,22 +351,108 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
 		}
+		synchronized (this) {
+			// the hierarchy is computed from scratch, a pending update is obsolete
+			if (fUpdateHierarchyJob != null) {
+				fUpdateHierarchyJob.cancel();
+			}
+		}
 		if (hierachyCreationNeeded) {
-			fHierarchy= createTypeHierarchy(elements, pm);
+			ITypeHierarchy hierarchy= createTypeHierarchy(elements, pm);
 			if (pm != null && pm.isCanceled()) {
 				throw new OperationCanceledException();
 			}
-			fInputElements= elements;
+			synchronized (this) {
+				fHierarchy= hierarchy;
+				fInputElements= elements;
+			}
 		} else {
 			fHierarchy.refresh(pm);
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
 		}
-		fHierarchy.addTypeHierarchyChangedListener(this);
+		if (INCREMENTAL_REFRESH) {
+			fChangeDetector= new HierarchyChangeDetector(fHierarchy, fIsSuperTypesOnly);
+		} else {
+			fHierarchy.addTypeHierarchyChangedListener(this);
+		}
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
 	}
 
+	/**
+	 * Schedules the computation of the hierarchy after a structural change. The job waits for
+	 * further changes before it starts, and starts again if a change arrives while it runs.
+	 */
+	private synchronized void scheduleHierarchyUpdate() {
+		if (fInputElements == null) {
+			return;
+		}
+		if (fUpdateHierarchyJob == null) {
+			fUpdateHierarchyJob= new Job("") { //$NON-NLS-1$
+				@Override
+				protected IStatus run(IProgressMonitor pm) {
+					return doHierarchyUpdate(pm);
+				}
+
+				@Override
+				public boolean belongsTo(Object family) {
+					return family == TypeHierarchyLifeCycle.this;
+				}
+			};
+			fUpdateHierarchyJob.setSystem(true);
+		}
+		fUpdateHierarchyJob.setName(Messages.format(TypeHierarchyMessages.TypeHierarchyLifeCycle_computeInput, HistoryAction.getElementLabel(fInputElements)));
+		fUpdateHierarchyJob.cancel();
+		fUpdateHierarchyJob.schedule(UPDATE_DELAY);
+	}
+
+	/**
+	 * Computes a new hierarchy for the current input elements and replaces the current hierarchy
+	 * when it is complete. The current hierarchy is served until then.
+	 *
+	 * @param pm the progress monitor
+	 * @return the status of the update
+	 */
+	private IStatus doHierarchyUpdate(IProgressMonitor pm) {
+		IJavaElement[] elements;
+		ITypeHierarchy oldHierarchy;
+		synchronized (this) {
+			elements= fInputElements;
+			oldHierarchy= fHierarchy;
+		}
+		if (elements == null || oldHierarchy == null || fHierarchyRefreshNeeded) {
+			return Status.OK_STATUS;
+		}
+		for (IJavaElement element : elements) {
+			if (!element.exists()) {
+				freeHierarchy();
+				fireChange(null);
+				return Status.OK_STATUS;
+			}
+		}
+		ITypeHierarchy hierarchy;
+		try {
+			hierarchy= createTypeHierarchy(elements, pm);
+		} catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
+		} catch (JavaModelException e) {
+			return e.getStatus();
+		}
+		if (pm.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		synchronized (this) {
+			if (fHierarchy != oldHierarchy || fInputElements != elements || fHierarchyRefreshNeeded) {
+				return Status.CANCEL_STATUS;
+			}
+			fHierarchy= hierarchy;
+			fChangeDetector= new HierarchyChangeDetector(hierarchy, fIsSuperTypesOnly);
+		}
+		fireChange(null);
+		return Status.OK_STATUS;
+	}
+
 	/*
 	 * @see ITypeHierarchyChangedListener#typeHierarchyChanged
 	 */
@@ -357,6 +473,10 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 		if (fHierarchyRefreshNeeded) {
 			return;
+		}
+		HierarchyChangeDetector changeDetector= fChangeDetector;
+		if (changeDetector != null && changeDetector.isStructuralChange(event.getDelta())) {
+			scheduleHierarchyUpdate();
 		} else {
 			ArrayList<IType> changedTypes= new ArrayList<>();
 			processDelta(event.getDelta(), changedTypes);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -202,6 +202,7 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 	private boolean fNeedRefresh;
 	private boolean fIsEnableMemberFilter;
 	private boolean fIsRefreshRunnablePosted;
+	private boolean fIsHierarchyChangePosted;
 
 	private int fCurrentViewerIndex;
 	private TypeHierarchyViewer[] fAllViewers;
@@ -1527,6 +1528,9 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 			fNeedRefresh= true;
 			return;
 		}
+		if (changedTypes == null) {
+			fIsHierarchyChangePosted= true;
+		}
 		if (fIsRefreshRunnablePosted) {
 			return;
 		}
@@ -1537,10 +1541,11 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 			display.asyncExec(() -> {
 				try {
 					if (fPagebook != null && !fPagebook.isDisposed()) {
-						doTypeHierarchyChangedOnViewers(changedTypes);
+						doTypeHierarchyChangedOnViewers(fIsHierarchyChangePosted ? null : changedTypes);
 					}
 				} finally {
 					fIsRefreshRunnablePosted= false;
+					fIsHierarchyChangePosted= false;
 				}
 			});
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.jdt.internal.ui.viewsupport;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -177,6 +178,18 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		}
 	}
 
+	/**
+	 * Notifies the listeners that the problem markers of the given resources have changed. Can be
+	 * called from any thread.
+	 *
+	 * @param resources the resources whose problems have changed
+	 */
+	public void fireMarkerChanges(Collection<IResource> resources) {
+		if (fResourcesWithMarkerChanges.addAll(resources)) {
+			fireChanges();
+		}
+	}
+
 	private void fireChanges() {
 		throttledUpdates.throttledExec();
 	}
@@ -0,0 +1,523 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceStatus;
+import org.eclipse.core.resources.IWorkspaceRoot;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Keeps the maximum severity of the <code>IMarker.PROBLEM</code> markers of every resource and of
+ * the subtree below it, so that the severity of a container can be looked up without searching
+ * its members.
+ * <p>
+ * The tree only holds nodes for resources that have problem markers or contain resources with
+ * problem markers. Each node counts the markers of its subtree per severity. The tree is built in a
+ * job when it is first queried after a client has connected, and afterwards it is updated from the
+ * marker deltas of resource change events.
+ * </p>
+ * <p>
+ * Queries never read markers while a client is connected, so that they can be called from the UI
+ * thread. Markers are read without holding the lock of the tree, which is only taken to apply the
+ * changes that were read. Until the tree is built, queries report no problems. Once it is built,
+ * the resources with problems are reported to the listeners of the {@link ProblemMarkerManager}.
+ * </p>
+ */
+public class ProblemSeverityTree implements IResourceChangeListener {
+
+	private static final class Node {
+
+		final Node fParent;
+		final String fName;
+
+		/** problem markers on the resource of this node, key is the marker id, value is the severity */
+		Map<Long, Integer> fMarkers;
+		Map<String, Node> fChildren;
+
+		/** number of problem markers in the subtree per severity */
+		final int[] fCounts= new int[IMarker.SEVERITY_ERROR + 1];
+
+		Node(Node parent, String name) {
+			fParent= parent;
+			fName= name;
+		}
+
+		boolean isEmpty() {
+			for (int count : fCounts) {
+				if (count != 0)
+					return false;
+			}
+			return true;
+		}
+
+		int getMaxSeverity() {
+			for (int severity= IMarker.SEVERITY_ERROR; severity >= IMarker.SEVERITY_INFO; severity--) {
+				if (fCounts[severity] != 0)
+					return severity;
+			}
+			return -1;
+		}
+
+		int getOwnMaxSeverity() {
+			int max= -1;
+			if (fMarkers != null) {
+				for (Integer severity : fMarkers.values()) {
+					max= Math.max(max, severity.intValue());
+				}
+			}
+			return max;
+		}
+	}
+
+	/**
+	 * A change of the tree. Updates are read from the workspace without holding the lock of the
+	 * tree and are applied in the order in which they were read.
+	 */
+	private static final class Update {
+
+		static final int SET_MARKER= 0;
+		static final int REMOVE_MARKER= 1;
+		static final int REMOVE_SUBTREE= 2;
+
+		final int fKind;
+		final IPath fPath;
+		final long fId;
+		final int fSeverity;
+
+		Update(int kind, IPath path, long id, int severity) {
+			fKind= kind;
+			fPath= path;
+			fId= id;
+			fSeverity= severity;
+		}
+	}
+
+	private static final class MarkerDeltaVisitor implements IResourceDeltaVisitor {
+
+		private final List<Update> fUpdates;
+
+		MarkerDeltaVisitor(List<Update> updates) {
+			fUpdates= updates;
+		}
+
+		@Override
+		public boolean visit(IResourceDelta delta) throws CoreException {
+			IResource resource= delta.getResource();
+			IPath path= resource.getFullPath();
+			switch (delta.getKind()) {
+				case IResourceDelta.REMOVED:
+					fUpdates.add(new Update(Update.REMOVE_SUBTREE, path, 0, 0));
+					return false;
+				case IResourceDelta.ADDED:
+					readMarkers(resource, fUpdates);
+					return false;
+				case IResourceDelta.CHANGED:
+					if (resource.getType() == IResource.PROJECT && (delta.getFlags() & IResourceDelta.OPEN) != 0) {
+						// markers of closed projects are not accessible
+						readMarkers(resource, fUpdates);
+						return false;
+					}
+					if ((delta.getFlags() & IResourceDelta.MARKERS) != 0) {
+						for (IMarkerDelta markerDelta : delta.getMarkerDeltas()) {
+							if (markerDelta.isSubtypeOf(IMarker.PROBLEM)) {
+								if (markerDelta.getKind() == IResourceDelta.REMOVED) {
+									fUpdates.add(new Update(Update.REMOVE_MARKER, path, markerDelta.getId(), 0));
+								} else {
+									fUpdates.add(new Update(Update.SET_MARKER, path, markerDelta.getId(), markerDelta.getMarker().getAttribute(IMarker.SEVERITY, -1)));
+								}
+							}
+						}
+					}
+					return true;
+				default:
+					return true;
+			}
+		}
+	}
+
+	private final class InitializeJob extends Job {
+
+		private final int fGeneration;
+
+		InitializeJob(int generation) {
+			super("Java problem severities calculation..."); //$NON-NLS-1$
+			fGeneration= generation;
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return ProblemSeverityTree.class == family;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<Update> updates= new ArrayList<>();
+			readMarkers(JavaPlugin.getWorkspace().getRoot(), updates);
+			List<IPath> paths= new ArrayList<>();
+			synchronized (ProblemSeverityTree.this) {
+				if (fGeneration != fInitializeGeneration)
+					return Status.CANCEL_STATUS; // disconnected or reset in the meantime
+				if (monitor.isCanceled()) {
+					// read all markers again on the next query
+					fPendingUpdates= null;
+					return Status.CANCEL_STATUS;
+				}
+				apply(updates);
+				apply(fPendingUpdates);
+				fPendingUpdates= null;
+				fInitialized= true;
+				collectPaths(fRoot, Path.ROOT, paths);
+			}
+			// the queries have reported no problems so far
+			IWorkspaceRoot root= JavaPlugin.getWorkspace().getRoot();
+			List<IResource> resources= new ArrayList<>(paths.size());
+			for (IPath path : paths) {
+				IResource resource= root.findMember(path);
+				if (resource != null) {
+					resources.add(resource);
+				}
+			}
+			if (!resources.isEmpty()) {
+				JavaPlugin.getDefault().getProblemMarkerManager().fireMarkerChanges(resources);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private final Node fRoot= new Node(null, null);
+
+	private int fConnections;
+	private boolean fInitialized;
+
+	/**
+	 * The updates read while the tree is built, or <code>null</code> if the tree is not being built.
+	 */
+	private List<Update> fPendingUpdates;
+	private InitializeJob fInitializeJob;
+	private int fInitializeGeneration;
+
+	public ProblemSeverityTree() {
+	}
+
+	/**
+	 * Starts tracking problem markers for a client. Each call must be balanced by a call to
+	 * {@link #disconnect()}.
+	 */
+	public synchronized void connect() {
+		if (fConnections++ == 0) {
+			JavaPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		}
+	}
+
+	/**
+	 * Stops tracking problem markers for a client. The tree is discarded when the last client
+	 * disconnects.
+	 */
+	public synchronized void disconnect() {
+		if (fConnections > 0 && --fConnections == 0) {
+			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
+			reset();
+		}
+	}
+
+	/**
+	 * Returns the maximum severity of the problem markers (including subtypes) on the given
+	 * resource and its members up to the given depth. This is equivalent to
+	 * {@link IResource#findMaxProblemSeverity(String, boolean, int)} with
+	 * <code>IMarker.PROBLEM</code>, except that no problems are reported while the tree is built.
+	 *
+	 * @param resource the resource
+	 * @param depth one of {@link IResource#DEPTH_ZERO}, {@link IResource#DEPTH_ONE} or
+	 *            {@link IResource#DEPTH_INFINITE}
+	 * @return the maximum severity or -1 if there are no problem markers or the tree is not built
+	 *         yet
+	 * @throws CoreException if no client is connected and the markers cannot be read
+	 */
+	public int getMaxSeverity(IResource resource, int depth) throws CoreException {
+		synchronized (this) {
+			if (fConnections > 0) {
+				if (!initialize())
+					return -1;
+				Node node= findNode(resource.getFullPath());
+				if (node == null)
+					return -1;
+				switch (depth) {
+					case IResource.DEPTH_ZERO:
+						return node.getOwnMaxSeverity();
+					case IResource.DEPTH_ONE:
+						int max= node.getOwnMaxSeverity();
+						if (node.fChildren != null) {
+							for (Node child : node.fChildren.values()) {
+								max= Math.max(max, child.getOwnMaxSeverity());
+							}
+						}
+						return max;
+					default:
+						return node.getMaxSeverity();
+				}
+			}
+		}
+		return resource.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+	}
+
+	/**
+	 * Returns the names of the members of the given container that have problem markers or
+	 * contain resources with problem markers.
+	 *
+	 * @param container the container
+	 * @return the names of the members with problems, empty if the tree is not built yet
+	 * @throws CoreException if no client is connected and the members cannot be read
+	 */
+	public List<String> getMembersWithProblems(IContainer container) throws CoreException {
+		List<String> result= new ArrayList<>();
+		synchronized (this) {
+			if (fConnections > 0) {
+				if (initialize()) {
+					Node node= findNode(container.getFullPath());
+					if (node != null && node.fChildren != null) {
+						result.addAll(node.fChildren.keySet());
+					}
+				}
+				return result;
+			}
+		}
+		for (IResource member : container.members()) {
+			if (member.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE) != -1) {
+				result.add(member.getName());
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		synchronized (this) {
+			if (!fInitialized && fPendingUpdates == null)
+				return; // markers are read when the tree is first queried
+		}
+		// large deltas are visited and the markers of added resources are read without the lock
+		List<Update> updates= new ArrayList<>();
+		try {
+			delta.accept(new MarkerDeltaVisitor(updates));
+		} catch (CoreException e) {
+			JavaPlugin.log(e.getStatus());
+			synchronized (this) {
+				// read all markers again on the next query
+				reset();
+			}
+			return;
+		}
+		synchronized (this) {
+			if (fPendingUpdates != null) {
+				fPendingUpdates.addAll(updates);
+			} else if (fInitialized) {
+				apply(updates);
+			}
+		}
+	}
+
+	/**
+	 * Schedules the job that builds the tree, unless the tree is built or being built.
+	 *
+	 * @return <code>true</code> if the tree is built
+	 */
+	private boolean initialize() {
+		if (fInitialized)
+			return true;
+		if (fPendingUpdates == null) {
+			fPendingUpdates= new ArrayList<>();
+			fInitializeJob= new InitializeJob(fInitializeGeneration);
+			fInitializeJob.schedule();
+		}
+		return false;
+	}
+
+	private void reset() {
+		if (fInitializeJob != null) {
+			fInitializeJob.cancel();
+			fInitializeJob= null;
+		}
+		fInitializeGeneration++;
+		fPendingUpdates= null;
+		fInitialized= false;
+		clear();
+	}
+
+	private void clear() {
+		fRoot.fMarkers= null;
+		fRoot.fChildren= null;
+		for (int i= 0; i < fRoot.fCounts.length; i++) {
+			fRoot.fCounts[i]= 0;
+		}
+	}
+
+	/*
+	 * Reads the updates that replace the subtree of the given resource with its current problem markers.
+	 */
+	private static void readMarkers(IResource resource, List<Update> updates) {
+		updates.add(new Update(Update.REMOVE_SUBTREE, resource.getFullPath(), 0, 0));
+		if (!resource.isAccessible())
+			return;
+		try {
+			for (IMarker marker : resource.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE)) {
+				updates.add(new Update(Update.SET_MARKER, marker.getResource().getFullPath(), marker.getId(), marker.getAttribute(IMarker.SEVERITY, -1)));
+			}
+		} catch (CoreException e) {
+			int code= e.getStatus().getCode();
+			if (code != IResourceStatus.RESOURCE_NOT_FOUND && code != IResourceStatus.PROJECT_NOT_OPEN) {
+				JavaPlugin.log(e);
+			}
+		}
+	}
+
+	private void apply(List<Update> updates) {
+		for (Update update : updates) {
+			switch (update.fKind) {
+				case Update.SET_MARKER:
+					setMarker(update.fPath, update.fId, update.fSeverity);
+					break;
+				case Update.REMOVE_MARKER:
+					removeMarker(update.fPath, update.fId);
+					break;
+				default:
+					removeSubtree(update.fPath);
+					break;
+			}
+		}
+	}
+
+	private void setMarker(IPath path, long id, int severity) {
+		if (severity < IMarker.SEVERITY_INFO || severity > IMarker.SEVERITY_ERROR) {
+			removeMarker(path, id);
+			return;
+		}
+		Node node= fRoot;
+		for (int i= 0; i < path.segmentCount(); i++) {
+			if (node.fChildren == null) {
+				node.fChildren= new HashMap<>();
+			}
+			Node parent= node;
+			node= node.fChildren.computeIfAbsent(path.segment(i), name -> new Node(parent, name));
+		}
+		if (node.fMarkers == null) {
+			node.fMarkers= new HashMap<>();
+		}
+		Integer old= node.fMarkers.put(Long.valueOf(id), Integer.valueOf(severity));
+		if (old != null) {
+			updateCounts(node, old.intValue(), -1);
+		}
+		updateCounts(node, severity, 1);
+	}
+
+	private void removeMarker(IPath path, long id) {
+		Node node= findNode(path);
+		if (node == null || node.fMarkers == null)
+			return;
+		Integer old= node.fMarkers.remove(Long.valueOf(id));
+		if (old != null) {
+			if (node.fMarkers.isEmpty()) {
+				node.fMarkers= null;
+			}
+			updateCounts(node, old.intValue(), -1);
+			prune(node);
+		}
+	}
+
+	private void removeSubtree(IPath path) {
+		Node node= findNode(path);
+		if (node == null)
+			return;
+		if (node == fRoot) {
+			clear();
+			return;
+		}
+		for (Node parent= node.fParent; parent != null; parent= parent.fParent) {
+			for (int i= 0; i < parent.fCounts.length; i++) {
+				parent.fCounts[i]-= node.fCounts[i];
+			}
+		}
+		Node parent= node.fParent;
+		parent.fChildren.remove(node.fName);
+		if (parent.fChildren.isEmpty()) {
+			parent.fChildren= null;
+		}
+		prune(parent);
+	}
+
+	private Node findNode(IPath path) {
+		Node node= fRoot;
+		for (int i= 0; i < path.segmentCount() && node != null; i++) {
+			node= node.fChildren != null ? node.fChildren.get(path.segment(i)) : null;
+		}
+		return node;
+	}
+
+	private static void collectPaths(Node node, IPath path, List<IPath> paths) {
+		if (node.fChildren != null) {
+			for (Node child : node.fChildren.values()) {
+				IPath childPath= path.append(child.fName);
+				paths.add(childPath);
+				collectPaths(child, childPath, paths);
+			}
+		}
+	}
+
+	private static void updateCounts(Node node, int severity, int delta) {
+		for (Node current= node; current != null; current= current.fParent) {
+			current.fCounts[severity]+= delta;
+		}
+	}
+
+	/*
+	 * Removes the given node and its ancestors as long as their subtrees have no problem markers.
+	 */
+	private void prune(Node node) {
+		Node current= node;
+		while (current != fRoot && current.isEmpty()) {
+			Node parent= current.fParent;
+			parent.fChildren.remove(current.fName);
+			if (parent.fChildren.isEmpty()) {
+				parent.fChildren= null;
+			}
+			current= parent;
+		}
+	}
+}
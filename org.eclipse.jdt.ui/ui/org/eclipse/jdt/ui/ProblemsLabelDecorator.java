@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,18 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
@@ -32,19 +23,14 @@ import org.eclipse.swt.graphics.Rectangle;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceStatus;
-import org.eclipse.core.resources.IWorkspaceRoot;
 
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
@@ -59,10 +45,10 @@ import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 import org.eclipse.ui.part.FileEditorInput;
-import org.eclipse.ui.progress.WorkbenchJob;
 
 import org.eclipse.ui.texteditor.MarkerAnnotation;
 
+import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IClasspathAttribute;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -73,6 +59,7 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
 import org.eclipse.jdt.launching.JavaRuntime;
@@ -82,6 +69,7 @@ import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageImageDescriptor;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemSeverityTree;
 
 /**
  * LabelDecorator that decorates an element's image with error and warning overlays that
@@ -140,17 +128,13 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 	private static final int ERRORTICK_IGNORE_OPTIONAL_PROBLEMS= JavaElementImageDescriptor.IGNORE_OPTIONAL_PROBLEMS;
 	private static final int ERRORTICK_INFO= JavaElementImageDescriptor.INFO;
 
-	static final boolean DEBUG = false;
-
 	private ImageDescriptorRegistry fRegistry;
 	private boolean fUseNewRegistry= false;
 	private IProblemChangedListener fProblemChangedListener;
 
 	private ListenerList<ILabelProviderListener> fListeners;
 	private ISourceRange fCachedRange;
-
-	/** job to update adornments for container resources in UI thread */
-	private final AdornmentUpdateJob adornmentUpdateJob;
+	private ProblemSeverityTree fSeverityTree;
 
 	/**
 	 * Creates a new <code>ProblemsLabelDecorator</code>.
@@ -169,8 +153,8 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 	 */
 	public ProblemsLabelDecorator(ImageDescriptorRegistry registry) {
 		fRegistry= registry;
-		adornmentUpdateJob = new AdornmentUpdateJob();
-		AdornmentCacheManager.register(this);
+		fSeverityTree= JavaPlugin.getDefault().getProblemSeverityTree();
+		fSeverityTree.connect();
 	}
 
 	private ImageDescriptorRegistry getRegistry() {
@@ -216,7 +200,7 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 					case IJavaElement.JAVA_MODEL:
 					case IJavaElement.JAVA_PROJECT:
 					case IJavaElement.PACKAGE_FRAGMENT_ROOT:
-						int flags= computeContainerAdornmentFlags(element.getResource());
+						int flags= getErrorTicksFromMarkers(element.getResource(), IResource.DEPTH_INFINITE);
 						switch (type) {
 							case IJavaElement.PACKAGE_FRAGMENT_ROOT:
 								IPackageFragmentRoot root= (IPackageFragmentRoot) element;
@@ -268,16 +252,6 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 					default:
 				}
 			} else if (obj instanceof IResource) {
-				if (obj instanceof IProject || obj instanceof IWorkspaceRoot) {
-					return computeContainerAdornmentFlags((IResource) obj);
-				}
-				if (obj instanceof IFolder) {
-					IFolder folder = (IFolder) obj;
-					// Only cache top level directories to avoid caching everything
-					if (folder.getParent() instanceof IProject) {
-						return computeContainerAdornmentFlags((IResource) obj);
-					}
-				}
 				return getErrorTicksFromMarkers((IResource) obj, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
@@ -297,270 +271,6 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		return 0;
 	}
 
-	final class AdornmentUpdateJob extends WorkbenchJob {
-
-		private final Set<IResource> queue;
-
-		public AdornmentUpdateJob() {
-			super("Java problems decoration update..."); //$NON-NLS-1$
-			this.queue = ConcurrentHashMap.newKeySet();
-			setSystem(true);
-			setPriority(DECORATE);
-		}
-
-		@Override
-		public boolean belongsTo(Object family) {
-			return ProblemsLabelDecorator.class == family;
-		}
-
-		@Override
-		public IStatus runInUIThread(IProgressMonitor monitor) {
-			List<IResource> changed = new ArrayList<>(queue);
-			queue.removeAll(changed);
-			IResource[] changes = changed.toArray(IResource[]::new);
-			if (changes.length > 0 && !monitor.isCanceled()) {
-				if (DEBUG) {
-					String prefix = ProblemsLabelDecorator.this.toString();
-					prefix = prefix.substring(prefix.lastIndexOf('.') + 1);
-					System.err.println(prefix + " : " + " :show: " + Arrays.toString(changes)); //$NON-NLS-1$ //$NON-NLS-2$
-				}
-				fireProblemsChanged(changes, true);
-			}
-			if (monitor.isCanceled()) {
-				queue.clear();
-				return Status.CANCEL_STATUS;
-			}
-			return Status.OK_STATUS;
-		}
-
-		void schedule(Set<IResource> tasks) {
-			if (queue.addAll(tasks)) {
-				schedule(100);
-			}
-		}
-	}
-
-	static final class AdornmentCacheManager {
-
-		static final AdornmentCacheManager instance = new AdornmentCacheManager();
-
-		final Set<ProblemsLabelDecorator> listeners;
-
-		/**
-		 * Cache for projects and source folders status, key is resource, value is known adornment flags
-		 */
-		final Map<IResource, Integer> adornmentCache;
-
-		/** Job to compute adornments for container resources in background */
-		final AdornmentCalculationJob adornmentJob;
-
-		public AdornmentCacheManager() {
-			adornmentCache = new ConcurrentHashMap<>();
-			adornmentJob = new AdornmentCalculationJob();
-			listeners = Collections.synchronizedSet(new LinkedHashSet<>());
-		}
-
-		static void scheduleTask(IResource resource, AdornmentUpdateJob uiUpdate) {
-			instance.adornmentJob.schedule(new AdornmentTask(resource), uiUpdate);
-		}
-
-		static Integer getAdornment(IResource resource) {
-			return instance.adornmentCache.get(resource);
-		}
-
-		static Integer setAdornment(IResource resource, int adornment) {
-			return instance.adornmentCache.put(resource, Integer.valueOf(adornment));
-		}
-
-		static void register(ProblemsLabelDecorator decorator) {
-			instance.listeners.add(decorator);
-		}
-
-		static void deregister(ProblemsLabelDecorator decorator) {
-			instance.listeners.remove(decorator);
-			if(instance.listeners.isEmpty()) {
-				instance.adornmentJob.cancel();
-				instance.adornmentCache.clear();
-			}
-		}
-	}
-
-	static final class AdornmentCalculationJob extends Job {
-
-		private final LinkedHashMap<AdornmentTask, Set<AdornmentUpdateJob>> queue;
-
-		public AdornmentCalculationJob() {
-			super("Java problems decoration calculation..."); //$NON-NLS-1$
-			this.queue = new LinkedHashMap<>();
-			setSystem(true);
-			setPriority(DECORATE);
-		}
-
-		@Override
-		public boolean belongsTo(Object family) {
-			return ProblemsLabelDecorator.class == family;
-		}
-
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			Map<AdornmentUpdateJob, Set<IResource>> changed = new LinkedHashMap<>();
-			Entry<AdornmentTask, Set<AdornmentUpdateJob>> next;
-			while ((next = poll()) != null && !monitor.isCanceled()) {
-				AdornmentTask task = next.getKey();
-				task.run();
-				if (DEBUG) {
-					System.out.println("calc : " + AdornmentCacheManager.instance.adornmentCache.size() + " : " + task.resource); //$NON-NLS-1$ //$NON-NLS-2$
-				}
-
-				if (task.isAdornmentChanged()) {
-					final IResource resource = task.resource;
-					Set<AdornmentUpdateJob> jobs = next.getValue();
-					for (AdornmentUpdateJob job : jobs) {
-						changed.compute(job, (k, v) -> {
-							if(v == null) {
-								v = new LinkedHashSet<>();
-							}
-							v.add(resource);
-							return v;
-						});
-					}
-				}
-			}
-			if (!changed.isEmpty() && !monitor.isCanceled()) {
-				for (Entry<AdornmentUpdateJob, Set<IResource>> entry : changed.entrySet()) {
-					AdornmentUpdateJob job = entry.getKey();
-					Set<IResource> resources = entry.getValue();
-					job.schedule(resources);
-				}
-			}
-			synchronized (queue) {
-				if (monitor.isCanceled()) {
-					queue.clear();
-					return Status.CANCEL_STATUS;
-				}
-			}
-			return Status.OK_STATUS;
-		}
-
-		private Entry<AdornmentTask, Set<AdornmentUpdateJob>> poll() {
-			Entry<AdornmentTask, Set<AdornmentUpdateJob>> next = null;
-			synchronized (queue) {
-				if (!queue.isEmpty()) {
-					Iterator<Entry<AdornmentTask, Set<AdornmentUpdateJob>>> iterator = queue.entrySet().iterator();
-					next = iterator.next();
-					iterator.remove();
-				}
-			}
-			return next;
-		}
-
-		void schedule(AdornmentTask task, AdornmentUpdateJob job) {
-			AtomicBoolean shouldSchedule = new AtomicBoolean(false);
-			synchronized (queue) {
-				queue.compute(task, (k,v) -> {
-					if (v == null) {
-						v = new LinkedHashSet<>();
-					}
-					if (v.add(job)) {
-						shouldSchedule.set(true);
-					}
-					return v;
-				});
-			}
-			if (shouldSchedule.get()) {
-				schedule(100);
-			}
-		}
-	}
-
-	static final class AdornmentTask {
-
-		final IResource resource;
-		volatile int oldAdornment;
-		volatile int newAdornment;
-
-		public AdornmentTask(IResource resource){
-			this.resource = resource;
-		}
-
-		@Override
-		public int hashCode() {
-			return resource.hashCode();
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj) {
-				return true;
-			}
-			if (!(obj instanceof AdornmentTask)) {
-				return false;
-			}
-			AdornmentTask other = (AdornmentTask) obj;
-			return resource.equals(other.resource);
-		}
-
-		void run() {
-			try {
-				newAdornment = getErrorTicksFromMarkers(resource, IResource.DEPTH_INFINITE);
-			} catch (CoreException e) {
-				boolean shouldLog = true;
-				if (e instanceof JavaModelException) {
-					if (((JavaModelException) e).isDoesNotExist()) {
-						newAdornment = 0;
-						shouldLog = false;
-					}
-				} else {
-					int errorCode = e.getStatus().getCode();
-					if (errorCode == IResourceStatus.MARKER_NOT_FOUND || errorCode == IResourceStatus.RESOURCE_NOT_FOUND
-							|| errorCode == IResourceStatus.PROJECT_NOT_OPEN) {
-						newAdornment = 0;
-						shouldLog = false;
-					}
-				}
-				if (shouldLog) {
-					JavaPlugin.log(e);
-				}
-			} finally {
-				Integer old = AdornmentCacheManager.setAdornment(resource, newAdornment);
-				if (old != null) {
-					oldAdornment = old.intValue();
-				}
-			}
-		}
-
-		boolean isAdornmentChanged() {
-			return newAdornment != oldAdornment;
-		}
-
-		@Override
-		public String toString() {
-			StringBuilder builder = new StringBuilder();
-			builder.append("AdornmentTask ["); //$NON-NLS-1$
-			if (resource != null) {
-				builder.append("resource="); //$NON-NLS-1$
-				builder.append(resource);
-				builder.append(", "); //$NON-NLS-1$
-			}
-			builder.append("newAdornment="); //$NON-NLS-1$
-			builder.append(newAdornment);
-			builder.append(", oldAdornment="); //$NON-NLS-1$
-			builder.append(oldAdornment);
-			builder.append("]"); //$NON-NLS-1$
-			return builder.toString();
-		}
-	}
-
-	private int computeContainerAdornmentFlags(IResource resource) {
-		if (resource == null) {
-			return 0;
-		}
-		Integer cachedAdornment = AdornmentCacheManager.getAdornment(resource);
-		int adornment = cachedAdornment != null ? cachedAdornment.intValue() : 0;
-		AdornmentCacheManager.scheduleTask(resource, adornmentUpdateJob);
-		return adornment;
-	}
-
 	private boolean isIgnoringOptionalProblems(IClasspathEntry entry) {
 		if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE) {
 			for (IClasspathAttribute attrib : entry.getExtraAttributes()) {
@@ -597,7 +307,8 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 				return ERRORTICK_BUILDPATH_ERROR;
 			}
 		}
-		severity= res.findMaxProblemSeverity(IMarker.PROBLEM, true, depth);
+		// the severity tree knows the severity of containers without searching their members
+		severity= JavaPlugin.getDefault().getProblemSeverityTree().getMaxSeverity(res, depth);
 		return convertToTick(severity);
 	}
 
@@ -641,29 +352,37 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		if (res == null || !res.isAccessible()) {
 			return 0;
 		}
+		ProblemSeverityTree tree= JavaPlugin.getDefault().getProblemSeverityTree();
 
 		// markers on package itself (e.g. missing @NonNullByDefault)
-		int severity= findMaxProblemSeverity(res, IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		int severity= tree.getMaxSeverity(res, IResource.DEPTH_ZERO);
 		if (severity == IMarker.SEVERITY_ERROR)
 			return ERRORTICK_ERROR;
 
-		// markers on CUs
-		for (ICompilationUnit cu : pack.getCompilationUnits()) {
-			severity= Math.max(severity, findMaxProblemSeverity(cu.getResource(), IMarker.PROBLEM, true, IResource.DEPTH_ZERO));
+		// markers on CUs, files and folders: only members with problems need to be looked at
+		IContainer container= (IContainer) res;
+		List<Object> nonJavaResources= null;
+		for (String name : tree.getMembersWithProblems(container)) {
+			IResource member= container.findMember(name);
+			if (member == null) {
+				continue;
+			}
+			if (member.getType() == IResource.FOLDER) {
+				// subpackages are not part of the package
+				if (nonJavaResources == null) {
+					nonJavaResources= Arrays.asList(pack.getNonJavaResources());
+				}
+				if (!nonJavaResources.contains(member)) {
+					continue;
+				}
+			} else if (JavaCore.create(member) instanceof IClassFile) {
+				continue;
+			}
+			severity= Math.max(severity, tree.getMaxSeverity(member, IResource.DEPTH_INFINITE));
 			if (severity == IMarker.SEVERITY_ERROR)
 				return ERRORTICK_ERROR;
 		}
 
-		// markers on files and folders
-		for (Object object : pack.getNonJavaResources()) {
-			if (object instanceof IResource) {
-				IResource resource= (IResource) object;
-				severity= Math.max(severity, findMaxProblemSeverity(resource, IMarker.PROBLEM, true, IResource.DEPTH_INFINITE));
-				if (severity == IMarker.SEVERITY_ERROR)
-					return ERRORTICK_ERROR;
-			}
-		}
-
 		// SEVERITY_ERROR already handled above
 		if (severity == IMarker.SEVERITY_WARNING) {
 			return ERRORTICK_WARNING;
@@ -674,18 +393,6 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		return 0;
 	}
 
-	private int findMaxProblemSeverity (IResource res, String type, boolean includeSubtypes, int depth) throws CoreException {
-		try {
-			return res.findMaxProblemSeverity(type, includeSubtypes, depth);
-		} catch (CoreException e) {
-			if (e.getStatus().getCode() == IResourceStatus.RESOURCE_NOT_FOUND) {
-				// Ignore failure in the case of concurrent deletion
-				return -1;
-			}
-			throw e;
-		}
-	}
-
 	private boolean isMarkerInRange(IMarker marker, ISourceReference sourceElement) throws CoreException {
 		if (marker.isSubtypeOf(IMarker.TEXT)) {
 			int pos= marker.getAttribute(IMarker.CHAR_START, -1);
@@ -779,8 +486,10 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 		if (fListeners != null) {
 			fListeners.clear();
 		}
-		AdornmentCacheManager.deregister(this);
-		adornmentUpdateJob.cancel();
+		if (fSeverityTree != null) {
+			fSeverityTree.disconnect();
+			fSeverityTree= null;
+		}
 	}
 
 	@Override
@@ -35,6 +35,10 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -87,6 +91,7 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.ViewportTracker;
 import org.eclipse.jdt.internal.ui.preferences.FoldingPreferencePage;
 import org.eclipse.jdt.internal.ui.text.DocumentCharacterIterator;
 
@@ -166,6 +171,10 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		private final IDocument fDocument;
 
 		private final boolean fAllowCollapsing;
+		/** The range of the document to compute the folding structure for, <code>null</code> for the whole document */
+		private IRegion fScope;
+		/** The range of the document whose existing folding regions keep their collapsed state, <code>null</code> for none */
+		private IRegion fKeepCollapsedScope;
 
 		private IType fFirstType;
 		private boolean fHasHeaderComment;
@@ -226,6 +235,43 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			return fDocument;
 		}
 
+		/**
+		 * Returns whether the folding structure of an element is computed. If a scope is set, only
+		 * the elements overlapping the scope are computed, and only their existing folding regions
+		 * are updated.
+		 *
+		 * @param element the element, may be <code>null</code>
+		 * @return <code>true</code> if the folding structure of the element is computed
+		 */
+		private boolean isInScope(IJavaElement element) {
+			return fScope == null || overlaps(element, fScope);
+		}
+
+		/**
+		 * Returns whether the existing folding regions of an element keep their collapsed state.
+		 *
+		 * @param element the element, may be <code>null</code>
+		 * @return <code>true</code> if the element overlaps the range whose folding regions keep
+		 *         their collapsed state
+		 */
+		private boolean keepsCollapsedState(IJavaElement element) {
+			return fKeepCollapsedScope != null && overlaps(element, fKeepCollapsedScope);
+		}
+
+		private static boolean overlaps(IJavaElement element, IRegion region) {
+			if (!(element instanceof ISourceReference))
+				return true;
+			try {
+				ISourceRange range= ((ISourceReference) element).getSourceRange();
+				if (!SourceRange.isAvailable(range))
+					return true;
+				return range.getOffset() < region.getOffset() + region.getLength() && range.getOffset() + range.getLength() > region.getOffset();
+			} catch (JavaModelException e) {
+				// the element does not exist anymore, its folding regions are removed
+				return true;
+			}
+		}
+
 		private ProjectionAnnotationModel getModel() {
 			return fModel;
 		}
@@ -264,7 +310,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		 * @param position the corresponding position
 		 */
 		public void addProjectionRange(JavaProjectionAnnotation annotation, Position position) {
-			fMap.put(annotation, position);
+			if (isInScope(annotation.getElement()))
+				fMap.put(annotation, position);
 		}
 
 		/**
@@ -462,7 +509,11 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					FoldingStructureComputationContext ctx= createContext(false);
+					// only the visible part of a huge document is updated, the rest when it is scrolled into view
+					if (ctx != null && ViewportTracker.isViewportOnly(ctx.getDocument()))
+						restrictToViewport(ctx);
+					update(ctx);
 				} finally {
 					fUpdatingCount--;
 				}
@@ -766,9 +817,62 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private record TokenAtOffset(int offset, int token) {}
 
+	/**
+	 * Job that computes the folding structure of large documents in the background, after the
+	 * structure of their visible part has been computed. The job belongs to the family of the
+	 * editor.
+	 */
+	private final class FoldingUpdateJob extends Job {
+
+		FoldingUpdateJob() {
+			super(""); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (monitor.isCanceled())
+				return Status.CANCEL_STATUS;
+			fUpdatingCount++;
+			try {
+				FoldingStructureComputationContext ctx= createContext(true);
+				if (ctx != null) {
+					// new folding regions are collapsed as configured, the existing ones keep their state unless the job completes an initialization that did not cover them
+					IRegion initializedScope= fInitializedScope;
+					fInitializedScope= null;
+					ctx.fKeepCollapsedScope= initializedScope != null ? initializedScope : new Region(0, ctx.getDocument().getLength());
+					if (ViewportTracker.isViewportOnly(ctx.getDocument()))
+						restrictToViewport(ctx);
+					update(ctx);
+				}
+			} finally {
+				fUpdatingCount--;
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family != null && family == fEditor;
+		}
+	}
+
+	/**
+	 * Delay of the folding update job after the editor was opened or scrolled, in milliseconds.
+	 */
+	private static final long UPDATE_DELAY= 200;
+
 	/* context and listeners */
 	private JavaEditor fEditor;
 	private ProjectionListener fProjectionListener;
+	private ViewportTracker fViewportTracker;
+	private final Job fUpdateJob= new FoldingUpdateJob();
+	/**
+	 * The range covered by an initialization whose completion by the folding update job is
+	 * pending, <code>null</code> if there is none.
+	 */
+	private volatile IRegion fInitializedScope;
 	private IJavaElement fInput;
 	private IElementChangedListener fElementListener;
 	private final IPropertyChangeListener fPropertyChangeListener = event -> {
@@ -835,6 +939,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 		if (editor instanceof JavaEditor) {
 			fProjectionListener= new ProjectionListener(viewer);
+			fViewportTracker= new ViewportTracker(viewer, this::viewportChanged);
 			fEditor= (JavaEditor)editor;
 			for (IPreferenceStore store : FoldingPreferencePage.getAllFoldingPreferenceStores(fEditor)) {
 				store.addPropertyChangeListener(fPropertyChangeListener);
@@ -861,6 +966,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			handleProjectionDisabled();
 			fProjectionListener.dispose();
 			fProjectionListener= null;
+			fViewportTracker.dispose();
+			fViewportTracker= null;
 			for (IPreferenceStore store : FoldingPreferencePage.getAllFoldingPreferenceStores(fEditor)) {
 				store.removePropertyChangeListener(fPropertyChangeListener);
 			}
@@ -916,6 +1023,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			JavaCore.removeElementChangedListener(fElementListener);
 			fElementListener= null;
 		}
+		fUpdateJob.cancel();
 	}
 
 	/*
@@ -925,12 +1033,43 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 	public final void initialize() {
 		fUpdatingCount++;
 		try {
-			update(createInitialContext());
+			FoldingStructureComputationContext ctx= createInitialContext();
+			// the folding structure of the visible part of a large document is shown first, the rest is computed in the background
+			if (ctx != null && ViewportTracker.isViewportFirst(ctx.getDocument()) && restrictToViewport(ctx) && !ViewportTracker.isViewportOnly(ctx.getDocument())) {
+				fInitializedScope= ctx.fScope;
+				fUpdateJob.schedule(UPDATE_DELAY);
+			}
+			update(ctx);
 		} finally {
 			fUpdatingCount--;
 		}
 	}
 
+	/**
+	 * Restricts the computation of the folding structure to the visible part of the document and
+	 * a margin around it.
+	 *
+	 * @param ctx the context
+	 * @return <code>true</code> if the computation has been restricted
+	 */
+	private boolean restrictToViewport(FoldingStructureComputationContext ctx) {
+		ViewportTracker viewportTracker= fViewportTracker;
+		if (viewportTracker == null)
+			return false;
+		ctx.fScope= viewportTracker.getPriorityRegion(ctx.getDocument());
+		return true;
+	}
+
+	/**
+	 * Called in the UI thread when the visible part of the document changed. The folding
+	 * structure of huge documents is only computed for the visible part.
+	 */
+	private void viewportChanged() {
+		IDocument document= getDocument();
+		if (fElementListener != null && document != null && ViewportTracker.isViewportOnly(document))
+			fUpdateJob.schedule(UPDATE_DELAY);
+	}
+
 	private FoldingStructureComputationContext createInitialContext() {
 		initializePreferences();
 		fInput= getInputElement();
@@ -1035,7 +1174,7 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 					JavaProjectionAnnotation existingAnnotation= tuple.annotation;
 					Position existingPosition= tuple.position;
 					if (newAnnotation.isComment() == existingAnnotation.isComment()) {
-						boolean updateCollapsedState= ctx.allowCollapsing() && existingAnnotation.isCollapsed() != newAnnotation.isCollapsed();
+						boolean updateCollapsedState= ctx.allowCollapsing() && !ctx.keepsCollapsedState(existingAnnotation.getElement()) && existingAnnotation.isCollapsed() != newAnnotation.isCollapsed();
 						if (!isMalformedAnonymousType && existingPosition != null && (!newPosition.equals(existingPosition) || updateCollapsedState)) {
 							existingPosition.setOffset(newPosition.getOffset());
 							existingPosition.setLength(newPosition.getLength());
@@ -1198,6 +1337,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private void computeFoldingStructure(IJavaElement[] elements, FoldingStructureComputationContext ctx) throws JavaModelException {
 		for (IJavaElement element : elements) {
+			if (!ctx.isInScope(element))
+				continue;
 			computeFoldingStructure(element, ctx);
 
 			if (element instanceof IParent) {
@@ -1906,6 +2047,8 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		synchronized (model.getLockObject()) {
 			map = mapAnnotationPositions(model);
 		}
+		// the folding regions of the elements outside of the scope are kept
+		map.keySet().removeIf(element -> !ctx.isInScope(element));
 
 		Comparator<Tuple> comparator= (o1, o2) -> o1.position.getOffset() - o2.position.getOffset();
 		for (List<Tuple> list : map.values()) {